@@ -3,6 +3,9 @@ package com.platform.admin.controller;
 import com.platform.admin.model.DashboardStats;
 import com.platform.admin.model.UserManagementDTO;
 import com.platform.admin.service.AdminService;
+import com.platform.investor.model.InvestorStatus;
+import com.platform.notification.model.NotificationBroadcast;
+import com.platform.notification.model.NotificationType;
 import com.platform.user.model.UserStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -11,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.Map;
 import java.util.UUID;
 
@@ -118,6 +122,61 @@ public class AdminController {
                 .body(Map.of("error", "Startup not found"));
     }
 
+    /**
+     * Add a manual adjustment to a startup's funding history
+     */
+    @PostMapping("/startups/{id}/funding-adjustments")
+    public ResponseEntity<?> adjustStartupFunding(
+            @PathVariable UUID id,
+            @RequestBody FundingAdjustmentRequest request) {
+        try {
+            var entry = adminService.adjustStartupFunding(id, request.getAmount(), request.getNote());
+            if (entry != null) {
+                return ResponseEntity.status(HttpStatus.CREATED).body(entry);
+            }
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", "Startup not found"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Notify every investor in a segment; sending runs in the background
+     */
+    @PostMapping("/notifications/broadcasts")
+    public ResponseEntity<?> startBroadcast(@RequestBody BroadcastRequest request) {
+        try {
+            NotificationType type = request.getType() != null
+                    ? NotificationType.valueOf(request.getType().toUpperCase())
+                    : NotificationType.SYSTEM;
+            InvestorStatus investorStatus = request.getInvestorStatus() != null
+                    ? InvestorStatus.valueOf(request.getInvestorStatus().toUpperCase())
+                    : InvestorStatus.ACTIVE;
+            var broadcast = adminService.startBroadcast(new NotificationBroadcast(type, request.getTitle(),
+                    request.getMessage(), request.getReferenceId(), investorStatus, request.getSector(),
+                    request.getStage()));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(broadcast);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Progress of a broadcast
+     */
+    @GetMapping("/notifications/broadcasts/{id}")
+    public ResponseEntity<?> getBroadcast(@PathVariable UUID id) {
+        var broadcast = adminService.getBroadcast(id);
+        if (broadcast.isPresent()) {
+            return ResponseEntity.ok(broadcast.get());
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", "Broadcast not found"));
+    }
+
     /**
      * Get all investors with admin details
      */
@@ -159,4 +218,39 @@ public class AdminController {
         public String getStatus() { return status; }
         public void setStatus(String status) { this.status = status; }
     }
+
+    public static class FundingAdjustmentRequest {
+        private BigDecimal amount;
+        private String note;
+
+        public BigDecimal getAmount() { return amount; }
+        public String getNote() { return note; }
+        public void setAmount(BigDecimal amount) { this.amount = amount; }
+        public void setNote(String note) { this.note = note; }
+    }
+
+    public static class BroadcastRequest {
+        private String type;
+        private String title;
+        private String message;
+        private UUID referenceId;
+        private String investorStatus;
+        private String sector;
+        private String stage;
+
+        public String getType() { return type; }
+        public String getTitle() { return title; }
+        public String getMessage() { return message; }
+        public UUID getReferenceId() { return referenceId; }
+        public String getInvestorStatus() { return investorStatus; }
+        public String getSector() { return sector; }
+        public String getStage() { return stage; }
+        public void setType(String type) { this.type = type; }
+        public void setTitle(String title) { this.title = title; }
+        public void setMessage(String message) { this.message = message; }
+        public void setReferenceId(UUID referenceId) { this.referenceId = referenceId; }
+        public void setInvestorStatus(String investorStatus) { this.investorStatus = investorStatus; }
+        public void setSector(String sector) { this.sector = sector; }
+        public void setStage(String stage) { this.stage = stage; }
+    }
 }
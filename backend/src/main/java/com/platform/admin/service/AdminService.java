@@ -2,13 +2,18 @@ package com.platform.admin.service;
 
 import com.platform.admin.model.DashboardStats;
 import com.platform.admin.model.UserManagementDTO;
+import com.platform.investment.model.FundingLedgerEntry;
 import com.platform.investment.model.InvestmentOffer;
 import com.platform.investment.model.OfferStatus;
 import com.platform.investment.repository.InvestmentOfferRepository;
+import com.platform.investment.service.FundingHistoryService;
 import com.platform.investor.model.Investor;
 import com.platform.investor.model.InvestorStatus;
 import com.platform.investor.repository.InvestorRepository;
+import com.platform.notification.model.NotificationBroadcast;
+import com.platform.notification.service.NotificationBroadcastService;
 import com.platform.startup.model.Startup;
+import com.platform.startup.model.StartupChangedEvent;
 import com.platform.startup.model.StartupStatus;
 import com.platform.startup.repository.StartupRepository;
 import com.platform.user.model.User;
@@ -16,6 +21,7 @@ import com.platform.user.model.UserRole;
 import com.platform.user.model.UserStatus;
 import com.platform.user.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -40,6 +46,15 @@ public class AdminService {
     @Autowired
     private InvestmentOfferRepository investmentOfferRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private FundingHistoryService fundingHistoryService;
+
+    @Autowired
+    private NotificationBroadcastService notificationBroadcastService;
+
     /**
      * Get comprehensive dashboard statistics
      */
@@ -193,7 +208,9 @@ public class AdminService {
             try {
                 StartupStatus newStatus = StartupStatus.valueOf(status.toUpperCase());
                 startup.setStatus(newStatus);
-                return startupRepository.save(startup);
+                Startup savedStartup = startupRepository.save(startup);
+                eventPublisher.publishEvent(new StartupChangedEvent(id));
+                return savedStartup;
             } catch (IllegalArgumentException e) {
                 return null;
             }
@@ -201,6 +218,24 @@ public class AdminService {
         return null;
     }
 
+    /**
+     * Correct a startup's funding by hand; returns null if the startup does not exist
+     */
+    public FundingLedgerEntry adjustStartupFunding(UUID id, BigDecimal amount, String note) {
+        return fundingHistoryService.recordAdjustment(id, amount, note);
+    }
+
+    /**
+     * Start sending a notification to every investor in a segment
+     */
+    public NotificationBroadcast startBroadcast(NotificationBroadcast broadcast) {
+        return notificationBroadcastService.start(broadcast);
+    }
+
+    public Optional<NotificationBroadcast> getBroadcast(UUID id) {
+        return notificationBroadcastService.getBroadcast(id);
+    }
+
     /**
      * Get all investors with filters
      */
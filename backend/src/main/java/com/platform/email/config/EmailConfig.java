@@ -31,6 +31,10 @@ public class EmailConfig {
     @Value("${spring.mail.properties.mail.smtp.starttls.enable:false}")
     private boolean starttlsEnable;
 
+    // Keeps a hung SMTP server from stalling the outbox sender
+    @Value("${spring.mail.timeout-ms:10000}")
+    private int timeoutMs;
+
     @Bean
     public JavaMailSender javaMailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
@@ -46,6 +50,9 @@ public class EmailConfig {
         props.put("mail.transport.protocol", "smtp");
         props.put("mail.smtp.auth", String.valueOf(smtpAuth));
         props.put("mail.smtp.starttls.enable", String.valueOf(starttlsEnable));
+        props.put("mail.smtp.connectiontimeout", String.valueOf(timeoutMs));
+        props.put("mail.smtp.timeout", String.valueOf(timeoutMs));
+        props.put("mail.smtp.writetimeout", String.valueOf(timeoutMs));
         props.put("mail.debug", "false");
 
         return mailSender;
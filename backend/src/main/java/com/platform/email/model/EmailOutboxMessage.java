@@ -0,0 +1,83 @@
+package com.platform.email.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An email waiting in the outbox, sent by {@code EmailOutboxSender}
+ */
+@Entity
+@Table(name = "email_outbox")
+public class EmailOutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String toEmail;
+
+    @Column(nullable = false, length = 500)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String htmlBody;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EmailOutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+        if (status == null) {
+            status = EmailOutboxStatus.PENDING;
+        }
+    }
+
+    // Constructors
+    public EmailOutboxMessage() {}
+
+    public EmailOutboxMessage(String toEmail, String subject, String htmlBody) {
+        this.toEmail = toEmail;
+        this.subject = subject;
+        this.htmlBody = htmlBody;
+        this.status = EmailOutboxStatus.PENDING;
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+    public String getToEmail() { return toEmail; }
+    public String getSubject() { return subject; }
+    public String getHtmlBody() { return htmlBody; }
+    public EmailOutboxStatus getStatus() { return status; }
+    public int getAttempts() { return attempts; }
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public String getLastError() { return lastError; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getSentAt() { return sentAt; }
+
+    // Setters
+    public void setStatus(EmailOutboxStatus status) { this.status = status; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+}
@@ -0,0 +1,8 @@
+package com.platform.email.model;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    // Gave up after the last attempt, or the message could never be built
+    DEAD
+}
@@ -0,0 +1,307 @@
+package com.platform.email.service;
+
+import com.platform.email.model.EmailOutboxMessage;
+import com.platform.email.model.EmailOutboxStatus;
+import com.platform.email.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the emails queued in the email outbox.
+ *
+ * A batch of due messages is claimed under {@code FOR UPDATE SKIP LOCKED}
+ * and leased by pushing its next attempt time forward. Each message then
+ * needs a token from {@link EmailRateLimiter}; one that gets none is put
+ * back for when a token will be available, without counting an attempt.
+ * The rest are split into at most {@code email.outbox.workers} chunks sent
+ * on this sender's own bounded executor, each chunk in one call to the
+ * mail sender, which opens a single SMTP connection for the whole chunk
+ * instead of one per email. A chunk the executor's queue has no room for
+ * is put back the same way. Messages the server refused are retried with
+ * exponential backoff and marked dead after {@code email.outbox.max-attempts};
+ * a message that cannot even be built is marked dead at once. A sender that
+ * dies mid-batch leaves its messages to be picked up again once the lease
+ * expires, so delivery is at-least-once.
+ */
+@Service
+public class EmailOutboxSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxSender.class);
+
+    // How soon a chunk the executor rejected is tried again
+    private static final long REJECTED_RETRY_MS = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailRateLimiter rateLimiter;
+    private final ThreadPoolTaskExecutor executor;
+    private final Timer queueWait;
+    private final Timer sendLatency;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter rateLimited;
+    private final Counter rejected;
+
+    @Value("${email.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.lease-seconds:120}")
+    private int leaseSeconds;
+
+    @Value("${email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.backoff-base-ms:5000}")
+    private long backoffBaseMs;
+
+    @Value("${email.outbox.backoff-max-ms:3600000}")
+    private long backoffMaxMs;
+
+    @Value("${email.outbox.sent-retention-hours:72}")
+    private long sentRetentionHours;
+
+    @Value("${spring.mail.from:noreply@startupplatform.io}")
+    private String fromEmail;
+
+    public EmailOutboxSender(EmailOutboxRepository emailOutboxRepository, JavaMailSender mailSender,
+                             TransactionTemplate transactionTemplate, EmailRateLimiter rateLimiter,
+                             MeterRegistry meterRegistry,
+                             @Value("${email.outbox.workers:2}") int workers,
+                             @Value("${email.outbox.queue-capacity:8}") int queueCapacity) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.rateLimiter = rateLimiter;
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("email-sender-");
+        executor.initialize();
+
+        this.queueWait = Timer.builder("email.outbox.queue.wait")
+                .description("Time from an email being queued to its first send attempt")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.sendLatency = Timer.builder("email.outbox.send.latency")
+                .description("Time taken to hand one chunk of emails to the mail server")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.sent = Counter.builder("email.outbox.sent")
+                .description("Emails accepted by the mail server")
+                .register(meterRegistry);
+        this.failed = Counter.builder("email.outbox.failed")
+                .description("Send attempts that failed and were retried or marked dead")
+                .register(meterRegistry);
+        this.rateLimited = deferredCounter(meterRegistry, "rate_limit");
+        this.rejected = deferredCounter(meterRegistry, "executor_full");
+        Gauge.builder("email.outbox.executor.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Chunks waiting for an email sender thread")
+                .register(meterRegistry);
+    }
+
+    private static Counter deferredCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("email.outbox.deferred")
+                .description("Emails put back without an attempt being counted")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        // Keep draining while batches come back full and nothing had to wait
+        int[] deferred = new int[1];
+        while (sendPending(deferred) == batchSize && deferred[0] == 0) {
+            logger.debug("Email outbox batch full, sending next batch");
+        }
+    }
+
+    /**
+     * Claim and send one batch of due messages; returns the number claimed
+     */
+    public int sendPending() {
+        return sendPending(new int[1]);
+    }
+
+    private int sendPending(int[] deferred) {
+        List<EmailOutboxMessage> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> due = emailOutboxRepository.lockDueMessages(now, batchSize);
+            due.forEach(message -> message.setNextAttemptAt(now.plusSeconds(leaseSeconds)));
+            return due;
+        });
+        deferred[0] = 0;
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<EmailOutboxMessage> allowed = new ArrayList<>(claimed.size());
+        for (EmailOutboxMessage message : claimed) {
+            long waitNanos = rateLimiter.tryAcquire(message.getToEmail());
+            if (waitNanos == 0) {
+                allowed.add(message);
+            } else {
+                defer(message, TimeUnit.NANOSECONDS.toMillis(waitNanos) + 1);
+                rateLimited.increment();
+                deferred[0]++;
+            }
+        }
+
+        int chunks = Math.min(executor.getMaxPoolSize(), allowed.size());
+        List<CompletableFuture<Void>> running = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            List<EmailOutboxMessage> chunk = allowed.subList(
+                    i * allowed.size() / chunks, (i + 1) * allowed.size() / chunks);
+            try {
+                running.add(CompletableFuture.runAsync(() -> send(chunk), executor));
+            } catch (TaskRejectedException e) {
+                chunk.forEach(message -> defer(message, REJECTED_RETRY_MS));
+                rejected.increment(chunk.size());
+                deferred[0] += chunk.size();
+            }
+        }
+        CompletableFuture.allOf(running.toArray(new CompletableFuture[0])).join();
+
+        emailOutboxRepository.saveAll(claimed);
+        return claimed.size();
+    }
+
+    /**
+     * Send one chunk over a single connection and record each message's outcome
+     */
+    private void send(List<EmailOutboxMessage> chunk) {
+        Map<MimeMessage, EmailOutboxMessage> built = new IdentityHashMap<>(chunk.size());
+        List<MimeMessage> batch = new ArrayList<>(chunk.size());
+        LocalDateTime start = LocalDateTime.now();
+        for (EmailOutboxMessage message : chunk) {
+            try {
+                MimeMessage mime = build(message);
+                built.put(mime, message);
+                batch.add(mime);
+            } catch (MessagingException e) {
+                message.setLastError(e.getClass().getSimpleName() + ": " + e.getMessage());
+                markDead(message);
+                continue;
+            }
+            if (message.getAttempts() == 0 && message.getCreatedAt() != null) {
+                queueWait.record(Duration.between(message.getCreatedAt(), start));
+            }
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        MailException batchFailure = null;
+        if (!batch.isEmpty()) {
+            long sendStart = System.nanoTime();
+            try {
+                mailSender.send(batch.toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                failures = e.getFailedMessages();
+                // Without details nothing is known to have gone out
+                batchFailure = failures.isEmpty() ? e : null;
+            } catch (MailException e) {
+                batchFailure = e;
+            }
+            sendLatency.record(System.nanoTime() - sendStart, TimeUnit.NANOSECONDS);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<MimeMessage, EmailOutboxMessage> entry : built.entrySet()) {
+            EmailOutboxMessage message = entry.getValue();
+            Exception failure = batchFailure != null ? batchFailure : failures.get(entry.getKey());
+            message.setAttempts(message.getAttempts() + 1);
+            if (failure == null) {
+                message.setStatus(EmailOutboxStatus.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+                sent.increment();
+            } else {
+                reschedule(message, failure);
+                failed.increment();
+            }
+        }
+    }
+
+    /**
+     * Drop sent messages once they are older than {@code email.outbox.sent-retention-hours}
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.purge-interval-ms:3600000}")
+    public void purgeSent() {
+        int purged = emailOutboxRepository.deleteSentBefore(EmailOutboxStatus.SENT,
+                LocalDateTime.now().minusHours(sentRetentionHours));
+        if (purged > 0) {
+            logger.info("Purged {} sent emails from the outbox", purged);
+        }
+    }
+
+    private MimeMessage build(EmailOutboxMessage message) throws MessagingException {
+        MimeMessage mime = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mime, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(message.getToEmail());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getHtmlBody(), true);
+        return mime;
+    }
+
+    private void reschedule(EmailOutboxMessage message, Exception e) {
+        message.setLastError(e.getClass().getSimpleName() + ": " + e.getMessage());
+        if (message.getAttempts() >= maxAttempts) {
+            markDead(message);
+            return;
+        }
+        long delayMs = Math.min(backoffMaxMs, backoffBaseMs << Math.min(message.getAttempts() - 1, 30));
+        message.setNextAttemptAt(LocalDateTime.now().plusNanos(delayMs * 1_000_000L));
+        logger.warn("Email {} to {} failed on attempt {}, retrying in {} ms: {}",
+                message.getId(), message.getToEmail(), message.getAttempts(), delayMs, e.toString());
+    }
+
+    private void defer(EmailOutboxMessage message, long delayMs) {
+        message.setNextAttemptAt(LocalDateTime.now().plusNanos(delayMs * 1_000_000L));
+    }
+
+    private void markDead(EmailOutboxMessage message) {
+        message.setStatus(EmailOutboxStatus.DEAD);
+        logger.error("Giving up on email {} to {} after {} attempts: {}",
+                message.getId(), message.getToEmail(), message.getAttempts(), message.getLastError());
+    }
+}
@@ -0,0 +1,124 @@
+package com.platform.email.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets limiting how fast the outbox hands emails to the mail
+ * server: one for all mail and one per recipient domain, so a burst to a
+ * single provider cannot get us throttled by it.
+ *
+ * Each bucket refills at its rate and holds up to {@code burst-seconds}
+ * worth of tokens. {@link #tryAcquire} takes a token from both buckets or
+ * from neither, and when it cannot says how long until it could. Domains
+ * listed under {@code email.rate-limit.domains} (as {@code domain=rate})
+ * get their own rate; buckets for the least recently used domains are
+ * dropped past {@code max-domains}.
+ */
+@Component
+public class EmailRateLimiter {
+
+    private final LongSupplier nanoClock;
+    private final double burstSeconds;
+    private final double domainRate;
+    private final Map<String, Double> domainRates;
+    private final TokenBucket global;
+    private final Map<String, TokenBucket> domains;
+
+    @Autowired
+    public EmailRateLimiter(@Value("${email.rate-limit.global-per-second:50}") double globalRate,
+                            @Value("${email.rate-limit.per-domain-per-second:10}") double domainRate,
+                            @Value("${email.rate-limit.burst-seconds:2}") double burstSeconds,
+                            @Value("${email.rate-limit.domains:}") String domainRates,
+                            @Value("${email.rate-limit.max-domains:10000}") int maxDomains) {
+        this(globalRate, domainRate, burstSeconds, parseRates(domainRates), maxDomains, System::nanoTime);
+    }
+
+    EmailRateLimiter(double globalRate, double domainRate, double burstSeconds, Map<String, Double> domainRates,
+                     int maxDomains, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.burstSeconds = burstSeconds;
+        this.domainRate = domainRate;
+        this.domainRates = domainRates;
+        this.global = new TokenBucket(globalRate, burstSeconds, nanoClock.getAsLong());
+        this.domains = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > maxDomains;
+            }
+        };
+    }
+
+    /**
+     * Take a token for an email to {@code toEmail}; returns 0 if one was
+     * taken, otherwise the nanoseconds to wait before trying again
+     */
+    public synchronized long tryAcquire(String toEmail) {
+        long now = nanoClock.getAsLong();
+        String domain = domainOf(toEmail);
+        TokenBucket bucket = domains.get(domain);
+        if (bucket == null) {
+            bucket = new TokenBucket(domainRates.getOrDefault(domain, domainRate), burstSeconds, now);
+            domains.put(domain, bucket);
+        }
+        long wait = Math.max(global.waitNanos(now), bucket.waitNanos(now));
+        if (wait > 0) {
+            return wait;
+        }
+        global.take();
+        bucket.take();
+        return 0;
+    }
+
+    static String domainOf(String email) {
+        int at = email.lastIndexOf('@');
+        return at < 0 ? "" : email.substring(at + 1).trim().toLowerCase(Locale.ROOT);
+    }
+
+    static Map<String, Double> parseRates(String spec) {
+        Map<String, Double> rates = new HashMap<>();
+        for (String entry : spec.split(",")) {
+            int eq = entry.indexOf('=');
+            if (eq > 0) {
+                rates.put(entry.substring(0, eq).trim().toLowerCase(Locale.ROOT),
+                        Double.parseDouble(entry.substring(eq + 1).trim()));
+            }
+        }
+        return rates;
+    }
+
+    private static final class TokenBucket {
+        private final double perNano;
+        private final double capacity;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(double perSecond, double burstSeconds, long now) {
+            this.perNano = perSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, perSecond * burstSeconds);
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        /**
+         * Refill up to {@code now}; returns 0 if a token is available
+         */
+        long waitNanos(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * perNano);
+            refilledAt = now;
+            return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / perNano);
+        }
+
+        void take() {
+            tokens -= 1;
+        }
+    }
+}
@@ -1,93 +1,103 @@
 package com.platform.email.service;
 
+import com.platform.email.model.EmailOutboxMessage;
+import com.platform.email.repository.EmailOutboxRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
+/**
+ * Renders emails from the templates in {@link EmailTemplateEngine} and
+ * queues them in the email outbox, in the caller's transaction if there is
+ * one; {@link EmailOutboxSender} sends them
+ */
 @Service
 public class EmailServiceImpl implements EmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailServiceImpl.class);
 
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailTemplateEngine templateEngine;
 
     @Value("${spring.mail.enabled:false}")
     private boolean emailEnabled;
 
-    @Value("${spring.mail.from:noreply@startupplatform.io}")
-    private String fromEmail;
+    @Value("${email.locale:en}")
+    private Locale locale;
 
-    public EmailServiceImpl(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailServiceImpl(EmailOutboxRepository emailOutboxRepository, EmailTemplateEngine templateEngine) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.templateEngine = templateEngine;
     }
 
     @Override
-    @Async
     public void sendOfferReceivedEmail(String toEmail, String investorName, String startupName, String offerAmount) {
-        String subject = "New Investment Offer for " + startupName;
-        String content = EmailTemplates.offerReceivedEmail(investorName, startupName, offerAmount);
-        sendHtmlEmail(toEmail, subject, content);
+        Map<String, Object> model = new HashMap<>();
+        model.put("investorName", investorName);
+        model.put("startupName", startupName);
+        model.put("offerAmount", offerAmount);
+        send(toEmail, "offer-received", model);
     }
 
     @Override
-    @Async
     public void sendOfferAcceptedEmail(String toEmail, String startupName, String offerAmount) {
-        String subject = "Your Investment Offer Has Been Accepted!";
-        String content = EmailTemplates.offerAcceptedEmail(startupName, offerAmount);
-        sendHtmlEmail(toEmail, subject, content);
+        Map<String, Object> model = new HashMap<>();
+        model.put("startupName", startupName);
+        model.put("offerAmount", offerAmount);
+        send(toEmail, "offer-accepted", model);
     }
 
     @Override
-    @Async
     public void sendOfferRejectedEmail(String toEmail, String startupName, String offerAmount) {
-        String subject = "Update on Your Investment Offer";
-        String content = EmailTemplates.offerRejectedEmail(startupName, offerAmount);
-        sendHtmlEmail(toEmail, subject, content);
+        Map<String, Object> model = new HashMap<>();
+        model.put("startupName", startupName);
+        model.put("offerAmount", offerAmount);
+        send(toEmail, "offer-rejected", model);
     }
 
     @Override
-    @Async
     public void sendNewMessageEmail(String toEmail, String senderName) {
-        String subject = "New Message from " + senderName;
-        String content = EmailTemplates.newMessageEmail(senderName);
-        sendHtmlEmail(toEmail, subject, content);
+        Map<String, Object> model = new HashMap<>();
+        model.put("senderName", senderName);
+        send(toEmail, "new-message", model);
     }
 
     @Override
-    @Async
     public void sendWelcomeEmail(String toEmail, String firstName) {
-        String subject = "Welcome to Startup Investment Platform!";
-        String content = EmailTemplates.welcomeEmail(firstName);
-        sendHtmlEmail(toEmail, subject, content);
+        Map<String, Object> model = new HashMap<>();
+        model.put("firstName", firstName);
+        send(toEmail, "welcome", model);
     }
 
-    private void sendHtmlEmail(String to, String subject, String htmlContent) {
+    @Override
+    public void sendDigestEmail(String toEmail, List<String> lines, int moreCount) {
+        int total = lines.size() + moreCount;
+        Map<String, Object> model = new HashMap<>();
+        model.put("lines", lines);
+        model.put("moreCount", moreCount > 0 ? moreCount : null);
+        model.put("total", total);
+        model.put("plural", total != 1);
+        send(toEmail, "digest", model);
+    }
+
+    /**
+     * Render {@code <template>-subject.txt} and {@code <template>.html} and queue the email
+     */
+    private void send(String toEmail, String template, Map<String, Object> model) {
         if (!emailEnabled) {
-            logger.info("Email disabled. Would send to: {}, subject: {}", to, subject);
-            logger.debug("Email content: {}", htmlContent);
+            logger.info("Email disabled. Would send {} email to: {}", template, toEmail);
             return;
         }
 
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
-
-            mailSender.send(message);
-            logger.info("Email sent successfully to: {}", to);
-        } catch (MessagingException e) {
-            logger.error("Failed to send email to: {}", to, e);
-        }
+        String subject = templateEngine.render(template + "-subject.txt", locale, model);
+        String content = templateEngine.render(template + ".html", locale, model);
+        emailOutboxRepository.save(new EmailOutboxMessage(toEmail, subject, content));
+        logger.debug("Email queued for: {}", toEmail);
     }
 }
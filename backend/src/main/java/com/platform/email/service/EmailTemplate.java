@@ -0,0 +1,133 @@
+package com.platform.email.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template compiled by {@link EmailTemplateEngine} into a flat list of
+ * segments, so rendering is a single pass that appends literals and values
+ * to the output with no parsing or formatting.
+ */
+final class EmailTemplate {
+
+    private final Segment[] segments;
+    private final int sizeHint;
+
+    EmailTemplate(List<Segment> segments) {
+        this.segments = segments.toArray(new Segment[0]);
+        this.sizeHint = this.segments.length == 0 ? 0 : sizeOf(this.segments) + 256;
+    }
+
+    void render(StringBuilder out, Map<String, ?> model) {
+        out.ensureCapacity(out.length() + sizeHint);
+        for (Segment segment : segments) {
+            segment.render(out, model, null);
+        }
+    }
+
+    private static int sizeOf(Segment[] segments) {
+        int size = 0;
+        for (Segment segment : segments) {
+            if (segment instanceof Literal literal) {
+                size += literal.text.length();
+            }
+        }
+        return size;
+    }
+
+    interface Segment {
+        /**
+         * Append this segment; {@code item} is the current element inside a list section
+         */
+        void render(StringBuilder out, Map<String, ?> model, Object item);
+    }
+
+    static final class Literal implements Segment {
+        final String text;
+
+        Literal(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void render(StringBuilder out, Map<String, ?> model, Object item) {
+            out.append(text);
+        }
+    }
+
+    static final class Variable implements Segment {
+        private final String name;
+        private final boolean escape;
+
+        Variable(String name, boolean escape) {
+            this.name = name;
+            this.escape = escape;
+        }
+
+        @Override
+        public void render(StringBuilder out, Map<String, ?> model, Object item) {
+            Object value = lookup(name, model, item);
+            if (value == null) {
+                return;
+            }
+            if (escape) {
+                EmailTemplateEngine.appendEscaped(out, value.toString());
+            } else {
+                out.append(value);
+            }
+        }
+    }
+
+    /**
+     * {@code {{#name}}...{{/name}}}: the body once if the value is truthy, or
+     * once per element of a collection; {@code {{^name}}} inverts the test
+     */
+    static final class Section implements Segment {
+        private final String name;
+        private final boolean inverted;
+        private final Segment[] body;
+
+        Section(String name, boolean inverted, List<Segment> body) {
+            this.name = name;
+            this.inverted = inverted;
+            this.body = body.toArray(new Segment[0]);
+        }
+
+        @Override
+        public void render(StringBuilder out, Map<String, ?> model, Object item) {
+            Object value = lookup(name, model, item);
+            if (inverted) {
+                if (!truthy(value)) {
+                    renderBody(out, model, item);
+                }
+            } else if (value instanceof Iterable<?> elements) {
+                for (Object element : elements) {
+                    renderBody(out, model, element);
+                }
+            } else if (truthy(value)) {
+                renderBody(out, model, item);
+            }
+        }
+
+        private void renderBody(StringBuilder out, Map<String, ?> model, Object item) {
+            for (Segment segment : body) {
+                segment.render(out, model, item);
+            }
+        }
+
+        private static boolean truthy(Object value) {
+            if (value == null || Boolean.FALSE.equals(value)) {
+                return false;
+            }
+            if (value instanceof Collection<?> collection) {
+                return !collection.isEmpty();
+            }
+            return !(value instanceof CharSequence text) || text.length() > 0;
+        }
+    }
+
+    private static Object lookup(String name, Map<String, ?> model, Object item) {
+        return ".".equals(name) ? item : model.get(name);
+    }
+}
@@ -0,0 +1,195 @@
+package com.platform.email.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders the email templates under {@code email.templates.location}.
+ *
+ * Each template is read and compiled once per locale into an
+ * {@link EmailTemplate}; partials ({@code {{> name}}}, read from
+ * {@code _name} with the same extension) are inlined at compile time, so
+ * shared markup such as the stylesheet costs nothing per email. Values in
+ * {@code {{name}}} are HTML-escaped in {@code .html} templates, while
+ * {@code {{{name}}}} is never escaped. A template for locale {@code de_DE}
+ * is looked up as {@code name_de_DE.ext}, then {@code name_de.ext}, then
+ * {@code name.ext}. Rendering reuses a per-thread buffer.
+ */
+@Component
+public class EmailTemplateEngine {
+
+    private static final int MAX_PARTIAL_DEPTH = 8;
+    // Larger buffers are dropped after use rather than kept per thread
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(8192));
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final Map<String, EmailTemplate> compiled = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EmailTemplateEngine(ResourceLoader resourceLoader,
+                               @Value("${email.templates.location:classpath:templates/email/}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location.endsWith("/") ? location : location + "/";
+    }
+
+    public EmailTemplateEngine() {
+        this(new DefaultResourceLoader(), "classpath:templates/email/");
+    }
+
+    /**
+     * Render a template such as {@code welcome.html}; missing and null values render as nothing
+     */
+    public String render(String name, Locale locale, Map<String, ?> model) {
+        EmailTemplate template = template(name, locale);
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        template.render(out, model);
+        String rendered = out.toString();
+        if (out.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    EmailTemplate template(String name, Locale locale) {
+        return compiled.computeIfAbsent(name + '|' + locale, key -> compile(name, locale));
+    }
+
+    /**
+     * Append text with the HTML special characters escaped
+     */
+    static void appendEscaped(StringBuilder out, String text) {
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            String replacement;
+            switch (text.charAt(i)) {
+                case '&': replacement = "&amp;"; break;
+                case '<': replacement = "&lt;"; break;
+                case '>': replacement = "&gt;"; break;
+                case '"': replacement = "&quot;"; break;
+                case '\'': replacement = "&#39;"; break;
+                default: continue;
+            }
+            out.append(text, start, i).append(replacement);
+            start = i + 1;
+        }
+        out.append(text, start, text.length());
+    }
+
+    private EmailTemplate compile(String name, Locale locale) {
+        boolean escape = name.endsWith(".html");
+        List<EmailTemplate.Segment> segments = new ArrayList<>();
+        parse(read(name, locale), name, locale, escape, 0, segments, null, 0);
+        return new EmailTemplate(segments);
+    }
+
+    /**
+     * Parse {@code source} from {@code pos} into {@code out} until the end,
+     * or until the closing tag of {@code section}; returns the position after it
+     */
+    private int parse(String source, String name, Locale locale, boolean escape, int pos,
+                      List<EmailTemplate.Segment> out, String section, int depth) {
+        while (true) {
+            int open = source.indexOf("{{", pos);
+            if (open < 0) {
+                if (section != null) {
+                    throw new IllegalStateException(name + ": unclosed section " + section);
+                }
+                addLiteral(out, source.substring(pos));
+                return source.length();
+            }
+            addLiteral(out, source.substring(pos, open));
+
+            boolean raw = source.startsWith("{{{", open);
+            String closing = raw ? "}}}" : "}}";
+            int close = source.indexOf(closing, open);
+            if (close < 0) {
+                throw new IllegalStateException(name + ": unclosed tag at " + open);
+            }
+            String tag = source.substring(open + (raw ? 3 : 2), close).trim();
+            pos = close + closing.length();
+
+            if (raw) {
+                out.add(new EmailTemplate.Variable(tag, false));
+            } else if (tag.startsWith(">")) {
+                if (depth >= MAX_PARTIAL_DEPTH) {
+                    throw new IllegalStateException(name + ": partials nested too deeply");
+                }
+                String partial = "_" + tag.substring(1).trim() + extension(name);
+                parse(read(partial, locale), partial, locale, escape, 0, out, null, depth + 1);
+            } else if (tag.startsWith("#") || tag.startsWith("^")) {
+                String sectionName = tag.substring(1).trim();
+                List<EmailTemplate.Segment> body = new ArrayList<>();
+                pos = parse(source, name, locale, escape, pos, body, sectionName, depth);
+                out.add(new EmailTemplate.Section(sectionName, tag.startsWith("^"), body));
+            } else if (tag.startsWith("/")) {
+                if (!tag.substring(1).trim().equals(section)) {
+                    throw new IllegalStateException(name + ": unexpected " + tag);
+                }
+                return pos;
+            } else {
+                out.add(new EmailTemplate.Variable(tag, escape));
+            }
+        }
+    }
+
+    private static void addLiteral(List<EmailTemplate.Segment> out, String text) {
+        if (text.isEmpty()) {
+            return;
+        }
+        int last = out.size() - 1;
+        if (last >= 0 && out.get(last) instanceof EmailTemplate.Literal previous) {
+            out.set(last, new EmailTemplate.Literal(previous.text + text));
+        } else {
+            out.add(new EmailTemplate.Literal(text));
+        }
+    }
+
+    private String read(String name, Locale locale) {
+        int dot = name.lastIndexOf('.');
+        String base = dot < 0 ? name : name.substring(0, dot);
+        String extension = extension(name);
+        List<String> candidates = new ArrayList<>(3);
+        if (!locale.getCountry().isEmpty()) {
+            candidates.add(base + "_" + locale.getLanguage() + "_" + locale.getCountry() + extension);
+        }
+        if (!locale.getLanguage().isEmpty()) {
+            candidates.add(base + "_" + locale.getLanguage() + extension);
+        }
+        candidates.add(name);
+
+        for (String candidate : candidates) {
+            Resource resource = resourceLoader.getResource(location + candidate);
+            if (resource.exists()) {
+                try (InputStream in = resource.getInputStream()) {
+                    return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read email template " + candidate, e);
+                }
+            }
+        }
+        throw new IllegalArgumentException("No email template " + name);
+    }
+
+    private static String extension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot);
+    }
+}
@@ -1,29 +1,56 @@
 package com.platform.file.controller;
 
+import com.platform.file.model.FileDownload;
 import com.platform.file.model.FileUpload;
 import com.platform.file.model.FileUploadDTO;
 import com.platform.file.model.FileType;
 import com.platform.file.service.FileUploadService;
 import com.platform.util.SecurityUtil;
-import org.springframework.core.io.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/files")
 public class FileUploadController {
 
+    // Request attributes through which Tomcat takes over sending a file
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final FileUploadService fileUploadService;
+    private final String cacheControl;
+    private final long sendfileMinBytes;
 
-    public FileUploadController(FileUploadService fileUploadService) {
+    public FileUploadController(FileUploadService fileUploadService,
+                                @Value("${file.download.max-age-seconds:3600}") long maxAgeSeconds,
+                                @Value("${file.download.sendfile-min-bytes:49152}") long sendfileMinBytes) {
         this.fileUploadService = fileUploadService;
+        this.cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePrivate().getHeaderValue();
+        this.sendfileMinBytes = sendfileMinBytes;
     }
 
     @PostMapping("/upload")
@@ -49,23 +76,102 @@ public class FileUploadController {
             .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Serve a stored file with a strong ETag, answering conditional GETs
+     * with 304 and a single byte range with 206. On Tomcat the bytes are
+     * sent with sendfile after this returns; elsewhere they are copied with
+     * {@link FileChannel#transferTo}.
+     */
     @GetMapping("/{id}/download")
-    public ResponseEntity<Resource> downloadFile(@PathVariable UUID id) {
-        try {
-            FileUpload fileUpload = fileUploadService.getFileUploadById(id);
-            if (fileUpload == null) {
-                return ResponseEntity.notFound().build();
+    public void downloadFile(@PathVariable UUID id, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        Optional<FileDownload> found = fileUploadService.getDownload(id);
+        if (found.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        FileDownload download = found.get();
+        FileUpload fileUpload = download.getFileUpload();
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        // Sets ETag and Last-Modified, and 304 or 412 when a precondition says so
+        if (new ServletWebRequest(request, response).checkNotModified(download.getETag(), download.getLastModified())) {
+            return;
+        }
+
+        long size = download.getSize();
+        long start = 0;
+        long length = size;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request, download)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                // A malformed Range header is ignored
+                ranges = List.of();
+            }
+            // Multiple ranges are not worth a multipart response; send the whole file
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(size);
+                long end = ranges.get(0).getRangeEnd(size);
+                if (start >= size || start > end) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    return;
+                }
+                length = end - start + 1;
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
             }
+        }
+
+        response.setContentType(fileUpload.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename(fileUpload.getOriginalFileName(), StandardCharsets.UTF_8).build().toString());
+        response.setContentLengthLong(length);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0) {
+            return;
+        }
 
-            Resource resource = fileUploadService.downloadFile(id);
-            
-            return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(fileUpload.getContentType()))
-                .header(HttpHeaders.CONTENT_DISPOSITION, 
-                    "attachment; filename=\"" + fileUpload.getOriginalFileName() + "\"")
-                .body(resource);
-        } catch (Exception e) {
-            return ResponseEntity.notFound().build();
+        if (length >= sendfileMinBytes && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, download.getPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(download.getPath(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long end = start + length;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, out);
+                if (sent <= 0) {
+                    // The file shrank under us; the client sees a short body
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+
+    /**
+     * A range applies unless If-Range names a different version of the file;
+     * only the strong ETag or the exact Last-Modified date match
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, FileDownload download) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(download.getETag());
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) == download.getLastModified() / 1000 * 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
         }
     }
 
@@ -0,0 +1,36 @@
+package com.platform.file.model;
+
+import java.nio.file.Path;
+
+/**
+ * A stored file ready to be served: its metadata, where it is on disk and
+ * the size and modification time read from the file system
+ */
+public class FileDownload {
+    private final FileUpload fileUpload;
+    private final Path path;
+    private final long size;
+    private final long lastModified;
+
+    // Constructors
+    public FileDownload(FileUpload fileUpload, Path path, long size, long lastModified) {
+        this.fileUpload = fileUpload;
+        this.path = path;
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    // Getters
+    public FileUpload getFileUpload() { return fileUpload; }
+    public Path getPath() { return path; }
+    public long getSize() { return size; }
+    public long getLastModified() { return lastModified; }
+
+    /**
+     * Strong validator; stored files are never rewritten in place, so this
+     * only changes if the file on disk is replaced
+     */
+    public String getETag() {
+        return "\"" + fileUpload.getId() + "-" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+}
@@ -2,15 +2,12 @@ package com.platform.file.service;
 
 import com.platform.file.model.FileType;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -61,15 +58,12 @@ public class FileStorageService {
         return newFileName;
     }
 
-    public Resource loadFile(String fileName) throws MalformedURLException {
+    public Path getFilePath(String fileName) {
         Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
-        Resource resource = new UrlResource(filePath.toUri());
-
-        if (resource.exists() && resource.isReadable()) {
-            return resource;
-        } else {
-            throw new RuntimeException("File not found: " + fileName);
+        if (!filePath.startsWith(this.fileStorageLocation)) {
+            throw new IllegalArgumentException("Invalid file name: " + fileName);
         }
+        return filePath;
     }
 
     public boolean deleteFile(String fileName) {
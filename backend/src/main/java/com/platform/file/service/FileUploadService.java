@@ -1,16 +1,19 @@
 package com.platform.file.service;
 
+import com.platform.file.model.FileDownload;
 import com.platform.file.model.FileUpload;
 import com.platform.file.model.FileUploadDTO;
 import com.platform.file.model.FileType;
 import com.platform.file.repository.FileUploadRepository;
-import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -51,14 +54,22 @@ public class FileUploadService {
             .map(FileUploadDTO::new);
     }
 
-    public Resource downloadFile(UUID fileId) throws MalformedURLException {
-        FileUpload fileUpload = fileUploadRepository.findById(fileId)
-            .orElseThrow(() -> new RuntimeException("File not found"));
-        return fileStorageService.loadFile(fileUpload.getFileName());
-    }
-
-    public FileUpload getFileUploadById(UUID fileId) {
-        return fileUploadRepository.findById(fileId).orElse(null);
+    /**
+     * Look up a file and stat it on disk in one go; empty if either is missing
+     */
+    public Optional<FileDownload> getDownload(UUID fileId) throws IOException {
+        Optional<FileUpload> fileUpload = fileUploadRepository.findById(fileId);
+        if (fileUpload.isEmpty()) {
+            return Optional.empty();
+        }
+        Path path = fileStorageService.getFilePath(fileUpload.get().getFileName());
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return Optional.of(new FileDownload(fileUpload.get(), path, attributes.size(),
+                attributes.lastModifiedTime().toMillis()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
     }
 
     public List<FileUploadDTO> getFilesByReferenceId(UUID referenceId) {
@@ -0,0 +1,146 @@
+package com.platform.idempotency.config;
+
+import com.platform.idempotency.model.IdempotencyRecord;
+import com.platform.idempotency.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes POST requests carrying an {@code Idempotency-Key} header safe to retry.
+ *
+ * The first request with a key runs normally and its response is stored;
+ * retries with the same key from the same caller to the same path get the
+ * stored response back, marked with {@code Idempotent-Replayed: true},
+ * without running the handler again. Server errors are not stored, so a
+ * request that failed with a 5xx can be retried for real.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_STORED_BODY = 1_000_000;
+
+    private final IdempotencyService idempotencyService;
+    private final List<String> pathPrefixes;
+    private final long waitTimeoutMs;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService,
+                             @Value("${idempotency.path-prefixes:/api/investment-offers,/api/messages,/api/files}")
+                             List<String> pathPrefixes,
+                             @Value("${idempotency.wait-timeout-ms:30000}") long waitTimeoutMs) {
+        this.idempotencyService = idempotencyService;
+        this.pathPrefixes = pathPrefixes;
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return pathPrefixes.stream().noneMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(),
+                    IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        String keyHash = idempotencyService.keyHash(caller(), request.getMethod(),
+                request.getRequestURI(), idempotencyKey);
+
+        IdempotencyRecord stored = idempotencyService.find(keyHash);
+        if (stored != null) {
+            replay(stored, response);
+            return;
+        }
+
+        CompletableFuture<IdempotencyRecord> mine = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> inFlight = idempotencyService.begin(keyHash, mine);
+        if (inFlight != null) {
+            awaitAndReplay(inFlight, response);
+            return;
+        }
+        // The previous holder may have finished between the lookup and taking the key
+        stored = idempotencyService.find(keyHash);
+        if (stored != null) {
+            idempotencyService.complete(keyHash, mine, stored.getStatusCode(), stored.getContentType(),
+                    stored.getBody(), false);
+            replay(stored, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            idempotencyService.fail(keyHash, mine, e);
+            throw e;
+        }
+        byte[] body = wrapper.getContentAsByteArray();
+        boolean store = wrapper.getStatus() < 500 && body.length <= MAX_STORED_BODY;
+        idempotencyService.complete(keyHash, mine, wrapper.getStatus(), wrapper.getContentType(), body, store);
+        wrapper.copyBodyToResponse();
+    }
+
+    private void awaitAndReplay(CompletableFuture<IdempotencyRecord> inFlight, HttpServletResponse response)
+            throws IOException {
+        try {
+            replay(inFlight.get(waitTimeoutMs, TimeUnit.MILLISECONDS), response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+        } catch (TimeoutException e) {
+            response.sendError(HttpStatus.CONFLICT.value(), "A request with this Idempotency-Key is still in progress");
+        } catch (ExecutionException e) {
+            response.sendError(HttpStatus.CONFLICT.value(), "The original request with this Idempotency-Key failed");
+        }
+    }
+
+    private static void replay(IdempotencyRecord record, HttpServletResponse response) throws IOException {
+        response.setStatus(record.getStatusCode());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        byte[] body = record.getBody();
+        if (body != null && body.length > 0) {
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return "anonymous";
+        }
+        return authentication.getName();
+    }
+}
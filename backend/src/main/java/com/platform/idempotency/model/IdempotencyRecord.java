@@ -0,0 +1,62 @@
+package com.platform.idempotency.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * The stored response to a request made with an Idempotency-Key, replayed to
+ * retries of the same request until it expires
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_expires_at", columnList = "expiresAt")
+})
+public class IdempotencyRecord {
+    // SHA-256 of the caller, method, path and client key
+    @Id
+    @Column(length = 64)
+    private String keyHash;
+
+    @Column(nullable = false)
+    private int statusCode;
+
+    private String contentType;
+
+    @Column(length = 1_000_000)
+    private byte[] body;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(String keyHash, int statusCode, String contentType, byte[] body,
+                             LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.keyHash = keyHash;
+        this.statusCode = statusCode;
+        this.contentType = contentType;
+        this.body = body;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters
+    public String getKeyHash() { return keyHash; }
+    public int getStatusCode() { return statusCode; }
+    public String getContentType() { return contentType; }
+    public byte[] getBody() { return body; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+
+    // Setters
+    public void setKeyHash(String keyHash) { this.keyHash = keyHash; }
+    public void setStatusCode(int statusCode) { this.statusCode = statusCode; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public void setBody(byte[] body) { this.body = body; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,148 @@
+package com.platform.idempotency.service;
+
+import com.platform.idempotency.model.IdempotencyRecord;
+import com.platform.idempotency.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stored responses for requests made with an Idempotency-Key.
+ *
+ * Recent responses are held in a bounded LRU cache in front of the
+ * idempotency_keys table, so retries are answered without a query and
+ * stored responses survive restarts. Both expire after
+ * {@code idempotency.ttl-hours}. Duplicates that arrive while the first
+ * request is still running on this node wait for its result instead of
+ * running again.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Duration ttl;
+    private final Map<String, IdempotencyRecord> cache;
+    private final Map<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${idempotency.cache-size:10000}") int cacheSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Hash identifying one client key for one caller and endpoint
+     */
+    public String keyHash(String caller, String method, String path, String idempotencyKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String scoped = caller + '\n' + method + '\n' + path + '\n' + idempotencyKey;
+            return HexFormat.of().formatHex(digest.digest(scoped.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Stored response for a key, or null if there is none that is unexpired
+     */
+    public IdempotencyRecord find(String keyHash) {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (cache) {
+            IdempotencyRecord cached = cache.get(keyHash);
+            if (cached != null) {
+                if (cached.getExpiresAt().isAfter(now)) {
+                    return cached;
+                }
+                cache.remove(keyHash);
+            }
+        }
+        IdempotencyRecord stored = idempotencyRecordRepository.findUnexpired(keyHash, now).orElse(null);
+        if (stored != null) {
+            cacheRecord(stored);
+        }
+        return stored;
+    }
+
+    /**
+     * Register {@code mine} as the in-flight execution for a key. Returns the
+     * execution already in flight if there is one, or null if the caller now
+     * owns the key and must finish it with {@link #complete} or {@link #fail}.
+     */
+    public CompletableFuture<IdempotencyRecord> begin(String keyHash, CompletableFuture<IdempotencyRecord> mine) {
+        return inFlight.putIfAbsent(keyHash, mine);
+    }
+
+    /**
+     * Finish an execution, storing its response if {@code store} is set and
+     * handing it to any waiting duplicates
+     */
+    public IdempotencyRecord complete(String keyHash, CompletableFuture<IdempotencyRecord> mine,
+                                      int statusCode, String contentType, byte[] body, boolean store) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = new IdempotencyRecord(keyHash, statusCode, contentType, body, now, now.plus(ttl));
+        try {
+            if (store) {
+                cacheRecord(record);
+                try {
+                    idempotencyRecordRepository.save(record);
+                } catch (DataIntegrityViolationException e) {
+                    // Another node stored a response for the same key first
+                    logger.debug("Idempotency key {} already stored", keyHash);
+                }
+            }
+        } finally {
+            inFlight.remove(keyHash, mine);
+            mine.complete(record);
+        }
+        return record;
+    }
+
+    /**
+     * Finish an execution that failed without a response; waiting duplicates see the failure
+     */
+    public void fail(String keyHash, CompletableFuture<IdempotencyRecord> mine, Throwable failure) {
+        inFlight.remove(keyHash, mine);
+        mine.completeExceptionally(failure);
+    }
+
+    /**
+     * Drop expired responses from the table
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private void cacheRecord(IdempotencyRecord record) {
+        synchronized (cache) {
+            cache.put(record.getKeyHash(), record);
+        }
+    }
+}
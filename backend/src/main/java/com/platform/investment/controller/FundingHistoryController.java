@@ -0,0 +1,60 @@
+package com.platform.investment.controller;
+
+import com.platform.investment.model.FundingHistoryDTO;
+import com.platform.investment.model.FundingPointDTO;
+import com.platform.investment.service.FundingHistoryService;
+import com.platform.startup.repository.StartupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/startups/{id}/funding-history")
+public class FundingHistoryController {
+
+    private static final int MAX_POINTS = 1000;
+
+    @Autowired
+    private FundingHistoryService fundingHistoryService;
+
+    @Autowired
+    private StartupRepository startupRepository;
+
+    /**
+     * Get a startup's funding over time, downsampled to at most about {@code points} points
+     */
+    @GetMapping
+    public ResponseEntity<?> getFundingHistory(
+            @PathVariable UUID id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "200") int points) {
+        if (!startupRepository.existsById(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Startup not found");
+        }
+        try {
+            FundingHistoryDTO history = fundingHistoryService.getHistory(id, from, to,
+                    Math.max(1, Math.min(points, MAX_POINTS)));
+            return ResponseEntity.ok(history);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Get a startup's funding as it stood at a point in time
+     */
+    @GetMapping("/at")
+    public ResponseEntity<?> getFundingAt(
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        if (!startupRepository.existsById(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Startup not found");
+        }
+        return ResponseEntity.ok(new FundingPointDTO(at, fundingHistoryService.getFundingAt(id, at)));
+    }
+}
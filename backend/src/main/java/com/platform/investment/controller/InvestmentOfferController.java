@@ -2,9 +2,13 @@ package com.platform.investment.controller;
 
 import com.platform.investment.model.InvestmentOffer;
 import com.platform.investment.model.InvestmentOfferDTO;
+import com.platform.investment.model.OfferBookDTO;
 import com.platform.investment.model.OfferStatus;
 import com.platform.investment.service.InvestmentOfferService;
+import com.platform.investment.service.OfferBookService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -20,6 +24,9 @@ public class InvestmentOfferController {
     @Autowired
     private InvestmentOfferService investmentOfferService;
     
+    @Autowired
+    private OfferBookService offerBookService;
+    
     /**
      * Get offer by ID
      */
@@ -42,6 +49,16 @@ public class InvestmentOfferController {
         return ResponseEntity.ok(offers);
     }
     
+    /**
+     * Get the live offer book for an idea, sorted by amount and by valuation
+     */
+    @GetMapping("/idea/{ideaId}/book")
+    public ResponseEntity<OfferBookDTO> getOfferBook(
+            @PathVariable UUID ideaId,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(offerBookService.getBook(ideaId, Math.max(0, limit)));
+    }
+    
     /**
      * Get all offers from an investor
      */
@@ -78,6 +95,19 @@ public class InvestmentOfferController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdOffer);
     }
     
+    /**
+     * Create a set of offers at once; the whole set is rejected if any offer is invalid
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createOffers(@RequestBody List<InvestmentOfferDTO> offerDTOs) {
+        try {
+            List<InvestmentOffer> createdOffers = investmentOfferService.createOffers(offerDTOs);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdOffers);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+    
     /**
      * Update existing offer
      */
@@ -85,12 +115,19 @@ public class InvestmentOfferController {
     public ResponseEntity<?> updateOffer(
             @PathVariable UUID id,
             @RequestBody InvestmentOfferDTO offerDTO) {
-        InvestmentOffer updatedOffer = investmentOfferService.updateOffer(id, offerDTO);
-        if (updatedOffer != null) {
-            return ResponseEntity.ok(updatedOffer);
+        try {
+            InvestmentOffer updatedOffer = investmentOfferService.updateOffer(id, offerDTO);
+            if (updatedOffer != null) {
+                return ResponseEntity.ok(updatedOffer);
+            }
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Investment offer not found");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Investment offer was modified concurrently");
         }
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body("Investment offer not found");
     }
     
     /**
@@ -98,12 +135,19 @@ public class InvestmentOfferController {
      */
     @PutMapping("/{id}/accept")
     public ResponseEntity<?> acceptOffer(@PathVariable UUID id) {
-        InvestmentOffer offer = investmentOfferService.acceptOffer(id);
-        if (offer != null) {
-            return ResponseEntity.ok(offer);
+        try {
+            InvestmentOffer offer = investmentOfferService.acceptOffer(id);
+            if (offer != null) {
+                return ResponseEntity.ok(offer);
+            }
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Investment offer not found");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Investment offer was modified concurrently");
         }
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body("Investment offer not found");
     }
     
     /**
@@ -111,12 +155,39 @@ public class InvestmentOfferController {
      */
     @PutMapping("/{id}/reject")
     public ResponseEntity<?> rejectOffer(@PathVariable UUID id) {
-        InvestmentOffer offer = investmentOfferService.rejectOffer(id);
-        if (offer != null) {
-            return ResponseEntity.ok(offer);
+        try {
+            InvestmentOffer offer = investmentOfferService.rejectOffer(id);
+            if (offer != null) {
+                return ResponseEntity.ok(offer);
+            }
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Investment offer not found");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Investment offer was modified concurrently");
+        }
+    }
+    
+    /**
+     * Withdraw offer
+     */
+    @PutMapping("/{id}/withdraw")
+    public ResponseEntity<?> withdrawOffer(@PathVariable UUID id) {
+        try {
+            InvestmentOffer offer = investmentOfferService.withdrawOffer(id);
+            if (offer != null) {
+                return ResponseEntity.ok(offer);
+            }
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Investment offer not found");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Investment offer was modified concurrently");
         }
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body("Investment offer not found");
     }
     
     /**
@@ -124,10 +195,14 @@ public class InvestmentOfferController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteOffer(@PathVariable UUID id) {
-        if (investmentOfferService.deleteOffer(id)) {
-            return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+        try {
+            if (investmentOfferService.deleteOffer(id)) {
+                return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+            }
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Investment offer not found");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         }
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body("Investment offer not found");
     }
 }
@@ -0,0 +1,24 @@
+package com.platform.investment.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The funding ledger entries of one time bucket, summed in the database
+ */
+public class FundingBucket {
+    private final LocalDateTime lastAt;
+    private final BigDecimal amount;
+    private final long entryCount;
+
+    public FundingBucket(LocalDateTime lastAt, BigDecimal amount, long entryCount) {
+        this.lastAt = lastAt;
+        this.amount = amount;
+        this.entryCount = entryCount;
+    }
+
+    // Getters
+    public LocalDateTime getLastAt() { return lastAt; }
+    public BigDecimal getAmount() { return amount; }
+    public long getEntryCount() { return entryCount; }
+}
@@ -0,0 +1,7 @@
+package com.platform.investment.model;
+
+public enum FundingEntryType {
+    OFFER_ACCEPTED,
+    OFFER_WITHDRAWN,
+    MANUAL_ADJUSTMENT
+}
@@ -0,0 +1,44 @@
+package com.platform.investment.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A startup's funding over a time range as a step series; each point holds
+ * the funding from its time until the next point
+ */
+public class FundingHistoryDTO {
+    private UUID startupId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    // Ledger entries in the range, before downsampling
+    private int entryCount;
+    private List<FundingPointDTO> points;
+
+    // Constructors
+    public FundingHistoryDTO() {}
+
+    public FundingHistoryDTO(UUID startupId, LocalDateTime from, LocalDateTime to,
+                             int entryCount, List<FundingPointDTO> points) {
+        this.startupId = startupId;
+        this.from = from;
+        this.to = to;
+        this.entryCount = entryCount;
+        this.points = points;
+    }
+
+    // Getters
+    public UUID getStartupId() { return startupId; }
+    public LocalDateTime getFrom() { return from; }
+    public LocalDateTime getTo() { return to; }
+    public int getEntryCount() { return entryCount; }
+    public List<FundingPointDTO> getPoints() { return points; }
+
+    // Setters
+    public void setStartupId(UUID startupId) { this.startupId = startupId; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+    public void setEntryCount(int entryCount) { this.entryCount = entryCount; }
+    public void setPoints(List<FundingPointDTO> points) { this.points = points; }
+}
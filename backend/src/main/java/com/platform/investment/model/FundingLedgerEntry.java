@@ -0,0 +1,81 @@
+package com.platform.investment.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Append-only funding event for a startup. Each startup's entries are
+ * numbered 1, 2, 3... in the order they were applied, and the sum of its
+ * entries is what its current funding should read.
+ */
+@Entity
+@Table(name = "funding_ledger",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_funding_ledger_offer_entry", columnNames = {"offer_id", "entry_type"}),
+           @UniqueConstraint(name = "uk_funding_ledger_startup_sequence", columnNames = {"startup_id", "sequence"})
+       })
+public class FundingLedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // Null for manual adjustments
+    @Column(name = "offer_id", updatable = false)
+    private UUID offerId;
+
+    @Column(name = "startup_id", nullable = false, updatable = false)
+    private UUID startupId;
+
+    @Column(nullable = false, updatable = false)
+    private long sequence;
+
+    @Column(nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, updatable = false, length = 30)
+    private FundingEntryType entryType;
+
+    @Column(columnDefinition = "TEXT", updatable = false)
+    private String note;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public FundingLedgerEntry() {}
+
+    public FundingLedgerEntry(UUID offerId, UUID startupId, BigDecimal amount, FundingEntryType entryType) {
+        this.offerId = offerId;
+        this.startupId = startupId;
+        this.amount = amount;
+        this.entryType = entryType;
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+    public UUID getOfferId() { return offerId; }
+    public UUID getStartupId() { return startupId; }
+    public long getSequence() { return sequence; }
+    public BigDecimal getAmount() { return amount; }
+    public FundingEntryType getEntryType() { return entryType; }
+    public String getNote() { return note; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    // Setters
+    public void setId(UUID id) { this.id = id; }
+    public void setOfferId(UUID offerId) { this.offerId = offerId; }
+    public void setStartupId(UUID startupId) { this.startupId = startupId; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public void setEntryType(FundingEntryType entryType) { this.entryType = entryType; }
+    public void setNote(String note) { this.note = note; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,25 @@
+package com.platform.investment.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class FundingPointDTO {
+    private LocalDateTime at;
+    private BigDecimal funding;
+
+    // Constructors
+    public FundingPointDTO() {}
+
+    public FundingPointDTO(LocalDateTime at, BigDecimal funding) {
+        this.at = at;
+        this.funding = funding;
+    }
+
+    // Getters
+    public LocalDateTime getAt() { return at; }
+    public BigDecimal getFunding() { return funding; }
+
+    // Setters
+    public void setAt(LocalDateTime at) { this.at = at; }
+    public void setFunding(BigDecimal funding) { this.funding = funding; }
+}
@@ -0,0 +1,58 @@
+package com.platform.investment.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A startup's funding total after a given ledger entry, so point-in-time
+ * reads only replay the entries that follow it
+ */
+@Entity
+@Table(name = "funding_snapshots",
+       uniqueConstraints = @UniqueConstraint(name = "uk_funding_snapshots_startup_sequence",
+                                             columnNames = {"startup_id", "sequence"}))
+public class FundingSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "startup_id", nullable = false, updatable = false)
+    private UUID startupId;
+
+    // Sequence of the last ledger entry included in the total
+    @Column(nullable = false, updatable = false)
+    private long sequence;
+
+    @Column(nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal total;
+
+    // When that last entry was applied
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime takenAt;
+
+    // Constructors
+    public FundingSnapshot() {}
+
+    public FundingSnapshot(UUID startupId, long sequence, BigDecimal total, LocalDateTime takenAt) {
+        this.startupId = startupId;
+        this.sequence = sequence;
+        this.total = total;
+        this.takenAt = takenAt;
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+    public UUID getStartupId() { return startupId; }
+    public long getSequence() { return sequence; }
+    public BigDecimal getTotal() { return total; }
+    public LocalDateTime getTakenAt() { return takenAt; }
+
+    // Setters
+    public void setId(UUID id) { this.id = id; }
+    public void setStartupId(UUID startupId) { this.startupId = startupId; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+    public void setTotal(BigDecimal total) { this.total = total; }
+    public void setTakenAt(LocalDateTime takenAt) { this.takenAt = takenAt; }
+}
@@ -6,7 +6,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "investment_offers")
+@Table(name = "investment_offers", indexes = {
+    @Index(name = "idx_investment_offers_batch_id", columnList = "batchId")
+})
 public class InvestmentOffer {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -35,6 +37,12 @@ public class InvestmentOffer {
 
     private LocalDateTime expiresAt;
 
+    // Set on offers submitted together through the batch endpoint
+    private UUID batchId;
+
+    @Version
+    private Long version;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -74,6 +82,8 @@ public class InvestmentOffer {
     public String getMessage() { return message; }
     public OfferStatus getStatus() { return status; }
     public LocalDateTime getExpiresAt() { return expiresAt; }
+    public UUID getBatchId() { return batchId; }
+    public Long getVersion() { return version; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
 
@@ -87,6 +97,8 @@ public class InvestmentOffer {
     public void setMessage(String message) { this.message = message; }
     public void setStatus(OfferStatus status) { this.status = status; }
     public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    public void setBatchId(UUID batchId) { this.batchId = batchId; }
+    public void setVersion(Long version) { this.version = version; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 }
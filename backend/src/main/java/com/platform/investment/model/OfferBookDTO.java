@@ -0,0 +1,37 @@
+package com.platform.investment.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An idea's offer book: aggregates plus live offers ranked by amount and by valuation
+ */
+public class OfferBookDTO {
+    private UUID ideaId;
+    private OfferBookStatsDTO stats;
+    private List<InvestmentOfferDTO> byAmount;
+    private List<InvestmentOfferDTO> byValuation;
+
+    // Constructors
+    public OfferBookDTO() {}
+
+    public OfferBookDTO(UUID ideaId, OfferBookStatsDTO stats,
+                        List<InvestmentOfferDTO> byAmount, List<InvestmentOfferDTO> byValuation) {
+        this.ideaId = ideaId;
+        this.stats = stats;
+        this.byAmount = byAmount;
+        this.byValuation = byValuation;
+    }
+
+    // Getters
+    public UUID getIdeaId() { return ideaId; }
+    public OfferBookStatsDTO getStats() { return stats; }
+    public List<InvestmentOfferDTO> getByAmount() { return byAmount; }
+    public List<InvestmentOfferDTO> getByValuation() { return byValuation; }
+
+    // Setters
+    public void setIdeaId(UUID ideaId) { this.ideaId = ideaId; }
+    public void setStats(OfferBookStatsDTO stats) { this.stats = stats; }
+    public void setByAmount(List<InvestmentOfferDTO> byAmount) { this.byAmount = byAmount; }
+    public void setByValuation(List<InvestmentOfferDTO> byValuation) { this.byValuation = byValuation; }
+}
@@ -0,0 +1,41 @@
+package com.platform.investment.model;
+
+import java.util.UUID;
+
+/**
+ * Pushed on /topic/idea/{ideaId}/offers whenever one of the idea's offers changes
+ */
+public class OfferBookDeltaDTO {
+    public enum Type { UPSERT, REMOVE }
+
+    private UUID ideaId;
+    private Type type;
+    private UUID offerId;
+    private InvestmentOfferDTO offer;
+    private OfferBookStatsDTO stats;
+
+    // Constructors
+    public OfferBookDeltaDTO() {}
+
+    public OfferBookDeltaDTO(UUID ideaId, Type type, UUID offerId, InvestmentOfferDTO offer, OfferBookStatsDTO stats) {
+        this.ideaId = ideaId;
+        this.type = type;
+        this.offerId = offerId;
+        this.offer = offer;
+        this.stats = stats;
+    }
+
+    // Getters
+    public UUID getIdeaId() { return ideaId; }
+    public Type getType() { return type; }
+    public UUID getOfferId() { return offerId; }
+    public InvestmentOfferDTO getOffer() { return offer; }
+    public OfferBookStatsDTO getStats() { return stats; }
+
+    // Setters
+    public void setIdeaId(UUID ideaId) { this.ideaId = ideaId; }
+    public void setType(Type type) { this.type = type; }
+    public void setOfferId(UUID offerId) { this.offerId = offerId; }
+    public void setOffer(InvestmentOfferDTO offer) { this.offer = offer; }
+    public void setStats(OfferBookStatsDTO stats) { this.stats = stats; }
+}
@@ -0,0 +1,46 @@
+package com.platform.investment.model;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Running aggregates of an idea's offers. Amount totals and the best
+ * valuation only count live offers (pending, negotiating or accepted).
+ */
+public class OfferBookStatsDTO {
+    private int offerCount;
+    private Map<OfferStatus, Integer> countsByStatus;
+    private BigDecimal totalOffered;
+    private BigDecimal totalAccepted;
+    private BigDecimal highestOffer;
+    private BigDecimal bestValuation;
+
+    // Constructors
+    public OfferBookStatsDTO() {}
+
+    public OfferBookStatsDTO(int offerCount, Map<OfferStatus, Integer> countsByStatus, BigDecimal totalOffered,
+                             BigDecimal totalAccepted, BigDecimal highestOffer, BigDecimal bestValuation) {
+        this.offerCount = offerCount;
+        this.countsByStatus = countsByStatus;
+        this.totalOffered = totalOffered;
+        this.totalAccepted = totalAccepted;
+        this.highestOffer = highestOffer;
+        this.bestValuation = bestValuation;
+    }
+
+    // Getters
+    public int getOfferCount() { return offerCount; }
+    public Map<OfferStatus, Integer> getCountsByStatus() { return countsByStatus; }
+    public BigDecimal getTotalOffered() { return totalOffered; }
+    public BigDecimal getTotalAccepted() { return totalAccepted; }
+    public BigDecimal getHighestOffer() { return highestOffer; }
+    public BigDecimal getBestValuation() { return bestValuation; }
+
+    // Setters
+    public void setOfferCount(int offerCount) { this.offerCount = offerCount; }
+    public void setCountsByStatus(Map<OfferStatus, Integer> countsByStatus) { this.countsByStatus = countsByStatus; }
+    public void setTotalOffered(BigDecimal totalOffered) { this.totalOffered = totalOffered; }
+    public void setTotalAccepted(BigDecimal totalAccepted) { this.totalAccepted = totalAccepted; }
+    public void setHighestOffer(BigDecimal highestOffer) { this.highestOffer = highestOffer; }
+    public void setBestValuation(BigDecimal bestValuation) { this.bestValuation = bestValuation; }
+}
@@ -0,0 +1,19 @@
+package com.platform.investment.model;
+
+import java.util.UUID;
+
+/**
+ * Published after an offer is created, changed or deleted
+ */
+public class OfferChangedEvent {
+    private final UUID offerId;
+    private final UUID ideaId;
+
+    public OfferChangedEvent(UUID offerId, UUID ideaId) {
+        this.offerId = offerId;
+        this.ideaId = ideaId;
+    }
+
+    public UUID getOfferId() { return offerId; }
+    public UUID getIdeaId() { return ideaId; }
+}
@@ -0,0 +1,8 @@
+package com.platform.investment.model;
+
+public enum OfferEventType {
+    OFFER_CREATED,
+    OFFER_ACCEPTED,
+    OFFER_REJECTED,
+    OFFER_EXPIRED
+}
@@ -0,0 +1,45 @@
+package com.platform.investment.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Everything needed to notify both sides of an offer, loaded with one
+ * joined query. Fields of missing related rows are null.
+ */
+public class OfferNotificationContext {
+    private final UUID offerId;
+    private final BigDecimal offeredAmount;
+    private final UUID startupId;
+    private final String startupName;
+    private final UUID ownerId;
+    private final String ownerEmail;
+    private final UUID investorUserId;
+    private final String investorDisplayName;
+    private final String investorEmail;
+
+    public OfferNotificationContext(UUID offerId, BigDecimal offeredAmount, UUID startupId, String startupName,
+                                    UUID ownerId, String ownerEmail, UUID investorUserId,
+                                    String investorFirstName, String investorLastName, String investorEmail) {
+        this.offerId = offerId;
+        this.offeredAmount = offeredAmount;
+        this.startupId = startupId;
+        this.startupName = startupName;
+        this.ownerId = ownerId;
+        this.ownerEmail = ownerEmail;
+        this.investorUserId = investorUserId;
+        this.investorDisplayName = investorUserId != null ? investorFirstName + " " + investorLastName : null;
+        this.investorEmail = investorEmail;
+    }
+
+    // Getters
+    public UUID getOfferId() { return offerId; }
+    public BigDecimal getOfferedAmount() { return offeredAmount; }
+    public UUID getStartupId() { return startupId; }
+    public String getStartupName() { return startupName; }
+    public UUID getOwnerId() { return ownerId; }
+    public String getOwnerEmail() { return ownerEmail; }
+    public UUID getInvestorUserId() { return investorUserId; }
+    public String getInvestorDisplayName() { return investorDisplayName; }
+    public String getInvestorEmail() { return investorEmail; }
+}
@@ -0,0 +1,91 @@
+package com.platform.investment.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "offer_outbox")
+public class OfferOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // Null for grouped events, which cover every offer of a batch
+    private UUID offerId;
+
+    private UUID batchId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private OfferEventType eventType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxChannel channel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+        if (status == null) {
+            status = OutboxStatus.PENDING;
+        }
+    }
+
+    // Constructors
+    public OfferOutboxEvent() {}
+
+    public OfferOutboxEvent(UUID offerId, OfferEventType eventType, OutboxChannel channel) {
+        this.offerId = offerId;
+        this.eventType = eventType;
+        this.channel = channel;
+        this.status = OutboxStatus.PENDING;
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+    public UUID getOfferId() { return offerId; }
+    public UUID getBatchId() { return batchId; }
+    public OfferEventType getEventType() { return eventType; }
+    public OutboxChannel getChannel() { return channel; }
+    public OutboxStatus getStatus() { return status; }
+    public int getAttempts() { return attempts; }
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public String getLastError() { return lastError; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getProcessedAt() { return processedAt; }
+
+    // Setters
+    public void setId(UUID id) { this.id = id; }
+    public void setOfferId(UUID offerId) { this.offerId = offerId; }
+    public void setBatchId(UUID batchId) { this.batchId = batchId; }
+    public void setEventType(OfferEventType eventType) { this.eventType = eventType; }
+    public void setChannel(OutboxChannel channel) { this.channel = channel; }
+    public void setStatus(OutboxStatus status) { this.status = status; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+}
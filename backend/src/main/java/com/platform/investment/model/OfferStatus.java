@@ -5,5 +5,6 @@ public enum OfferStatus {
     ACCEPTED,
     REJECTED,
     NEGOTIATING,
-    WITHDRAWN
+    WITHDRAWN,
+    EXPIRED
 }
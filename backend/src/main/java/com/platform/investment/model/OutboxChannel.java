@@ -0,0 +1,6 @@
+package com.platform.investment.model;
+
+public enum OutboxChannel {
+    NOTIFICATION,
+    EMAIL
+}
@@ -0,0 +1,7 @@
+package com.platform.investment.model;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,76 @@
+package com.platform.investment.repository;
+
+import com.platform.investment.model.FundingBucket;
+import com.platform.investment.model.FundingLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface FundingLedgerRepository extends JpaRepository<FundingLedgerEntry, UUID> {
+    List<FundingLedgerEntry> findByStartupIdOrderByCreatedAtAsc(UUID startupId);
+    long countByOfferId(UUID offerId);
+
+    /**
+     * Total committed to a startup according to the ledger
+     */
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM FundingLedgerEntry e WHERE e.startupId = :startupId")
+    BigDecimal sumAmountByStartupId(@Param("startupId") UUID startupId);
+
+    @Query("SELECT COALESCE(MAX(e.sequence), 0) FROM FundingLedgerEntry e WHERE e.startupId = :startupId")
+    long findLastSequence(@Param("startupId") UUID startupId);
+
+    /**
+     * Sum of the entries after {@code afterSequence} up to {@code toSequence}
+     */
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM FundingLedgerEntry e WHERE e.startupId = :startupId " +
+           "AND e.sequence > :afterSequence AND e.sequence <= :toSequence")
+    BigDecimal sumAmountBetweenSequences(@Param("startupId") UUID startupId,
+                                         @Param("afterSequence") long afterSequence,
+                                         @Param("toSequence") long toSequence);
+
+    /**
+     * Sum of the entries after {@code afterSequence} applied no later than {@code at}
+     */
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM FundingLedgerEntry e WHERE e.startupId = :startupId " +
+           "AND e.sequence > :afterSequence AND e.createdAt <= :at")
+    BigDecimal sumAmountAfterSequence(@Param("startupId") UUID startupId,
+                                      @Param("afterSequence") long afterSequence,
+                                      @Param("at") LocalDateTime at);
+
+    @Query("SELECT e FROM FundingLedgerEntry e WHERE e.startupId = :startupId " +
+           "AND e.createdAt > :from AND e.createdAt <= :to ORDER BY e.sequence")
+    List<FundingLedgerEntry> findRange(@Param("startupId") UUID startupId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+
+    @Query("SELECT COUNT(e) FROM FundingLedgerEntry e WHERE e.startupId = :startupId " +
+           "AND e.createdAt > :from AND e.createdAt <= :to")
+    long countRange(@Param("startupId") UUID startupId,
+                    @Param("from") LocalDateTime from,
+                    @Param("to") LocalDateTime to);
+
+    @Query("SELECT MIN(e.createdAt) FROM FundingLedgerEntry e WHERE e.startupId = :startupId")
+    Optional<LocalDateTime> findFirstCreatedAt(@Param("startupId") UUID startupId);
+
+    /**
+     * The entries of {@link #findRange} summed per bucket of {@code bucketSeconds}
+     * whole seconds counted from {@code startEpochSecond}, oldest bucket first
+     */
+    @Query("SELECT new com.platform.investment.model.FundingBucket(MAX(e.createdAt), SUM(e.amount), COUNT(e)) " +
+           "FROM FundingLedgerEntry e WHERE e.startupId = :startupId " +
+           "AND e.createdAt > :from AND e.createdAt <= :to " +
+           "GROUP BY FLOOR((EXTRACT(EPOCH FROM e.createdAt) - :startEpochSecond) / :bucketSeconds) " +
+           "ORDER BY MAX(e.sequence)")
+    List<FundingBucket> sumRangeByBucket(@Param("startupId") UUID startupId,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to,
+                                         @Param("startEpochSecond") long startEpochSecond,
+                                         @Param("bucketSeconds") long bucketSeconds);
+}
@@ -0,0 +1,16 @@
+package com.platform.investment.repository;
+
+import com.platform.investment.model.FundingSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface FundingSnapshotRepository extends JpaRepository<FundingSnapshot, UUID> {
+    Optional<FundingSnapshot> findFirstByStartupIdOrderBySequenceDesc(UUID startupId);
+    Optional<FundingSnapshot> findFirstByStartupIdAndTakenAtLessThanEqualOrderBySequenceDesc(UUID startupId, LocalDateTime at);
+    List<FundingSnapshot> findByStartupIdOrderBySequenceAsc(UUID startupId);
+}
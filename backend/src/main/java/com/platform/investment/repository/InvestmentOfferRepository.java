@@ -1,11 +1,17 @@
 package com.platform.investment.repository;
 
 import com.platform.investment.model.InvestmentOffer;
+import com.platform.investment.model.OfferNotificationContext;
 import com.platform.investment.model.OfferStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,4 +22,39 @@ public interface InvestmentOfferRepository extends JpaRepository<InvestmentOffer
     List<InvestmentOffer> findByInvestorId(UUID investorId);
     Page<InvestmentOffer> findByStatus(OfferStatus status, Pageable pageable);
     Optional<InvestmentOffer> findByIdAndInvestorId(UUID id, UUID investorId);
+
+    /**
+     * Lock a batch of pending offers past their expiry; rows locked elsewhere are skipped
+     */
+    @Query(value = "SELECT * FROM investment_offers WHERE status = 'PENDING' AND expires_at <= :now " +
+            "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<InvestmentOffer> lockExpiredOffers(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE InvestmentOffer o SET o.status = :expired, o.version = o.version + 1, o.updatedAt = :now " +
+            "WHERE o.id IN :ids AND o.status = :pending")
+    int markExpired(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now,
+                    @Param("pending") OfferStatus pending, @Param("expired") OfferStatus expired);
+
+    @Query("SELECT MIN(o.expiresAt) FROM InvestmentOffer o WHERE o.status = :status AND o.expiresAt IS NOT NULL")
+    Optional<LocalDateTime> findEarliestExpiry(@Param("status") OfferStatus status);
+
+    String NOTIFICATION_CONTEXT_QUERY = "SELECT new com.platform.investment.model.OfferNotificationContext(" +
+            "o.id, o.offeredAmount, s.id, s.companyName, owner.id, owner.email, " +
+            "investorUser.id, investorUser.firstName, investorUser.lastName, investorUser.email) " +
+            "FROM InvestmentOffer o " +
+            "LEFT JOIN Idea idea ON idea.id = o.ideaId " +
+            "LEFT JOIN Startup s ON s.id = idea.startupId " +
+            "LEFT JOIN User owner ON owner.id = s.userId " +
+            "LEFT JOIN Investor i ON i.id = o.investorId " +
+            "LEFT JOIN User investorUser ON investorUser.id = i.userId ";
+
+    @Query(NOTIFICATION_CONTEXT_QUERY + "WHERE o.id = :offerId")
+    Optional<OfferNotificationContext> findNotificationContext(@Param("offerId") UUID offerId);
+
+    @Query(NOTIFICATION_CONTEXT_QUERY + "WHERE o.id IN :offerIds")
+    List<OfferNotificationContext> findNotificationContexts(@Param("offerIds") Collection<UUID> offerIds);
+
+    @Query("SELECT o.id FROM InvestmentOffer o WHERE o.batchId = :batchId")
+    List<UUID> findIdsByBatchId(@Param("batchId") UUID batchId);
 }
@@ -0,0 +1,25 @@
+package com.platform.investment.repository;
+
+import com.platform.investment.model.OfferOutboxEvent;
+import com.platform.investment.model.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OfferOutboxRepository extends JpaRepository<OfferOutboxEvent, UUID> {
+    List<OfferOutboxEvent> findByOfferId(UUID offerId);
+    List<OfferOutboxEvent> findByBatchId(UUID batchId);
+    long countByStatus(OutboxStatus status);
+
+    /**
+     * Lock a batch of due events; rows locked by another dispatcher are skipped
+     */
+    @Query(value = "SELECT * FROM offer_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OfferOutboxEvent> lockDueEvents(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
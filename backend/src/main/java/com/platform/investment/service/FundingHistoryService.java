@@ -0,0 +1,196 @@
+package com.platform.investment.service;
+
+import com.platform.investment.model.FundingBucket;
+import com.platform.investment.model.FundingEntryType;
+import com.platform.investment.model.FundingHistoryDTO;
+import com.platform.investment.model.FundingLedgerEntry;
+import com.platform.investment.model.FundingPointDTO;
+import com.platform.investment.model.FundingSnapshot;
+import com.platform.investment.model.InvestmentOffer;
+import com.platform.investment.repository.FundingLedgerRepository;
+import com.platform.investment.repository.FundingSnapshotRepository;
+import com.platform.startup.model.StartupChangedEvent;
+import com.platform.startup.repository.IdeaRepository;
+import com.platform.startup.repository.StartupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Funding history as an append-only event stream per startup.
+ *
+ * Every change to a startup's funding is appended to the funding ledger
+ * with the next sequence number for that startup, and
+ * {@code Startup.currentFunding} is moved by the same amount in the same
+ * transaction. Every {@code funding.snapshot-interval} entries the running
+ * total is stored as a snapshot, so the funding at any point in time is the
+ * latest snapshot before it plus the entries that follow.
+ */
+@Service
+public class FundingHistoryService {
+
+    // Charts ask for the whole history when no start is given
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // Replay from here without a snapshot, so the opening balance at sequence 0 is included
+    private static final long BEFORE_FIRST_SEQUENCE = -1;
+
+    @Autowired
+    private FundingLedgerRepository fundingLedgerRepository;
+
+    @Autowired
+    private FundingSnapshotRepository fundingSnapshotRepository;
+
+    @Autowired
+    private StartupRepository startupRepository;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${funding.snapshot-interval:100}")
+    private int snapshotInterval;
+
+    /**
+     * Record an accepted offer against the startup of its idea; fails with a
+     * constraint violation if it was already recorded
+     */
+    @Transactional
+    public FundingLedgerEntry recordOfferAccepted(InvestmentOffer offer) {
+        return append(startupOf(offer), offer.getId(), offer.getOfferedAmount(), FundingEntryType.OFFER_ACCEPTED, null);
+    }
+
+    /**
+     * Take back the funding of a previously accepted offer
+     */
+    @Transactional
+    public FundingLedgerEntry recordOfferWithdrawn(InvestmentOffer offer) {
+        return append(startupOf(offer), offer.getId(), offer.getOfferedAmount().negate(),
+                FundingEntryType.OFFER_WITHDRAWN, null);
+    }
+
+    /**
+     * Correct a startup's funding by hand; returns null if the startup does not exist
+     */
+    @Transactional
+    public FundingLedgerEntry recordAdjustment(UUID startupId, BigDecimal amount, String note) {
+        if (amount == null || amount.signum() == 0) {
+            throw new IllegalArgumentException("Adjustment amount must be non-zero");
+        }
+        if (!startupRepository.existsById(startupId)) {
+            return null;
+        }
+        return append(startupId, null, amount, FundingEntryType.MANUAL_ADJUSTMENT, note);
+    }
+
+    private UUID startupOf(InvestmentOffer offer) {
+        return ideaRepository.findStartupIdById(offer.getIdeaId())
+                .orElseThrow(() -> new IllegalStateException("Idea " + offer.getIdeaId() + " of offer "
+                        + offer.getId() + " does not exist"));
+    }
+
+    private FundingLedgerEntry append(UUID startupId, UUID offerId, BigDecimal amount,
+                                      FundingEntryType type, String note) {
+        // Moving the funding first locks the startup row, so entries get their sequence in commit order
+        if (startupRepository.incrementCurrentFunding(startupId, amount) != 1) {
+            throw new IllegalStateException("Startup " + startupId + " does not exist");
+        }
+        long sequence = fundingLedgerRepository.findLastSequence(startupId) + 1;
+
+        FundingLedgerEntry entry = new FundingLedgerEntry(offerId, startupId, amount, type);
+        entry.setSequence(sequence);
+        entry.setNote(note);
+        entry = fundingLedgerRepository.saveAndFlush(entry);
+
+        if (sequence % snapshotInterval == 0) {
+            takeSnapshot(startupId, sequence, entry.getCreatedAt());
+        }
+        eventPublisher.publishEvent(new StartupChangedEvent(startupId));
+        return entry;
+    }
+
+    private void takeSnapshot(UUID startupId, long sequence, LocalDateTime takenAt) {
+        FundingSnapshot previous = fundingSnapshotRepository.findFirstByStartupIdOrderBySequenceDesc(startupId)
+                .orElse(null);
+        long fromSequence = previous != null ? previous.getSequence() : BEFORE_FIRST_SEQUENCE;
+        BigDecimal base = previous != null ? previous.getTotal() : BigDecimal.ZERO;
+        BigDecimal total = base.add(fundingLedgerRepository.sumAmountBetweenSequences(startupId, fromSequence, sequence));
+        fundingSnapshotRepository.save(new FundingSnapshot(startupId, sequence, total, takenAt));
+    }
+
+    /**
+     * A startup's funding as it stood at the given time
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getFundingAt(UUID startupId, LocalDateTime at) {
+        FundingSnapshot snapshot = fundingSnapshotRepository
+                .findFirstByStartupIdAndTakenAtLessThanEqualOrderBySequenceDesc(startupId, at)
+                .orElse(null);
+        long afterSequence = snapshot != null ? snapshot.getSequence() : BEFORE_FIRST_SEQUENCE;
+        BigDecimal base = snapshot != null ? snapshot.getTotal() : BigDecimal.ZERO;
+        return base.add(fundingLedgerRepository.sumAmountAfterSequence(startupId, afterSequence, at));
+    }
+
+    /**
+     * A startup's funding between {@code from} (default: its first entry) and
+     * {@code to} (default: now) as at most about {@code maxPoints} points.
+     * Ranges with more entries than that are split into equal time buckets
+     * summed by the database, and only the value after each bucket is kept.
+     */
+    @Transactional(readOnly = true)
+    public FundingHistoryDTO getHistory(UUID startupId, LocalDateTime from, LocalDateTime to, int maxPoints) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime first = fundingLedgerRepository.findFirstCreatedAt(startupId).orElse(null);
+        if (from != null && first != null && from.isBefore(first)) {
+            throw new IllegalArgumentException("from must not be before the first funding entry at " + first);
+        }
+        LocalDateTime start = from;
+        if (start == null) {
+            start = first != null && first.isBefore(end) ? first : end;
+        }
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        // Without a start the first entry is part of the range
+        LocalDateTime after = from != null ? from : BEGINNING;
+        BigDecimal funding = from != null ? getFundingAt(startupId, from) : BigDecimal.ZERO;
+        long entryCount = fundingLedgerRepository.countRange(startupId, after, end);
+
+        List<FundingPointDTO> points = new ArrayList<>((int) Math.min(entryCount, maxPoints) + 3);
+        if (from != null || entryCount == 0) {
+            points.add(new FundingPointDTO(start, funding));
+        }
+        if (entryCount <= maxPoints) {
+            for (FundingLedgerEntry entry : fundingLedgerRepository.findRange(startupId, after, end)) {
+                funding = funding.add(entry.getAmount());
+                points.add(new FundingPointDTO(entry.getCreatedAt(), funding));
+            }
+        } else {
+            // Whole seconds, so centuries-long ranges cannot overflow
+            long spanSeconds = Duration.between(start, end).getSeconds();
+            long bucketSeconds = Math.max(1, (spanSeconds + maxPoints - 1) / maxPoints);
+            for (FundingBucket bucket : fundingLedgerRepository.sumRangeByBucket(startupId, after, end,
+                    start.toEpochSecond(ZoneOffset.UTC), bucketSeconds)) {
+                funding = funding.add(bucket.getAmount());
+                points.add(new FundingPointDTO(bucket.getLastAt(), funding));
+            }
+        }
+        // Carry the final value to the end of the range
+        if (!points.get(points.size() - 1).getAt().equals(end)) {
+            points.add(new FundingPointDTO(end, funding));
+        }
+        return new FundingHistoryDTO(startupId, start, end, (int) entryCount, points);
+    }
+}
@@ -1,26 +1,31 @@
 package com.platform.investment.service;
 
-import com.platform.email.service.EmailService;
 import com.platform.investment.model.InvestmentOffer;
 import com.platform.investment.model.InvestmentOfferDTO;
+import com.platform.investment.model.OfferChangedEvent;
+import com.platform.investment.model.OfferEventType;
+import com.platform.investment.model.OfferOutboxEvent;
 import com.platform.investment.model.OfferStatus;
+import com.platform.investment.model.OutboxChannel;
 import com.platform.investment.repository.InvestmentOfferRepository;
-import com.platform.investor.model.Investor;
+import com.platform.investment.repository.OfferOutboxRepository;
 import com.platform.investor.repository.InvestorRepository;
-import com.platform.notification.service.NotificationService;
-import com.platform.startup.model.Startup;
-import com.platform.startup.repository.StartupRepository;
-import com.platform.user.model.User;
-import com.platform.user.repository.UserRepository;
+import com.platform.notification.model.NotificationChannel;
+import com.platform.notification.model.NotificationType;
+import com.platform.notification.service.NotificationPreferenceService;
+import com.platform.startup.repository.IdeaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import java.math.BigDecimal;
-import java.text.NumberFormat;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -31,19 +36,28 @@ public class InvestmentOfferService {
     private InvestmentOfferRepository investmentOfferRepository;
     
     @Autowired
-    private NotificationService notificationService;
+    private OfferOutboxRepository offerOutboxRepository;
     
     @Autowired
-    private EmailService emailService;
+    private FundingHistoryService fundingHistoryService;
     
     @Autowired
-    private StartupRepository startupRepository;
+    private OfferExpiryScheduler offerExpiryScheduler;
+    
+    @Autowired
+    private NotificationPreferenceService notificationPreferenceService;
+    
+    @Autowired
+    private IdeaRepository ideaRepository;
     
     @Autowired
     private InvestorRepository investorRepository;
     
+    @Value("${offers.batch.max-size:1000}")
+    private int maxBatchSize;
+    
     @Autowired
-    private UserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
     
     /**
      * Get investment offer by ID
@@ -76,36 +90,86 @@ public class InvestmentOfferService {
     /**
      * Create a new investment offer
      */
+    @Transactional
     public InvestmentOffer createOffer(InvestmentOfferDTO offerDTO) {
-        InvestmentOffer offer = new InvestmentOffer();
-        offer.setInvestorId(offerDTO.getInvestorId());
-        offer.setIdeaId(offerDTO.getIdeaId());
-        offer.setOfferedAmount(offerDTO.getOfferedAmount());
-        offer.setEquityPercentage(offerDTO.getEquityPercentage());
-        offer.setValuation(offerDTO.getValuation());
-        offer.setMessage(offerDTO.getMessage());
-        offer.setStatus(offerDTO.getStatus() != null ? offerDTO.getStatus() : OfferStatus.PENDING);
-        offer.setExpiresAt(offerDTO.getExpiresAt());
+        InvestmentOffer savedOffer = investmentOfferRepository.save(toOffer(offerDTO));
+        offerExpiryScheduler.wakeUpBy(savedOffer.getExpiresAt());
         
-        InvestmentOffer savedOffer = investmentOfferRepository.save(offer);
+        // Notify the startup owner once this transaction commits
+        enqueueSideEffects(savedOffer, OfferEventType.OFFER_CREATED);
+        eventPublisher.publishEvent(new OfferChangedEvent(savedOffer.getId(), savedOffer.getIdeaId()));
         
-        // Send notification and email to startup owner
-        try {
-            notifyStartupOwnerOfNewOffer(savedOffer);
-        } catch (Exception e) {
-            // Log but don't fail the offer creation
+        return savedOffer;
+    }
+    
+    /**
+     * Create a set of offers in one transaction, e.g. a syndicate submitting
+     * the same terms to many ideas. The whole set is validated first and
+     * rejected with IllegalArgumentException if any offer is invalid. The
+     * offers share a batch id, are inserted with JDBC batching and their
+     * notifications are enqueued as one grouped outbox event per channel.
+     */
+    @Transactional
+    public List<InvestmentOffer> createOffers(List<InvestmentOfferDTO> offerDTOs) {
+        if (offerDTOs == null || offerDTOs.isEmpty()) {
+            throw new IllegalArgumentException("At least one offer is required");
+        }
+        if (offerDTOs.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " offers can be submitted at once");
+        }
+        for (int i = 0; i < offerDTOs.size(); i++) {
+            InvestmentOfferDTO offerDTO = offerDTOs.get(i);
+            if (offerDTO == null || offerDTO.getInvestorId() == null || offerDTO.getIdeaId() == null
+                    || offerDTO.getOfferedAmount() == null || offerDTO.getEquityPercentage() == null) {
+                throw new IllegalArgumentException("Offer " + i + ": investor ID, idea ID, offered amount "
+                        + "and equity percentage are required");
+            }
         }
         
-        return savedOffer;
+        UUID batchId = UUID.randomUUID();
+        List<InvestmentOffer> offers = offerDTOs.stream()
+            .map(offerDTO -> {
+                InvestmentOffer offer = toOffer(offerDTO);
+                offer.setBatchId(batchId);
+                return offer;
+            })
+            .toList();
+        // Ids are generated in the JVM, so Hibernate can group these into batched inserts
+        List<InvestmentOffer> savedOffers = investmentOfferRepository.saveAll(offers);
+        
+        savedOffers.stream()
+            .map(InvestmentOffer::getExpiresAt)
+            .filter(Objects::nonNull)
+            .min(Comparator.naturalOrder())
+            .ifPresent(offerExpiryScheduler::wakeUpBy);
+        
+        List<OfferOutboxEvent> events = new ArrayList<>(2);
+        for (OutboxChannel channel : OutboxChannel.values()) {
+            OfferOutboxEvent event = new OfferOutboxEvent(null, OfferEventType.OFFER_CREATED, channel);
+            event.setBatchId(batchId);
+            events.add(event);
+        }
+        offerOutboxRepository.saveAll(events);
+        savedOffers.forEach(o -> eventPublisher.publishEvent(new OfferChangedEvent(o.getId(), o.getIdeaId())));
+        
+        return savedOffers;
     }
     
     /**
-     * Update existing offer
+     * Update an offer's terms, message or expiry. Status is ignored: it only
+     * changes through accept, reject and withdraw, which keep the funding
+     * ledger in step. Throws IllegalStateException if the terms or expiry of
+     * an offer that is no longer open are changed.
      */
+    @Transactional
     public InvestmentOffer updateOffer(UUID id, InvestmentOfferDTO offerDTO) {
         Optional<InvestmentOffer> existingOffer = investmentOfferRepository.findById(id);
         if (existingOffer.isPresent()) {
             InvestmentOffer offer = existingOffer.get();
+            if (offerDTO.getOfferedAmount() != null || offerDTO.getEquityPercentage() != null
+                    || offerDTO.getValuation() != null || offerDTO.getExpiresAt() != null) {
+                requireOpen(offer);
+            }
             if (offerDTO.getOfferedAmount() != null) {
                 offer.setOfferedAmount(offerDTO.getOfferedAmount());
             }
@@ -118,23 +182,30 @@ public class InvestmentOfferService {
             if (offerDTO.getMessage() != null) {
                 offer.setMessage(offerDTO.getMessage());
             }
-            if (offerDTO.getStatus() != null) {
-                offer.setStatus(offerDTO.getStatus());
-            }
             if (offerDTO.getExpiresAt() != null) {
                 offer.setExpiresAt(offerDTO.getExpiresAt());
+                offerExpiryScheduler.wakeUpBy(offer.getExpiresAt());
             }
-            return investmentOfferRepository.save(offer);
+            InvestmentOffer savedOffer = investmentOfferRepository.saveAndFlush(offer);
+            eventPublisher.publishEvent(new OfferChangedEvent(savedOffer.getId(), savedOffer.getIdeaId()));
+            return savedOffer;
         }
         return null;
     }
     
     /**
-     * Delete offer
+     * Delete offer. An accepted offer has to be withdrawn first, so its
+     * funding is taken back out; deleting one throws IllegalStateException.
      */
+    @Transactional
     public boolean deleteOffer(UUID id) {
-        if (investmentOfferRepository.existsById(id)) {
-            investmentOfferRepository.deleteById(id);
+        Optional<InvestmentOffer> offer = investmentOfferRepository.findById(id);
+        if (offer.isPresent()) {
+            if (offer.get().getStatus() == OfferStatus.ACCEPTED) {
+                throw new IllegalStateException("Withdraw the accepted investment offer before deleting it");
+            }
+            investmentOfferRepository.delete(offer.get());
+            eventPublisher.publishEvent(new OfferChangedEvent(id, offer.get().getIdeaId()));
             return true;
         }
         return false;
@@ -148,21 +219,26 @@ public class InvestmentOfferService {
     }
     
     /**
-     * Accept offer
+     * Accept offer, recording it in the startup's funding history and adding
+     * it to the startup's current funding. Throws IllegalStateException if
+     * the offer is no longer open and ConcurrencyFailureException if it
+     * changed concurrently.
      */
+    @Transactional
     public InvestmentOffer acceptOffer(UUID id) {
         Optional<InvestmentOffer> offer = investmentOfferRepository.findById(id);
         if (offer.isPresent()) {
             InvestmentOffer o = offer.get();
+            requireOpen(o);
             o.setStatus(OfferStatus.ACCEPTED);
-            InvestmentOffer savedOffer = investmentOfferRepository.save(o);
+            // Flush now so a concurrent change fails the version check before funding moves
+            InvestmentOffer savedOffer = investmentOfferRepository.saveAndFlush(o);
+            
+            fundingHistoryService.recordOfferAccepted(savedOffer);
+            eventPublisher.publishEvent(new OfferChangedEvent(savedOffer.getId(), savedOffer.getIdeaId()));
             
             // Notify investor
-            try {
-                notifyInvestorOfOfferStatus(savedOffer, true);
-            } catch (Exception e) {
-                // Log but don't fail
-            }
+            enqueueSideEffects(savedOffer, OfferEventType.OFFER_ACCEPTED);
             
             return savedOffer;
         }
@@ -170,95 +246,114 @@ public class InvestmentOfferService {
     }
     
     /**
-     * Reject offer
+     * Reject offer. Throws IllegalStateException if the offer is no longer
+     * open and ConcurrencyFailureException if it changed concurrently.
      */
+    @Transactional
     public InvestmentOffer rejectOffer(UUID id) {
         Optional<InvestmentOffer> offer = investmentOfferRepository.findById(id);
         if (offer.isPresent()) {
             InvestmentOffer o = offer.get();
+            requireOpen(o);
             o.setStatus(OfferStatus.REJECTED);
-            InvestmentOffer savedOffer = investmentOfferRepository.save(o);
+            InvestmentOffer savedOffer = investmentOfferRepository.saveAndFlush(o);
             
             // Notify investor
-            try {
-                notifyInvestorOfOfferStatus(savedOffer, false);
-            } catch (Exception e) {
-                // Log but don't fail
-            }
+            enqueueSideEffects(savedOffer, OfferEventType.OFFER_REJECTED);
+            eventPublisher.publishEvent(new OfferChangedEvent(savedOffer.getId(), savedOffer.getIdeaId()));
             
             return savedOffer;
         }
         return null;
     }
     
-    private void notifyStartupOwnerOfNewOffer(InvestmentOffer offer) {
-        // Get startup and its owner
-        Startup startup = startupRepository.findById(offer.getIdeaId()).orElse(null);
-        if (startup == null) return;
-        
-        User startupOwner = userRepository.findById(startup.getUserId()).orElse(null);
-        if (startupOwner == null) return;
-        
-        // Get investor name
-        Investor investor = investorRepository.findById(offer.getInvestorId()).orElse(null);
-        String investorName = "An investor";
-        if (investor != null) {
-            User investorUser = userRepository.findById(investor.getUserId()).orElse(null);
-            if (investorUser != null) {
-                investorName = investorUser.getFirstName() + " " + investorUser.getLastName();
+    /**
+     * Withdraw an open or accepted offer. Withdrawing an accepted offer takes
+     * its amount back out of the startup's funding. Throws
+     * IllegalStateException if the offer can no longer be withdrawn and
+     * ConcurrencyFailureException if it changed concurrently.
+     */
+    @Transactional
+    public InvestmentOffer withdrawOffer(UUID id) {
+        Optional<InvestmentOffer> offer = investmentOfferRepository.findById(id);
+        if (offer.isPresent()) {
+            InvestmentOffer o = offer.get();
+            boolean wasAccepted = o.getStatus() == OfferStatus.ACCEPTED;
+            if (!wasAccepted) {
+                requireOpen(o);
+            }
+            o.setStatus(OfferStatus.WITHDRAWN);
+            InvestmentOffer savedOffer = investmentOfferRepository.saveAndFlush(o);
+            
+            if (wasAccepted) {
+                fundingHistoryService.recordOfferWithdrawn(savedOffer);
             }
+            eventPublisher.publishEvent(new OfferChangedEvent(savedOffer.getId(), savedOffer.getIdeaId()));
+            
+            return savedOffer;
         }
-        
-        // Send notification
-        notificationService.notifyOfferReceived(
-            startupOwner.getId(),
-            investorName,
-            startup.getCompanyName(),
-            offer.getId()
-        );
-        
-        // Send email
-        emailService.sendOfferReceivedEmail(
-            startupOwner.getEmail(),
-            investorName,
-            startup.getCompanyName(),
-            formatCurrency(offer.getOfferedAmount())
-        );
+        return null;
     }
     
-    private void notifyInvestorOfOfferStatus(InvestmentOffer offer, boolean accepted) {
-        // Get investor
-        Investor investor = investorRepository.findById(offer.getInvestorId()).orElse(null);
-        if (investor == null) return;
-        
-        User investorUser = userRepository.findById(investor.getUserId()).orElse(null);
-        if (investorUser == null) return;
-        
-        // Get startup name
-        Startup startup = startupRepository.findById(offer.getIdeaId()).orElse(null);
-        String startupName = startup != null ? startup.getCompanyName() : "Unknown Startup";
+    private InvestmentOffer toOffer(InvestmentOfferDTO offerDTO) {
+        InvestmentOffer offer = new InvestmentOffer();
+        offer.setInvestorId(offerDTO.getInvestorId());
+        offer.setIdeaId(offerDTO.getIdeaId());
+        offer.setOfferedAmount(offerDTO.getOfferedAmount());
+        offer.setEquityPercentage(offerDTO.getEquityPercentage());
+        offer.setValuation(offerDTO.getValuation());
+        offer.setMessage(offerDTO.getMessage());
+        // New offers are always open; a client-supplied status is ignored
+        offer.setStatus(OfferStatus.PENDING);
+        offer.setExpiresAt(offerDTO.getExpiresAt());
+        return offer;
+    }
+    
+    private void requireOpen(InvestmentOffer offer) {
+        if (offer.getStatus() != OfferStatus.PENDING && offer.getStatus() != OfferStatus.NEGOTIATING) {
+            throw new IllegalStateException("Investment offer is already " + offer.getStatus());
+        }
+        // The expiry run may not have reached it yet
+        if (offer.getExpiresAt() != null && !offer.getExpiresAt().isAfter(LocalDateTime.now())) {
+            throw new IllegalStateException("Investment offer expired at " + offer.getExpiresAt());
+        }
+    }
+    
+    /**
+     * Record notification and email side-effects in the outbox; they are
+     * delivered by {@link OfferOutboxDispatcher}. Channels the recipient
+     * turned off for this type are not recorded at all.
+     */
+    private void enqueueSideEffects(InvestmentOffer offer, OfferEventType eventType) {
+        UUID recipientId = eventType == OfferEventType.OFFER_CREATED
+            ? ideaRepository.findOwnerIdById(offer.getIdeaId()).orElse(null)
+            : investorRepository.findUserIdById(offer.getInvestorId()).orElse(null);
+        long disabled = recipientId != null ? notificationPreferenceService.disabledMask(recipientId) : 0;
+        NotificationType type = notificationType(eventType);
         
-        // Send notification
-        if (accepted) {
-            notificationService.notifyOfferAccepted(investorUser.getId(), startupName, offer.getId());
-            emailService.sendOfferAcceptedEmail(
-                investorUser.getEmail(),
-                startupName,
-                formatCurrency(offer.getOfferedAmount())
-            );
-        } else {
-            notificationService.notifyOfferRejected(investorUser.getId(), startupName, offer.getId());
-            emailService.sendOfferRejectedEmail(
-                investorUser.getEmail(),
-                startupName,
-                formatCurrency(offer.getOfferedAmount())
-            );
+        List<OfferOutboxEvent> events = new ArrayList<>(2);
+        if (NotificationPreferenceService.allows(disabled, type, NotificationChannel.IN_APP)
+                || NotificationPreferenceService.allows(disabled, type, NotificationChannel.PUSH)) {
+            events.add(new OfferOutboxEvent(offer.getId(), eventType, OutboxChannel.NOTIFICATION));
+        }
+        if (NotificationPreferenceService.allows(disabled, type, NotificationChannel.EMAIL)) {
+            events.add(new OfferOutboxEvent(offer.getId(), eventType, OutboxChannel.EMAIL));
+        }
+        if (!events.isEmpty()) {
+            offerOutboxRepository.saveAll(events);
         }
     }
     
-    private String formatCurrency(BigDecimal amount) {
-        if (amount == null) return "$0";
-        NumberFormat formatter = NumberFormat.getCurrencyInstance(Locale.US);
-        return formatter.format(amount);
+    private static NotificationType notificationType(OfferEventType eventType) {
+        switch (eventType) {
+            case OFFER_CREATED:
+                return NotificationType.OFFER_RECEIVED;
+            case OFFER_ACCEPTED:
+                return NotificationType.OFFER_ACCEPTED;
+            case OFFER_REJECTED:
+                return NotificationType.OFFER_REJECTED;
+            default:
+                return NotificationType.OFFER_EXPIRED;
+        }
     }
 }
@@ -0,0 +1,128 @@
+package com.platform.investment.service;
+
+import com.platform.investment.model.InvestmentOfferDTO;
+import com.platform.investment.model.OfferBookDTO;
+import com.platform.investment.model.OfferBookStatsDTO;
+import com.platform.investment.model.OfferStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * All offers for one idea, with live offers kept sorted by amount and by
+ * valuation and the aggregates maintained on every change.
+ */
+class OfferBook {
+
+    private static final Comparator<InvestmentOfferDTO> BY_AMOUNT = Comparator
+            .comparing(InvestmentOfferDTO::getOfferedAmount, Comparator.reverseOrder())
+            .thenComparing(InvestmentOfferDTO::getId);
+
+    private static final Comparator<InvestmentOfferDTO> BY_VALUATION = Comparator
+            .comparing(InvestmentOfferDTO::getValuation, Comparator.reverseOrder())
+            .thenComparing(InvestmentOfferDTO::getId);
+
+    private final UUID ideaId;
+    private final long loadedAt = System.nanoTime();
+    private final Map<UUID, InvestmentOfferDTO> offers = new HashMap<>();
+    private final NavigableSet<InvestmentOfferDTO> liveByAmount = new TreeSet<>(BY_AMOUNT);
+    private final NavigableSet<InvestmentOfferDTO> liveByValuation = new TreeSet<>(BY_VALUATION);
+    private final Map<OfferStatus, Integer> countsByStatus = new EnumMap<>(OfferStatus.class);
+    private BigDecimal totalOffered = BigDecimal.ZERO;
+    private BigDecimal totalAccepted = BigDecimal.ZERO;
+
+    OfferBook(UUID ideaId) {
+        this.ideaId = ideaId;
+    }
+
+    /**
+     * Add an offer or replace the previous version of it
+     */
+    synchronized void upsert(InvestmentOfferDTO offer) {
+        remove(offer.getId());
+        offers.put(offer.getId(), offer);
+        countsByStatus.merge(offer.getStatus(), 1, Integer::sum);
+        if (isLive(offer)) {
+            liveByAmount.add(offer);
+            if (offer.getValuation() != null) {
+                liveByValuation.add(offer);
+            }
+            totalOffered = totalOffered.add(offer.getOfferedAmount());
+        }
+        if (offer.getStatus() == OfferStatus.ACCEPTED) {
+            totalAccepted = totalAccepted.add(offer.getOfferedAmount());
+        }
+    }
+
+    /**
+     * Remove an offer; returns false if it was not in the book
+     */
+    synchronized boolean remove(UUID offerId) {
+        InvestmentOfferDTO previous = offers.remove(offerId);
+        if (previous == null) {
+            return false;
+        }
+        countsByStatus.computeIfPresent(previous.getStatus(), (status, count) -> count > 1 ? count - 1 : null);
+        if (isLive(previous)) {
+            liveByAmount.remove(previous);
+            // Offers without a valuation were never added, and the comparator cannot order them
+            if (previous.getValuation() != null) {
+                liveByValuation.remove(previous);
+            }
+            totalOffered = totalOffered.subtract(previous.getOfferedAmount());
+        }
+        if (previous.getStatus() == OfferStatus.ACCEPTED) {
+            totalAccepted = totalAccepted.subtract(previous.getOfferedAmount());
+        }
+        return true;
+    }
+
+    /**
+     * Whether this book was loaded more than {@code ttlNanos} ago
+     */
+    boolean isOlderThan(long ttlNanos) {
+        return System.nanoTime() - loadedAt > ttlNanos;
+    }
+
+    synchronized OfferBookStatsDTO stats() {
+        return new OfferBookStatsDTO(
+                offers.size(),
+                new EnumMap<>(countsByStatus),
+                totalOffered,
+                totalAccepted,
+                liveByAmount.isEmpty() ? null : liveByAmount.first().getOfferedAmount(),
+                liveByValuation.isEmpty() ? null : liveByValuation.first().getValuation());
+    }
+
+    /**
+     * Aggregates plus the top {@code limit} live offers of each view
+     */
+    synchronized OfferBookDTO view(int limit) {
+        return new OfferBookDTO(ideaId, stats(), head(liveByAmount, limit), head(liveByValuation, limit));
+    }
+
+    private static List<InvestmentOfferDTO> head(NavigableSet<InvestmentOfferDTO> sorted, int limit) {
+        List<InvestmentOfferDTO> result = new ArrayList<>(Math.min(limit, sorted.size()));
+        for (InvestmentOfferDTO offer : sorted) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(offer);
+        }
+        return result;
+    }
+
+    private static boolean isLive(InvestmentOfferDTO offer) {
+        return offer.getStatus() == OfferStatus.PENDING
+                || offer.getStatus() == OfferStatus.NEGOTIATING
+                || offer.getStatus() == OfferStatus.ACCEPTED;
+    }
+}
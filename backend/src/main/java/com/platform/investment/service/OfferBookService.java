@@ -0,0 +1,121 @@
+package com.platform.investment.service;
+
+import com.platform.investment.model.InvestmentOffer;
+import com.platform.investment.model.InvestmentOfferDTO;
+import com.platform.investment.model.OfferBookDTO;
+import com.platform.investment.model.OfferBookDeltaDTO;
+import com.platform.investment.model.OfferChangedEvent;
+import com.platform.investment.repository.InvestmentOfferRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-idea offer books kept in memory.
+ *
+ * A book is loaded from the database the first time it is needed and the
+ * least recently used books are evicted beyond {@code offers.book.max-ideas}.
+ * Committed offer changes are applied to loaded books and pushed to
+ * {@code /topic/idea/{ideaId}/offers} as deltas carrying the new aggregates.
+ * Only changes made on this node arrive that way; expiries and changes
+ * handled by other nodes are picked up by reloading a book once it is
+ * older than {@code offers.book.ttl-seconds}, so reads may lag other nodes
+ * by up to that long and deltas only cover this node's changes.
+ */
+@Service
+public class OfferBookService {
+
+    private final InvestmentOfferRepository investmentOfferRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Map<UUID, OfferBook> books;
+    private final long ttlNanos;
+
+    public OfferBookService(InvestmentOfferRepository investmentOfferRepository,
+                            SimpMessagingTemplate messagingTemplate,
+                            @Value("${offers.book.max-ideas:1000}") int maxIdeas,
+                            @Value("${offers.book.ttl-seconds:60}") long ttlSeconds) {
+        this.investmentOfferRepository = investmentOfferRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.books = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, OfferBook> eldest) {
+                return size() > maxIdeas;
+            }
+        };
+    }
+
+    /**
+     * Get the offer book of an idea with the top {@code limit} offers of each view
+     */
+    public OfferBookDTO getBook(UUID ideaId, int limit) {
+        return book(ideaId).view(limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOfferChanged(OfferChangedEvent event) {
+        OfferBook book;
+        synchronized (books) {
+            book = books.get(event.getIdeaId());
+        }
+        if (book == null) {
+            // Nobody has looked at this idea's book; it is loaded fresh when someone does
+            return;
+        }
+        Optional<InvestmentOffer> offer = investmentOfferRepository.findById(event.getOfferId())
+                .filter(o -> o.getIdeaId().equals(event.getIdeaId()));
+
+        OfferBookDeltaDTO delta;
+        if (offer.isPresent()) {
+            InvestmentOfferDTO entry = toEntry(offer.get());
+            book.upsert(entry);
+            delta = new OfferBookDeltaDTO(event.getIdeaId(), OfferBookDeltaDTO.Type.UPSERT,
+                    entry.getId(), entry, book.stats());
+        } else {
+            book.remove(event.getOfferId());
+            delta = new OfferBookDeltaDTO(event.getIdeaId(), OfferBookDeltaDTO.Type.REMOVE,
+                    event.getOfferId(), null, book.stats());
+        }
+        messagingTemplate.convertAndSend("/topic/idea/" + event.getIdeaId() + "/offers", delta);
+    }
+
+    private OfferBook book(UUID ideaId) {
+        synchronized (books) {
+            OfferBook cached = books.get(ideaId);
+            if (cached != null && !cached.isOlderThan(ttlNanos)) {
+                return cached;
+            }
+        }
+        // Load outside the lock; if another thread loaded a fresh book meanwhile it is used instead
+        OfferBook loaded = new OfferBook(ideaId);
+        for (InvestmentOffer offer : investmentOfferRepository.findByIdeaId(ideaId)) {
+            loaded.upsert(toEntry(offer));
+        }
+        synchronized (books) {
+            OfferBook existing = books.get(ideaId);
+            if (existing != null && !existing.isOlderThan(ttlNanos)) {
+                return existing;
+            }
+            books.put(ideaId, loaded);
+            return loaded;
+        }
+    }
+
+    private static InvestmentOfferDTO toEntry(InvestmentOffer offer) {
+        InvestmentOfferDTO entry = new InvestmentOfferDTO(offer.getInvestorId(), offer.getIdeaId(),
+                offer.getOfferedAmount(), offer.getEquityPercentage(), offer.getStatus());
+        entry.setId(offer.getId());
+        entry.setValuation(offer.getValuation());
+        entry.setExpiresAt(offer.getExpiresAt());
+        entry.setCreatedAt(offer.getCreatedAt());
+        entry.setUpdatedAt(offer.getUpdatedAt());
+        return entry;
+    }
+}
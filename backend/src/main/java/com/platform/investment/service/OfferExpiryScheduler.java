@@ -0,0 +1,184 @@
+package com.platform.investment.service;
+
+import com.platform.investment.model.InvestmentOffer;
+import com.platform.investment.model.OfferChangedEvent;
+import com.platform.investment.model.OfferEventType;
+import com.platform.investment.model.OfferOutboxEvent;
+import com.platform.investment.model.OfferStatus;
+import com.platform.investment.model.OutboxChannel;
+import com.platform.investment.repository.InvestmentOfferRepository;
+import com.platform.investment.repository.OfferOutboxRepository;
+import com.platform.scheduling.service.SchedulerLeaseService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Moves pending offers past their {@code expiresAt} to EXPIRED.
+ *
+ * Rather than polling on a fixed rate, the scheduler sleeps until the
+ * earliest pending expiry (capped at {@code offers.expiry.max-sleep-ms}) and
+ * is woken early when an offer with a sooner expiry is written on this node.
+ * Due offers are expired in batches of set-based updates, each enqueueing
+ * the investor notifications in the offer outbox in the same transaction.
+ * Only the node holding the {@value #LEASE_NAME} lease runs the job.
+ */
+@Service
+public class OfferExpiryScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OfferExpiryScheduler.class);
+
+    static final String LEASE_NAME = "offer-expiry";
+
+    @Autowired
+    private InvestmentOfferRepository investmentOfferRepository;
+
+    @Autowired
+    private OfferOutboxRepository offerOutboxRepository;
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${offers.expiry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${offers.expiry.batch-size:500}")
+    private int batchSize;
+
+    @Value("${offers.expiry.max-sleep-ms:60000}")
+    private long maxSleepMs;
+
+    @Value("${offers.expiry.lease-seconds:120}")
+    private long leaseSeconds;
+
+    private ThreadPoolTaskScheduler taskScheduler;
+    private ScheduledFuture<?> nextRun;
+    // Null while a run is in progress; that run schedules the next one
+    private LocalDateTime nextRunAt;
+    // Earliest wake-up requested while a run was in progress
+    private LocalDateTime requestedWakeAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || taskScheduler != null) {
+            return;
+        }
+        taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setPoolSize(1);
+        taskScheduler.setThreadNamePrefix("offer-expiry-");
+        taskScheduler.initialize();
+        scheduleAt(LocalDateTime.now());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (taskScheduler != null) {
+            taskScheduler.shutdown();
+            taskScheduler = null;
+        }
+    }
+
+    /**
+     * Make sure the scheduler wakes no later than the given expiry
+     */
+    public synchronized void wakeUpBy(LocalDateTime expiresAt) {
+        if (taskScheduler == null || expiresAt == null) {
+            return;
+        }
+        if (nextRunAt != null && !expiresAt.isBefore(nextRunAt)) {
+            return;
+        }
+        if (nextRunAt != null && nextRun.cancel(false)) {
+            scheduleAt(expiresAt);
+        } else if (requestedWakeAt == null || expiresAt.isBefore(requestedWakeAt)) {
+            // A run is in progress (or just starting) and will pick this up when it reschedules
+            requestedWakeAt = expiresAt;
+        }
+    }
+
+    /**
+     * Expire every pending offer due at {@code now}; returns the number expired
+     */
+    public int expireDue(LocalDateTime now) {
+        int total = 0;
+        int expired;
+        do {
+            expired = expireBatch(now);
+            total += expired;
+        } while (expired == batchSize);
+        if (total > 0) {
+            logger.info("Expired {} pending investment offers", total);
+        }
+        return total;
+    }
+
+    private int expireBatch(LocalDateTime now) {
+        Integer expired = transactionTemplate.execute(status -> {
+            List<InvestmentOffer> offers = investmentOfferRepository.lockExpiredOffers(now, batchSize);
+            if (offers.isEmpty()) {
+                return 0;
+            }
+            List<UUID> ids = offers.stream().map(InvestmentOffer::getId).toList();
+            investmentOfferRepository.markExpired(ids, now, OfferStatus.PENDING, OfferStatus.EXPIRED);
+            offerOutboxRepository.saveAll(ids.stream()
+                    .map(id -> new OfferOutboxEvent(id, OfferEventType.OFFER_EXPIRED, OutboxChannel.NOTIFICATION))
+                    .toList());
+            offers.forEach(o -> eventPublisher.publishEvent(new OfferChangedEvent(o.getId(), o.getIdeaId())));
+            return ids.size();
+        });
+        return expired != null ? expired : 0;
+    }
+
+    private void run() {
+        synchronized (this) {
+            nextRunAt = null;
+        }
+        LocalDateTime wakeAt = LocalDateTime.now().plusNanos(maxSleepMs * 1_000_000L);
+        try {
+            if (schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofSeconds(leaseSeconds))) {
+                expireDue(LocalDateTime.now());
+                LocalDateTime earliest = investmentOfferRepository.findEarliestExpiry(OfferStatus.PENDING).orElse(null);
+                if (earliest != null && earliest.isBefore(wakeAt)) {
+                    wakeAt = earliest;
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Offer expiry run failed, retrying at {}", wakeAt, e);
+        }
+        synchronized (this) {
+            if (requestedWakeAt != null && requestedWakeAt.isBefore(wakeAt)) {
+                wakeAt = requestedWakeAt;
+            }
+            requestedWakeAt = null;
+            if (taskScheduler != null) {
+                scheduleAt(wakeAt);
+            }
+        }
+    }
+
+    private void scheduleAt(LocalDateTime at) {
+        nextRunAt = at;
+        nextRun = taskScheduler.schedule(this::run, at.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
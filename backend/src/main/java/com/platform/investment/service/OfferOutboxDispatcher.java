@@ -0,0 +1,279 @@
+package com.platform.investment.service;
+
+import com.platform.email.service.EmailService;
+import com.platform.investment.model.OfferNotificationContext;
+import com.platform.investment.model.OfferOutboxEvent;
+import com.platform.investment.model.OutboxChannel;
+import com.platform.investment.model.OutboxStatus;
+import com.platform.investment.repository.InvestmentOfferRepository;
+import com.platform.investment.repository.OfferOutboxRepository;
+import com.platform.notification.model.NotificationChannel;
+import com.platform.notification.model.NotificationType;
+import com.platform.notification.service.NotificationDigestService;
+import com.platform.notification.service.NotificationPreferenceService;
+import com.platform.notification.service.NotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers offer side-effects recorded in the offer outbox.
+ *
+ * A batch of due events is claimed under {@code FOR UPDATE SKIP LOCKED} and
+ * leased by pushing its next attempt time forward, so concurrent
+ * dispatchers never pick the same rows and the lock is not held while
+ * notifications and emails go out. Each event is then delivered and marked
+ * sent, or rescheduled with exponential backoff until it runs out of
+ * attempts. An event whose dispatcher dies mid-delivery is picked up again
+ * once its lease expires, so delivery is at-least-once. A grouped event,
+ * which covers every offer of a batch, is expanded when claimed into one
+ * event per offer and marked sent; the per-offer events are delivered and
+ * retried on their own, so one failing offer does not redeliver the rest
+ * and a large batch never has to finish within a single lease. Emails are not
+ * sent to users who turned them off for the type, and new-offer emails are
+ * queued for the owner's digest when that type is digested.
+ */
+@Service
+public class OfferOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OfferOutboxDispatcher.class);
+
+    @Autowired
+    private OfferOutboxRepository offerOutboxRepository;
+
+    @Autowired
+    private InvestmentOfferRepository investmentOfferRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private NotificationDigestService notificationDigestService;
+
+    @Autowired
+    private NotificationPreferenceService notificationPreferenceService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${offers.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${offers.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${offers.outbox.lease-seconds:60}")
+    private int leaseSeconds;
+
+    @Value("${offers.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${offers.outbox.backoff-base-ms:2000}")
+    private long backoffBaseMs;
+
+    @Value("${offers.outbox.backoff-max-ms:3600000}")
+    private long backoffMaxMs;
+
+    @Scheduled(fixedDelayString = "${offers.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        // Keep draining while batches come back full
+        while (dispatchPending() == batchSize) {
+            logger.debug("Offer outbox batch full, dispatching next batch");
+        }
+    }
+
+    /**
+     * Claim and deliver one batch of due events; returns the number claimed
+     */
+    public int dispatchPending() {
+        List<OfferOutboxEvent> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OfferOutboxEvent> due = offerOutboxRepository.lockDueEvents(now, batchSize);
+            List<OfferOutboxEvent> expanded = new ArrayList<>();
+            for (OfferOutboxEvent event : due) {
+                event.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+                if (event.getOfferId() == null && event.getBatchId() != null) {
+                    expanded.addAll(expand(event, now));
+                }
+            }
+            offerOutboxRepository.saveAll(expanded);
+            return due;
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        // One joined query enriches the whole batch
+        Map<UUID, OfferNotificationContext> contexts = investmentOfferRepository.findNotificationContexts(
+                        claimed.stream().map(OfferOutboxEvent::getOfferId).filter(Objects::nonNull)
+                                .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(OfferNotificationContext::getOfferId, Function.identity()));
+
+        for (OfferOutboxEvent event : claimed) {
+            if (event.getStatus() != OutboxStatus.PENDING) {
+                // A grouped event, already expanded
+                continue;
+            }
+            try {
+                deliver(event, contexts.get(event.getOfferId()));
+                event.setStatus(OutboxStatus.SENT);
+                event.setProcessedAt(LocalDateTime.now());
+                event.setLastError(null);
+            } catch (Exception e) {
+                reschedule(event, e);
+            }
+            event.setAttempts(event.getAttempts() + 1);
+            offerOutboxRepository.save(event);
+        }
+        return claimed.size();
+    }
+
+    private void reschedule(OfferOutboxEvent event, Exception e) {
+        int attempt = event.getAttempts() + 1;
+        event.setLastError(e.getClass().getSimpleName() + ": " + e.getMessage());
+        if (attempt >= maxAttempts) {
+            event.setStatus(OutboxStatus.FAILED);
+            event.setProcessedAt(LocalDateTime.now());
+            logger.error("Giving up on offer outbox event {} ({} {}) after {} attempts",
+                    event.getId(), event.getEventType(), event.getChannel(), attempt, e);
+            return;
+        }
+        long delayMs = Math.min(backoffMaxMs, backoffBaseMs << Math.min(attempt - 1, 30));
+        event.setNextAttemptAt(LocalDateTime.now().plusNanos(delayMs * 1_000_000L));
+        logger.warn("Offer outbox event {} ({} {}) failed on attempt {}, retrying in {} ms: {}",
+                event.getId(), event.getEventType(), event.getChannel(), attempt, delayMs, e.toString());
+    }
+
+    /**
+     * One due event per offer of a grouped event's batch; the grouped event is marked sent
+     */
+    private List<OfferOutboxEvent> expand(OfferOutboxEvent grouped, LocalDateTime now) {
+        List<UUID> offerIds = investmentOfferRepository.findIdsByBatchId(grouped.getBatchId());
+        List<OfferOutboxEvent> events = new ArrayList<>(offerIds.size());
+        for (UUID offerId : offerIds) {
+            OfferOutboxEvent event = new OfferOutboxEvent(offerId, grouped.getEventType(), grouped.getChannel());
+            event.setBatchId(grouped.getBatchId());
+            event.setNextAttemptAt(now);
+            events.add(event);
+        }
+        grouped.setStatus(OutboxStatus.SENT);
+        grouped.setAttempts(grouped.getAttempts() + 1);
+        grouped.setProcessedAt(now);
+        return events;
+    }
+
+    private void deliver(OfferOutboxEvent event, OfferNotificationContext context) {
+        if (context == null) {
+            // Offer deleted before delivery; nothing left to tell anyone
+            return;
+        }
+        switch (event.getEventType()) {
+            case OFFER_CREATED:
+                notifyStartupOwnerOfNewOffer(context, event.getChannel());
+                break;
+            case OFFER_ACCEPTED:
+                notifyInvestorOfOfferStatus(context, true, event.getChannel());
+                break;
+            case OFFER_REJECTED:
+                notifyInvestorOfOfferStatus(context, false, event.getChannel());
+                break;
+            case OFFER_EXPIRED:
+                notifyInvestorOfOfferExpired(context, event.getChannel());
+                break;
+        }
+    }
+
+    private void notifyStartupOwnerOfNewOffer(OfferNotificationContext context, OutboxChannel channel) {
+        if (context.getStartupName() == null || context.getOwnerId() == null) return;
+
+        String investorName = context.getInvestorDisplayName() != null
+                ? context.getInvestorDisplayName()
+                : "An investor";
+
+        if (channel == OutboxChannel.NOTIFICATION) {
+            notificationService.notifyOfferReceived(
+                context.getOwnerId(),
+                context.getStartupId(),
+                investorName,
+                context.getStartupName(),
+                context.getOfferId()
+            );
+        } else if (!notificationPreferenceService.isEnabled(context.getOwnerId(), NotificationType.OFFER_RECEIVED,
+                NotificationChannel.EMAIL)) {
+            return;
+        } else if (notificationDigestService.isDigested(NotificationType.OFFER_RECEIVED)) {
+            notificationDigestService.enqueue(
+                context.getOwnerId(),
+                context.getOwnerEmail(),
+                NotificationType.OFFER_RECEIVED,
+                investorName + " offered " + formatCurrency(context.getOfferedAmount()) + " for " + context.getStartupName()
+            );
+        } else {
+            emailService.sendOfferReceivedEmail(
+                context.getOwnerEmail(),
+                investorName,
+                context.getStartupName(),
+                formatCurrency(context.getOfferedAmount())
+            );
+        }
+    }
+
+    private void notifyInvestorOfOfferStatus(OfferNotificationContext context, boolean accepted, OutboxChannel channel) {
+        if (context.getInvestorUserId() == null) return;
+
+        String startupName = context.getStartupName() != null ? context.getStartupName() : "Unknown Startup";
+
+        if (channel == OutboxChannel.NOTIFICATION) {
+            if (accepted) {
+                notificationService.notifyOfferAccepted(context.getInvestorUserId(), startupName, context.getOfferId());
+            } else {
+                notificationService.notifyOfferRejected(context.getInvestorUserId(), startupName, context.getOfferId());
+            }
+        } else if (notificationPreferenceService.isEnabled(context.getInvestorUserId(),
+                accepted ? NotificationType.OFFER_ACCEPTED : NotificationType.OFFER_REJECTED, NotificationChannel.EMAIL)) {
+            String amount = formatCurrency(context.getOfferedAmount());
+            if (accepted) {
+                emailService.sendOfferAcceptedEmail(context.getInvestorEmail(), startupName, amount);
+            } else {
+                emailService.sendOfferRejectedEmail(context.getInvestorEmail(), startupName, amount);
+            }
+        }
+    }
+
+    private void notifyInvestorOfOfferExpired(OfferNotificationContext context, OutboxChannel channel) {
+        // Expiry is only announced in-app
+        if (context.getInvestorUserId() == null || channel != OutboxChannel.NOTIFICATION) return;
+
+        String startupName = context.getStartupName() != null ? context.getStartupName() : "Unknown Startup";
+        notificationService.notifyOfferExpired(context.getInvestorUserId(), startupName, context.getOfferId());
+    }
+
+    private String formatCurrency(BigDecimal amount) {
+        if (amount == null) return "$0";
+        NumberFormat formatter = NumberFormat.getCurrencyInstance(Locale.US);
+        return formatter.format(amount);
+    }
+}
@@ -4,12 +4,16 @@ import com.platform.investor.model.Investor;
 import com.platform.investor.model.InvestorDTO;
 import com.platform.investor.model.InvestorStatus;
 import com.platform.investor.service.InvestorService;
+import com.platform.matching.model.StartupMatchDTO;
+import com.platform.matching.service.MatchingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -19,6 +23,9 @@ public class InvestorController {
     @Autowired
     private InvestorService investorService;
     
+    @Autowired
+    private MatchingService matchingService;
+    
     /**
      * Get investor by ID
      */
@@ -32,6 +39,20 @@ public class InvestorController {
                 .body("Investor not found");
     }
     
+    /**
+     * Get best matching startups for an investor
+     */
+    @GetMapping("/{id}/matches")
+    public ResponseEntity<?> getMatches(@PathVariable UUID id,
+                                        @RequestParam(defaultValue = "20") int limit) {
+        Optional<List<StartupMatchDTO>> matches = matchingService.getMatches(id, Math.max(limit, 0));
+        if (matches.isPresent()) {
+            return ResponseEntity.ok(matches.get());
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body("Investor not found");
+    }
+    
     /**
      * Get investor by user ID
      */
@@ -0,0 +1,16 @@
+package com.platform.investor.model;
+
+import java.util.UUID;
+
+/**
+ * Published after an investor profile is created, updated or deleted
+ */
+public class InvestorChangedEvent {
+    private final UUID investorId;
+
+    public InvestorChangedEvent(UUID investorId) {
+        this.investorId = investorId;
+    }
+
+    public UUID getInvestorId() { return investorId; }
+}
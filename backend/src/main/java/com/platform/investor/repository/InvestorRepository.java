@@ -5,7 +5,10 @@ import com.platform.investor.model.InvestorStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,4 +17,34 @@ public interface InvestorRepository extends JpaRepository<Investor, UUID> {
     Optional<Investor> findByUserId(UUID userId);
     Page<Investor> findByStatus(InvestorStatus status, Pageable pageable);
     Page<Investor> findAll(Pageable pageable);
+
+    @Query("SELECT i.userId FROM Investor i WHERE i.id = :id")
+    Optional<UUID> findUserIdById(@Param("id") UUID id);
+
+    String SEGMENT_FILTER = "FROM Investor i, User u WHERE u.id = i.userId AND u.deletedAt IS NULL " +
+            "AND i.status = :status " +
+            "AND LOWER(COALESCE(i.sectorsInterested, '')) LIKE :sectorPattern " +
+            "AND LOWER(COALESCE(i.investmentStage, '')) LIKE :stagePattern ";
+
+    /**
+     * User ids of the investors in a segment in id order, the first {@code limit} of them;
+     * patterns are lower-case LIKE patterns
+     */
+    @Query("SELECT i.userId " + SEGMENT_FILTER + "ORDER BY i.userId")
+    List<UUID> findSegmentUserIds(@Param("status") InvestorStatus status,
+                                  @Param("sectorPattern") String sectorPattern,
+                                  @Param("stagePattern") String stagePattern,
+                                  Pageable limit);
+
+    @Query("SELECT i.userId " + SEGMENT_FILTER + "AND i.userId > :after ORDER BY i.userId")
+    List<UUID> findSegmentUserIdsAfter(@Param("status") InvestorStatus status,
+                                       @Param("sectorPattern") String sectorPattern,
+                                       @Param("stagePattern") String stagePattern,
+                                       @Param("after") UUID after,
+                                       Pageable limit);
+
+    @Query("SELECT COUNT(i) " + SEGMENT_FILTER)
+    long countSegment(@Param("status") InvestorStatus status,
+                      @Param("sectorPattern") String sectorPattern,
+                      @Param("stagePattern") String stagePattern);
 }
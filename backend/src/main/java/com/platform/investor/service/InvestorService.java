@@ -1,10 +1,12 @@
 package com.platform.investor.service;
 
 import com.platform.investor.model.Investor;
+import com.platform.investor.model.InvestorChangedEvent;
 import com.platform.investor.model.InvestorDTO;
 import com.platform.investor.model.InvestorStatus;
 import com.platform.investor.repository.InvestorRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -17,6 +19,9 @@ public class InvestorService {
     @Autowired
     private InvestorRepository investorRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * Get investor by ID
      */
@@ -44,7 +49,9 @@ public class InvestorService {
         investor.setMaxTicketSize(investorDTO.getMaxTicketSize());
         investor.setStatus(investorDTO.getStatus() != null ? investorDTO.getStatus() : InvestorStatus.ACTIVE);
         
-        return investorRepository.save(investor);
+        Investor savedInvestor = investorRepository.save(investor);
+        eventPublisher.publishEvent(new InvestorChangedEvent(savedInvestor.getId()));
+        return savedInvestor;
     }
     
     /**
@@ -75,7 +82,9 @@ public class InvestorService {
             if (investorDTO.getStatus() != null) {
                 investor.setStatus(investorDTO.getStatus());
             }
-            return investorRepository.save(investor);
+            Investor savedInvestor = investorRepository.save(investor);
+            eventPublisher.publishEvent(new InvestorChangedEvent(id));
+            return savedInvestor;
         }
         return null;
     }
@@ -86,6 +95,7 @@ public class InvestorService {
     public boolean deleteInvestor(UUID id) {
         if (investorRepository.existsById(id)) {
             investorRepository.deleteById(id);
+            eventPublisher.publishEvent(new InvestorChangedEvent(id));
             return true;
         }
         return false;
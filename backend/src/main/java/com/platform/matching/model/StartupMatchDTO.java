@@ -0,0 +1,42 @@
+package com.platform.matching.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public class StartupMatchDTO {
+    private UUID startupId;
+    private String companyName;
+    private String stage;
+    private BigDecimal fundingGoal;
+    private BigDecimal currentFunding;
+    private double score;
+
+    // Constructors
+    public StartupMatchDTO() {}
+
+    public StartupMatchDTO(UUID startupId, String companyName, String stage,
+                           BigDecimal fundingGoal, BigDecimal currentFunding, double score) {
+        this.startupId = startupId;
+        this.companyName = companyName;
+        this.stage = stage;
+        this.fundingGoal = fundingGoal;
+        this.currentFunding = currentFunding;
+        this.score = score;
+    }
+
+    // Getters
+    public UUID getStartupId() { return startupId; }
+    public String getCompanyName() { return companyName; }
+    public String getStage() { return stage; }
+    public BigDecimal getFundingGoal() { return fundingGoal; }
+    public BigDecimal getCurrentFunding() { return currentFunding; }
+    public double getScore() { return score; }
+
+    // Setters
+    public void setStartupId(UUID startupId) { this.startupId = startupId; }
+    public void setCompanyName(String companyName) { this.companyName = companyName; }
+    public void setStage(String stage) { this.stage = stage; }
+    public void setFundingGoal(BigDecimal fundingGoal) { this.fundingGoal = fundingGoal; }
+    public void setCurrentFunding(BigDecimal currentFunding) { this.currentFunding = currentFunding; }
+    public void setScore(double score) { this.score = score; }
+}
@@ -0,0 +1,118 @@
+package com.platform.matching.service;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns the free-text profile fields into the primitive features the scorer
+ * works on.
+ *
+ * Stages map to one bit each: the usual rounds have fixed bits, anything else
+ * is hashed into the upper half. Sectors are sets of word prefixes, so
+ * "Health monitoring app" and "Healthcare" share the term "healt"; the
+ * engine interns them into sorted int ids.
+ */
+final class MatchFeatures {
+
+    private static final List<String> KNOWN_STAGES = List.of(
+            "preseed", "seed", "seriesa", "seriesb", "seriesc", "seriesd", "growth", "ipo");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "and", "the", "for", "with", "our", "your", "from", "into", "based", "platform",
+            "app", "apps", "company", "solution", "solutions", "startup", "service", "services");
+
+    private static final int PREFIX_LENGTH = 5;
+
+    private MatchFeatures() {}
+
+    /**
+     * Bit for a single stage, 0 if blank
+     */
+    static long stageBit(String stage) {
+        if (stage == null) {
+            return 0;
+        }
+        String normalized = stage.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+        if (normalized.isEmpty()) {
+            return 0;
+        }
+        int known = KNOWN_STAGES.indexOf(normalized);
+        if (known >= 0) {
+            return 1L << known;
+        }
+        return 1L << (32 + (normalized.hashCode() & 31));
+    }
+
+    /**
+     * Bits for a comma separated list of stages
+     */
+    static long stageMask(String stages) {
+        if (stages == null) {
+            return 0;
+        }
+        long mask = 0;
+        for (String stage : stages.split(",")) {
+            mask |= stageBit(stage);
+        }
+        return mask;
+    }
+
+    /**
+     * Distinct sector terms of one or more free-text fields: lower-cased word
+     * prefixes, minus stop words
+     */
+    static Set<String> sectorTerms(String... texts) {
+        Set<String> terms = new HashSet<>();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            for (String word : text.toLowerCase(Locale.ROOT).split("[^a-z0-9]+")) {
+                if (word.length() < 2 || STOP_WORDS.contains(word)) {
+                    continue;
+                }
+                terms.add(word.length() > PREFIX_LENGTH ? word.substring(0, PREFIX_LENGTH) : word);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Number of ids two ascending term id arrays have in common
+     */
+    static int overlap(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                common++;
+                i++;
+                j++;
+            }
+        }
+        return common;
+    }
+
+    /**
+     * Amount still to raise, NaN when the startup has no funding goal
+     */
+    static double remainingNeed(BigDecimal fundingGoal, BigDecimal currentFunding) {
+        if (fundingGoal == null) {
+            return Double.NaN;
+        }
+        double raised = currentFunding != null ? currentFunding.doubleValue() : 0;
+        return fundingGoal.doubleValue() - raised;
+    }
+
+    static double amount(BigDecimal value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+}
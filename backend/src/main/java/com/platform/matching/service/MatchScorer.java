@@ -0,0 +1,49 @@
+package com.platform.matching.service;
+
+/**
+ * Scores one investor against one startup from primitive features:
+ * stage bits, ascending sector term ids and amounts.
+ *
+ * A stage the investor does not invest in, a fully funded round or a
+ * minimum ticket larger than what is left to raise rule the pair out (score
+ * 0). Otherwise the score in (0, 1] weighs sector overlap, stage fit and how
+ * much of the remaining round the investor's maximum ticket could cover.
+ * Unknown inputs count as a neutral 0.5.
+ */
+final class MatchScorer {
+
+    static final float SECTOR_WEIGHT = 0.5f;
+    static final float STAGE_WEIGHT = 0.3f;
+    static final float TICKET_WEIGHT = 0.2f;
+
+    private MatchScorer() {}
+
+    static float score(long investorStages, int[] investorSectors, double minTicket, double maxTicket,
+                       long startupStage, int[] startupSectors, double need) {
+        float stage;
+        if (investorStages == 0 || startupStage == 0) {
+            stage = 0.5f;
+        } else if ((investorStages & startupStage) != 0) {
+            stage = 1f;
+        } else {
+            return 0f;
+        }
+
+        float ticket;
+        if (Double.isNaN(need)) {
+            ticket = 0.5f;
+        } else if (need <= 0 || minTicket > need) {
+            return 0f;
+        } else if (Double.isNaN(maxTicket) || maxTicket <= 0) {
+            ticket = 0.5f;
+        } else {
+            ticket = (float) Math.min(1.0, maxTicket / need);
+        }
+
+        float sector = investorSectors.length == 0
+                ? 0.5f
+                : (float) MatchFeatures.overlap(investorSectors, startupSectors) / investorSectors.length;
+
+        return SECTOR_WEIGHT * sector + STAGE_WEIGHT * stage + TICKET_WEIGHT * ticket;
+    }
+}
@@ -0,0 +1,283 @@
+package com.platform.matching.service;
+
+import com.platform.investor.model.Investor;
+import com.platform.matching.model.StartupMatchDTO;
+import com.platform.startup.model.Startup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory match index.
+ *
+ * Startup features live in parallel primitive arrays indexed by slot, so
+ * scoring an investor against every startup is a tight loop over stage bits,
+ * small sorted term id arrays and doubles. Each investor keeps its best candidates in a small array sorted
+ * by score, with some slack beyond the top N so that a startup dropping out
+ * rarely forces a rescan. A startup change rescores it against every
+ * investor; an investor change rescans the startups for that investor only.
+ *
+ * Not thread-safe; {@link MatchingService} guards it with a read/write lock.
+ */
+class MatchingEngine {
+
+    private final int topN;
+    private final int capacity;
+
+    // Startups by slot
+    private final Map<UUID, Integer> startupSlots = new HashMap<>();
+    private UUID[] startupIds = new UUID[64];
+    private long[] startupStages = new long[64];
+    private int[][] startupSectors = new int[64][];
+    private double[] startupNeeds = new double[64];
+    private String[] startupNames = new String[64];
+    private String[] startupStageNames = new String[64];
+    private BigDecimal[] startupGoals = new BigDecimal[64];
+    private BigDecimal[] startupFunding = new BigDecimal[64];
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    private final Map<UUID, Candidates> investors = new HashMap<>();
+
+    // Sector term -> id; ids are only ever added
+    private final Map<String, Integer> sectorTermIds = new HashMap<>();
+
+    MatchingEngine(int topN) {
+        this.topN = topN;
+        this.capacity = topN * 2;
+    }
+
+    /**
+     * Add or refresh a startup and rescore it for every investor
+     */
+    void upsertStartup(Startup startup) {
+        Integer existing = startupSlots.get(startup.getId());
+        int slot = existing != null ? existing : allocateSlot(startup.getId());
+        startupStages[slot] = MatchFeatures.stageBit(startup.getStage());
+        startupSectors[slot] = sectorIds(startup.getCompanyName(), startup.getDescription());
+        startupNeeds[slot] = MatchFeatures.remainingNeed(startup.getFundingGoal(), startup.getCurrentFunding());
+        startupNames[slot] = startup.getCompanyName();
+        startupStageNames[slot] = startup.getStage();
+        startupGoals[slot] = startup.getFundingGoal();
+        startupFunding[slot] = startup.getCurrentFunding();
+
+        for (Candidates candidates : investors.values()) {
+            candidates.remove(slot);
+            candidates.offer(slot, score(candidates, slot));
+            refillIfShort(candidates);
+        }
+    }
+
+    /**
+     * Drop a startup from every candidate list
+     */
+    void removeStartup(UUID startupId) {
+        Integer slot = startupSlots.remove(startupId);
+        if (slot == null) {
+            return;
+        }
+        // Clear the slot first so that a refill cannot pick it up again
+        startupIds[slot] = null;
+        for (Candidates candidates : investors.values()) {
+            if (candidates.remove(slot)) {
+                refillIfShort(candidates);
+            }
+        }
+        startupSectors[slot] = null;
+        startupNames[slot] = null;
+        startupStageNames[slot] = null;
+        startupGoals[slot] = null;
+        startupFunding[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Add or refresh an investor and rebuild its candidate list
+     */
+    void upsertInvestor(Investor investor) {
+        Candidates candidates = new Candidates(
+                MatchFeatures.stageMask(investor.getInvestmentStage()),
+                sectorIds(investor.getSectorsInterested()),
+                MatchFeatures.amount(investor.getMinTicketSize()),
+                MatchFeatures.amount(investor.getMaxTicketSize()),
+                capacity);
+        rescan(candidates);
+        investors.put(investor.getId(), candidates);
+    }
+
+    void removeInvestor(UUID investorId) {
+        investors.remove(investorId);
+    }
+
+    boolean hasInvestor(UUID investorId) {
+        return investors.containsKey(investorId);
+    }
+
+    /**
+     * Best matches for an investor, at most {@code limit} and never more than the top N
+     */
+    List<StartupMatchDTO> matches(UUID investorId, int limit) {
+        Candidates candidates = investors.get(investorId);
+        if (candidates == null) {
+            return List.of();
+        }
+        int n = Math.min(Math.min(limit, topN), candidates.size);
+        List<StartupMatchDTO> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int slot = candidates.slots[i];
+            result.add(new StartupMatchDTO(startupIds[slot], startupNames[slot], startupStageNames[slot],
+                    startupGoals[slot], startupFunding[slot], candidates.scores[i]));
+        }
+        return result;
+    }
+
+    int startupCount() {
+        return startupSlots.size();
+    }
+
+    int investorCount() {
+        return investors.size();
+    }
+
+    private float score(Candidates c, int slot) {
+        return MatchScorer.score(c.stages, c.sectors, c.minTicket, c.maxTicket,
+                startupStages[slot], startupSectors[slot], startupNeeds[slot]);
+    }
+
+    /**
+     * Ascending ids of the sector terms in the given texts
+     */
+    int[] sectorIds(String... texts) {
+        int[] ids = MatchFeatures.sectorTerms(texts).stream()
+                .mapToInt(term -> sectorTermIds.computeIfAbsent(term, t -> sectorTermIds.size()))
+                .toArray();
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private void refillIfShort(Candidates candidates) {
+        if (candidates.size < topN && !candidates.complete) {
+            rescan(candidates);
+        }
+    }
+
+    private void rescan(Candidates candidates) {
+        candidates.reset();
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (startupIds[slot] != null) {
+                candidates.offer(slot, score(candidates, slot));
+            }
+        }
+    }
+
+    private int allocateSlot(UUID startupId) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == startupIds.length) {
+                grow(slotCount * 2);
+            }
+            slot = slotCount++;
+        }
+        startupIds[slot] = startupId;
+        startupSlots.put(startupId, slot);
+        return slot;
+    }
+
+    private void grow(int length) {
+        startupIds = Arrays.copyOf(startupIds, length);
+        startupStages = Arrays.copyOf(startupStages, length);
+        startupSectors = Arrays.copyOf(startupSectors, length);
+        startupNeeds = Arrays.copyOf(startupNeeds, length);
+        startupNames = Arrays.copyOf(startupNames, length);
+        startupStageNames = Arrays.copyOf(startupStageNames, length);
+        startupGoals = Arrays.copyOf(startupGoals, length);
+        startupFunding = Arrays.copyOf(startupFunding, length);
+    }
+
+    /**
+     * An investor's features and its candidates sorted by descending score.
+     * Once a positive-scoring startup has been left out of the list,
+     * {@code complete} is false and {@code outsideMax} bounds every score
+     * outside it; only startups beating that bound get in, so the list
+     * always holds the true best candidates.
+     */
+    private static final class Candidates {
+        final long stages;
+        final int[] sectors;
+        final double minTicket;
+        final double maxTicket;
+        final int[] slots;
+        final float[] scores;
+        int size;
+        boolean complete = true;
+        float outsideMax;
+
+        Candidates(long stages, int[] sectors, double minTicket, double maxTicket, int capacity) {
+            this.stages = stages;
+            this.sectors = sectors;
+            this.minTicket = minTicket;
+            this.maxTicket = maxTicket;
+            this.slots = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        void reset() {
+            size = 0;
+            complete = true;
+            outsideMax = 0;
+        }
+
+        void offer(int slot, float score) {
+            if (score <= 0) {
+                return;
+            }
+            if (!complete && score <= outsideMax) {
+                return;
+            }
+            if (size == slots.length) {
+                if (score <= scores[size - 1]) {
+                    leaveOut(score);
+                    return;
+                }
+                leaveOut(scores[--size]);
+            }
+            int i = size;
+            while (i > 0 && scores[i - 1] < score) {
+                slots[i] = slots[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            slots[i] = slot;
+            scores[i] = score;
+            size++;
+        }
+
+        private void leaveOut(float score) {
+            complete = false;
+            outsideMax = Math.max(outsideMax, score);
+        }
+
+        boolean remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    System.arraycopy(slots, i + 1, slots, i, size - i - 1);
+                    System.arraycopy(scores, i + 1, scores, i, size - i - 1);
+                    size--;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
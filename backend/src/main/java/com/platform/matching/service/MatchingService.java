@@ -0,0 +1,170 @@
+package com.platform.matching.service;
+
+import com.platform.investor.model.Investor;
+import com.platform.investor.model.InvestorChangedEvent;
+import com.platform.investor.model.InvestorStatus;
+import com.platform.investor.repository.InvestorRepository;
+import com.platform.matching.model.StartupMatchDTO;
+import com.platform.startup.model.Startup;
+import com.platform.startup.model.StartupChangedEvent;
+import com.platform.startup.model.StartupStatus;
+import com.platform.startup.repository.StartupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Serves investor-to-startup matches from an in-memory {@link MatchingEngine}.
+ *
+ * The engine is built from all published startups and active investors at
+ * startup, then kept current by startup and investor change events, which
+ * are applied after their transaction commits. A periodic full rebuild picks
+ * up changes made on other nodes.
+ */
+@Service
+public class MatchingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchingService.class);
+
+    private final StartupRepository startupRepository;
+    private final InvestorRepository investorRepository;
+    private final int topN;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private MatchingEngine engine;
+
+    // Changes seen while a rebuild is loading, replayed onto the new engine
+    private final Object rebuildMonitor = new Object();
+    private Set<UUID> startupsChangedDuringRebuild;
+    private Set<UUID> investorsChangedDuringRebuild;
+
+    public MatchingService(StartupRepository startupRepository,
+                           InvestorRepository investorRepository,
+                           @Value("${matching.top-n:50}") int topN) {
+        this.startupRepository = startupRepository;
+        this.investorRepository = investorRepository;
+        this.topN = topN;
+        this.engine = new MatchingEngine(topN);
+    }
+
+    /**
+     * Best matching startups for an investor, or empty if the investor is not known
+     */
+    public Optional<List<StartupMatchDTO>> getMatches(UUID investorId, int limit) {
+        lock.readLock().lock();
+        try {
+            if (engine.hasInvestor(investorId)) {
+                return Optional.of(engine.matches(investorId, limit));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Known but inactive investors simply have no matches
+        return investorRepository.existsById(investorId) ? Optional.of(List.of()) : Optional.empty();
+    }
+
+    /**
+     * Rebuild the index from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${matching.rebuild-interval-ms:900000}",
+               fixedDelayString = "${matching.rebuild-interval-ms:900000}")
+    public synchronized void rebuild() {
+        synchronized (rebuildMonitor) {
+            startupsChangedDuringRebuild = new HashSet<>();
+            investorsChangedDuringRebuild = new HashSet<>();
+        }
+        long started = System.nanoTime();
+        MatchingEngine rebuilt = new MatchingEngine(topN);
+        // Startups first, so each investor scans them once
+        for (Startup startup : startupRepository.findByStatus(StartupStatus.PUBLISHED, Pageable.unpaged())) {
+            rebuilt.upsertStartup(startup);
+        }
+        for (Investor investor : investorRepository.findByStatus(InvestorStatus.ACTIVE, Pageable.unpaged())) {
+            rebuilt.upsertInvestor(investor);
+        }
+
+        Set<UUID> startups;
+        Set<UUID> investors;
+        lock.writeLock().lock();
+        try {
+            engine = rebuilt;
+            synchronized (rebuildMonitor) {
+                startups = startupsChangedDuringRebuild;
+                investors = investorsChangedDuringRebuild;
+                startupsChangedDuringRebuild = null;
+                investorsChangedDuringRebuild = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        startups.forEach(this::refreshStartup);
+        investors.forEach(this::refreshInvestor);
+        logger.info("Rebuilt match index: {} startups, {} investors in {} ms",
+                rebuilt.startupCount(), rebuilt.investorCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStartupChanged(StartupChangedEvent event) {
+        synchronized (rebuildMonitor) {
+            if (startupsChangedDuringRebuild != null) {
+                startupsChangedDuringRebuild.add(event.getStartupId());
+            }
+        }
+        refreshStartup(event.getStartupId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInvestorChanged(InvestorChangedEvent event) {
+        synchronized (rebuildMonitor) {
+            if (investorsChangedDuringRebuild != null) {
+                investorsChangedDuringRebuild.add(event.getInvestorId());
+            }
+        }
+        refreshInvestor(event.getInvestorId());
+    }
+
+    private void refreshStartup(UUID startupId) {
+        Optional<Startup> startup = startupRepository.findById(startupId)
+                .filter(s -> s.getStatus() == StartupStatus.PUBLISHED);
+        lock.writeLock().lock();
+        try {
+            if (startup.isPresent()) {
+                engine.upsertStartup(startup.get());
+            } else {
+                engine.removeStartup(startupId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void refreshInvestor(UUID investorId) {
+        Optional<Investor> investor = investorRepository.findById(investorId)
+                .filter(i -> i.getStatus() == InvestorStatus.ACTIVE);
+        lock.writeLock().lock();
+        try {
+            if (investor.isPresent()) {
+                engine.upsertInvestor(investor.get());
+            } else {
+                engine.removeInvestor(investorId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
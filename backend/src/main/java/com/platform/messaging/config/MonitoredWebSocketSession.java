@@ -0,0 +1,57 @@
+package com.platform.messaging.config;
+
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Session decorator that reports each written STOMP MESSAGE frame to the
+ * {@link SlowConsumerPolicy}. Spring's own send-buffer decorator wraps this
+ * one, so {@link #sendMessage} runs only once a frame actually leaves its
+ * buffer.
+ */
+public class MonitoredWebSocketSession extends WebSocketSessionDecorator {
+
+    private static final byte[] MESSAGE_COMMAND = "MESSAGE\n".getBytes(StandardCharsets.UTF_8);
+
+    private final SlowConsumerPolicy policy;
+
+    public MonitoredWebSocketSession(WebSocketSession delegate, SlowConsumerPolicy policy) {
+        super(delegate);
+        this.policy = policy;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        long start = System.nanoTime();
+        super.sendMessage(message);
+        if (isMessageFrame(message)) {
+            policy.onFrameWritten(getId(), System.nanoTime() - start);
+        }
+    }
+
+    private static boolean isMessageFrame(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage text) {
+            return text.getPayload().startsWith("MESSAGE\n");
+        }
+        if (message instanceof BinaryMessage binary) {
+            ByteBuffer payload = binary.getPayload();
+            if (payload.remaining() < MESSAGE_COMMAND.length) {
+                return false;
+            }
+            for (int i = 0; i < MESSAGE_COMMAND.length; i++) {
+                if (payload.get(payload.position() + i) != MESSAGE_COMMAND[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
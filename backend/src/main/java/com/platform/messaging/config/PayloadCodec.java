@@ -0,0 +1,72 @@
+package com.platform.messaging.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.util.MimeType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Jackson dataformats a STOMP client can ask for with the
+ * {@code payload-codec} header on CONNECT.
+ */
+public enum PayloadCodec {
+
+    JSON("json", new MimeType("application", "json"), new JsonFactory()),
+    SMILE("smile", new MimeType("application", "x-jackson-smile"), new SmileFactory()),
+    CBOR("cbor", new MimeType("application", "cbor"), new CBORFactory());
+
+    public static final String HEADER = "payload-codec";
+
+    private final String token;
+    private final MimeType mimeType;
+    private final JsonFactory factory;
+
+    PayloadCodec(String token, MimeType mimeType, JsonFactory factory) {
+        this.token = token;
+        this.mimeType = mimeType;
+        this.factory = factory;
+    }
+
+    public String getToken() { return token; }
+    public MimeType getMimeType() { return mimeType; }
+    public JsonFactory getFactory() { return factory; }
+
+    /**
+     * Re-encode a JSON document in this format by streaming tokens from the
+     * JSON parser into this format's generator, without building an object tree
+     */
+    public byte[] transcode(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = JSON.factory.createParser(json);
+             JsonGenerator generator = factory.createGenerator(out)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * First supported codec in a comma-separated preference list, or null
+     */
+    public static PayloadCodec negotiate(String header) {
+        if (header == null) {
+            return null;
+        }
+        for (String candidate : header.split(",")) {
+            String token = candidate.trim().toLowerCase(Locale.ROOT);
+            for (PayloadCodec codec : values()) {
+                if (codec.token.equals(token)) {
+                    return codec;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,136 @@
+package com.platform.messaging.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Negotiates a binary payload codec per STOMP session and re-encodes
+ * outbound JSON payloads accordingly.
+ *
+ * A client on the plain WebSocket endpoint sends {@code payload-codec: cbor}
+ * (or {@code smile}, or a comma-separated preference list) on CONNECT. Its
+ * MESSAGE frames are then sent as binary WebSocket frames with
+ * {@code content-type: application/octet-stream} and a {@code payload-codec}
+ * header naming the format. SockJS sessions cannot carry binary frames and
+ * always get JSON.
+ *
+ * The broker hands every subscriber of a destination the same payload array,
+ * so encoded payloads are cached by array identity: each broadcast is
+ * re-encoded once per codec rather than once per subscriber.
+ */
+@Component
+public class PayloadCodecNegotiator implements ChannelInterceptor, HandshakeInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayloadCodecNegotiator.class);
+
+    static final String BINARY_FRAMES_ATTRIBUTE = PayloadCodecNegotiator.class.getName() + ".binaryFrames";
+
+    private final Map<String, PayloadCodec> sessionCodecs = new ConcurrentHashMap<>();
+    private final Map<byte[], byte[][]> encoded = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        attributes.put(BINARY_FRAMES_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (type == null || sessionId == null) {
+            return message;
+        }
+        switch (type) {
+            case CONNECT:
+                negotiate(sessionId, message);
+                return message;
+            case DISCONNECT:
+                sessionCodecs.remove(sessionId);
+                return message;
+            case MESSAGE:
+                return encode(sessionId, message);
+            default:
+                return message;
+        }
+    }
+
+    /**
+     * Codec negotiated for a session; JSON if none was requested
+     */
+    public PayloadCodec getCodec(String sessionId) {
+        return sessionCodecs.getOrDefault(sessionId, PayloadCodec.JSON);
+    }
+
+    private void negotiate(String sessionId, Message<?> message) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        PayloadCodec codec = PayloadCodec.negotiate(accessor.getFirstNativeHeader(PayloadCodec.HEADER));
+        if (codec == null || codec == PayloadCodec.JSON) {
+            return;
+        }
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes == null || !Boolean.TRUE.equals(attributes.get(BINARY_FRAMES_ATTRIBUTE))) {
+            logger.debug("Session {} asked for {} payloads over a transport without binary frames", sessionId, codec);
+            return;
+        }
+        sessionCodecs.put(sessionId, codec);
+    }
+
+    private Message<?> encode(String sessionId, Message<?> message) {
+        PayloadCodec codec = sessionCodecs.get(sessionId);
+        if (codec == null || !(message.getPayload() instanceof byte[] json)) {
+            return message;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        MimeType contentType = accessor.getContentType();
+        if (contentType == null || !MimeTypeUtils.APPLICATION_JSON.equalsTypeAndSubtype(contentType)) {
+            return message;
+        }
+        byte[] payload;
+        try {
+            payload = encoded(json, codec);
+        } catch (IOException e) {
+            logger.warn("Could not encode payload as {} for session {}, sending JSON", codec, sessionId, e);
+            return message;
+        }
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setNativeHeader(PayloadCodec.HEADER, codec.getToken());
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+    private byte[] encoded(byte[] json, PayloadCodec codec) throws IOException {
+        byte[][] byCodec = encoded.computeIfAbsent(json, key -> new byte[PayloadCodec.values().length][]);
+        byte[] payload = byCodec[codec.ordinal()];
+        if (payload == null) {
+            // Two subscribers racing here both encode; the result is identical
+            payload = codec.transcode(json);
+            byCodec[codec.ordinal()] = payload;
+        }
+        return payload;
+    }
+}
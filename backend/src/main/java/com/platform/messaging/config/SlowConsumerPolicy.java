@@ -0,0 +1,239 @@
+package com.platform.messaging.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks how many STOMP MESSAGE frames are queued for each WebSocket session
+ * and applies the slow-consumer policy on the clientOutboundChannel.
+ *
+ * A frame counts as queued from the moment it enters the outbound channel
+ * until the session decorator reports it written to the socket. As a session
+ * falls behind, typing frames are dropped first, then latest-state frames
+ * (typing, read receipts) are coalesced per destination, and finally the
+ * session is closed.
+ */
+@Component
+public class SlowConsumerPolicy implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowConsumerPolicy.class);
+
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+
+    private final DistributionSummary queueDepth;
+    private final Timer sendLatency;
+    private final Timer writeTime;
+    private final Counter typingDrops;
+    private final Counter coalescedDrops;
+    private final Counter disconnectDrops;
+    private final Counter disconnects;
+
+    private volatile MessageChannel outboundChannel;
+
+    @Value("${websocket.outbound.typing-drop-depth:32}")
+    private int typingDropDepth = 32;
+
+    @Value("${websocket.outbound.coalesce-depth:64}")
+    private int coalesceDepth = 64;
+
+    @Value("${websocket.outbound.disconnect-depth:256}")
+    private int disconnectDepth = 256;
+
+    public SlowConsumerPolicy(MeterRegistry meterRegistry) {
+        this.queueDepth = DistributionSummary.builder("websocket.outbound.queue.depth")
+                .description("Per-session outbound queue depth observed when a frame is enqueued")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.sendLatency = Timer.builder("websocket.outbound.send.latency")
+                .description("Time from entering the outbound channel to being written to the session")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.writeTime = Timer.builder("websocket.outbound.write.time")
+                .description("Time spent writing a single frame to the session")
+                .register(meterRegistry);
+        this.typingDrops = dropCounter(meterRegistry, "typing");
+        this.coalescedDrops = dropCounter(meterRegistry, "coalesced");
+        this.disconnectDrops = dropCounter(meterRegistry, "disconnect");
+        this.disconnects = Counter.builder("websocket.outbound.slow_consumer.disconnects")
+                .description("Sessions closed because their outbound queue exceeded the limit")
+                .register(meterRegistry);
+        Gauge.builder("websocket.outbound.sessions", sessions, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("websocket.outbound.queue.depth.max", this, SlowConsumerPolicy::maxQueueDepth)
+                .description("Deepest per-session outbound queue right now")
+                .register(meterRegistry);
+    }
+
+    private static Counter dropCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("websocket.outbound.dropped")
+                .description("Outbound frames dropped by the slow-consumer policy")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start tracking a newly connected session and return the decorated
+     * session that reports completed writes back to this policy.
+     */
+    public WebSocketSession register(WebSocketSession session) {
+        SessionState state = new SessionState(session);
+        sessions.put(session.getId(), state);
+        return new MonitoredWebSocketSession(session, this);
+    }
+
+    public void unregister(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        SessionState state = sessionId != null ? sessions.get(sessionId) : null;
+        if (state == null) {
+            return message;
+        }
+        outboundChannel = channel;
+
+        int depth = state.depth.get();
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+
+        if (depth >= disconnectDepth) {
+            disconnectDrops.increment();
+            disconnect(state, depth);
+            return null;
+        }
+        if (depth >= typingDropDepth && isTyping(destination)) {
+            typingDrops.increment();
+            return null;
+        }
+        if (depth >= coalesceDepth && isLatestState(destination)) {
+            if (state.coalesced.put(destination, message) != null) {
+                coalescedDrops.increment();
+            }
+            return null;
+        }
+
+        state.enqueuedAt.add(System.nanoTime());
+        queueDepth.record(state.depth.incrementAndGet());
+        return message;
+    }
+
+    /**
+     * Called by {@link MonitoredWebSocketSession} after a MESSAGE frame has
+     * been written to the underlying session.
+     */
+    void onFrameWritten(String sessionId, long writeNanos) {
+        writeTime.record(writeNanos, TimeUnit.NANOSECONDS);
+        SessionState state = sessions.get(sessionId);
+        if (state == null) {
+            return;
+        }
+        Long enqueued = state.enqueuedAt.poll();
+        if (enqueued != null) {
+            state.depth.decrementAndGet();
+            sendLatency.record(System.nanoTime() - enqueued, TimeUnit.NANOSECONDS);
+        }
+        if (!state.coalesced.isEmpty() && state.depth.get() < typingDropDepth) {
+            flushCoalesced(state);
+        }
+    }
+
+    private void flushCoalesced(SessionState state) {
+        MessageChannel channel = outboundChannel;
+        if (channel == null) {
+            return;
+        }
+        List<Message<?>> pending = new ArrayList<>(state.coalesced.size());
+        for (String destination : new ArrayList<>(state.coalesced.keySet())) {
+            Message<?> latest = state.coalesced.remove(destination);
+            if (latest != null) {
+                pending.add(latest);
+            }
+        }
+        pending.forEach(channel::send);
+    }
+
+    private void disconnect(SessionState state, int depth) {
+        if (!state.closing.compareAndSet(false, true)) {
+            return;
+        }
+        disconnects.increment();
+        logger.warn("Closing slow WebSocket session {} with {} queued frames", state.session.getId(), depth);
+        try {
+            state.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            logger.debug("Failed to close slow WebSocket session {}", state.session.getId(), e);
+        }
+    }
+
+    private static boolean isTyping(String destination) {
+        return destination != null && destination.endsWith("/typing");
+    }
+
+    private static boolean isLatestState(String destination) {
+        return destination != null && (destination.endsWith("/typing") || destination.endsWith("/read"));
+    }
+
+    /**
+     * Current queued MESSAGE frames per session, for diagnostics.
+     */
+    public Map<String, Integer> getQueueDepths() {
+        Map<String, Integer> depths = new LinkedHashMap<>();
+        sessions.forEach((id, state) -> depths.put(id, state.depth.get()));
+        return depths;
+    }
+
+    public int getQueueDepth(String sessionId) {
+        SessionState state = sessions.get(sessionId);
+        return state != null ? state.depth.get() : 0;
+    }
+
+    private double maxQueueDepth() {
+        int max = 0;
+        for (SessionState state : sessions.values()) {
+            max = Math.max(max, state.depth.get());
+        }
+        return max;
+    }
+
+    private static class SessionState {
+        private final WebSocketSession session;
+        private final AtomicInteger depth = new AtomicInteger();
+        private final Queue<Long> enqueuedAt = new ConcurrentLinkedQueue<>();
+        private final Map<String, Message<?>> coalesced = new ConcurrentHashMap<>();
+        private final AtomicBoolean closing = new AtomicBoolean();
+
+        SessionState(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.platform.messaging.config;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+
+/**
+ * Executor for the clientInboundChannel that splits STOMP frames into two
+ * lanes. Frames sent to a blocking destination (handlers that do JPA work)
+ * run on a separate blocking lane; everything else, such as typing, join and
+ * leave frames, subscriptions and heartbeats, stays on this pool and never
+ * queues behind database calls.
+ */
+public class StompLaneTaskExecutor extends ThreadPoolTaskExecutor {
+
+    private final List<String> blockingDestinations;
+    private final TaskExecutor blockingLane;
+
+    public StompLaneTaskExecutor(List<String> blockingDestinations, TaskExecutor blockingLane) {
+        this.blockingDestinations = List.copyOf(blockingDestinations);
+        this.blockingLane = blockingLane;
+    }
+
+    /**
+     * Blocking lane backed by a bounded platform thread pool.
+     */
+    public static ThreadPoolTaskExecutor blockingPool(int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("ws-inbound-blocking-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        return executor;
+    }
+
+    /**
+     * Blocking lane that runs each frame on its own virtual thread. The JDBC
+     * connection pool remains the effective concurrency limit.
+     */
+    public static TaskExecutor virtualThreads() {
+        try {
+            return new VirtualThreadTaskExecutor("ws-inbound-virtual-");
+        } catch (UnsupportedOperationException e) {
+            throw new IllegalStateException("websocket.virtual-threads requires Java 21 or later", e);
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (task instanceof MessageHandlingRunnable runnable && isBlocking(runnable.getMessage())) {
+            blockingLane.execute(task);
+        } else {
+            super.execute(task);
+        }
+    }
+
+    boolean isBlocking(Message<?> message) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null) {
+            return false;
+        }
+        for (String prefix : blockingDestinations) {
+            if (destination.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void initialize() {
+        super.initialize();
+        if (blockingLane instanceof ThreadPoolTaskExecutor pool) {
+            pool.initialize();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        if (blockingLane instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+}
@@ -1,15 +1,70 @@
 package com.platform.messaging.config;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final PayloadCodecNegotiator payloadCodecNegotiator;
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Value("${websocket.outbound.send-time-limit-ms:10000}")
+    private int sendTimeLimit;
+
+    @Value("${websocket.outbound.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.outbound.pool-size:8}")
+    private int outboundPoolSize;
+
+    @Value("${websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    @Value("${websocket.inbound.pool-size:8}")
+    private int inboundPoolSize;
+
+    @Value("${websocket.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${websocket.inbound.blocking-pool-size:16}")
+    private int blockingPoolSize;
+
+    @Value("${websocket.inbound.blocking-queue-capacity:10000}")
+    private int blockingQueueCapacity;
+
+    @Value("${websocket.inbound.blocking-destinations:/app/chat.send,/app/chat.read}")
+    private List<String> blockingDestinations;
+
+    @Value("${websocket.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    public WebSocketConfig(SlowConsumerPolicy slowConsumerPolicy,
+                           PayloadCodecNegotiator payloadCodecNegotiator,
+                           ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        this.payloadCodecNegotiator = payloadCodecNegotiator;
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable a simple memory-based message broker to carry messages back to client
@@ -32,7 +87,71 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .withSockJS();
         
         // Also add a plain WebSocket endpoint without SockJS fallback
+        // Only this endpoint can carry binary frames, so only it may negotiate a binary payload codec
         registry.addEndpoint("/ws-plain")
-                .setAllowedOriginPatterns("*");
+                .setAllowedOriginPatterns("*")
+                .addInterceptors(payloadCodecNegotiator);
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // Accept CBOR and Smile SEND frames by content-type. Strict matching keeps these
+        // converters from claiming server-side sends that carry no content-type.
+        for (PayloadCodec codec : List.of(PayloadCodec.CBOR, PayloadCodec.SMILE)) {
+            MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter(codec.getMimeType());
+            converter.setObjectMapper(objectMapperBuilder.getObject().factory(codec.getFactory().copy()).build());
+            converter.setStrictContentTypeMatch(true);
+            messageConverters.add(converter);
+        }
+        return true;
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Hard per-session limits; a session that exceeds either is closed by Spring
+        registration.setSendTimeLimit(sendTimeLimit);
+        registration.setSendBufferSizeLimit(sendBufferSizeLimit);
+
+        // Track per-session outbound queue depth for the slow-consumer policy
+        registration.addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(slowConsumerPolicy.register(session));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                slowConsumerPolicy.unregister(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        });
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Frames for persisting handlers get their own lane so typing, join/leave,
+        // subscriptions and heartbeats never queue behind database calls
+        TaskExecutor blockingLane = virtualThreads
+                ? StompLaneTaskExecutor.virtualThreads()
+                : StompLaneTaskExecutor.blockingPool(blockingPoolSize, blockingQueueCapacity);
+        StompLaneTaskExecutor executor = new StompLaneTaskExecutor(blockingDestinations, blockingLane);
+        executor.setThreadNamePrefix("ws-inbound-");
+        executor.setCorePoolSize(inboundPoolSize);
+        executor.setMaxPoolSize(inboundPoolSize);
+        executor.setQueueCapacity(inboundQueueCapacity);
+        registration.taskExecutor(executor);
+        registration.interceptors(payloadCodecNegotiator);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundPoolSize)
+                .maxPoolSize(outboundPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+
+        // Drop, coalesce or disconnect before frames pile up for slow sessions,
+        // then re-encode JSON payloads for sessions that negotiated a binary codec
+        registration.interceptors(slowConsumerPolicy, payloadCodecNegotiator);
     }
 }
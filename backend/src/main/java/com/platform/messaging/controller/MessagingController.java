@@ -3,7 +3,10 @@ package com.platform.messaging.controller;
 import com.platform.messaging.model.Conversation;
 import com.platform.messaging.model.Message;
 import com.platform.messaging.model.MessageDTO;
+import com.platform.messaging.model.MessageSearchPage;
+import com.platform.messaging.service.MessageSearchService;
 import com.platform.messaging.service.MessagingService;
+import com.platform.util.SecurityUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -20,6 +23,9 @@ public class MessagingController {
     @Autowired
     private MessagingService messagingService;
     
+    @Autowired
+    private MessageSearchService messageSearchService;
+    
     /**
      * Get or create conversation between two users
      */
@@ -70,6 +76,31 @@ public class MessagingController {
         return ResponseEntity.status(HttpStatus.CREATED).body(sentMessage);
     }
     
+    /**
+     * Search messages in the current user's conversations
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchMessages(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        UUID userId = SecurityUtil.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Authentication required");
+        }
+        try {
+            MessageSearchPage page = messageSearchService.search(userId, q, cursor, Math.max(1, Math.min(size, 100)));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(e.getMessage());
+        }
+    }
+    
     /**
      * Get messages in a conversation
      */
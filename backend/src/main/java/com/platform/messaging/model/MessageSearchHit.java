@@ -0,0 +1,41 @@
+package com.platform.messaging.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class MessageSearchHit {
+    private UUID messageId;
+    private UUID conversationId;
+    private UUID senderId;
+    private String snippet;
+    private double score;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public MessageSearchHit() {}
+
+    public MessageSearchHit(Message message, String snippet, double score) {
+        this.messageId = message.getId();
+        this.conversationId = message.getConversationId();
+        this.senderId = message.getSenderId();
+        this.snippet = snippet;
+        this.score = score;
+        this.createdAt = message.getCreatedAt();
+    }
+
+    // Getters
+    public UUID getMessageId() { return messageId; }
+    public UUID getConversationId() { return conversationId; }
+    public UUID getSenderId() { return senderId; }
+    public String getSnippet() { return snippet; }
+    public double getScore() { return score; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    // Setters
+    public void setMessageId(UUID messageId) { this.messageId = messageId; }
+    public void setConversationId(UUID conversationId) { this.conversationId = conversationId; }
+    public void setSenderId(UUID senderId) { this.senderId = senderId; }
+    public void setSnippet(String snippet) { this.snippet = snippet; }
+    public void setScore(double score) { this.score = score; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,29 @@
+package com.platform.messaging.model;
+
+import java.util.List;
+
+public class MessageSearchPage {
+    private List<MessageSearchHit> hits;
+    private String nextCursor;
+    // Some conversations were skipped because this search's index loading budget ran out
+    private boolean partial;
+
+    // Constructors
+    public MessageSearchPage() {}
+
+    public MessageSearchPage(List<MessageSearchHit> hits, String nextCursor, boolean partial) {
+        this.hits = hits;
+        this.nextCursor = nextCursor;
+        this.partial = partial;
+    }
+
+    // Getters
+    public List<MessageSearchHit> getHits() { return hits; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isPartial() { return partial; }
+
+    // Setters
+    public void setHits(List<MessageSearchHit> hits) { this.hits = hits; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public void setPartial(boolean partial) { this.partial = partial; }
+}
@@ -3,8 +3,12 @@ package com.platform.messaging.repository;
 import com.platform.messaging.model.Message;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,4 +16,9 @@ import java.util.UUID;
 public interface MessageRepository extends JpaRepository<Message, UUID> {
     Page<Message> findByConversationIdOrderByCreatedAtDesc(UUID conversationId, Pageable pageable);
     List<Message> findByConversationIdAndIsReadFalse(UUID conversationId);
+    Slice<Message> findByConversationIdOrderByCreatedAtAsc(UUID conversationId, Pageable pageable);
+    List<Message> findByConversationIdAndCreatedAtBeforeOrderByCreatedAtAscIdAsc(UUID conversationId, LocalDateTime cutoff, Pageable pageable);
+
+    @Query("SELECT DISTINCT m.conversationId FROM Message m WHERE m.createdAt < :cutoff")
+    List<UUID> findConversationIdsWithMessagesBefore(@Param("cutoff") LocalDateTime cutoff);
 }
@@ -0,0 +1,129 @@
+package com.platform.messaging.service;
+
+import com.platform.messaging.model.Message;
+import com.platform.messaging.repository.MessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Moves cold messages out of the {@code messages} table into compressed
+ * segment files and serves them back for conversation history.
+ *
+ * Each batch is appended and fsynced to the archive before its rows are
+ * deleted. If a run dies in between, the next run deletes the rows of the
+ * last archived block before selecting new ones, so messages are never
+ * archived twice or lost. Archived messages stay in the search index, which
+ * is told where each one now sits in the archive.
+ */
+@Service
+public class MessageArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageArchiveService.class);
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageArchiveStore messageArchiveStore;
+
+    @Autowired
+    private MessageSearchService messageSearchService;
+
+    @Value("${messaging.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${messaging.archive.max-age-days:30}")
+    private int maxAgeDays;
+
+    @Value("${messaging.archive.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Archive messages older than the configured age
+     */
+    @Scheduled(cron = "${messaging.archive.cron:0 30 3 * * *}")
+    public void archiveColdMessages() {
+        if (!enabled) {
+            return;
+        }
+        int archived = archiveOlderThan(LocalDateTime.now().minusDays(maxAgeDays));
+        if (archived > 0) {
+            logger.info("Archived {} messages older than {} days", archived, maxAgeDays);
+        }
+    }
+
+    /**
+     * Archive all messages created before the cutoff; returns the number moved
+     */
+    public int archiveOlderThan(LocalDateTime cutoff) {
+        int archived = 0;
+        for (UUID conversationId : messageRepository.findConversationIdsWithMessagesBefore(cutoff)) {
+            try {
+                archived += archiveConversation(conversationId, cutoff);
+            } catch (IOException e) {
+                logger.error("Failed to archive messages for conversation {}", conversationId, e);
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * Number of archived messages in a conversation
+     */
+    public long countArchived(UUID conversationId) {
+        return messageArchiveStore.count(conversationId);
+    }
+
+    /**
+     * Archived messages newest first, skipping the first {@code offset}
+     */
+    public List<Message> getArchivedMessages(UUID conversationId, long offset, int limit) {
+        try {
+            return messageArchiveStore.read(conversationId, offset, limit);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archived messages for conversation " + conversationId, e);
+        }
+    }
+
+    private int archiveConversation(UUID conversationId, LocalDateTime cutoff) throws IOException {
+        // Finish a previous run that archived a block but died before deleting its rows
+        List<Message> lastBlock = messageArchiveStore.readLastBlock(conversationId);
+        deleteRows(conversationId, lastBlock, messageArchiveStore.count(conversationId) - lastBlock.size());
+
+        int archived = 0;
+        List<Message> batch;
+        do {
+            batch = messageRepository.findByConversationIdAndCreatedAtBeforeOrderByCreatedAtAscIdAsc(
+                    conversationId, cutoff, PageRequest.of(0, batchSize));
+            if (!batch.isEmpty()) {
+                long firstPosition = messageArchiveStore.count(conversationId);
+                messageArchiveStore.append(conversationId, batch);
+                deleteRows(conversationId, batch, firstPosition);
+                archived += batch.size();
+            }
+        } while (batch.size() == batchSize);
+        return archived;
+    }
+
+    private void deleteRows(UUID conversationId, List<Message> messages, long firstPosition) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        // Point the index at the archive first, so search never loses sight of these messages
+        messageSearchService.indexArchived(conversationId, messages, firstPosition);
+        List<UUID> ids = messages.stream().map(Message::getId).collect(Collectors.toList());
+        messageRepository.deleteAllByIdInBatch(ids);
+    }
+}
@@ -0,0 +1,348 @@
+package com.platform.messaging.service;
+
+import com.platform.messaging.model.Message;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only, deflate-compressed segment files for archived messages.
+ *
+ * Layout per conversation, under {@code messaging.archive.dir}:
+ * <pre>
+ *   {conversationId}/segment-000000.seg   compressed blocks, appended in time order
+ *   {conversationId}/index.idx            one fixed-size entry per block
+ * </pre>
+ * Each archival batch becomes one block. A block is only visible once its
+ * index entry is written, so a crash mid-append leaves at most an orphaned
+ * tail in the segment that is never read. Blocks are read through
+ * memory-mapped regions of the segment file.
+ */
+@Component
+public class MessageArchiveStore {
+
+    private static final String INDEX_FILE = "index.idx";
+    private static final int ENTRY_SIZE = 4 + 8 + 4 + 4 + 4 + 4 + 8 + 8;
+
+    @Value("${messaging.archive.dir:archive/messages}")
+    private String archiveDir;
+
+    @Value("${messaging.archive.segment-max-bytes:67108864}")
+    private long segmentMaxBytes;
+
+    private Path archiveRoot;
+
+    private final Map<UUID, List<BlockEntry>> indexCache = new ConcurrentHashMap<>();
+    private final Map<UUID, Object> locks = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        this.archiveRoot = Paths.get(archiveDir).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(archiveRoot);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create message archive directory", e);
+        }
+    }
+
+    /**
+     * Append messages (oldest first) as a single compressed block
+     */
+    public void append(UUID conversationId, List<Message> messages) throws IOException {
+        if (messages.isEmpty()) {
+            return;
+        }
+        byte[] raw = encode(messages);
+        byte[] compressed = deflate(raw);
+        CRC32 crc = new CRC32();
+        crc.update(compressed);
+
+        synchronized (lock(conversationId)) {
+            List<BlockEntry> entries = entries(conversationId);
+            Path dir = Files.createDirectories(archiveRoot.resolve(conversationId.toString()));
+
+            int segment = entries.isEmpty() ? 0 : entries.get(entries.size() - 1).segment;
+            Path segmentPath = dir.resolve(segmentName(segment));
+            if (Files.exists(segmentPath) && Files.size(segmentPath) + compressed.length > segmentMaxBytes) {
+                segment++;
+                segmentPath = dir.resolve(segmentName(segment));
+            }
+
+            long offset;
+            try (FileChannel channel = FileChannel.open(segmentPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                offset = channel.size();
+                channel.write(ByteBuffer.wrap(compressed), offset);
+                channel.force(true);
+            }
+
+            BlockEntry entry = new BlockEntry(segment, offset, compressed.length, raw.length,
+                    (int) crc.getValue(), messages.size(),
+                    epochMillis(messages.get(0).getCreatedAt()),
+                    epochMillis(messages.get(messages.size() - 1).getCreatedAt()));
+            try (FileChannel index = FileChannel.open(dir.resolve(INDEX_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.allocate(ENTRY_SIZE);
+                entry.writeTo(buffer);
+                buffer.flip();
+                index.write(buffer);
+                index.force(true);
+            }
+
+            List<BlockEntry> updated = new ArrayList<>(entries);
+            updated.add(entry);
+            indexCache.put(conversationId, Collections.unmodifiableList(updated));
+        }
+    }
+
+    /**
+     * Number of archived messages for a conversation
+     */
+    public long count(UUID conversationId) {
+        long total = 0;
+        for (BlockEntry entry : entries(conversationId)) {
+            total += entry.count;
+        }
+        return total;
+    }
+
+    /**
+     * Read archived messages newest first, skipping the first {@code offset}
+     */
+    public List<Message> read(UUID conversationId, long offset, int limit) throws IOException {
+        List<Message> result = new ArrayList<>(Math.max(0, limit));
+        List<BlockEntry> entries = entries(conversationId);
+        long skip = offset;
+        for (int i = entries.size() - 1; i >= 0 && result.size() < limit; i--) {
+            BlockEntry entry = entries.get(i);
+            if (skip >= entry.count) {
+                skip -= entry.count;
+                continue;
+            }
+            List<Message> block = readBlock(conversationId, entry);
+            for (int j = block.size() - 1 - (int) skip; j >= 0 && result.size() < limit; j--) {
+                result.add(block.get(j));
+            }
+            skip = 0;
+        }
+        return result;
+    }
+
+    /**
+     * Messages in the most recently appended block, used to finish an
+     * archival run that was interrupted before its rows were deleted
+     */
+    public List<Message> readLastBlock(UUID conversationId) throws IOException {
+        List<BlockEntry> entries = entries(conversationId);
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        return readBlock(conversationId, entries.get(entries.size() - 1));
+    }
+
+    private List<Message> readBlock(UUID conversationId, BlockEntry entry) throws IOException {
+        Path segmentPath = archiveRoot.resolve(conversationId.toString()).resolve(segmentName(entry.segment));
+        byte[] compressed = new byte[entry.compressedLength];
+        try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, entry.offset, entry.compressedLength);
+            region.get(compressed);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(compressed);
+        if ((int) crc.getValue() != entry.crc) {
+            throw new IOException("Corrupt archive block in " + segmentPath + " at offset " + entry.offset);
+        }
+        return decode(conversationId, inflate(compressed, entry.rawLength));
+    }
+
+    private List<BlockEntry> entries(UUID conversationId) {
+        return indexCache.computeIfAbsent(conversationId, this::loadIndex);
+    }
+
+    private List<BlockEntry> loadIndex(UUID conversationId) {
+        Path indexPath = archiveRoot.resolve(conversationId.toString()).resolve(INDEX_FILE);
+        if (!Files.exists(indexPath)) {
+            return List.of();
+        }
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            // A torn trailing entry from a crash is ignored
+            long complete = channel.size() / ENTRY_SIZE;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, complete * ENTRY_SIZE);
+            List<BlockEntry> entries = new ArrayList<>((int) complete);
+            for (long i = 0; i < complete; i++) {
+                entries.add(BlockEntry.readFrom(buffer));
+            }
+            return Collections.unmodifiableList(entries);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive index " + indexPath, e);
+        }
+    }
+
+    private Object lock(UUID conversationId) {
+        return locks.computeIfAbsent(conversationId, id -> new Object());
+    }
+
+    private static String segmentName(int segment) {
+        return String.format("segment-%06d.seg", segment);
+    }
+
+    private static byte[] encode(List<Message> messages) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(messages.size() * 128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (Message message : messages) {
+                writeUuid(out, message.getId());
+                writeUuid(out, message.getSenderId());
+                writeTime(out, message.getCreatedAt());
+                writeTime(out, message.getUpdatedAt());
+                out.writeBoolean(Boolean.TRUE.equals(message.getIsRead()));
+                byte[] content = message.getContent().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(content.length);
+                out.write(content);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<Message> decode(UUID conversationId, byte[] raw) throws IOException {
+        List<Message> messages = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new java.io.ByteArrayInputStream(raw))) {
+            while (in.available() > 0) {
+                Message message = new Message();
+                message.setConversationId(conversationId);
+                message.setId(readUuid(in));
+                message.setSenderId(readUuid(in));
+                message.setCreatedAt(readTime(in));
+                message.setUpdatedAt(readTime(in));
+                message.setIsRead(in.readBoolean());
+                byte[] content = new byte[in.readInt()];
+                in.readFully(content);
+                message.setContent(new String(content, StandardCharsets.UTF_8));
+                messages.add(message);
+            }
+        }
+        return messages;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(raw, read, rawLength - read);
+            }
+            if (read != rawLength) {
+                throw new IOException("Truncated archive block");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static class BlockEntry {
+        private final int segment;
+        private final long offset;
+        private final int compressedLength;
+        private final int rawLength;
+        private final int crc;
+        private final int count;
+        private final long firstCreatedAt;
+        private final long lastCreatedAt;
+
+        BlockEntry(int segment, long offset, int compressedLength, int rawLength, int crc,
+                   int count, long firstCreatedAt, long lastCreatedAt) {
+            this.segment = segment;
+            this.offset = offset;
+            this.compressedLength = compressedLength;
+            this.rawLength = rawLength;
+            this.crc = crc;
+            this.count = count;
+            this.firstCreatedAt = firstCreatedAt;
+            this.lastCreatedAt = lastCreatedAt;
+        }
+
+        void writeTo(ByteBuffer buffer) {
+            buffer.putInt(segment)
+                    .putLong(offset)
+                    .putInt(compressedLength)
+                    .putInt(rawLength)
+                    .putInt(crc)
+                    .putInt(count)
+                    .putLong(firstCreatedAt)
+                    .putLong(lastCreatedAt);
+        }
+
+        static BlockEntry readFrom(ByteBuffer buffer) {
+            return new BlockEntry(buffer.getInt(), buffer.getLong(), buffer.getInt(), buffer.getInt(),
+                    buffer.getInt(), buffer.getInt(), buffer.getLong(), buffer.getLong());
+        }
+    }
+}
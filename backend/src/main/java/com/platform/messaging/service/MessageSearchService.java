@@ -0,0 +1,621 @@
+package com.platform.messaging.service;
+
+import com.platform.messaging.model.Conversation;
+import com.platform.messaging.model.Message;
+import com.platform.messaging.model.MessageSearchHit;
+import com.platform.messaging.model.MessageSearchPage;
+import com.platform.messaging.repository.ConversationRepository;
+import com.platform.messaging.repository.MessageRepository;
+import com.platform.util.KeysetCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process full-text search over message history.
+ *
+ * Each conversation gets its own inverted index (term to postings of
+ * message ordinals with term frequency). Indexes are built lazily the first
+ * time a conversation is searched, from both the hot table and the
+ * conversation's archive segments, and are then kept current by
+ * {@link MessagingService} on send and delete. Archiving a message keeps it
+ * in the index and records where it sits in the archive, so old
+ * discussions stay searchable. Only metadata is held in memory; snippets
+ * are cut from the stored content of the returned page, read from the
+ * archive for archived hits.
+ *
+ * Indexes live on the node that built them and are bounded three ways:
+ * <ul>
+ *   <li>the least recently searched conversations are evicted once all
+ *       indexes together hold more than {@code messaging.search.max-indexed-messages};</li>
+ *   <li>an index older than {@code messaging.search.index-ttl-seconds} is
+ *       rebuilt on its next search, which is how messages sent, deleted or
+ *       archived through other nodes show up (until then hits on rows that
+ *       are gone are dropped, and new messages from other nodes are missing);</li>
+ *   <li>a single search loads at most {@code messaging.search.max-load-per-search}
+ *       messages into new indexes, taking conversations by latest activity.
+ *       A conversation is loaded whole, so the last one may overshoot. The
+ *       conversations left over are skipped and the page is marked
+ *       {@link MessageSearchPage#isPartial() partial}; they are loaded by the
+ *       following searches.</li>
+ * </ul>
+ *
+ * Scores depend on the other messages in an index, so any change to an
+ * index can reorder hits. A cursor therefore also carries a fingerprint of
+ * the index versions its page was ranked against, and a later page is
+ * refused once that has changed (including when it is asked of another
+ * node) rather than skipping or repeating hits; the client starts again
+ * from the first page.
+ */
+@Service
+public class MessageSearchService {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final int SNIPPET_RADIUS = 60;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Comparator<Candidate> RANKING =
+            (a, b) -> rank(a.score, a.createdAt, a.messageId, b);
+
+    // Index versions are unique on this node, so no two index states share one
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final MessageRepository messageRepository;
+    private final ConversationRepository conversationRepository;
+    private final MessageArchiveStore messageArchiveStore;
+    private final long maxIndexedMessages;
+    private final long ttlNanos;
+    private final int maxLoadPerSearch;
+
+    // Access ordered, so iteration starts at the least recently searched conversation
+    private final LinkedHashMap<UUID, ConversationIndex> indexes = new LinkedHashMap<>(16, 0.75f, true);
+
+    public MessageSearchService(MessageRepository messageRepository,
+                                ConversationRepository conversationRepository,
+                                MessageArchiveStore messageArchiveStore,
+                                @Value("${messaging.search.max-indexed-messages:2000000}") long maxIndexedMessages,
+                                @Value("${messaging.search.index-ttl-seconds:300}") long ttlSeconds,
+                                @Value("${messaging.search.max-load-per-search:50000}") int maxLoadPerSearch) {
+        this.messageRepository = messageRepository;
+        this.conversationRepository = conversationRepository;
+        this.messageArchiveStore = messageArchiveStore;
+        this.maxIndexedMessages = maxIndexedMessages;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxLoadPerSearch = maxLoadPerSearch;
+    }
+
+    /**
+     * Search messages in conversations the user participates in. Throws
+     * IllegalStateException if the indexes changed since the page the
+     * cursor came from.
+     */
+    public MessageSearchPage search(UUID userId, String query, String cursor, int size) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return new MessageSearchPage(List.of(), null, false);
+        }
+        String[] cursorParts = cursor != null && !cursor.isEmpty() ? KeysetCursor.decode(cursor, 4) : null;
+        Candidate after = cursorParts != null ? decodeCursor(cursorParts) : null;
+
+        // Keep the best size + 1 candidates after the cursor; the extra one tells us if there is a next page
+        TopCandidates top = new TopCandidates(size + 1, after);
+        long loadBudget = maxLoadPerSearch;
+        boolean loaded = false;
+        boolean partial = false;
+        for (Conversation conversation : conversationRepository.findByUserId(userId)) {
+            ConversationIndex index = cachedIndex(conversation.getId());
+            if (index == null) {
+                if (loadBudget <= 0) {
+                    partial = true;
+                    continue;
+                }
+                index = loadedIndex(conversation.getId());
+                loadBudget -= index.size();
+                loaded = true;
+            }
+            index.search(terms, top);
+        }
+
+        if (loaded) {
+            evictOverLimit();
+        }
+        if (cursorParts != null && cursorSnapshot(cursorParts) != top.snapshot) {
+            throw new IllegalStateException("Search results changed since the previous page; search again");
+        }
+
+        List<Candidate> ranked = new ArrayList<>(top.heap);
+        ranked.sort(RANKING);
+        boolean hasMore = ranked.size() > size;
+        if (hasMore) {
+            ranked = ranked.subList(0, size);
+        }
+
+        Map<UUID, Message> messages = messageRepository.findAllById(
+                        ranked.stream().filter(c -> c.archivePosition < 0).map(c -> c.messageId)
+                                .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Message::getId, Function.identity()));
+        for (Candidate candidate : ranked) {
+            if (candidate.archivePosition >= 0) {
+                Message archived = readArchived(candidate);
+                if (archived != null) {
+                    messages.put(archived.getId(), archived);
+                }
+            }
+        }
+
+        List<MessageSearchHit> hits = new ArrayList<>(ranked.size());
+        for (Candidate candidate : ranked) {
+            Message message = messages.get(candidate.messageId);
+            if (message != null) {
+                hits.add(new MessageSearchHit(message, snippet(message.getContent(), terms), candidate.score));
+            }
+        }
+
+        String nextCursor = null;
+        if (hasMore && !ranked.isEmpty()) {
+            Candidate last = ranked.get(ranked.size() - 1);
+            nextCursor = KeysetCursor.encode(top.snapshot, last.score, last.createdAt, last.messageId);
+        }
+        return new MessageSearchPage(hits, nextCursor, partial);
+    }
+
+    /**
+     * Add a newly stored message to its conversation's index. Conversations
+     * that have never been searched are skipped; they are built from the
+     * database, including this message, on first search.
+     */
+    public void indexMessage(Message message) {
+        ConversationIndex index = peekIndex(message.getConversationId());
+        if (index != null) {
+            index.add(message);
+        }
+    }
+
+    /**
+     * Remove a deleted message from its conversation's index
+     */
+    public void removeMessage(UUID conversationId, UUID messageId) {
+        ConversationIndex index = peekIndex(conversationId);
+        if (index != null) {
+            index.remove(messageId);
+        }
+    }
+
+    /**
+     * Record that messages (oldest first) were appended to their
+     * conversation's archive starting at {@code firstPosition}, counted from
+     * the oldest archived message, and removed from the hot table
+     */
+    public void indexArchived(UUID conversationId, List<Message> messages, long firstPosition) {
+        ConversationIndex index = peekIndex(conversationId);
+        if (index != null) {
+            for (int i = 0; i < messages.size(); i++) {
+                index.add(messages.get(i), firstPosition + i);
+            }
+        }
+    }
+
+    private Message readArchived(Candidate candidate) {
+        try {
+            long offset = messageArchiveStore.count(candidate.conversationId) - 1 - candidate.archivePosition;
+            List<Message> read = offset >= 0 ? messageArchiveStore.read(candidate.conversationId, offset, 1) : List.of();
+            if (!read.isEmpty() && read.get(0).getId().equals(candidate.messageId)) {
+                return read.get(0);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archived message " + candidate.messageId, e);
+        }
+        // Positions went stale (an archival run raced the index load); rebuild on next search
+        synchronized (indexes) {
+            indexes.remove(candidate.conversationId);
+        }
+        return null;
+    }
+
+    /**
+     * The loaded, fresh index of a conversation marked as just searched, or
+     * null if it has to be (re)loaded
+     */
+    private ConversationIndex cachedIndex(UUID conversationId) {
+        synchronized (indexes) {
+            ConversationIndex index = indexes.get(conversationId);
+            return index != null && index.isLoaded() && !index.isOlderThan(ttlNanos) ? index : null;
+        }
+    }
+
+    /**
+     * The index to keep current on writes; a write counts as a use, which
+     * keeps busy conversations cached
+     */
+    private ConversationIndex peekIndex(UUID conversationId) {
+        synchronized (indexes) {
+            return indexes.get(conversationId);
+        }
+    }
+
+    private ConversationIndex loadedIndex(UUID conversationId) {
+        ConversationIndex index;
+        synchronized (indexes) {
+            index = indexes.get(conversationId);
+            if (index == null || index.isOlderThan(ttlNanos)) {
+                // Published before loading so messages sent meanwhile are added to it
+                index = new ConversationIndex(conversationId);
+                indexes.put(conversationId, index);
+            }
+        }
+        synchronized (index) {
+            if (!index.loaded) {
+                int page = 0;
+                Slice<Message> slice;
+                do {
+                    slice = messageRepository.findByConversationIdOrderByCreatedAtAsc(
+                            conversationId, PageRequest.of(page++, LOAD_BATCH_SIZE));
+                    slice.forEach(index::add);
+                } while (slice.hasNext());
+                // Archived after the hot table was read, since rows are deleted only once archived
+                loadArchived(conversationId, index);
+                index.loaded = true;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Evict the least recently searched indexes until the rest fit in
+     * {@code max-indexed-messages}; the most recent one is always kept
+     */
+    private void evictOverLimit() {
+        synchronized (indexes) {
+            long total = 0;
+            for (ConversationIndex index : indexes.values()) {
+                total += index.size();
+            }
+            Iterator<ConversationIndex> eldest = indexes.values().iterator();
+            while (total > maxIndexedMessages && indexes.size() > 1) {
+                total -= eldest.next().size();
+                eldest.remove();
+            }
+        }
+    }
+
+    private void loadArchived(UUID conversationId, ConversationIndex index) {
+        long count = messageArchiveStore.count(conversationId);
+        try {
+            for (long offset = 0; offset < count; offset += LOAD_BATCH_SIZE) {
+                List<Message> newestFirst = messageArchiveStore.read(conversationId, offset, LOAD_BATCH_SIZE);
+                for (int i = 0; i < newestFirst.size(); i++) {
+                    index.add(newestFirst.get(i), count - 1 - (offset + i));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not index archived messages for conversation " + conversationId, e);
+        }
+    }
+
+    private static Candidate decodeCursor(String[] parts) {
+        try {
+            return new Candidate(null, UUID.fromString(parts[3]), Long.parseLong(parts[2]), Double.parseDouble(parts[1]), -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    private static long cursorSnapshot(String[] parts) {
+        try {
+            return Long.parseLong(parts[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                int length = i - start;
+                if (length >= MIN_TERM_LENGTH && length <= MAX_TERM_LENGTH) {
+                    tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    static String snippet(String content, List<String> terms) {
+        String lower = content.toLowerCase(Locale.ROOT);
+        int match = -1;
+        for (String term : terms) {
+            int at = lower.indexOf(term);
+            if (at >= 0 && (match < 0 || at < match)) {
+                match = at;
+            }
+        }
+        if (content.length() <= SNIPPET_RADIUS * 2) {
+            return content;
+        }
+        if (match < 0) {
+            return content.substring(0, SNIPPET_RADIUS * 2) + "…";
+        }
+        int from = Math.max(0, match - SNIPPET_RADIUS);
+        int to = Math.min(content.length(), match + SNIPPET_RADIUS);
+        return (from > 0 ? "…" : "") + content.substring(from, to) + (to < content.length() ? "…" : "");
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    /**
+     * Order of a would-be candidate relative to {@code other} under
+     * {@link #RANKING}, without allocating it: negative if it ranks first
+     */
+    private static int rank(double score, long createdAt, UUID messageId, Candidate other) {
+        int order = Double.compare(other.score, score);
+        if (order == 0) {
+            order = Long.compare(other.createdAt, createdAt);
+        }
+        return order != 0 ? order : other.messageId.compareTo(messageId);
+    }
+
+    /**
+     * The best {@code limit} candidates ranked after a cursor. Hits are
+     * checked against the worst kept one before a candidate is created, so
+     * common terms cost a comparison per posting rather than an allocation.
+     */
+    private static class TopCandidates {
+        private final int limit;
+        private final Candidate after;
+        // Worst kept candidate at the head
+        private final PriorityQueue<Candidate> heap = new PriorityQueue<>(RANKING.reversed());
+        // Fingerprint of the versions of the indexes searched
+        private long snapshot;
+
+        TopCandidates(int limit, Candidate after) {
+            this.limit = limit;
+            this.after = after;
+        }
+
+        boolean isCompetitive(double score, long createdAt, UUID messageId) {
+            if (after != null && rank(score, createdAt, messageId, after) <= 0) {
+                return false;
+            }
+            return heap.size() < limit || rank(score, createdAt, messageId, heap.peek()) < 0;
+        }
+
+        void add(Candidate candidate) {
+            heap.offer(candidate);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        /**
+         * Fold in the version of a searched index; a sum, so the order the
+         * conversations come in does not matter
+         */
+        void searched(long version) {
+            long z = version * 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            snapshot += z ^ (z >>> 31);
+        }
+    }
+
+    private static class Candidate {
+        private final UUID conversationId;
+        private final UUID messageId;
+        private final long createdAt;
+        private final double score;
+        // Position in the conversation's archive counted from the oldest message, or -1 if not archived
+        private final long archivePosition;
+
+        Candidate(UUID conversationId, UUID messageId, long createdAt, double score, long archivePosition) {
+            this.conversationId = conversationId;
+            this.messageId = messageId;
+            this.createdAt = createdAt;
+            this.score = score;
+            this.archivePosition = archivePosition;
+        }
+    }
+
+    private static class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        /**
+         * Index of the first entry at or after {@code from} whose doc is not
+         * below {@code doc}; gallops forward, so a walk over a long list in
+         * doc order stays close to linear in the shorter one
+         */
+        int advance(int doc, int from) {
+            int low = from;
+            int high = from;
+            for (int step = 1; high < size && docs[high] < doc; step <<= 1) {
+                low = high + 1;
+                high += step;
+            }
+            int at = Arrays.binarySearch(docs, low, Math.min(high, size), doc);
+            return at >= 0 ? at : -at - 1;
+        }
+    }
+
+    /**
+     * Inverted index for a single conversation. Ordinals are assigned in
+     * insertion order, so every postings list stays sorted.
+     */
+    private static class ConversationIndex {
+        private final UUID conversationId;
+        private final long createdAtNanos = System.nanoTime();
+        private boolean loaded;
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+        private UUID[] ids = new UUID[16];
+        private long[] createdAt = new long[16];
+        private int[] lengths = new int[16];
+        private long[] archivePositions = new long[16];
+        private int size;
+        private int liveDocs;
+        private long totalLength;
+        // Changes whenever a message is added or removed
+        private long version = VERSIONS.incrementAndGet();
+
+        ConversationIndex(UUID conversationId) {
+            this.conversationId = conversationId;
+        }
+
+        synchronized boolean isLoaded() {
+            return loaded;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        boolean isOlderThan(long ttlNanos) {
+            return System.nanoTime() - createdAtNanos > ttlNanos;
+        }
+
+        void add(Message message) {
+            add(message, -1);
+        }
+
+        /**
+         * Add a message, or update where an indexed one is archived
+         */
+        synchronized void add(Message message, long archivePosition) {
+            Integer existing = ordinals.get(message.getId());
+            if (existing != null) {
+                if (archivePosition >= 0) {
+                    archivePositions[existing] = archivePosition;
+                }
+                return;
+            }
+            List<String> tokens = tokenize(message.getContent());
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                createdAt = Arrays.copyOf(createdAt, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+                archivePositions = Arrays.copyOf(archivePositions, size * 2);
+            }
+            int doc = size++;
+            ids[doc] = message.getId();
+            createdAt[doc] = epochMillis(message.getCreatedAt());
+            lengths[doc] = tokens.size();
+            archivePositions[doc] = archivePosition;
+            ordinals.put(message.getId(), doc);
+            liveDocs++;
+            totalLength += tokens.size();
+            version = VERSIONS.incrementAndGet();
+
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String token : tokens) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+            frequencies.forEach((term, freq) -> postings.computeIfAbsent(term, t -> new Postings()).add(doc, freq));
+        }
+
+        synchronized void remove(UUID messageId) {
+            Integer doc = ordinals.remove(messageId);
+            if (doc != null && !deleted.get(doc)) {
+                deleted.set(doc);
+                liveDocs--;
+                totalLength -= lengths[doc];
+                version = VERSIONS.incrementAndGet();
+            }
+        }
+
+        synchronized void search(List<String> terms, TopCandidates top) {
+            top.searched(version);
+            Postings[] lists = new Postings[terms.size()];
+            for (int i = 0; i < terms.size(); i++) {
+                lists[i] = postings.get(terms.get(i));
+                if (lists[i] == null) {
+                    return;
+                }
+            }
+            // Drive the intersection from the rarest term
+            Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+            double averageLength = liveDocs > 0 ? (double) totalLength / liveDocs : 1.0;
+            double[] idf = new double[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                idf[i] = Math.log(1 + (liveDocs - lists[i].size + 0.5) / (lists[i].size + 0.5));
+            }
+
+            Postings rarest = lists[0];
+            int[] cursors = new int[lists.length];
+            outer:
+            for (int p = 0; p < rarest.size; p++) {
+                int doc = rarest.docs[p];
+                if (deleted.get(doc)) {
+                    continue;
+                }
+                double score = bm25(rarest.freqs[p], idf[0], lengths[doc], averageLength);
+                for (int i = 1; i < lists.length; i++) {
+                    int at = cursors[i] = lists[i].advance(doc, cursors[i]);
+                    if (at == lists[i].size) {
+                        // Nothing left to match in this term
+                        return;
+                    }
+                    if (lists[i].docs[at] != doc) {
+                        continue outer;
+                    }
+                    score += bm25(lists[i].freqs[at], idf[i], lengths[doc], averageLength);
+                }
+                if (top.isCompetitive(score, createdAt[doc], ids[doc])) {
+                    top.add(new Candidate(conversationId, ids[doc], createdAt[doc], score, archivePositions[doc]));
+                }
+            }
+        }
+
+        private static double bm25(int freq, double idf, int length, double averageLength) {
+            return idf * (freq * (K1 + 1)) / (freq + K1 * (1 - B + B * length / averageLength));
+        }
+    }
+}
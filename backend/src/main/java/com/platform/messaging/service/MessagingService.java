@@ -7,9 +7,11 @@ import com.platform.messaging.repository.ConversationRepository;
 import com.platform.messaging.repository.MessageRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,6 +25,12 @@ public class MessagingService {
     @Autowired
     private ConversationRepository conversationRepository;
     
+    @Autowired
+    private MessageSearchService messageSearchService;
+    
+    @Autowired
+    private MessageArchiveService messageArchiveService;
+    
     /**
      * Get or create a conversation between two users
      */
@@ -62,6 +70,7 @@ public class MessagingService {
         message.setIsRead(false);
         
         Message savedMessage = messageRepository.save(message);
+        messageSearchService.indexMessage(savedMessage);
         
         // Update conversation's lastMessageAt
         Optional<Conversation> conversation = conversationRepository.findById(messageDTO.getConversationId());
@@ -75,10 +84,27 @@ public class MessagingService {
     }
     
     /**
-     * Get messages in a conversation
+     * Get messages in a conversation, newest first. Pages continue from the
+     * hot table into archived segments once the hot rows run out.
      */
     public Page<Message> getMessagesByConversation(UUID conversationId, Pageable pageable) {
-        return messageRepository.findByConversationIdOrderByCreatedAtDesc(conversationId, pageable);
+        Page<Message> hot = messageRepository.findByConversationIdOrderByCreatedAtDesc(conversationId, pageable);
+        long archived = messageArchiveService.countArchived(conversationId);
+        if (archived == 0) {
+            return hot;
+        }
+        
+        List<Message> content = new ArrayList<>(hot.getContent());
+        if (pageable.isUnpaged()) {
+            content.addAll(messageArchiveService.getArchivedMessages(conversationId, 0, (int) archived));
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        int missing = pageable.getPageSize() - content.size();
+        if (missing > 0) {
+            long archiveOffset = Math.max(0, pageable.getOffset() - hot.getTotalElements());
+            content.addAll(messageArchiveService.getArchivedMessages(conversationId, archiveOffset, missing));
+        }
+        return new PageImpl<>(content, pageable, hot.getTotalElements() + archived);
     }
     
     /**
@@ -123,8 +149,10 @@ public class MessagingService {
      * Delete message
      */
     public boolean deleteMessage(UUID id) {
-        if (messageRepository.existsById(id)) {
-            messageRepository.deleteById(id);
+        Optional<Message> message = messageRepository.findById(id);
+        if (message.isPresent()) {
+            messageRepository.delete(message.get());
+            messageSearchService.removeMessage(message.get().getConversationId(), id);
             return true;
         }
         return false;
@@ -1,14 +1,22 @@
 package com.platform.notification.controller;
 
+import com.platform.notification.model.NotificationChannel;
 import com.platform.notification.model.NotificationDTO;
+import com.platform.notification.model.NotificationDailySummary;
+import com.platform.notification.model.NotificationFeedPage;
+import com.platform.notification.model.NotificationType;
+import com.platform.notification.service.NotificationPreferenceService;
+import com.platform.notification.service.NotificationRetentionService;
 import com.platform.notification.service.NotificationService;
 import com.platform.util.SecurityUtil;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,10 +26,18 @@ import java.util.UUID;
 @RequestMapping("/api/notifications")
 public class NotificationController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationService notificationService;
+    private final NotificationRetentionService notificationRetentionService;
+    private final NotificationPreferenceService notificationPreferenceService;
 
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService,
+                                  NotificationRetentionService notificationRetentionService,
+                                  NotificationPreferenceService notificationPreferenceService) {
         this.notificationService = notificationService;
+        this.notificationRetentionService = notificationRetentionService;
+        this.notificationPreferenceService = notificationPreferenceService;
     }
 
     @GetMapping
@@ -36,11 +52,66 @@ public class NotificationController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         UUID userId = SecurityUtil.getCurrentUserId();
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(Math.max(0, page), clampSize(size));
         Page<NotificationDTO> notifications = notificationService.getNotificationsByUserId(userId, pageable);
         return ResponseEntity.ok(notifications);
     }
 
+    /**
+     * Keyset-paged feed, newest first; pass nextCursor back to get the next page
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<?> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean unreadOnly) {
+        UUID userId = SecurityUtil.getCurrentUserId();
+        try {
+            NotificationFeedPage feed = notificationService.getFeed(userId, cursor, clampSize(size), unreadOnly);
+            return ResponseEntity.ok(feed);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Daily counts of the user's read notifications that have been compacted away,
+     * by default for the last 30 days
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<?> getDailySummaries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        UUID userId = SecurityUtil.getCurrentUserId();
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(30);
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from must not be after to"));
+        }
+        List<NotificationDailySummary> summaries = notificationRetentionService.getDailySummaries(userId, start, end);
+        return ResponseEntity.ok(summaries);
+    }
+
+    /**
+     * Every notification type with whether it is on for each channel
+     */
+    @GetMapping("/preferences")
+    public ResponseEntity<Map<NotificationType, Map<NotificationChannel, Boolean>>> getPreferences() {
+        UUID userId = SecurityUtil.getCurrentUserId();
+        return ResponseEntity.ok(notificationPreferenceService.getPreferences(userId));
+    }
+
+    /**
+     * Turn types on or off per channel, e.g. {"OFFER_RECEIVED": {"EMAIL": false}};
+     * anything left out keeps its setting
+     */
+    @PutMapping("/preferences")
+    public ResponseEntity<Map<NotificationType, Map<NotificationChannel, Boolean>>> updatePreferences(
+            @RequestBody Map<NotificationType, Map<NotificationChannel, Boolean>> changes) {
+        UUID userId = SecurityUtil.getCurrentUserId();
+        return ResponseEntity.ok(notificationPreferenceService.updatePreferences(userId, changes));
+    }
+
     @GetMapping("/unread")
     public ResponseEntity<List<NotificationDTO>> getUnreadNotifications() {
         UUID userId = SecurityUtil.getCurrentUserId();
@@ -73,4 +144,8 @@ public class NotificationController {
         response.put("markedCount", count);
         return ResponseEntity.ok(response);
     }
+
+    private static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
 }
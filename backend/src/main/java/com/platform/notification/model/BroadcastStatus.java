@@ -0,0 +1,8 @@
+package com.platform.notification.model;
+
+public enum BroadcastStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
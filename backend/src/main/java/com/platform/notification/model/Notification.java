@@ -5,7 +5,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_user_feed", columnList = "userId, createdAt DESC, id DESC")
+})
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -32,9 +34,15 @@ public class Notification {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Set from the type's retention when created; on PostgreSQL the table is partitioned by it
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
 
     // Constructors
@@ -58,6 +66,7 @@ public class Notification {
     public UUID getReferenceId() { return referenceId; }
     public boolean isRead() { return isRead; }
     public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
 
     // Setters
     public void setId(UUID id) { this.id = id; }
@@ -68,4 +77,5 @@ public class Notification {
     public void setReferenceId(UUID referenceId) { this.referenceId = referenceId; }
     public void setRead(boolean read) { isRead = read; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
 }
@@ -0,0 +1,108 @@
+package com.platform.notification.model;
+
+import com.platform.investor.model.InvestorStatus;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One notification sent to every investor in a segment, and how far the
+ * sending has got
+ */
+@Entity
+@Table(name = "notification_broadcasts")
+public class NotificationBroadcast {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private NotificationType type;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    private UUID referenceId;
+
+    // Segment: investors with this status whose sectors and stage contain the given text
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private InvestorStatus investorStatus;
+
+    private String sector;
+
+    private String stage;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BroadcastStatus status;
+
+    // Users in the segment when the broadcast started
+    private long targetCount;
+
+    private long insertedCount;
+
+    // Users that were connected and got the notification pushed
+    private long pushedCount;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public NotificationBroadcast() {}
+
+    public NotificationBroadcast(NotificationType type, String title, String message, UUID referenceId,
+                                 InvestorStatus investorStatus, String sector, String stage) {
+        this.type = type;
+        this.title = title;
+        this.message = message;
+        this.referenceId = referenceId;
+        this.investorStatus = investorStatus;
+        this.sector = sector;
+        this.stage = stage;
+        this.status = BroadcastStatus.PENDING;
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+    public NotificationType getType() { return type; }
+    public String getTitle() { return title; }
+    public String getMessage() { return message; }
+    public UUID getReferenceId() { return referenceId; }
+    public InvestorStatus getInvestorStatus() { return investorStatus; }
+    public String getSector() { return sector; }
+    public String getStage() { return stage; }
+    public BroadcastStatus getStatus() { return status; }
+    public long getTargetCount() { return targetCount; }
+    public long getInsertedCount() { return insertedCount; }
+    public long getPushedCount() { return pushedCount; }
+    public String getError() { return error; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+
+    // Setters
+    public void setStatus(BroadcastStatus status) { this.status = status; }
+    public void setTargetCount(long targetCount) { this.targetCount = targetCount; }
+    public void setInsertedCount(long insertedCount) { this.insertedCount = insertedCount; }
+    public void setPushedCount(long pushedCount) { this.pushedCount = pushedCount; }
+    public void setError(String error) { this.error = error; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
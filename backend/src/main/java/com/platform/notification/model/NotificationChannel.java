@@ -0,0 +1,20 @@
+package com.platform.notification.model;
+
+/**
+ * Ways a notification reaches a user. Each has a fixed index into the
+ * preference bits of every type; there is room for three, so a fourth
+ * channel needs stored masks rewritten to a wider stride.
+ */
+public enum NotificationChannel {
+    IN_APP(0),
+    PUSH(1),
+    EMAIL(2);
+
+    private final int bitIndex;
+
+    NotificationChannel(int bitIndex) {
+        this.bitIndex = bitIndex;
+    }
+
+    public int getBitIndex() { return bitIndex; }
+}
@@ -0,0 +1,62 @@
+package com.platform.notification.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An open coalescing window: the events of one (user, type, group) counted
+ * since its leading notification, waiting to go out as one aggregate
+ */
+@Entity
+@Table(name = "notification_coalesce_windows",
+    uniqueConstraints = @UniqueConstraint(name = "uk_notification_coalesce_windows_group",
+        columnNames = {"userId", "type", "groupId"}),
+    indexes = @Index(name = "idx_notification_coalesce_windows_closes_at", columnList = "closesAt"))
+public class NotificationCoalesceWindow {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, updatable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 50)
+    private NotificationType type;
+
+    @Column(nullable = false, updatable = false)
+    private UUID groupId;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime closesAt;
+
+    // Events counted so far; the aggregate is only sent if there are any
+    @Column(nullable = false)
+    private long coalescedCount;
+
+    // Of the latest counted event
+    private UUID referenceId;
+
+    private String subject;
+
+    // Constructors
+    public NotificationCoalesceWindow() {}
+
+    public NotificationCoalesceWindow(UUID userId, NotificationType type, UUID groupId, LocalDateTime closesAt) {
+        this.userId = userId;
+        this.type = type;
+        this.groupId = groupId;
+        this.closesAt = closesAt;
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+    public UUID getUserId() { return userId; }
+    public NotificationType getType() { return type; }
+    public UUID getGroupId() { return groupId; }
+    public LocalDateTime getClosesAt() { return closesAt; }
+    public long getCoalescedCount() { return coalescedCount; }
+    public UUID getReferenceId() { return referenceId; }
+    public String getSubject() { return subject; }
+}
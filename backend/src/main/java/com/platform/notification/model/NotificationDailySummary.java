@@ -0,0 +1,51 @@
+package com.platform.notification.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * How many read notifications of one type a user got on one day, kept after
+ * the notifications themselves have been compacted away
+ */
+@Entity
+@Table(name = "notification_daily_summaries",
+       uniqueConstraints = @UniqueConstraint(name = "uk_notification_daily_summaries_user_date_type",
+                                             columnNames = {"user_id", "summary_date", "type"}))
+public class NotificationDailySummary {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Column(name = "summary_date", nullable = false, updatable = false)
+    private LocalDate summaryDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 50)
+    private NotificationType type;
+
+    @Column(nullable = false)
+    private long notificationCount;
+
+    // Constructors
+    public NotificationDailySummary() {}
+
+    public NotificationDailySummary(UUID userId, LocalDate summaryDate, NotificationType type) {
+        this.userId = userId;
+        this.summaryDate = summaryDate;
+        this.type = type;
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+    public UUID getUserId() { return userId; }
+    public LocalDate getSummaryDate() { return summaryDate; }
+    public NotificationType getType() { return type; }
+    public long getNotificationCount() { return notificationCount; }
+
+    // Setters
+    public void setNotificationCount(long notificationCount) { this.notificationCount = notificationCount; }
+}
@@ -0,0 +1,63 @@
+package com.platform.notification.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One line waiting for the user's next digest email
+ */
+@Entity
+@Table(name = "notification_digest_items", indexes = {
+    @Index(name = "idx_notification_digest_items_user_created", columnList = "userId, createdAt")
+})
+public class NotificationDigestItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, updatable = false)
+    private UUID userId;
+
+    // Address at the time of the event; the newest item's wins when sending
+    @Column(nullable = false, updatable = false)
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 50)
+    private NotificationType type;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "TEXT")
+    private String line;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    // Constructors
+    public NotificationDigestItem() {}
+
+    public NotificationDigestItem(UUID userId, String email, NotificationType type, String line) {
+        this.userId = userId;
+        this.email = email;
+        this.type = type;
+        this.line = line;
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+    public UUID getUserId() { return userId; }
+    public String getEmail() { return email; }
+    public NotificationType getType() { return type; }
+    public String getLine() { return line; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    // Setters
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,24 @@
+package com.platform.notification.model;
+
+import java.util.List;
+
+public class NotificationFeedPage {
+    private List<NotificationDTO> notifications;
+    private String nextCursor;
+
+    // Constructors
+    public NotificationFeedPage() {}
+
+    public NotificationFeedPage(List<NotificationDTO> notifications, String nextCursor) {
+        this.notifications = notifications;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<NotificationDTO> getNotifications() { return notifications; }
+    public String getNextCursor() { return nextCursor; }
+
+    // Setters
+    public void setNotifications(List<NotificationDTO> notifications) { this.notifications = notifications; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
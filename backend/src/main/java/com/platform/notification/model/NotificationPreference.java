@@ -0,0 +1,40 @@
+package com.platform.notification.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A user's notification preferences as one bit per notification type and
+ * channel. Bits mark what the user turned off, so users without a row and
+ * types added later are delivered everywhere.
+ */
+@Entity
+@Table(name = "notification_preferences")
+public class NotificationPreference {
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "disabled_mask", nullable = false)
+    private long disabledMask;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public NotificationPreference() {}
+
+    public NotificationPreference(UUID userId) {
+        this.userId = userId;
+    }
+
+    // Getters
+    public UUID getUserId() { return userId; }
+    public long getDisabledMask() { return disabledMask; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    // Setters
+    public void setDisabledMask(long disabledMask) { this.disabledMask = disabledMask; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,16 @@
+package com.platform.notification.model;
+
+import java.util.UUID;
+
+/**
+ * Published after a user's notification preferences are changed
+ */
+public class NotificationPreferencesChangedEvent {
+    private final UUID userId;
+
+    public NotificationPreferencesChangedEvent(UUID userId) {
+        this.userId = userId;
+    }
+
+    public UUID getUserId() { return userId; }
+}
@@ -1,9 +1,23 @@
 package com.platform.notification.model;
 
+/**
+ * Kinds of notification. Each has a fixed index into the preference bits
+ * stored per user, so types can be added or reordered freely as long as a
+ * new type takes an unused index and an index is never reused.
+ */
 public enum NotificationType {
-    OFFER_RECEIVED,
-    OFFER_ACCEPTED,
-    OFFER_REJECTED,
-    MESSAGE_RECEIVED,
-    SYSTEM
+    OFFER_RECEIVED(0),
+    OFFER_ACCEPTED(1),
+    OFFER_REJECTED(2),
+    OFFER_EXPIRED(3),
+    MESSAGE_RECEIVED(4),
+    SYSTEM(5);
+
+    private final int bitIndex;
+
+    NotificationType(int bitIndex) {
+        this.bitIndex = bitIndex;
+    }
+
+    public int getBitIndex() { return bitIndex; }
 }
@@ -0,0 +1,30 @@
+package com.platform.notification.model;
+
+import java.util.UUID;
+
+/**
+ * Published, inside the transaction that closes the window, when a
+ * coalescing window with counted events closes; the listener creates the
+ * aggregate notification
+ */
+public class NotificationsCoalescedEvent {
+    private final UUID userId;
+    private final NotificationType type;
+    private final UUID referenceId;
+    private final String subject;
+    private final long count;
+
+    public NotificationsCoalescedEvent(UUID userId, NotificationType type, UUID referenceId, String subject, long count) {
+        this.userId = userId;
+        this.type = type;
+        this.referenceId = referenceId;
+        this.subject = subject;
+        this.count = count;
+    }
+
+    public UUID getUserId() { return userId; }
+    public NotificationType getType() { return type; }
+    public UUID getReferenceId() { return referenceId; }
+    public String getSubject() { return subject; }
+    public long getCount() { return count; }
+}
@@ -0,0 +1,25 @@
+package com.platform.notification.model;
+
+/**
+ * Pushed on the notifications queue whenever a user's unread count changes
+ */
+public class UnreadCountDTO {
+    public static final String TYPE = "UNREAD_COUNT";
+
+    private String type = TYPE;
+    private long count;
+
+    public UnreadCountDTO() {}
+
+    public UnreadCountDTO(long count) {
+        this.count = count;
+    }
+
+    // Getters
+    public String getType() { return type; }
+    public long getCount() { return count; }
+
+    // Setters
+    public void setType(String type) { this.type = type; }
+    public void setCount(long count) { this.count = count; }
+}
@@ -0,0 +1,10 @@
+package com.platform.notification.repository;
+
+import com.platform.notification.model.NotificationBroadcast;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.UUID;
+
+@Repository
+public interface NotificationBroadcastRepository extends JpaRepository<NotificationBroadcast, UUID> {
+}
@@ -0,0 +1,41 @@
+package com.platform.notification.repository;
+
+import com.platform.notification.model.NotificationCoalesceWindow;
+import com.platform.notification.model.NotificationType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface NotificationCoalesceWindowRepository extends JpaRepository<NotificationCoalesceWindow, UUID> {
+
+    /**
+     * Count an event into the group's window if it is still open; returns 0 if there is none
+     */
+    @Modifying
+    @Query("UPDATE NotificationCoalesceWindow w SET w.coalescedCount = w.coalescedCount + 1, " +
+           "w.referenceId = :referenceId, w.subject = :subject " +
+           "WHERE w.userId = :userId AND w.type = :type AND w.groupId = :groupId AND w.closesAt > :now")
+    int countInto(@Param("userId") UUID userId, @Param("type") NotificationType type, @Param("groupId") UUID groupId,
+                  @Param("now") LocalDateTime now, @Param("referenceId") UUID referenceId,
+                  @Param("subject") String subject);
+
+    Optional<NotificationCoalesceWindow> findByUserIdAndTypeAndGroupId(UUID userId, NotificationType type, UUID groupId);
+
+    @Query("SELECT w FROM NotificationCoalesceWindow w WHERE w.closesAt <= :now ORDER BY w.closesAt")
+    List<NotificationCoalesceWindow> findClosed(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Delete a window unless events were counted into it since it was read; returns the rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM NotificationCoalesceWindow w WHERE w.id = :id AND w.coalescedCount = :count")
+    int deleteIfUnchanged(@Param("id") UUID id, @Param("count") long count);
+}
@@ -0,0 +1,18 @@
+package com.platform.notification.repository;
+
+import com.platform.notification.model.NotificationDailySummary;
+import com.platform.notification.model.NotificationType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface NotificationDailySummaryRepository extends JpaRepository<NotificationDailySummary, UUID> {
+    Optional<NotificationDailySummary> findByUserIdAndSummaryDateAndType(UUID userId, LocalDate summaryDate,
+                                                                         NotificationType type);
+    List<NotificationDailySummary> findByUserIdAndSummaryDateBetweenOrderBySummaryDateDescTypeAsc(
+            UUID userId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,19 @@
+package com.platform.notification.repository;
+
+import com.platform.notification.model.NotificationDigestItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface NotificationDigestItemRepository extends JpaRepository<NotificationDigestItem, UUID> {
+    @Query("SELECT DISTINCT d.userId FROM NotificationDigestItem d WHERE d.createdAt <= :until")
+    List<UUID> findUserIdsWithItemsUntil(@Param("until") LocalDateTime until);
+
+    List<NotificationDigestItem> findByUserIdAndCreatedAtLessThanEqualOrderByCreatedAtAsc(UUID userId,
+                                                                                         LocalDateTime until);
+}
@@ -0,0 +1,16 @@
+package com.platform.notification.repository;
+
+import com.platform.notification.model.NotificationPreference;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface NotificationPreferenceRepository extends JpaRepository<NotificationPreference, UUID> {
+    @Query("SELECT p.userId FROM NotificationPreference p WHERE p.updatedAt > :since")
+    List<UUID> findUserIdsUpdatedSince(@Param("since") LocalDateTime since);
+}
@@ -9,17 +9,54 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
     
-    List<Notification> findByUserIdOrderByCreatedAtDesc(UUID userId);
-    
     Page<Notification> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
     
-    List<Notification> findByUserIdAndIsReadFalseOrderByCreatedAtDesc(UUID userId);
+    /**
+     * Newest notifications first, on (user_id, created_at DESC, id DESC); the
+     * page size comes from {@code limit}, its page number is ignored
+     */
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFeed(@Param("userId") UUID userId, Pageable limit);
+    
+    /**
+     * Notifications after the given (createdAt, id) position of the feed
+     */
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFeedAfter(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") UUID id, Pageable limit);
+    
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.isRead = false " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findUnreadFeed(@Param("userId") UUID userId, Pageable limit);
+    
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.isRead = false " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findUnreadFeedAfter(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") UUID id, Pageable limit);
+    
+    /**
+     * Read notifications created before the cutoff, oldest first, for compaction into daily summaries
+     */
+    @Query("SELECT n FROM Notification n WHERE n.isRead = true AND n.createdAt < :cutoff " +
+           "ORDER BY n.createdAt ASC, n.id ASC")
+    List<Notification> findReadBefore(@Param("cutoff") LocalDateTime cutoff, Pageable limit);
+    
+    /**
+     * Notifications past their expiry, for databases where the table is not partitioned
+     */
+    @Query("SELECT n FROM Notification n WHERE n.expiresAt <= :now")
+    List<Notification> findExpired(@Param("now") LocalDateTime now, Pageable limit);
     
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.userId = :userId AND n.isRead = false")
     long countUnreadByUserId(@Param("userId") UUID userId);
@@ -0,0 +1,259 @@
+package com.platform.notification.service;
+
+import com.platform.investor.repository.InvestorRepository;
+import com.platform.notification.model.BroadcastStatus;
+import com.platform.notification.model.Notification;
+import com.platform.notification.model.NotificationBroadcast;
+import com.platform.notification.model.NotificationChannel;
+import com.platform.notification.model.NotificationDTO;
+import com.platform.notification.model.NotificationType;
+import com.platform.notification.repository.NotificationBroadcastRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends one notification to every investor in a segment.
+ *
+ * A broadcast runs on a worker thread in chunks of investors taken in user
+ * id order by a set-based segment query. Each chunk's notifications go in
+ * as one JDBC batch insert (multi-row on PostgreSQL with
+ * reWriteBatchedInserts) in the same transaction as the broadcast's
+ * progress. The notifications are then pushed over WebSocket only to users
+ * connected to this node, at most {@code notifications.broadcast.push-rate-per-second};
+ * everyone else finds them in their feed.
+ *
+ * Recipients' notification preferences apply as for single notifications:
+ * a user who turned the type off in-app gets no row, one who turned off
+ * push is not pushed to, and one with both off is skipped entirely.
+ */
+@Service
+public class NotificationBroadcastService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationBroadcastService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO notifications " +
+            "(id, user_id, type, title, message, reference_id, is_read, created_at, expires_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, FALSE, ?, ?)";
+
+    private final NotificationBroadcastRepository broadcastRepository;
+    private final InvestorRepository investorRepository;
+    private final NotificationRetentionPolicy retentionPolicy;
+    private final UnreadCounterCache unreadCounters;
+    private final NotificationPreferenceService preferences;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long pushIntervalNanos;
+    private final ThreadPoolTaskExecutor executor;
+
+    public NotificationBroadcastService(NotificationBroadcastRepository broadcastRepository,
+                                        InvestorRepository investorRepository,
+                                        NotificationRetentionPolicy retentionPolicy,
+                                        UnreadCounterCache unreadCounters,
+                                        NotificationPreferenceService preferences,
+                                        SimpMessagingTemplate messagingTemplate,
+                                        SimpUserRegistry userRegistry,
+                                        JdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate,
+                                        @Value("${notifications.broadcast.chunk-size:1000}") int chunkSize,
+                                        @Value("${notifications.broadcast.push-rate-per-second:500}") int pushRate,
+                                        @Value("${notifications.broadcast.workers:1}") int workers) {
+        this.broadcastRepository = broadcastRepository;
+        this.investorRepository = investorRepository;
+        this.retentionPolicy = retentionPolicy;
+        this.unreadCounters = unreadCounters;
+        this.preferences = preferences;
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.pushIntervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, pushRate);
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("notification-broadcast-");
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * Save a broadcast and start sending it in the background
+     */
+    public NotificationBroadcast start(NotificationBroadcast broadcast) {
+        if (broadcast.getTitle() == null || broadcast.getTitle().isBlank()) {
+            throw new IllegalArgumentException("Title is required");
+        }
+        if (broadcast.getType() == null || broadcast.getInvestorStatus() == null) {
+            throw new IllegalArgumentException("Type and investor status are required");
+        }
+        broadcast.setTargetCount(investorRepository.countSegment(broadcast.getInvestorStatus(),
+                pattern(broadcast.getSector()), pattern(broadcast.getStage())));
+        NotificationBroadcast saved = broadcastRepository.save(broadcast);
+        executor.execute(() -> run(saved.getId()));
+        return saved;
+    }
+
+    public Optional<NotificationBroadcast> getBroadcast(UUID id) {
+        return broadcastRepository.findById(id);
+    }
+
+    void run(UUID broadcastId) {
+        NotificationBroadcast broadcast = broadcastRepository.findById(broadcastId).orElse(null);
+        if (broadcast == null || broadcast.getStatus() != BroadcastStatus.PENDING) {
+            return;
+        }
+        broadcast.setStatus(BroadcastStatus.RUNNING);
+        broadcast.setStartedAt(LocalDateTime.now());
+        broadcast = broadcastRepository.save(broadcast);
+        try {
+            send(broadcast);
+            broadcast.setStatus(BroadcastStatus.COMPLETED);
+            logger.info("Broadcast {} sent to {} users, {} pushed live",
+                    broadcastId, broadcast.getInsertedCount(), broadcast.getPushedCount());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            broadcast.setStatus(BroadcastStatus.FAILED);
+            broadcast.setError("Interrupted");
+        } catch (RuntimeException e) {
+            logger.error("Broadcast {} failed after {} users", broadcastId, broadcast.getInsertedCount(), e);
+            broadcast.setStatus(BroadcastStatus.FAILED);
+            broadcast.setError(e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+        broadcast.setCompletedAt(LocalDateTime.now());
+        broadcastRepository.save(broadcast);
+    }
+
+    private void send(NotificationBroadcast broadcast) throws InterruptedException {
+        String sectorPattern = pattern(broadcast.getSector());
+        String stagePattern = pattern(broadcast.getStage());
+        PageRequest limit = PageRequest.of(0, chunkSize);
+        long nextPushAt = System.nanoTime();
+        UUID after = null;
+        List<UUID> userIds;
+        do {
+            userIds = after == null
+                    ? investorRepository.findSegmentUserIds(broadcast.getInvestorStatus(), sectorPattern, stagePattern, limit)
+                    : investorRepository.findSegmentUserIdsAfter(broadcast.getInvestorStatus(), sectorPattern, stagePattern,
+                            after, limit);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            List<Notification> stored = new ArrayList<>(userIds.size());
+            List<Notification> live = new ArrayList<>(userIds.size());
+            prepareChunk(broadcast, userIds, stored, live);
+            insertChunk(broadcast, stored);
+            stored.forEach(notification -> unreadCounters.invalidate(notification.getUserId()));
+            nextPushAt = push(broadcast, live, nextPushAt);
+            after = userIds.get(userIds.size() - 1);
+        } while (userIds.size() == chunkSize);
+    }
+
+    /**
+     * Build the chunk's notifications: those to store go to {@code stored},
+     * those to push to {@code live}, as each user's preferences allow
+     */
+    private void prepareChunk(NotificationBroadcast broadcast, List<UUID> userIds,
+                              List<Notification> stored, List<Notification> live) {
+        NotificationType type = broadcast.getType();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = retentionPolicy.expiresAt(type, now);
+        Map<UUID, Long> masks = preferences.disabledMasks(userIds);
+        for (UUID userId : userIds) {
+            long disabled = masks.getOrDefault(userId, 0L);
+            boolean inApp = NotificationPreferenceService.allows(disabled, type, NotificationChannel.IN_APP);
+            boolean push = NotificationPreferenceService.allows(disabled, type, NotificationChannel.PUSH);
+            if (!inApp && !push) {
+                continue;
+            }
+            Notification notification = new Notification(userId, type, broadcast.getTitle(),
+                    broadcast.getMessage(), broadcast.getReferenceId());
+            notification.setId(UUID.randomUUID());
+            notification.setCreatedAt(now);
+            notification.setExpiresAt(expiresAt);
+            if (inApp) {
+                stored.add(notification);
+            }
+            if (push) {
+                live.add(notification);
+            }
+        }
+    }
+
+    private void insertChunk(NotificationBroadcast broadcast, List<Notification> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Timestamp createdAt = Timestamp.valueOf(chunk.get(0).getCreatedAt());
+        Timestamp expiresAt = Timestamp.valueOf(chunk.get(0).getExpiresAt());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(), (ps, n) -> {
+                ps.setObject(1, n.getId());
+                ps.setObject(2, n.getUserId());
+                ps.setString(3, n.getType().name());
+                ps.setString(4, n.getTitle());
+                ps.setString(5, n.getMessage());
+                ps.setObject(6, n.getReferenceId());
+                ps.setTimestamp(7, createdAt);
+                ps.setTimestamp(8, expiresAt);
+            });
+            broadcast.setInsertedCount(broadcast.getInsertedCount() + chunk.size());
+            broadcastRepository.save(broadcast);
+        });
+    }
+
+    /**
+     * Push to the users connected right now, one every push interval; returns when the next push may go
+     */
+    private long push(NotificationBroadcast broadcast, List<Notification> chunk, long nextPushAt)
+            throws InterruptedException {
+        long pushed = 0;
+        for (Notification notification : chunk) {
+            String user = notification.getUserId().toString();
+            if (userRegistry.getUser(user) == null) {
+                continue;
+            }
+            long wait = nextPushAt - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            nextPushAt = Math.max(nextPushAt, System.nanoTime()) + pushIntervalNanos;
+            messagingTemplate.convertAndSendToUser(user, "/queue/notifications", new NotificationDTO(notification));
+            pushed++;
+        }
+        if (pushed > 0) {
+            broadcast.setPushedCount(broadcast.getPushedCount() + pushed);
+            broadcastRepository.save(broadcast);
+        }
+        return nextPushAt;
+    }
+
+    private static String pattern(String text) {
+        return text == null || text.isBlank() ? "%" : "%" + text.trim().toLowerCase(Locale.ROOT) + "%";
+    }
+}
@@ -0,0 +1,172 @@
+package com.platform.notification.service;
+
+import com.platform.notification.model.NotificationCoalesceWindow;
+import com.platform.notification.model.NotificationType;
+import com.platform.notification.model.NotificationsCoalescedEvent;
+import com.platform.notification.repository.NotificationCoalesceWindowRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Folds bursts of similar notifications into one.
+ *
+ * Events are grouped by (user, type, group), e.g. the offers for one
+ * startup. The first event of a group is delivered at once and opens a
+ * window of {@code notifications.coalesce.window-seconds}; events arriving
+ * while it is open are only counted, and when it closes a single aggregate
+ * is delivered for them. A burst therefore costs at most two notifications
+ * per window instead of one per event.
+ *
+ * Windows are rows in notification_coalesce_windows, and an event is
+ * counted by committing it into its window, so counts survive a crash and
+ * are shared by all nodes. Whichever node deletes a closed window publishes
+ * a {@link NotificationsCoalescedEvent} in the same transaction, so the
+ * aggregate is created exactly when its window goes away.
+ */
+@Component
+public class NotificationCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationCoalescer.class);
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final NotificationCoalesceWindowRepository windowRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long windowSeconds;
+
+    public NotificationCoalescer(NotificationCoalesceWindowRepository windowRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${notifications.coalesce.enabled:true}") boolean enabled,
+                                 @Value("${notifications.coalesce.window-seconds:60}") long windowSeconds) {
+        this.windowRepository = windowRepository;
+        this.eventPublisher = eventPublisher;
+        // Windows commit on their own, independent of whatever the caller is doing
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.windowSeconds = windowSeconds;
+    }
+
+    /**
+     * Deliver an event with {@code leading} if no window is open for its
+     * group, otherwise count it. The aggregate sent when the window closes
+     * carries the {@code referenceId} and {@code subject} of the last event
+     * counted.
+     */
+    public void submit(UUID userId, NotificationType type, UUID groupId, UUID referenceId, String subject,
+                       Runnable leading) {
+        if (!enabled) {
+            leading.run();
+            return;
+        }
+        if (countInto(userId, type, groupId, referenceId, subject)) {
+            return;
+        }
+        NotificationCoalesceWindow existing = windowRepository.findByUserIdAndTypeAndGroupId(userId, type, groupId)
+                .orElse(null);
+        if (existing != null) {
+            if (existing.getClosesAt().isAfter(LocalDateTime.now())
+                    && countInto(userId, type, groupId, referenceId, subject)) {
+                // Opened by another node in the meantime
+                return;
+            }
+            // A window that closed but has not been flushed yet goes out first
+            close(existing);
+        }
+        NotificationCoalesceWindow window;
+        try {
+            window = transactionTemplate.execute(status -> windowRepository.save(
+                    new NotificationCoalesceWindow(userId, type, groupId, LocalDateTime.now().plusSeconds(windowSeconds))));
+        } catch (DataIntegrityViolationException e) {
+            // Another node opened the window first
+            if (countInto(userId, type, groupId, referenceId, subject)) {
+                return;
+            }
+            leading.run();
+            return;
+        }
+        try {
+            leading.run();
+        } catch (RuntimeException e) {
+            // Let a retry of this event be the leading one rather than be counted
+            transactionTemplate.executeWithoutResult(status -> windowRepository.deleteIfUnchanged(window.getId(), 0));
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.coalesce.flush-interval-ms:1000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        flushDue(LocalDateTime.now());
+    }
+
+    /**
+     * Close every window due by {@code now} and deliver its aggregate; returns the number delivered
+     */
+    public int flushDue(LocalDateTime now) {
+        int emitted = 0;
+        List<NotificationCoalesceWindow> due;
+        do {
+            due = windowRepository.findClosed(now, PageRequest.of(0, FLUSH_BATCH_SIZE));
+            for (NotificationCoalesceWindow window : due) {
+                if (close(window)) {
+                    emitted++;
+                }
+            }
+        } while (due.size() == FLUSH_BATCH_SIZE);
+        return emitted;
+    }
+
+    long openWindows() {
+        return windowRepository.count();
+    }
+
+    private boolean countInto(UUID userId, NotificationType type, UUID groupId, UUID referenceId, String subject) {
+        Integer counted = transactionTemplate.execute(status ->
+                windowRepository.countInto(userId, type, groupId, LocalDateTime.now(), referenceId, subject));
+        return counted != null && counted > 0;
+    }
+
+    /**
+     * Delete the window and deliver its aggregate in one transaction; a
+     * failed delivery leaves the window for the next flush
+     */
+    private boolean close(NotificationCoalesceWindow window) {
+        try {
+            Boolean emitted = transactionTemplate.execute(status -> {
+                if (windowRepository.deleteIfUnchanged(window.getId(), window.getCoalescedCount()) == 0) {
+                    // Closed by another node, or counted into since it was read
+                    return false;
+                }
+                if (window.getCoalescedCount() == 0) {
+                    return false;
+                }
+                eventPublisher.publishEvent(new NotificationsCoalescedEvent(window.getUserId(), window.getType(),
+                        window.getReferenceId(), window.getSubject(), window.getCoalescedCount()));
+                return true;
+            });
+            return Boolean.TRUE.equals(emitted);
+        } catch (RuntimeException e) {
+            logger.error("Failed to deliver aggregate of {} coalesced notifications", window.getCoalescedCount(), e);
+            return false;
+        }
+    }
+}
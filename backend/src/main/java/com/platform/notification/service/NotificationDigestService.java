@@ -0,0 +1,116 @@
+package com.platform.notification.service;
+
+import com.platform.email.service.EmailService;
+import com.platform.notification.model.NotificationDigestItem;
+import com.platform.notification.model.NotificationType;
+import com.platform.notification.repository.NotificationDigestItemRepository;
+import com.platform.scheduling.service.SchedulerLeaseService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Email digests in place of one email per event.
+ *
+ * Events of the types listed in {@code notifications.digest.types} are
+ * queued as lines in notification_digest_items instead of being emailed,
+ * and on {@code notifications.digest.cron} (hourly by default) each user
+ * with queued lines gets one email listing them. Lines are deleted only
+ * after their email went out, so a crash in between sends them again
+ * rather than losing them. Only the node holding the {@value #LEASE_NAME}
+ * lease sends digests.
+ */
+@Service
+public class NotificationDigestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDigestService.class);
+
+    static final String LEASE_NAME = "notification-digest";
+
+    @Autowired
+    private NotificationDigestItemRepository digestItemRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Value("${notifications.digest.types:OFFER_RECEIVED}")
+    private Set<NotificationType> digestTypes;
+
+    @Value("${notifications.digest.max-lines:50}")
+    private int maxLines;
+
+    @Value("${notifications.digest.lease-seconds:600}")
+    private long leaseSeconds;
+
+    /**
+     * Whether emails for this type go into the digest
+     */
+    public boolean isDigested(NotificationType type) {
+        return digestTypes.contains(type);
+    }
+
+    /**
+     * Queue a line for the user's next digest
+     */
+    public void enqueue(UUID userId, String email, NotificationType type, String line) {
+        digestItemRepository.save(new NotificationDigestItem(userId, email, type, line));
+    }
+
+    @Scheduled(cron = "${notifications.digest.cron:0 0 * * * *}")
+    public void sendDigests() {
+        if (digestTypes.isEmpty() || !schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofSeconds(leaseSeconds))) {
+            return;
+        }
+        try {
+            int sent = sendDue(LocalDateTime.now());
+            if (sent > 0) {
+                logger.info("Sent {} notification digests", sent);
+            }
+        } finally {
+            schedulerLeaseService.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * Send every user a digest of the lines queued up to {@code until}; returns the number of emails sent
+     */
+    public int sendDue(LocalDateTime until) {
+        int sent = 0;
+        for (UUID userId : digestItemRepository.findUserIdsWithItemsUntil(until)) {
+            try {
+                if (sendDigest(userId, until)) {
+                    sent++;
+                }
+            } catch (RuntimeException e) {
+                // The lines stay queued for the next run
+                logger.warn("Failed to send notification digest to user {}: {}", userId, e.toString());
+            }
+        }
+        return sent;
+    }
+
+    private boolean sendDigest(UUID userId, LocalDateTime until) {
+        List<NotificationDigestItem> items =
+                digestItemRepository.findByUserIdAndCreatedAtLessThanEqualOrderByCreatedAtAsc(userId, until);
+        if (items.isEmpty()) {
+            return false;
+        }
+        String email = items.get(items.size() - 1).getEmail();
+        List<String> lines = items.stream().limit(maxLines).map(NotificationDigestItem::getLine).toList();
+        emailService.sendDigestEmail(email, lines, items.size() - lines.size());
+        digestItemRepository.deleteAllInBatch(items);
+        return true;
+    }
+}
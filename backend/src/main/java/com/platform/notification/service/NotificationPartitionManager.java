@@ -0,0 +1,144 @@
+package com.platform.notification.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Daily partitions of the {@code notifications} table on PostgreSQL.
+ *
+ * There the table is range-partitioned by {@code expires_at}, one partition
+ * per day named {@code notifications_pYYYYMMDD}, plus a default partition
+ * for rows beyond the days created so far. A partition is dropped as a whole
+ * once its day has passed, so expiry leaves no dead rows for vacuum. On
+ * other databases the table is a plain table and {@link #isPartitioned()}
+ * is false.
+ */
+@Component
+public class NotificationPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPartitionManager.class);
+
+    private static final String TABLE = "notifications";
+    private static final String DEFAULT_PARTITION = "notifications_default";
+    private static final String PARTITION_PREFIX = "notifications_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Boolean partitioned;
+
+    public NotificationPartitionManager(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Whether the notifications table is a partitioned PostgreSQL table
+     */
+    public boolean isPartitioned() {
+        Boolean result = partitioned;
+        if (result == null) {
+            result = detectPartitioning();
+            partitioned = result;
+        }
+        return result;
+    }
+
+    private boolean detectPartitioning() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return false;
+        }
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+                "WHERE c.relname = ? AND pg_table_is_visible(c.oid)", Integer.class, TABLE);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Days that have a partition, in ascending order
+     */
+    public List<LocalDate> partitionDays() {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = ? AND pg_table_is_visible(p.oid)", String.class, TABLE);
+        return names.stream()
+                .filter(name -> name.matches(PARTITION_PREFIX + "\\d{8}"))
+                .map(name -> LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Create the missing partitions for {@code from} through {@code to}; returns the number created
+     */
+    public int createPartitions(LocalDate from, LocalDate to) {
+        Set<LocalDate> existing = new HashSet<>(partitionDays());
+        int created = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            if (!existing.contains(day)) {
+                createPartition(day);
+                created++;
+            }
+        }
+        return created;
+    }
+
+    private void createPartition(LocalDate day) {
+        String name = partitionName(day);
+        Timestamp start = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        // Rows for this day may already sit in the default partition, which would
+        // make a plain CREATE ... PARTITION OF fail; move them over before attaching
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION +
+                    " WHERE expires_at >= ? AND expires_at < ? RETURNING *) INSERT INTO " + name +
+                    " SELECT * FROM moved", start, end);
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + name +
+                    " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+        });
+        logger.debug("Created notification partition {}", name);
+    }
+
+    /**
+     * Drop the partitions of days before {@code day}; returns the number dropped
+     */
+    public int dropPartitionsBefore(LocalDate day) {
+        int dropped = 0;
+        for (LocalDate partitionDay : partitionDays()) {
+            if (!partitionDay.isBefore(day)) {
+                break;
+            }
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(partitionDay));
+            dropped++;
+        }
+        return dropped;
+    }
+
+    /**
+     * Delete expired rows that ended up in the default partition; returns the number deleted
+     */
+    public int purgeDefaultPartition(LocalDateTime now) {
+        return jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE expires_at <= ?",
+                Timestamp.valueOf(now));
+    }
+
+    private static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,206 @@
+package com.platform.notification.service;
+
+import com.platform.notification.model.NotificationChannel;
+import com.platform.notification.model.NotificationPreference;
+import com.platform.notification.model.NotificationPreferencesChangedEvent;
+import com.platform.notification.model.NotificationType;
+import com.platform.notification.repository.NotificationPreferenceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Which notification types a user wants on which channels.
+ *
+ * Preferences are one {@code long} per user with a bit for every type and
+ * channel that is turned off, held in a bounded LRU cache so the checks made
+ * before every notification and offer email cost no query. A change evicts
+ * the user on this node once it commits; other nodes evict users whose row
+ * changed since their last look every
+ * {@code notifications.preferences.refresh-interval-ms}.
+ */
+@Service
+public class NotificationPreferenceService {
+
+    // Bits per type in a mask; stored masks depend on it, see NotificationChannel
+    private static final int CHANNEL_SLOTS = 3;
+
+    private final NotificationPreferenceRepository preferenceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<UUID, Long> cache;
+    private final long refreshOverlapSeconds;
+    private LocalDateTime lastRefresh = LocalDateTime.now();
+
+    public NotificationPreferenceService(NotificationPreferenceRepository preferenceRepository,
+                                         ApplicationEventPublisher eventPublisher,
+                                         @Value("${notifications.preferences.cache-size:100000}") int cacheSize,
+                                         @Value("${notifications.preferences.refresh-overlap-seconds:60}")
+                                         long refreshOverlapSeconds) {
+        this.preferenceRepository = preferenceRepository;
+        this.eventPublisher = eventPublisher;
+        this.refreshOverlapSeconds = refreshOverlapSeconds;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Bit that is set in a user's mask when the type is turned off on the
+     * channel; taken from the fixed bit indexes, never from enum ordinals
+     */
+    public static long bit(NotificationType type, NotificationChannel channel) {
+        return 1L << (type.getBitIndex() * CHANNEL_SLOTS + channel.getBitIndex());
+    }
+
+    /**
+     * Whether a mask from {@link #disabledMask} lets the type through on the channel
+     */
+    public static boolean allows(long disabledMask, NotificationType type, NotificationChannel channel) {
+        return (disabledMask & bit(type, channel)) == 0;
+    }
+
+    /**
+     * The user's mask of turned-off types and channels; 0 if they never changed anything
+     */
+    public long disabledMask(UUID userId) {
+        synchronized (cache) {
+            Long cached = cache.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long mask = preferenceRepository.findById(userId)
+            .map(NotificationPreference::getDisabledMask)
+            .orElse(0L);
+        synchronized (cache) {
+            cache.put(userId, mask);
+        }
+        return mask;
+    }
+
+    /**
+     * Masks of many users at once, for bulk sends. Users not cached are read
+     * in one query and not added to the cache, so a large send does not
+     * evict everyone else; users without a row map to 0.
+     */
+    public Map<UUID, Long> disabledMasks(Collection<UUID> userIds) {
+        Map<UUID, Long> masks = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        synchronized (cache) {
+            for (UUID userId : userIds) {
+                Long cached = cache.get(userId);
+                if (cached != null) {
+                    masks.put(userId, cached);
+                } else {
+                    missing.add(userId);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (NotificationPreference preference : preferenceRepository.findAllById(missing)) {
+                masks.put(preference.getUserId(), preference.getDisabledMask());
+            }
+            missing.forEach(userId -> masks.putIfAbsent(userId, 0L));
+        }
+        return masks;
+    }
+
+    public boolean isEnabled(UUID userId, NotificationType type, NotificationChannel channel) {
+        return allows(disabledMask(userId), type, channel);
+    }
+
+    /**
+     * Whether the user wants the type in-app or pushed, i.e. whether it is worth creating at all
+     */
+    public boolean wantsNotification(UUID userId, NotificationType type) {
+        long mask = disabledMask(userId);
+        return allows(mask, type, NotificationChannel.IN_APP) || allows(mask, type, NotificationChannel.PUSH);
+    }
+
+    /**
+     * Every type and channel with whether the user has it turned on
+     */
+    public Map<NotificationType, Map<NotificationChannel, Boolean>> getPreferences(UUID userId) {
+        return toMap(disabledMask(userId));
+    }
+
+    /**
+     * Turn types on or off per channel; types and channels left out keep their setting
+     */
+    @Transactional
+    public Map<NotificationType, Map<NotificationChannel, Boolean>> updatePreferences(
+            UUID userId, Map<NotificationType, Map<NotificationChannel, Boolean>> changes) {
+        NotificationPreference preference = preferenceRepository.findById(userId)
+            .orElseGet(() -> new NotificationPreference(userId));
+        long mask = preference.getDisabledMask();
+        for (Map.Entry<NotificationType, Map<NotificationChannel, Boolean>> type : changes.entrySet()) {
+            if (type.getValue() == null) {
+                continue;
+            }
+            for (Map.Entry<NotificationChannel, Boolean> channel : type.getValue().entrySet()) {
+                if (channel.getValue() == null) {
+                    continue;
+                }
+                long bit = bit(type.getKey(), channel.getKey());
+                mask = channel.getValue() ? mask & ~bit : mask | bit;
+            }
+        }
+        preference.setDisabledMask(mask);
+        preference.setUpdatedAt(LocalDateTime.now());
+        preferenceRepository.save(preference);
+        eventPublisher.publishEvent(new NotificationPreferencesChangedEvent(userId));
+        return toMap(mask);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPreferencesChanged(NotificationPreferencesChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    /**
+     * Evict users whose preferences changed on any node. Rows are matched from
+     * a little before the last run, so changes committed late are not missed.
+     */
+    @Scheduled(fixedDelayString = "${notifications.preferences.refresh-interval-ms:5000}")
+    public void refreshChanged() {
+        LocalDateTime now = LocalDateTime.now();
+        for (UUID userId : preferenceRepository.findUserIdsUpdatedSince(lastRefresh.minusSeconds(refreshOverlapSeconds))) {
+            evict(userId);
+        }
+        lastRefresh = now;
+    }
+
+    private void evict(UUID userId) {
+        synchronized (cache) {
+            cache.remove(userId);
+        }
+    }
+
+    private static Map<NotificationType, Map<NotificationChannel, Boolean>> toMap(long mask) {
+        Map<NotificationType, Map<NotificationChannel, Boolean>> preferences = new EnumMap<>(NotificationType.class);
+        for (NotificationType type : NotificationType.values()) {
+            Map<NotificationChannel, Boolean> channels = new EnumMap<>(NotificationChannel.class);
+            for (NotificationChannel channel : NotificationChannel.values()) {
+                channels.put(channel, allows(mask, type, channel));
+            }
+            preferences.put(type, channels);
+        }
+        return preferences;
+    }
+}
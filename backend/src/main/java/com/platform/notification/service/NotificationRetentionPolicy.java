@@ -0,0 +1,45 @@
+package com.platform.notification.service;
+
+import com.platform.notification.model.NotificationType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * How long each type of notification is kept: {@code notifications.retention.days.<TYPE>},
+ * falling back to {@code notifications.retention.default-days}
+ */
+@Component
+public class NotificationRetentionPolicy {
+
+    private final Map<NotificationType, Integer> retentionDays = new EnumMap<>(NotificationType.class);
+
+    public NotificationRetentionPolicy(Environment environment,
+                                       @Value("${notifications.retention.default-days:90}") int defaultDays) {
+        for (NotificationType type : NotificationType.values()) {
+            int days = environment.getProperty("notifications.retention.days." + type.name(), Integer.class, defaultDays);
+            if (days < 1) {
+                throw new IllegalStateException("Retention for " + type + " must be at least one day");
+            }
+            retentionDays.put(type, days);
+        }
+    }
+
+    /**
+     * When a notification of the given type created at {@code createdAt} expires
+     */
+    public LocalDateTime expiresAt(NotificationType type, LocalDateTime createdAt) {
+        return createdAt.plusDays(retentionDays.get(type));
+    }
+
+    /**
+     * The longest retention of any type, in days
+     */
+    public int maxRetentionDays() {
+        return retentionDays.values().stream().mapToInt(Integer::intValue).max().orElse(1);
+    }
+}
@@ -0,0 +1,218 @@
+package com.platform.notification.service;
+
+import com.platform.notification.model.Notification;
+import com.platform.notification.model.NotificationDailySummary;
+import com.platform.notification.model.NotificationType;
+import com.platform.notification.repository.NotificationDailySummaryRepository;
+import com.platform.notification.repository.NotificationRepository;
+import com.platform.scheduling.service.SchedulerLeaseService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the notifications table bounded.
+ *
+ * Every notification expires after the retention of its type (see
+ * {@link NotificationRetentionPolicy}). On PostgreSQL expired notifications
+ * go by dropping whole daily partitions; elsewhere they are deleted in
+ * batches. Read notifications older than
+ * {@code notifications.retention.compact-after-days} are folded into
+ * per-user daily counts and deleted before that. Only the node holding the
+ * {@value #LEASE_NAME} lease runs the job.
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    static final String LEASE_NAME = "notification-retention";
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationDailySummaryRepository summaryRepository;
+
+    @Autowired
+    private NotificationPartitionManager partitionManager;
+
+    @Autowired
+    private NotificationRetentionPolicy retentionPolicy;
+
+    @Autowired
+    private UnreadCounterCache unreadCounters;
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${notifications.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notifications.retention.compact-after-days:30}")
+    private int compactAfterDays;
+
+    @Value("${notifications.retention.batch-size:500}")
+    private int batchSize;
+
+    @Value("${notifications.retention.premake-days:7}")
+    private int premakeDays;
+
+    @Value("${notifications.retention.lease-seconds:3600}")
+    private long leaseSeconds;
+
+    /**
+     * Expire and compact notifications
+     */
+    @Scheduled(cron = "${notifications.retention.cron:0 15 4 * * *}")
+    public void applyRetention() {
+        if (!enabled || !schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofSeconds(leaseSeconds))) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int purged = purgeExpired(now);
+            int compacted = compactReadBefore(now.minusDays(compactAfterDays));
+            if (purged > 0 || compacted > 0) {
+                logger.info("Notification retention deleted {} expired and compacted {} read notifications",
+                        purged, compacted);
+            }
+        } finally {
+            schedulerLeaseService.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * Remove notifications that expired by {@code now}. On a partitioned table
+     * this also creates the partitions for notifications created from now on,
+     * and returns only the rows deleted one by one from the default partition.
+     */
+    public int purgeExpired(LocalDateTime now) {
+        if (partitionManager.isPartitioned()) {
+            return purgePartitions(now);
+        }
+        int purged = 0;
+        Set<UUID> unreadUsers = new HashSet<>();
+        List<Notification> batch;
+        do {
+            batch = transactionTemplate.execute(status -> {
+                List<Notification> expired = notificationRepository.findExpired(now, PageRequest.of(0, batchSize));
+                notificationRepository.deleteAllInBatch(expired);
+                return expired;
+            });
+            for (Notification notification : batch) {
+                if (!notification.isRead()) {
+                    unreadUsers.add(notification.getUserId());
+                }
+            }
+            purged += batch.size();
+        } while (batch.size() == batchSize);
+        unreadUsers.forEach(unreadCounters::invalidate);
+        return purged;
+    }
+
+    private int purgePartitions(LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        int created = partitionManager.createPartitions(today,
+                today.plusDays(retentionPolicy.maxRetentionDays() + premakeDays));
+        // A day's partition holds rows expiring during that day, so it goes once the day is over
+        int dropped = partitionManager.dropPartitionsBefore(today);
+        int purged = partitionManager.purgeDefaultPartition(now);
+        if (dropped > 0 || purged > 0) {
+            // Expired notifications may have been unread
+            unreadCounters.invalidateAll();
+        }
+        if (created > 0 || dropped > 0) {
+            logger.info("Created {} and dropped {} notification partitions", created, dropped);
+        }
+        return purged;
+    }
+
+    /**
+     * Fold read notifications created before the cutoff into daily summaries
+     * and delete them; returns the number compacted
+     */
+    public int compactReadBefore(LocalDateTime cutoff) {
+        int compacted = 0;
+        int count;
+        do {
+            Integer batchCount = transactionTemplate.execute(status -> compactBatch(cutoff));
+            count = batchCount != null ? batchCount : 0;
+            compacted += count;
+        } while (count == batchSize);
+        return compacted;
+    }
+
+    private int compactBatch(LocalDateTime cutoff) {
+        List<Notification> batch = notificationRepository.findReadBefore(cutoff, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<SummaryKey, Long> counts = new LinkedHashMap<>();
+        for (Notification notification : batch) {
+            SummaryKey key = new SummaryKey(notification.getUserId(),
+                    notification.getCreatedAt().toLocalDate(), notification.getType());
+            counts.merge(key, 1L, Long::sum);
+        }
+        counts.forEach((key, count) -> {
+            NotificationDailySummary summary = summaryRepository
+                    .findByUserIdAndSummaryDateAndType(key.userId, key.date, key.type)
+                    .orElseGet(() -> new NotificationDailySummary(key.userId, key.date, key.type));
+            summary.setNotificationCount(summary.getNotificationCount() + count);
+            summaryRepository.save(summary);
+        });
+        notificationRepository.deleteAllInBatch(batch);
+        return batch.size();
+    }
+
+    /**
+     * A user's compacted notification counts between two days, newest first
+     */
+    public List<NotificationDailySummary> getDailySummaries(UUID userId, LocalDate from, LocalDate to) {
+        return summaryRepository.findByUserIdAndSummaryDateBetweenOrderBySummaryDateDescTypeAsc(userId, from, to);
+    }
+
+    private static final class SummaryKey {
+        final UUID userId;
+        final LocalDate date;
+        final NotificationType type;
+
+        SummaryKey(UUID userId, LocalDate date, NotificationType type) {
+            this.userId = userId;
+            this.date = date;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof SummaryKey other)) {
+                return false;
+            }
+            return userId.equals(other.userId) && date.equals(other.date) && type == other.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, date, type);
+        }
+    }
+}
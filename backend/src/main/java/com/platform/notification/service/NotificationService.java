@@ -1,18 +1,30 @@
 package com.platform.notification.service;
 
 import com.platform.notification.model.Notification;
+import com.platform.notification.model.NotificationChannel;
 import com.platform.notification.model.NotificationDTO;
+import com.platform.notification.model.NotificationFeedPage;
 import com.platform.notification.model.NotificationType;
+import com.platform.notification.model.NotificationsCoalescedEvent;
+import com.platform.notification.model.UnreadCountDTO;
 import com.platform.notification.repository.NotificationRepository;
+import com.platform.util.KeysetCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.LongUnaryOperator;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,19 +32,61 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final UnreadCounterCache unreadCounters;
+    private final NotificationRetentionPolicy retentionPolicy;
+    private final NotificationCoalescer coalescer;
+    private final NotificationPreferenceService preferences;
+    private final int listCap;
 
     public NotificationService(NotificationRepository notificationRepository,
-                               SimpMessagingTemplate messagingTemplate) {
+                               SimpMessagingTemplate messagingTemplate,
+                               UnreadCounterCache unreadCounters,
+                               NotificationRetentionPolicy retentionPolicy,
+                               NotificationCoalescer coalescer,
+                               NotificationPreferenceService preferences,
+                               @Value("${notifications.list-cap:200}") int listCap) {
         this.notificationRepository = notificationRepository;
         this.messagingTemplate = messagingTemplate;
+        this.unreadCounters = unreadCounters;
+        this.retentionPolicy = retentionPolicy;
+        this.coalescer = coalescer;
+        this.preferences = preferences;
+        this.listCap = listCap;
     }
 
+    /**
+     * Store the notification and push it to the user, as far as their
+     * preferences allow. A notification the user only wants pushed is not
+     * stored; returns null if they want it neither in-app nor pushed.
+     */
     public Notification createNotification(UUID userId, NotificationType type, String title, String message, UUID referenceId) {
+        long disabled = preferences.disabledMask(userId);
+        boolean inApp = NotificationPreferenceService.allows(disabled, type, NotificationChannel.IN_APP);
+        boolean push = NotificationPreferenceService.allows(disabled, type, NotificationChannel.PUSH);
+        if (!inApp && !push) {
+            return null;
+        }
         Notification notification = new Notification(userId, type, title, message, referenceId);
-        notification = notificationRepository.save(notification);
+        LocalDateTime now = LocalDateTime.now();
+        notification.setCreatedAt(now);
+        notification.setExpiresAt(retentionPolicy.expiresAt(type, now));
+        if (!inApp) {
+            sendWebSocketNotification(notification);
+            return notification;
+        }
+        unreadCounters.beforeChange(userId);
+        try {
+            notification = notificationRepository.save(notification);
+        } catch (RuntimeException e) {
+            unreadCounters.afterChange(userId, null);
+            throw e;
+        }
+        afterUnreadChange(userId, unread -> unread + 1);
         
         // Send real-time notification via WebSocket
-        sendWebSocketNotification(notification);
+        if (push) {
+            sendWebSocketNotification(notification);
+        }
         
         return notification;
     }
@@ -46,8 +100,11 @@ public class NotificationService {
         );
     }
 
+    /**
+     * The user's newest notifications, at most {@code notifications.list-cap}
+     */
     public List<NotificationDTO> getNotificationsByUserId(UUID userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId)
+        return notificationRepository.findFeed(userId, PageRequest.of(0, listCap))
             .stream()
             .map(NotificationDTO::new)
             .collect(Collectors.toList());
@@ -58,15 +115,59 @@ public class NotificationService {
             .map(NotificationDTO::new);
     }
 
+    /**
+     * The user's newest unread notifications, at most {@code notifications.list-cap}
+     */
     public List<NotificationDTO> getUnreadNotifications(UUID userId) {
-        return notificationRepository.findByUserIdAndIsReadFalseOrderByCreatedAtDesc(userId)
+        return notificationRepository.findUnreadFeed(userId, PageRequest.of(0, listCap))
             .stream()
             .map(NotificationDTO::new)
             .collect(Collectors.toList());
     }
 
+    /**
+     * One page of the user's notifications, newest first, continuing after
+     * {@code cursor} (the nextCursor of the previous page; null for the first)
+     */
+    public NotificationFeedPage getFeed(UUID userId, String cursor, int size, boolean unreadOnly) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Notification> rows;
+        if (cursor == null) {
+            rows = unreadOnly
+                ? notificationRepository.findUnreadFeed(userId, limit)
+                : notificationRepository.findFeed(userId, limit);
+        } else {
+            String[] parts = KeysetCursor.decode(cursor, 2);
+            LocalDateTime createdAt;
+            UUID id;
+            try {
+                createdAt = LocalDateTime.parse(parts[0]);
+                id = UUID.fromString(parts[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed cursor", e);
+            }
+            rows = unreadOnly
+                ? notificationRepository.findUnreadFeedAfter(userId, createdAt, id, limit)
+                : notificationRepository.findFeedAfter(userId, createdAt, id, limit);
+        }
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            Notification last = rows.get(rows.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new NotificationFeedPage(rows.stream().map(NotificationDTO::new).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Unread count, served from {@link UnreadCounterCache} once loaded
+     */
     public long getUnreadCount(UUID userId) {
-        return notificationRepository.countUnreadByUserId(userId);
+        return unreadCounters.get(userId, () -> notificationRepository.countUnreadByUserId(userId));
     }
 
     @Transactional
@@ -74,6 +175,10 @@ public class NotificationService {
         Optional<Notification> optNotification = notificationRepository.findById(notificationId);
         if (optNotification.isPresent()) {
             Notification notification = optNotification.get();
+            if (!notification.isRead()) {
+                unreadCounters.beforeChange(notification.getUserId());
+                afterUnreadChange(notification.getUserId(), unread -> unread - 1);
+            }
             notification.setRead(true);
             notificationRepository.save(notification);
             return true;
@@ -83,18 +188,57 @@ public class NotificationService {
 
     @Transactional
     public int markAllAsRead(UUID userId) {
+        unreadCounters.beforeChange(userId);
+        afterUnreadChange(userId, unread -> 0);
         return notificationRepository.markAllAsReadByUserId(userId);
     }
 
+    /**
+     * Apply a change to the cached unread count once the surrounding
+     * transaction commits (or at once without one) and push the new count
+     * to the user, so clients need not poll for it
+     */
+    private void afterUnreadChange(UUID userId, LongUnaryOperator update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishUnreadCount(userId, unreadCounters.afterChange(userId, update));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                boolean committed = status == STATUS_COMMITTED;
+                long count = unreadCounters.afterChange(userId, committed ? update : null);
+                if (committed) {
+                    publishUnreadCount(userId, count);
+                }
+            }
+        });
+    }
+
+    private void publishUnreadCount(UUID userId, long cachedCount) {
+        long count = cachedCount >= 0 ? cachedCount : getUnreadCount(userId);
+        messagingTemplate.convertAndSendToUser(userId.toString(), "/queue/notifications", new UnreadCountDTO(count));
+    }
+
     // Convenience methods for creating specific notification types
-    public void notifyOfferReceived(UUID startupOwnerId, String investorName, String startupName, UUID offerId) {
-        createNotification(
-            startupOwnerId,
-            NotificationType.OFFER_RECEIVED,
-            "New Investment Offer",
-            investorName + " has made an investment offer for " + startupName,
-            offerId
-        );
+
+    /**
+     * Offers for the same startup arriving in a burst are coalesced into one
+     * "N new investment offers" notification (see {@link NotificationCoalescer})
+     */
+    public void notifyOfferReceived(UUID startupOwnerId, UUID startupId, String investorName, String startupName,
+                                    UUID offerId) {
+        if (!preferences.wantsNotification(startupOwnerId, NotificationType.OFFER_RECEIVED)) {
+            return;
+        }
+        coalescer.submit(startupOwnerId, NotificationType.OFFER_RECEIVED, startupId, offerId, startupName,
+            () -> createNotification(
+                startupOwnerId,
+                NotificationType.OFFER_RECEIVED,
+                "New Investment Offer",
+                investorName + " has made an investment offer for " + startupName,
+                offerId
+            ));
     }
 
     public void notifyOfferAccepted(UUID investorUserId, String startupName, UUID offerId) {
@@ -117,13 +261,50 @@ public class NotificationService {
         );
     }
 
-    public void notifyNewMessage(UUID recipientId, String senderName, UUID conversationId) {
+    public void notifyOfferExpired(UUID investorUserId, String startupName, UUID offerId) {
         createNotification(
-            recipientId,
-            NotificationType.MESSAGE_RECEIVED,
-            "New Message",
-            "You have a new message from " + senderName,
-            conversationId
+            investorUserId,
+            NotificationType.OFFER_EXPIRED,
+            "Offer Expired",
+            "Your investment offer for " + startupName + " has expired without a response.",
+            offerId
         );
     }
+
+    public void notifyNewMessage(UUID recipientId, String senderName, UUID conversationId) {
+        if (!preferences.wantsNotification(recipientId, NotificationType.MESSAGE_RECEIVED)) {
+            return;
+        }
+        coalescer.submit(recipientId, NotificationType.MESSAGE_RECEIVED, conversationId, conversationId, senderName,
+            () -> createNotification(
+                recipientId,
+                NotificationType.MESSAGE_RECEIVED,
+                "New Message",
+                "You have a new message from " + senderName,
+                conversationId
+            ));
+    }
+
+    /**
+     * Create the aggregate for the events counted in a coalescing window,
+     * in the transaction that closes it
+     */
+    @EventListener
+    public void onNotificationsCoalesced(NotificationsCoalescedEvent event) {
+        long count = event.getCount();
+        switch (event.getType()) {
+            case OFFER_RECEIVED:
+                createNotification(event.getUserId(), event.getType(), "New Investment Offers",
+                    count + (count == 1 ? " new investment offer for " : " new investment offers for ") + event.getSubject(),
+                    event.getReferenceId());
+                break;
+            case MESSAGE_RECEIVED:
+                createNotification(event.getUserId(), event.getType(), "New Messages",
+                    "You have " + count + (count == 1 ? " new message from " : " new messages from ") + event.getSubject(),
+                    event.getReferenceId());
+                break;
+            default:
+                throw new IllegalArgumentException("No aggregate notification for " + event.getType());
+        }
+    }
 }
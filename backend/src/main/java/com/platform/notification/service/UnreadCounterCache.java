@@ -0,0 +1,136 @@
+package com.platform.notification.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Per-user unread notification counts kept in memory.
+ *
+ * A count is loaded from the database on first read and then moved by the
+ * changes made through {@link NotificationService} until it expires after
+ * {@code notifications.unread-cache.ttl-seconds}. Users are spread over
+ * stripes that track changes in progress: a load is only cached if no
+ * change to a user in its stripe was running or started while it read the
+ * database, so a count is never cached that already includes a change
+ * which is then applied to it a second time.
+ */
+@Component
+public class UnreadCounterCache {
+
+    private static final int STRIPES = 64;
+
+    private final Map<UUID, Counter> counters = new ConcurrentHashMap<>();
+    // Changes currently between beforeChange and afterChange, per stripe
+    private final AtomicIntegerArray inFlight = new AtomicIntegerArray(STRIPES);
+    // Bumped whenever a change starts or ends, per stripe
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+    private final long ttlMs;
+
+    public UnreadCounterCache(@Value("${notifications.unread-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.ttlMs = ttlSeconds * 1000;
+    }
+
+    /**
+     * The user's unread count, loading it with {@code loader} if it is not cached
+     */
+    public long get(UUID userId, LongSupplier loader) {
+        Counter counter = counters.get(userId);
+        long now = System.currentTimeMillis();
+        if (counter != null && counter.expiresAt > now) {
+            return counter.value.get();
+        }
+        int stripe = stripe(userId);
+        long stamp = stamps.get(stripe);
+        boolean quiet = inFlight.get(stripe) == 0;
+        long loaded = loader.getAsLong();
+        if (quiet) {
+            counters.compute(userId, (id, existing) -> {
+                if (stamps.get(stripe) != stamp) {
+                    // A change ran while we were loading; the next read loads again
+                    return existing != null && existing.expiresAt > now ? existing : null;
+                }
+                return new Counter(loaded, now + ttlMs);
+            });
+        }
+        return loaded;
+    }
+
+    /**
+     * Call before writing a change to the user's notifications
+     */
+    public void beforeChange(UUID userId) {
+        int stripe = stripe(userId);
+        inFlight.incrementAndGet(stripe);
+        stamps.incrementAndGet(stripe);
+    }
+
+    /**
+     * Call once the change has committed, or with a null update if it did
+     * not. Returns the new count if the user's count is cached, otherwise -1.
+     */
+    public long afterChange(UUID userId, LongUnaryOperator update) {
+        int stripe = stripe(userId);
+        long[] result = {-1};
+        counters.computeIfPresent(userId, (id, counter) -> {
+            if (update != null) {
+                result[0] = counter.value.updateAndGet(value -> Math.max(0, update.applyAsLong(value)));
+            }
+            return counter;
+        });
+        stamps.incrementAndGet(stripe);
+        inFlight.decrementAndGet(stripe);
+        return update != null ? result[0] : -1;
+    }
+
+    /**
+     * Forget the user's count, e.g. after notifications were changed elsewhere
+     */
+    public void invalidate(UUID userId) {
+        stamps.incrementAndGet(stripe(userId));
+        counters.remove(userId);
+    }
+
+    /**
+     * Forget every count, e.g. after a bulk delete that may have removed unread notifications
+     */
+    public void invalidateAll() {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            stamps.incrementAndGet(stripe);
+        }
+        counters.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.unread-cache.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        counters.values().removeIf(counter -> counter.expiresAt <= now);
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    private static int stripe(UUID userId) {
+        return (userId.hashCode() & 0x7fffffff) % STRIPES;
+    }
+
+    private static final class Counter {
+        final AtomicLong value;
+        final long expiresAt;
+
+        Counter(long value, long expiresAt) {
+            this.value = new AtomicLong(value);
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.platform.scheduling.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A named lease that lets exactly one node run a scheduled job at a time
+ */
+@Entity
+@Table(name = "scheduler_leases")
+public class SchedulerLease {
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+
+    // Constructors
+    public SchedulerLease() {}
+
+    public SchedulerLease(String name, String owner, LocalDateTime lockedUntil) {
+        this.name = name;
+        this.owner = owner;
+        this.lockedUntil = lockedUntil;
+    }
+
+    // Getters
+    public String getName() { return name; }
+    public String getOwner() { return owner; }
+    public LocalDateTime getLockedUntil() { return lockedUntil; }
+
+    // Setters
+    public void setName(String name) { this.name = name; }
+    public void setOwner(String owner) { this.owner = owner; }
+    public void setLockedUntil(LocalDateTime lockedUntil) { this.lockedUntil = lockedUntil; }
+}
@@ -0,0 +1,70 @@
+package com.platform.scheduling.service;
+
+import com.platform.scheduling.repository.SchedulerLeaseRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Database-backed leases for jobs that must run on only one node at a time.
+ * A lease is held until it expires, so a crashed holder is replaced after at
+ * most one lease period.
+ */
+@Service
+public class SchedulerLeaseService {
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final String nodeId;
+
+    public SchedulerLeaseService(SchedulerLeaseRepository schedulerLeaseRepository,
+                                 @Value("${scheduling.node-id:}") String nodeId) {
+        this.schedulerLeaseRepository = schedulerLeaseRepository;
+        this.nodeId = nodeId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID()
+                : nodeId;
+    }
+
+    /**
+     * Acquire or renew the named lease for this node; returns false if another node holds it
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        return tryAcquire(name, nodeId, ttl);
+    }
+
+    boolean tryAcquire(String name, String owner, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(ttl);
+        if (schedulerLeaseRepository.claim(name, owner, now, until) == 1) {
+            return true;
+        }
+        if (schedulerLeaseRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            return schedulerLeaseRepository.insert(name, owner, until) == 1;
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the lease first
+            return false;
+        }
+    }
+
+    /**
+     * Give the named lease up early so another node can take over at once
+     */
+    public void release(String name) {
+        release(name, nodeId);
+    }
+
+    void release(String name, String owner) {
+        schedulerLeaseRepository.release(name, owner, LocalDateTime.now());
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
@@ -60,4 +60,47 @@ public class Idea {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
+
+    // Constructors
+    public Idea() {}
+
+    public Idea(UUID startupId, String title, String description, BigDecimal requestedInvestment,
+                BigDecimal equityOffered, IdeaStatus status) {
+        this.startupId = startupId;
+        this.title = title;
+        this.description = description;
+        this.requestedInvestment = requestedInvestment;
+        this.equityOffered = equityOffered;
+        this.status = status;
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+    public UUID getStartupId() { return startupId; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public String getProblemStatement() { return problemStatement; }
+    public String getSolutionDescription() { return solutionDescription; }
+    public String getTargetMarket() { return targetMarket; }
+    public String getRevenueModel() { return revenueModel; }
+    public BigDecimal getRequestedInvestment() { return requestedInvestment; }
+    public BigDecimal getEquityOffered() { return equityOffered; }
+    public IdeaStatus getStatus() { return status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    // Setters
+    public void setId(UUID id) { this.id = id; }
+    public void setStartupId(UUID startupId) { this.startupId = startupId; }
+    public void setTitle(String title) { this.title = title; }
+    public void setDescription(String description) { this.description = description; }
+    public void setProblemStatement(String problemStatement) { this.problemStatement = problemStatement; }
+    public void setSolutionDescription(String solutionDescription) { this.solutionDescription = solutionDescription; }
+    public void setTargetMarket(String targetMarket) { this.targetMarket = targetMarket; }
+    public void setRevenueModel(String revenueModel) { this.revenueModel = revenueModel; }
+    public void setRequestedInvestment(BigDecimal requestedInvestment) { this.requestedInvestment = requestedInvestment; }
+    public void setEquityOffered(BigDecimal equityOffered) { this.equityOffered = equityOffered; }
+    public void setStatus(IdeaStatus status) { this.status = status; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 }
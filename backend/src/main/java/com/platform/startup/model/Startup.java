@@ -23,6 +23,8 @@ public class Startup {
 
     private String stage;
     private BigDecimal fundingGoal;
+    // Only ever changed by StartupRepository.incrementCurrentFunding
+    @Column(updatable = false)
     private BigDecimal currentFunding;
     private String website;
     private String linkedinUrl;
@@ -32,6 +34,9 @@ public class Startup {
     @Column(nullable = false)
     private StartupStatus status;
 
+    @Version
+    private Long version;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -76,6 +81,7 @@ public class Startup {
     public String getLinkedinUrl() { return linkedinUrl; }
     public String getPitchDeckUrl() { return pitchDeckUrl; }
     public StartupStatus getStatus() { return status; }
+    public Long getVersion() { return version; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
 
@@ -91,6 +97,7 @@ public class Startup {
     public void setLinkedinUrl(String linkedinUrl) { this.linkedinUrl = linkedinUrl; }
     public void setPitchDeckUrl(String pitchDeckUrl) { this.pitchDeckUrl = pitchDeckUrl; }
     public void setStatus(StartupStatus status) { this.status = status; }
+    public void setVersion(Long version) { this.version = version; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 }
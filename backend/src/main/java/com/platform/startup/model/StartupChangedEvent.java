@@ -0,0 +1,16 @@
+package com.platform.startup.model;
+
+import java.util.UUID;
+
+/**
+ * Published after a startup is created, updated, deleted or funded
+ */
+public class StartupChangedEvent {
+    private final UUID startupId;
+
+    public StartupChangedEvent(UUID startupId) {
+        this.startupId = startupId;
+    }
+
+    public UUID getStartupId() { return startupId; }
+}
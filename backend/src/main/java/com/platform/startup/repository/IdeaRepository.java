@@ -4,6 +4,8 @@ import com.platform.startup.model.Idea;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -14,4 +16,10 @@ public interface IdeaRepository extends JpaRepository<Idea, UUID> {
     List<Idea> findByStartupId(UUID startupId);
     Page<Idea> findAll(Pageable pageable);
     Optional<Idea> findByIdAndStartupId(UUID id, UUID startupId);
+
+    @Query("SELECT i.startupId FROM Idea i WHERE i.id = :id")
+    Optional<UUID> findStartupIdById(@Param("id") UUID id);
+
+    @Query("SELECT s.userId FROM Idea i JOIN Startup s ON s.id = i.startupId WHERE i.id = :id")
+    Optional<UUID> findOwnerIdById(@Param("id") UUID id);
 }
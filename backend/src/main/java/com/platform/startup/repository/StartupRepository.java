@@ -5,7 +5,11 @@ import com.platform.startup.model.StartupStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,4 +20,14 @@ public interface StartupRepository extends JpaRepository<Startup, UUID> {
     Page<Startup> findByStatus(StartupStatus status, Pageable pageable);
     Page<Startup> findAll(Pageable pageable);
     Optional<Startup> findByIdAndUserId(UUID id, UUID userId);
+
+    @Query("SELECT s.userId FROM Startup s WHERE s.id = :id")
+    Optional<UUID> findUserIdById(@Param("id") UUID id);
+
+    /**
+     * Add to current funding in the database, so concurrent acceptances never lose an update
+     */
+    @Modifying
+    @Query("UPDATE Startup s SET s.currentFunding = COALESCE(s.currentFunding, 0) + :amount WHERE s.id = :id")
+    int incrementCurrentFunding(@Param("id") UUID id, @Param("amount") BigDecimal amount);
 }
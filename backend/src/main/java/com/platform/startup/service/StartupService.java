@@ -1,10 +1,12 @@
 package com.platform.startup.service;
 
 import com.platform.startup.model.Startup;
+import com.platform.startup.model.StartupChangedEvent;
 import com.platform.startup.model.StartupDTO;
 import com.platform.startup.model.StartupStatus;
 import com.platform.startup.repository.StartupRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -18,6 +20,9 @@ public class StartupService {
     @Autowired
     private StartupRepository startupRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * Get startup by ID
      */
@@ -54,7 +59,9 @@ public class StartupService {
         startup.setPitchDeckUrl(startupDTO.getPitchDeckUrl());
         startup.setStatus(startupDTO.getStatus() != null ? startupDTO.getStatus() : StartupStatus.DRAFT);
         
-        return startupRepository.save(startup);
+        Startup savedStartup = startupRepository.save(startup);
+        eventPublisher.publishEvent(new StartupChangedEvent(savedStartup.getId()));
+        return savedStartup;
     }
     
     /**
@@ -88,7 +95,9 @@ public class StartupService {
             if (startupDTO.getStatus() != null) {
                 startup.setStatus(startupDTO.getStatus());
             }
-            return startupRepository.save(startup);
+            Startup savedStartup = startupRepository.save(startup);
+            eventPublisher.publishEvent(new StartupChangedEvent(id));
+            return savedStartup;
         }
         return null;
     }
@@ -99,6 +108,7 @@ public class StartupService {
     public boolean deleteStartup(UUID id) {
         if (startupRepository.existsById(id)) {
             startupRepository.deleteById(id);
+            eventPublisher.publishEvent(new StartupChangedEvent(id));
             return true;
         }
         return false;
@@ -0,0 +1,17 @@
+-- Create offer_outbox table: side-effects of offer changes, written in the same transaction
+CREATE TABLE IF NOT EXISTS offer_outbox (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    offer_id UUID NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    channel VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP
+);
+
+-- The dispatcher only ever scans pending rows that are due
+CREATE INDEX IF NOT EXISTS idx_offer_outbox_pending ON offer_outbox(next_attempt_at) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_offer_outbox_offer_id ON offer_outbox(offer_id);
@@ -0,0 +1,17 @@
+-- Optimistic locking for offers and startups
+ALTER TABLE investment_offers ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE startups ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Funding ledger: one row per accepted offer, kept even if the offer is deleted
+CREATE TABLE IF NOT EXISTS funding_ledger (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    offer_id UUID NOT NULL,
+    startup_id UUID NOT NULL,
+    amount DECIMAL(15,2) NOT NULL,
+    entry_type VARCHAR(30) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_funding_ledger_offer_entry UNIQUE (offer_id, entry_type)
+);
+
+CREATE INDEX IF NOT EXISTS idx_funding_ledger_startup_id ON funding_ledger(startup_id);
+
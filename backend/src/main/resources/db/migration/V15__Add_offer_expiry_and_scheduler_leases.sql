@@ -0,0 +1,13 @@
+-- Offers that pass expires_at while still pending become EXPIRED
+ALTER TYPE offer_status ADD VALUE IF NOT EXISTS 'EXPIRED';
+
+-- The expiry scheduler only looks at pending offers with an expiry
+CREATE INDEX IF NOT EXISTS idx_investment_offers_pending_expires_at
+    ON investment_offers(expires_at) WHERE status = 'PENDING';
+
+-- Leases that keep cluster-wide scheduled jobs on one node at a time
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(255) NOT NULL,
+    locked_until TIMESTAMP NOT NULL
+);
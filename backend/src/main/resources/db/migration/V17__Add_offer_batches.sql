@@ -0,0 +1,7 @@
+-- Offers submitted together through the batch endpoint share a batch id
+ALTER TABLE investment_offers ADD COLUMN IF NOT EXISTS batch_id UUID;
+CREATE INDEX IF NOT EXISTS idx_investment_offers_batch_id ON investment_offers(batch_id);
+
+-- A grouped outbox event covers every offer of a batch instead of a single offer
+ALTER TABLE offer_outbox ALTER COLUMN offer_id DROP NOT NULL;
+ALTER TABLE offer_outbox ADD COLUMN IF NOT EXISTS batch_id UUID;
@@ -0,0 +1,34 @@
+-- The funding ledger becomes the funding event stream: numbered per startup,
+-- with withdrawals and manual adjustments alongside accepted offers
+ALTER TABLE funding_ledger ALTER COLUMN offer_id DROP NOT NULL;
+ALTER TABLE funding_ledger ADD COLUMN IF NOT EXISTS note TEXT;
+ALTER TABLE funding_ledger ADD COLUMN IF NOT EXISTS sequence BIGINT;
+
+UPDATE funding_ledger f SET sequence = numbered.seq
+FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY startup_id ORDER BY created_at, id) AS seq
+      FROM funding_ledger) numbered
+WHERE f.id = numbered.id;
+
+-- Funding recorded before the ledger existed becomes an opening balance at sequence 0
+INSERT INTO funding_ledger (offer_id, startup_id, sequence, amount, entry_type, note, created_at)
+SELECT NULL, s.id, 0, COALESCE(s.current_funding, 0) - COALESCE(l.total, 0), 'MANUAL_ADJUSTMENT',
+       'Opening balance', s.created_at
+FROM startups s
+LEFT JOIN (SELECT startup_id, SUM(amount) AS total FROM funding_ledger GROUP BY startup_id) l
+       ON l.startup_id = s.id
+WHERE COALESCE(s.current_funding, 0) <> COALESCE(l.total, 0);
+
+ALTER TABLE funding_ledger ALTER COLUMN sequence SET NOT NULL;
+ALTER TABLE funding_ledger ADD CONSTRAINT uk_funding_ledger_startup_sequence UNIQUE (startup_id, sequence);
+-- Covered by the unique constraint above
+DROP INDEX IF EXISTS idx_funding_ledger_startup_id;
+
+-- Running totals every funding.snapshot-interval entries
+CREATE TABLE IF NOT EXISTS funding_snapshots (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    startup_id UUID NOT NULL,
+    sequence BIGINT NOT NULL,
+    total DECIMAL(15,2) NOT NULL,
+    taken_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_funding_snapshots_startup_sequence UNIQUE (startup_id, sequence)
+);
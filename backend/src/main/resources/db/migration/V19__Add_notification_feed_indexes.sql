@@ -0,0 +1,9 @@
+-- Feeds are read newest first per user and paged by (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_notifications_user_feed
+    ON notifications(user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_notifications_user_unread
+    ON notifications(user_id, created_at DESC, id DESC) WHERE is_read = FALSE;
+
+-- Covered by the leading user_id of the feed indexes
+DROP INDEX IF EXISTS idx_notifications_user_id;
+DROP INDEX IF EXISTS idx_notifications_user_id_is_read;
@@ -0,0 +1,63 @@
+-- Notifications become range-partitioned by expires_at, one partition per day,
+-- so expiry drops whole partitions instead of deleting rows. The retention job
+-- creates partitions ahead and drops those whose day has passed; rows beyond
+-- the partitions created so far land in notifications_default.
+ALTER TABLE notifications RENAME TO notifications_unpartitioned;
+ALTER TABLE notifications_unpartitioned RENAME CONSTRAINT notifications_pkey TO notifications_unpartitioned_pkey;
+DROP INDEX IF EXISTS idx_notifications_user_feed;
+DROP INDEX IF EXISTS idx_notifications_user_unread;
+DROP INDEX IF EXISTS idx_notifications_created_at;
+
+CREATE TABLE notifications (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT,
+    reference_id UUID,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, expires_at),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) PARTITION BY RANGE (expires_at);
+
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+-- Existing notifications get the default retention of 90 days
+DO $$
+DECLARE
+    day DATE;
+BEGIN
+    FOR day IN
+        SELECT generate_series(CURRENT_DATE,
+                               (SELECT COALESCE(MAX(created_at), CURRENT_TIMESTAMP) FROM notifications_unpartitioned)::date + 90,
+                               INTERVAL '1 day')::date
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                       'notifications_p' || to_char(day, 'YYYYMMDD'), day, day + 1);
+    END LOOP;
+END $$;
+
+INSERT INTO notifications (id, user_id, type, title, message, reference_id, is_read, created_at, expires_at)
+SELECT id, user_id, type, title, message, reference_id, is_read, created_at, created_at + INTERVAL '90 days'
+FROM notifications_unpartitioned
+WHERE created_at + INTERVAL '90 days' >= CURRENT_DATE;
+
+DROP TABLE notifications_unpartitioned;
+
+CREATE INDEX idx_notifications_user_feed ON notifications(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_notifications_user_unread ON notifications(user_id, created_at DESC, id DESC) WHERE is_read = FALSE;
+-- Compaction walks read notifications oldest first
+CREATE INDEX idx_notifications_read_created_at ON notifications(created_at) WHERE is_read = TRUE;
+
+-- Read notifications past the compaction age, counted per user, day and type
+CREATE TABLE IF NOT EXISTS notification_daily_summaries (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL,
+    summary_date DATE NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    notification_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_notification_daily_summaries_user_date_type UNIQUE (user_id, summary_date, type),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
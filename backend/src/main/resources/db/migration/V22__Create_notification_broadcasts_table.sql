@@ -0,0 +1,19 @@
+-- Notifications sent to a segment of investors, with sending progress
+CREATE TABLE IF NOT EXISTS notification_broadcasts (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    type VARCHAR(50) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT,
+    reference_id UUID,
+    investor_status VARCHAR(50) NOT NULL,
+    sector VARCHAR(255),
+    stage VARCHAR(255),
+    status VARCHAR(50) NOT NULL,
+    target_count BIGINT NOT NULL DEFAULT 0,
+    inserted_count BIGINT NOT NULL DEFAULT 0,
+    pushed_count BIGINT NOT NULL DEFAULT 0,
+    error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP
+);
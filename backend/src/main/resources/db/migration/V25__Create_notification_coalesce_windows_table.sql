@@ -0,0 +1,15 @@
+-- Open coalescing windows, so counted events survive a restart and any node can send the aggregate
+CREATE TABLE IF NOT EXISTS notification_coalesce_windows (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    type VARCHAR(50) NOT NULL,
+    group_id UUID NOT NULL,
+    closes_at TIMESTAMP NOT NULL,
+    coalesced_count BIGINT NOT NULL DEFAULT 0,
+    reference_id UUID,
+    subject VARCHAR(255),
+    CONSTRAINT uk_notification_coalesce_windows_group UNIQUE (user_id, type, group_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_coalesce_windows_closes_at
+    ON notification_coalesce_windows(closes_at);
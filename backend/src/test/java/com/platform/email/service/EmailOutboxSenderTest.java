@@ -0,0 +1,201 @@
+package com.platform.email.service;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.platform.email.model.EmailOutboxMessage;
+import com.platform.email.model.EmailOutboxStatus;
+import com.platform.email.repository.EmailOutboxRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends through an embedded GreenMail SMTP server
+ */
+@SpringBootTest(properties = {
+    "spring.mail.enabled=true",
+    "spring.mail.host=localhost",
+    "spring.mail.properties.mail.smtp.auth=false",
+    "spring.mail.properties.mail.smtp.starttls.enable=false",
+    "email.outbox.batch-size=50",
+    "email.outbox.max-attempts=3",
+    "email.rate-limit.global-per-second=100000",
+    "email.rate-limit.per-domain-per-second=100000",
+    "email.rate-limit.domains=slow.test=0.5"
+})
+@ActiveProfiles("test")
+class EmailOutboxSenderTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxSenderTest.class);
+
+    // Fixed for the whole class, so the server comes back on the same port after a stop
+    private static final int SMTP_PORT = freePort();
+    private static final GreenMail greenMail = new GreenMail(new ServerSetup(SMTP_PORT, null, ServerSetup.PROTOCOL_SMTP));
+
+    static {
+        greenMail.start();
+    }
+
+    @DynamicPropertySource
+    static void smtpPort(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", () -> SMTP_PORT);
+    }
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxSender emailOutboxSender;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        emailOutboxRepository.deleteAll();
+        greenMail.purgeEmailFromAllMailboxes();
+    }
+
+    @AfterEach
+    void restartIfStopped() {
+        if (!greenMail.isRunning()) {
+            greenMail.start();
+        }
+    }
+
+    @AfterAll
+    static void stopServer() {
+        greenMail.stop();
+    }
+
+    @Test
+    void sendPending_DeliversQueuedEmails() throws Exception {
+        emailService.sendWelcomeEmail("ada@test.com", "Ada");
+        emailService.sendOfferAcceptedEmail("ian@test.com", "Acme Robotics", "$250,000.00");
+        assertEquals(0, greenMail.getReceivedMessages().length);
+
+        assertEquals(2, emailOutboxSender.sendPending());
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Welcome to Startup Investment Platform!", received[0].getSubject());
+        assertTrue(emailOutboxRepository.findAll().stream()
+            .allMatch(m -> m.getStatus() == EmailOutboxStatus.SENT && m.getAttempts() == 1 && m.getSentAt() != null));
+        assertEquals(0, emailOutboxSender.sendPending());
+    }
+
+    @Test
+    void sendPending_UnbuildableMessageIsDeadWithoutBlockingTheRest() {
+        emailService.sendWelcomeEmail("not an address@@", "Bob");
+        emailService.sendWelcomeEmail("ada@test.com", "Ada");
+
+        emailOutboxSender.sendPending();
+
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        assertEquals(1, emailOutboxRepository.countByStatus(EmailOutboxStatus.SENT));
+        assertEquals(1, emailOutboxRepository.countByStatus(EmailOutboxStatus.DEAD));
+    }
+
+    @Test
+    void sendPending_ServerDownBacksOffThenGoesDead() {
+        emailService.sendWelcomeEmail("ada@test.com", "Ada");
+        greenMail.stop();
+
+        emailOutboxSender.sendPending();
+
+        EmailOutboxMessage message = emailOutboxRepository.findAll().get(0);
+        assertEquals(EmailOutboxStatus.PENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertNotNull(message.getLastError());
+        assertTrue(message.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        // Not due yet
+        assertEquals(0, emailOutboxSender.sendPending());
+
+        message.setAttempts(2);
+        message.setNextAttemptAt(LocalDateTime.now());
+        emailOutboxRepository.save(message);
+        emailOutboxSender.sendPending();
+
+        message = emailOutboxRepository.findAll().get(0);
+        assertEquals(EmailOutboxStatus.DEAD, message.getStatus());
+        assertEquals(3, message.getAttempts());
+    }
+
+    @Test
+    void sendPending_RateLimitedDomainWaitsWithoutUsingAnAttempt() {
+        emailService.sendWelcomeEmail("ada@slow.test", "Ada");
+        emailService.sendWelcomeEmail("bob@slow.test", "Bob");
+        emailService.sendWelcomeEmail("ian@test.com", "Ian");
+
+        assertEquals(3, emailOutboxSender.sendPending());
+
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        List<EmailOutboxMessage> pending = emailOutboxRepository.findAll().stream()
+            .filter(m -> m.getStatus() == EmailOutboxStatus.PENDING)
+            .toList();
+        assertEquals(1, pending.size());
+        assertTrue(pending.get(0).getToEmail().endsWith("@slow.test"));
+        assertEquals(0, pending.get(0).getAttempts());
+        assertNull(pending.get(0).getLastError());
+        assertTrue(pending.get(0).getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(1)));
+    }
+
+    @Test
+    void sendPending_Throughput() {
+        int count = Integer.getInteger("email.throughput.count", 500);
+        for (int i = 0; i < count; i++) {
+            emailService.sendNewMessageEmail("user" + i + "@test.com", "Sender " + i);
+        }
+
+        long start = System.nanoTime();
+        int sent = 0;
+        int claimed;
+        while ((claimed = emailOutboxSender.sendPending()) > 0) {
+            sent += claimed;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(count, sent);
+        assertEquals(count, greenMail.getReceivedMessages().length);
+        assertEquals(count, emailOutboxRepository.countByStatus(EmailOutboxStatus.SENT));
+        logger.info("Sent {} emails in {} s ({} emails/s)", count, String.format("%.2f", seconds),
+            String.format("%.0f", count / seconds));
+    }
+
+    @Test
+    void purgeSent_KeepsRecentAndUnsentMessages() {
+        emailService.sendWelcomeEmail("ada@test.com", "Ada");
+        emailOutboxSender.sendPending();
+        emailService.sendWelcomeEmail("bob@test.com", "Bob");
+
+        emailOutboxSender.purgeSent();
+
+        List<EmailOutboxMessage> left = emailOutboxRepository.findAll();
+        assertEquals(2, left.size());
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.platform.email.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private EmailRateLimiter limiter(double globalRate, double domainRate, Map<String, Double> domainRates) {
+        return new EmailRateLimiter(globalRate, domainRate, 1, domainRates, 100, clock::get);
+    }
+
+    @Test
+    void tryAcquire_DomainBucketEmptiesThenRefills() {
+        EmailRateLimiter limiter = limiter(100, 2, Map.of());
+
+        assertEquals(0, limiter.tryAcquire("a@example.com"));
+        assertEquals(0, limiter.tryAcquire("b@EXAMPLE.com"));
+        long wait = limiter.tryAcquire("c@example.com");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), wait);
+        // Another domain has its own bucket
+        assertEquals(0, limiter.tryAcquire("a@other.com"));
+
+        clock.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("c@example.com"));
+    }
+
+    @Test
+    void tryAcquire_GlobalLimitAppliesAcrossDomains() {
+        EmailRateLimiter limiter = limiter(2, 100, Map.of());
+
+        assertEquals(0, limiter.tryAcquire("a@one.com"));
+        assertEquals(0, limiter.tryAcquire("a@two.com"));
+        assertTrue(limiter.tryAcquire("a@three.com") > 0);
+    }
+
+    @Test
+    void tryAcquire_RefusalTakesNoTokenFromTheOtherBucket() {
+        EmailRateLimiter limiter = limiter(2, 1, Map.of());
+
+        assertEquals(0, limiter.tryAcquire("a@one.com"));
+        // one.com is empty, so the global token must not be spent
+        assertTrue(limiter.tryAcquire("b@one.com") > 0);
+        assertEquals(0, limiter.tryAcquire("a@two.com"));
+    }
+
+    @Test
+    void tryAcquire_UsesDomainOverride() {
+        EmailRateLimiter limiter = limiter(100, 10, EmailRateLimiter.parseRates(" gmail.com = 1 , bad-entry"));
+
+        assertEquals(0, limiter.tryAcquire("a@gmail.com"));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire("b@gmail.com"));
+    }
+}
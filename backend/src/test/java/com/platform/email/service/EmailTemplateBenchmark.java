@@ -0,0 +1,94 @@
+package com.platform.email.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiled templates from {@link EmailTemplateEngine} against the
+ * {@code String.formatted} templates in {@link EmailTemplates}, for a
+ * single-value email and a 50-line digest. Templates are compiled during
+ * setup, so only rendering is measured.
+ *
+ * Run with:
+ * <pre>
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *       "-Dexec.args=-cp %classpath com.platform.email.service.EmailTemplateBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private EmailTemplateEngine engine;
+    private Map<String, Object> offerModel;
+    private List<String> digestLines;
+    private Map<String, Object> digestModel;
+
+    @Setup
+    public void setUp() {
+        engine = new EmailTemplateEngine();
+        offerModel = new HashMap<>();
+        offerModel.put("investorName", "Ian Investor");
+        offerModel.put("startupName", "Acme Robotics");
+        offerModel.put("offerAmount", "$250,000.00");
+
+        digestLines = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            digestLines.add("Investor " + i + " offered $" + (i + 1) * 1000 + " for Acme & Co");
+        }
+        digestModel = new HashMap<>();
+        digestModel.put("lines", digestLines);
+        digestModel.put("moreCount", 12);
+        digestModel.put("total", 62);
+        digestModel.put("plural", true);
+
+        // Compile outside the measurement
+        offerReceivedCompiled();
+        digestCompiled();
+    }
+
+    @Benchmark
+    public String offerReceivedFormatted() {
+        return EmailTemplates.offerReceivedEmail("Ian Investor", "Acme Robotics", "$250,000.00");
+    }
+
+    @Benchmark
+    public String offerReceivedCompiled() {
+        return engine.render("offer-received.html", Locale.ENGLISH, offerModel);
+    }
+
+    @Benchmark
+    public String digestFormatted() {
+        return EmailTemplates.digestEmail(digestLines, 12);
+    }
+
+    @Benchmark
+    public String digestCompiled() {
+        return engine.render("digest.html", Locale.ENGLISH, digestModel);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(EmailTemplateBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.platform.email.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateEngineTest {
+
+    private final EmailTemplateEngine engine =
+        new EmailTemplateEngine(new DefaultResourceLoader(), "classpath:email-templates-test");
+
+    @Test
+    void render_EscapesValuesInHtmlButNotRawOrText() {
+        Map<String, Object> model = Map.of("name", "<b>Acme</b> & \"Co\"", "raw", "<hr>");
+
+        assertEquals("<p>Hello &lt;b&gt;Acme&lt;/b&gt; &amp; &quot;Co&quot;</p><hr>",
+            engine.render("greeting.html", Locale.ENGLISH, model));
+        assertEquals("<b> & co", engine.render("plain.txt", Locale.ENGLISH, Map.of("name", "<b>")));
+    }
+
+    @Test
+    void render_PicksMostSpecificLocaleVariant() {
+        Map<String, Object> model = Map.of("name", "Ada", "raw", "");
+
+        assertEquals("<p>Servus Ada</p>", engine.render("greeting.html", new Locale("de", "AT"), model));
+        assertEquals("<p>Hallo Ada</p>", engine.render("greeting.html", Locale.GERMANY, model));
+        assertEquals("<p>Hello Ada</p>", engine.render("greeting.html", Locale.FRENCH, model));
+    }
+
+    @Test
+    void render_SectionsRepeatOverListsAndInvertedSectionsCoverEmpty() {
+        Map<String, Object> model = new HashMap<>();
+        model.put("items", List.of("a", "<b>"));
+        assertEquals("[a][&lt;b&gt;]", engine.render("list.html", Locale.ENGLISH, model));
+
+        model.put("items", List.of());
+        assertEquals("none", engine.render("list.html", Locale.ENGLISH, model));
+        model.put("items", null);
+        assertEquals("none", engine.render("list.html", Locale.ENGLISH, model));
+    }
+
+    @Test
+    void render_CompilesOncePerLocale() {
+        assertSame(engine.template("list.html", Locale.ENGLISH), engine.template("list.html", Locale.ENGLISH));
+        assertNotSame(engine.template("list.html", Locale.ENGLISH), engine.template("list.html", Locale.GERMAN));
+    }
+
+    @Test
+    void render_RejectsMissingAndMalformedTemplates() {
+        assertThrows(IllegalArgumentException.class, () -> engine.render("missing.html", Locale.ENGLISH, Map.of()));
+        assertThrows(IllegalStateException.class, () -> engine.render("broken.html", Locale.ENGLISH, Map.of()));
+    }
+
+    @Test
+    void render_ShippedTemplatesEscapeStartupNames() {
+        EmailTemplateEngine shipped = new EmailTemplateEngine();
+        Map<String, Object> model = Map.of("investorName", "Ian", "startupName", "<script>x</script>",
+            "offerAmount", "$1.00");
+
+        String html = shipped.render("offer-received.html", Locale.ENGLISH, model);
+
+        assertTrue(html.contains("&lt;script&gt;x&lt;/script&gt;"));
+        assertFalse(html.contains("<script>"));
+        assertTrue(html.contains(".amount { font-size: 28px;"));
+        assertTrue(shipped.render("offer-received.html", Locale.GERMAN, model).contains("Neues Investitionsangebot"));
+    }
+}
@@ -1,5 +1,13 @@
 package com.platform.email.service;
 
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.List;
+
+/**
+ * The string-formatting templates that {@link EmailTemplateEngine} replaced,
+ * kept as the baseline for {@link EmailTemplateBenchmark}
+ */
 public class EmailTemplates {
 
     private static final String BASE_STYLE = """
@@ -164,4 +172,38 @@ public class EmailTemplates {
             </html>
             """.formatted(BASE_STYLE, firstName);
     }
+
+    public static String digestEmail(List<String> lines, int moreCount) {
+        StringBuilder items = new StringBuilder();
+        for (String line : lines) {
+            items.append("<li>").append(HtmlUtils.htmlEscape(line)).append("</li>");
+        }
+        String more = moreCount > 0 ? "<p>...and " + moreCount + " more.</p>" : "";
+        return """
+            <!DOCTYPE html>
+            <html>
+            <head>%s</head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>Your Activity Digest</h1>
+                    </div>
+                    <div class="content">
+                        <p>Here is what happened since your last digest:</p>
+                        <div class="highlight">
+                            <ul>%s</ul>
+                            %s
+                        </div>
+                        <p>Log in to your dashboard to see the details and respond.</p>
+                        <a href="#" class="button">Go to Dashboard</a>
+                    </div>
+                    <div class="footer">
+                        <p>Startup Investment Platform</p>
+                        <p>This is an automated message. Please do not reply directly to this email.</p>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """.formatted(BASE_STYLE, items, more);
+    }
 }
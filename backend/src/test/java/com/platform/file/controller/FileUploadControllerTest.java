@@ -0,0 +1,161 @@
+package com.platform.file.controller;
+
+import com.platform.file.model.FileType;
+import com.platform.file.model.FileUpload;
+import com.platform.file.repository.FileUploadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+    "file.upload-dir=target/test-uploads",
+    "file.download.sendfile-min-bytes=1024"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FileUploadControllerTest {
+
+    private static final int SIZE = 100_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FileUploadRepository fileUploadRepository;
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    private byte[] content;
+    private Path stored;
+    private FileUpload fileUpload;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fileUploadRepository.deleteAll();
+        content = new byte[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        String fileName = UUID.randomUUID() + ".pdf";
+        stored = Paths.get(uploadDir).toAbsolutePath().normalize().resolve(fileName);
+        Files.write(stored, content);
+        fileUpload = fileUploadRepository.save(new FileUpload(UUID.randomUUID(), fileName, "pitch deck.pdf",
+            "application/pdf", (long) SIZE, FileType.PITCH_DECK, UUID.randomUUID()));
+    }
+
+    private String url() {
+        return "/api/files/" + fileUpload.getId() + "/download";
+    }
+
+    @Test
+    void downloadFile_ReturnsWholeFileWithValidators() throws Exception {
+        MvcResult result = mockMvc.perform(get(url()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/pdf"))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, SIZE))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, private"))
+            .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"" + fileUpload.getId())))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("pitch%20deck.pdf")))
+            .andReturn();
+
+        assertArrayEquals(content, result.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void downloadFile_MatchingIfNoneMatchIsNotModified() throws Exception {
+        String etag = mockMvc.perform(get(url())).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult result = mockMvc.perform(get(url()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andReturn();
+
+        assertEquals(0, result.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    void downloadFile_RangeReturnsPartialContent() throws Exception {
+        MvcResult result = mockMvc.perform(get(url()).header(HttpHeaders.RANGE, "bytes=1000-1999"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 1000-1999/" + SIZE))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 1000))
+            .andReturn();
+
+        assertArrayEquals(Arrays.copyOfRange(content, 1000, 2000), result.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void downloadFile_SuffixRangeReturnsTail() throws Exception {
+        MvcResult result = mockMvc.perform(get(url()).header(HttpHeaders.RANGE, "bytes=-500"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes " + (SIZE - 500) + "-" + (SIZE - 1) + "/" + SIZE))
+            .andReturn();
+
+        assertArrayEquals(Arrays.copyOfRange(content, SIZE - 500, SIZE), result.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void downloadFile_RangePastEndIsNotSatisfiable() throws Exception {
+        mockMvc.perform(get(url()).header(HttpHeaders.RANGE, "bytes=" + SIZE + "-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + SIZE));
+    }
+
+    @Test
+    void downloadFile_StaleIfRangeSendsWholeFile() throws Exception {
+        MvcResult result = mockMvc.perform(get(url())
+                .header(HttpHeaders.RANGE, "bytes=0-99")
+                .header(HttpHeaders.IF_RANGE, "\"some-older-version\""))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+            .andReturn();
+
+        assertEquals(SIZE, result.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    void downloadFile_HandsOffToSendfileWhenSupported() throws Exception {
+        MvcResult result = mockMvc.perform(get(url())
+                .header(HttpHeaders.RANGE, "bytes=100-")
+                .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, SIZE - 100))
+            .andReturn();
+
+        assertEquals(stored.toString(), result.getRequest().getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(100L, result.getRequest().getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals((long) SIZE, result.getRequest().getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, result.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    void downloadFile_MissingFileIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/files/" + UUID.randomUUID() + "/download"))
+            .andExpect(status().isNotFound());
+
+        Files.delete(stored);
+        mockMvc.perform(get(url()))
+            .andExpect(status().isNotFound());
+    }
+}
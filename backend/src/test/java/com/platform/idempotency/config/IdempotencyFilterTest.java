@@ -0,0 +1,131 @@
+package com.platform.idempotency.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.idempotency.repository.IdempotencyRecordRepository;
+import com.platform.idempotency.service.IdempotencyService;
+import com.platform.investment.model.InvestmentOfferDTO;
+import com.platform.investment.repository.InvestmentOfferRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InvestmentOfferRepository investmentOfferRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final UUID ideaId = UUID.randomUUID();
+
+    @Test
+    void createOffer_RetriedWithSameKey_ReplaysFirstResponse() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        MvcResult first = mockMvc.perform(createOffer(key))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andReturn();
+        MvcResult retry = mockMvc.perform(createOffer(key))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        assertEquals(first.getResponse().getContentAsString(), retry.getResponse().getContentAsString());
+        assertEquals(1, investmentOfferRepository.findByIdeaId(ideaId).size());
+
+        mockMvc.perform(createOffer(UUID.randomUUID().toString())).andExpect(status().isCreated());
+        mockMvc.perform(createOffer(null)).andExpect(status().isCreated());
+        assertEquals(3, investmentOfferRepository.findByIdeaId(ideaId).size());
+    }
+
+    @Test
+    void createOffer_ConcurrentDuplicates_CollapseOntoOneOffer() throws Exception {
+        String key = UUID.randomUUID().toString();
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> requests = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            requests.add(executor.submit(() -> {
+                start.await();
+                return mockMvc.perform(createOffer(key))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString();
+            }));
+        }
+        start.countDown();
+        Set<String> bodies = new HashSet<>();
+        for (Future<String> request : requests) {
+            bodies.add(request.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, bodies.size());
+        assertEquals(1, investmentOfferRepository.findByIdeaId(ideaId).size());
+    }
+
+    @Test
+    void storedResponse_SurvivesLosingTheCache() throws Exception {
+        String key = UUID.randomUUID().toString();
+        mockMvc.perform(createOffer(key)).andExpect(status().isCreated());
+
+        // A fresh service has an empty cache, as after a restart
+        IdempotencyService restarted = new IdempotencyService(idempotencyRecordRepository, 24, 100);
+        String keyHash = restarted.keyHash("anonymous", "POST", "/api/investment-offers", key);
+
+        assertNotNull(restarted.find(keyHash));
+        assertEquals(201, restarted.find(keyHash).getStatusCode());
+    }
+
+    @Test
+    void nonPostAndOversizedKeys_AreHandled() throws Exception {
+        mockMvc.perform(createOffer("x".repeat(256))).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/investment-offers/idea/" + ideaId)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "k"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(0, investmentOfferRepository.findByIdeaId(ideaId).size());
+    }
+
+    private MockHttpServletRequestBuilder createOffer(String key) throws Exception {
+        InvestmentOfferDTO dto = new InvestmentOfferDTO(UUID.randomUUID(), ideaId,
+                new BigDecimal("10000"), new BigDecimal("1"), null);
+        MockHttpServletRequestBuilder request = post("/api/investment-offers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto));
+        return key != null ? request.header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key) : request;
+    }
+}
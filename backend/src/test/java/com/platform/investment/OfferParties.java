@@ -0,0 +1,81 @@
+package com.platform.investment;
+
+import com.platform.investor.model.Investor;
+import com.platform.investor.model.InvestorStatus;
+import com.platform.investor.repository.InvestorRepository;
+import com.platform.startup.model.Idea;
+import com.platform.startup.model.IdeaStatus;
+import com.platform.startup.model.Startup;
+import com.platform.startup.model.StartupStatus;
+import com.platform.startup.repository.IdeaRepository;
+import com.platform.startup.repository.StartupRepository;
+import com.platform.user.model.User;
+import com.platform.user.model.UserRole;
+import com.platform.user.model.UserStatus;
+import com.platform.user.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The rows an offer's notifications are built from: Fiona Founder with the
+ * published startup "Acme Robotics" and its idea "Warehouse Arms", and Ian
+ * Investor with an active investor profile
+ */
+public class OfferParties {
+    private final User founder;
+    private final User investorUser;
+    private final Startup startup;
+    private final Idea idea;
+    private final Investor investor;
+
+    private OfferParties(User founder, User investorUser, Startup startup, Idea idea, Investor investor) {
+        this.founder = founder;
+        this.investorUser = investorUser;
+        this.startup = startup;
+        this.idea = idea;
+        this.investor = investor;
+    }
+
+    public static OfferParties save(UserRepository userRepository, StartupRepository startupRepository,
+                                    IdeaRepository ideaRepository, InvestorRepository investorRepository) {
+        User founder = userRepository.save(user("Fiona", "Founder", UserRole.STARTUP));
+        User investorUser = userRepository.save(user("Ian", "Investor", UserRole.INVESTOR));
+        Startup startup = startupRepository.save(new Startup(founder.getId(), "Acme Robotics", "Robots",
+                "Seed", new BigDecimal("1000000"), null, StartupStatus.PUBLISHED));
+        Idea idea = ideaRepository.save(idea(startup, "Warehouse Arms"));
+        Investor investor = new Investor();
+        investor.setUserId(investorUser.getId());
+        investor.setStatus(InvestorStatus.ACTIVE);
+        return new OfferParties(founder, investorUser, startup, idea, investorRepository.save(investor));
+    }
+
+    /**
+     * An active user with a unique email, not yet saved
+     */
+    public static User user(String firstName, String lastName, UserRole role) {
+        String unique = UUID.randomUUID().toString();
+        return User.builder()
+                .email(unique + "@test.com")
+                .firstName(firstName)
+                .lastName(lastName)
+                .googleId(unique)
+                .userRole(role)
+                .status(UserStatus.ACTIVE)
+                .build();
+    }
+
+    /**
+     * A published idea of the startup, not yet saved
+     */
+    public static Idea idea(Startup startup, String title) {
+        return new Idea(startup.getId(), title, "Pitch", new BigDecimal("500000"), new BigDecimal("10"),
+                IdeaStatus.PUBLISHED);
+    }
+
+    public User getFounder() { return founder; }
+    public User getInvestorUser() { return investorUser; }
+    public Startup getStartup() { return startup; }
+    public Idea getIdea() { return idea; }
+    public Investor getInvestor() { return investor; }
+}
@@ -0,0 +1,115 @@
+package com.platform.investment.repository;
+
+import com.platform.investment.OfferParties;
+import com.platform.investment.model.InvestmentOffer;
+import com.platform.investment.model.OfferNotificationContext;
+import com.platform.investment.model.OfferStatus;
+import com.platform.investor.model.Investor;
+import com.platform.investor.repository.InvestorRepository;
+import com.platform.startup.model.Idea;
+import com.platform.startup.model.Startup;
+import com.platform.startup.repository.IdeaRepository;
+import com.platform.startup.repository.StartupRepository;
+import com.platform.user.model.User;
+import com.platform.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InvestmentOfferRepositoryTest {
+
+    @Autowired
+    private InvestmentOfferRepository investmentOfferRepository;
+
+    @Autowired
+    private StartupRepository startupRepository;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private InvestorRepository investorRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User founder;
+    private User investorUser;
+    private Startup startup;
+    private Idea idea;
+    private Investor investor;
+
+    @BeforeEach
+    void setUp() {
+        OfferParties parties = OfferParties.save(userRepository, startupRepository, ideaRepository,
+                investorRepository);
+        founder = parties.getFounder();
+        investorUser = parties.getInvestorUser();
+        startup = parties.getStartup();
+        idea = parties.getIdea();
+        investor = parties.getInvestor();
+    }
+
+    @Test
+    void findNotificationContext_JoinsStartupOwnerAndInvestor() {
+        InvestmentOffer offer = saveOffer(investor.getId(), idea.getId());
+
+        OfferNotificationContext context = investmentOfferRepository.findNotificationContext(offer.getId()).orElseThrow();
+
+        assertEquals(offer.getId(), context.getOfferId());
+        assertEquals(startup.getId(), context.getStartupId());
+        assertEquals(0, new BigDecimal("250000").compareTo(context.getOfferedAmount()));
+        assertEquals("Acme Robotics", context.getStartupName());
+        assertEquals(founder.getId(), context.getOwnerId());
+        assertEquals(founder.getEmail(), context.getOwnerEmail());
+        assertEquals(investorUser.getId(), context.getInvestorUserId());
+        assertEquals("Ian Investor", context.getInvestorDisplayName());
+        assertEquals(investorUser.getEmail(), context.getInvestorEmail());
+    }
+
+    @Test
+    void findNotificationContext_LeavesMissingRelationsNull() {
+        InvestmentOffer offer = saveOffer(UUID.randomUUID(), UUID.randomUUID());
+
+        OfferNotificationContext context = investmentOfferRepository.findNotificationContext(offer.getId()).orElseThrow();
+
+        assertNull(context.getStartupId());
+        assertNull(context.getStartupName());
+        assertNull(context.getOwnerId());
+        assertNull(context.getInvestorUserId());
+        assertNull(context.getInvestorDisplayName());
+    }
+
+    @Test
+    void findNotificationContexts_LoadsBatchInOneQuery() {
+        InvestmentOffer first = saveOffer(investor.getId(), idea.getId());
+        InvestmentOffer second = saveOffer(investor.getId(), idea.getId());
+
+        Map<UUID, OfferNotificationContext> contexts = investmentOfferRepository
+                .findNotificationContexts(List.of(first.getId(), second.getId(), UUID.randomUUID()))
+                .stream()
+                .collect(Collectors.toMap(OfferNotificationContext::getOfferId, Function.identity()));
+
+        assertEquals(2, contexts.size());
+        assertEquals("Acme Robotics", contexts.get(first.getId()).getStartupName());
+        assertEquals("Ian Investor", contexts.get(second.getId()).getInvestorDisplayName());
+    }
+
+    private InvestmentOffer saveOffer(UUID investorId, UUID ideaId) {
+        return investmentOfferRepository.save(new InvestmentOffer(investorId, ideaId,
+                new BigDecimal("250000"), new BigDecimal("10"), OfferStatus.PENDING));
+    }
+}
@@ -0,0 +1,243 @@
+package com.platform.investment.service;
+
+import com.platform.investment.model.FundingEntryType;
+import com.platform.investment.model.FundingHistoryDTO;
+import com.platform.investment.model.FundingLedgerEntry;
+import com.platform.investment.model.FundingPointDTO;
+import com.platform.investment.model.FundingSnapshot;
+import com.platform.investment.model.InvestmentOffer;
+import com.platform.investment.model.OfferStatus;
+import com.platform.investment.repository.FundingLedgerRepository;
+import com.platform.investment.repository.FundingSnapshotRepository;
+import com.platform.investment.repository.InvestmentOfferRepository;
+import com.platform.investment.OfferParties;
+import com.platform.startup.model.Idea;
+import com.platform.startup.model.Startup;
+import com.platform.startup.model.StartupStatus;
+import com.platform.startup.repository.IdeaRepository;
+import com.platform.startup.repository.StartupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "funding.snapshot-interval=3")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FundingHistoryServiceTest {
+
+    @Autowired
+    private FundingHistoryService fundingHistoryService;
+
+    @Autowired
+    private InvestmentOfferService investmentOfferService;
+
+    @Autowired
+    private InvestmentOfferRepository investmentOfferRepository;
+
+    @Autowired
+    private FundingLedgerRepository fundingLedgerRepository;
+
+    @Autowired
+    private FundingSnapshotRepository fundingSnapshotRepository;
+
+    @Autowired
+    private StartupRepository startupRepository;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Startup startup;
+    private Idea idea;
+
+    @BeforeEach
+    void setUp() {
+        startup = startupRepository.save(new Startup(UUID.randomUUID(), "History Inc", "Charts",
+                "Seed", new BigDecimal("1000000"), null, StartupStatus.PUBLISHED));
+        idea = ideaRepository.save(OfferParties.idea(startup, "Growth Charts"));
+    }
+
+    @Test
+    void getFundingAt_IncludesOpeningBalance() throws Exception {
+        // As written by V18 for funding recorded before the ledger existed
+        FundingLedgerEntry opening = new FundingLedgerEntry(null, startup.getId(), new BigDecimal("50000"),
+                FundingEntryType.MANUAL_ADJUSTMENT);
+        opening.setSequence(0);
+        opening.setNote("Opening balance");
+        fundingLedgerRepository.save(opening);
+        Thread.sleep(5);
+        LocalDateTime beforeOffers = LocalDateTime.now();
+        Thread.sleep(5);
+
+        for (int i = 0; i < 3; i++) {
+            investmentOfferService.acceptOffer(saveOffer(new BigDecimal("1000")).getId());
+        }
+
+        List<FundingSnapshot> snapshots = fundingSnapshotRepository.findByStartupIdOrderBySequenceAsc(startup.getId());
+        assertEquals(List.of(3L), snapshots.stream().map(FundingSnapshot::getSequence).toList());
+        assertEquals(0, new BigDecimal("53000").compareTo(snapshots.get(0).getTotal()));
+        assertEquals(0, new BigDecimal("50000").compareTo(fundingHistoryService.getFundingAt(startup.getId(), beforeOffers)));
+        assertEquals(0, new BigDecimal("53000").compareTo(
+                fundingHistoryService.getFundingAt(startup.getId(), LocalDateTime.now())));
+
+        FundingHistoryDTO history = fundingHistoryService.getHistory(startup.getId(), beforeOffers, null, 100);
+        assertEquals(0, new BigDecimal("50000").compareTo(history.getPoints().get(0).getFunding()));
+        FundingHistoryDTO whole = fundingHistoryService.getHistory(startup.getId(), null, null, 100);
+        assertEquals(0, new BigDecimal("53000").compareTo(whole.getPoints().get(whole.getPoints().size() - 1).getFunding()));
+    }
+
+    @Test
+    void getFundingAt_ReplaysTailAfterLatestSnapshot() throws Exception {
+        List<LocalDateTime> times = new ArrayList<>();
+        List<BigDecimal> expected = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 1; i <= 7; i++) {
+            BigDecimal amount = new BigDecimal(i * 1000);
+            if (i == 5) {
+                fundingHistoryService.recordAdjustment(startup.getId(), amount, "Wire transfer");
+            } else {
+                investmentOfferService.acceptOffer(saveOffer(amount).getId());
+            }
+            total = total.add(amount);
+            Thread.sleep(5);
+            times.add(LocalDateTime.now());
+            expected.add(total);
+            Thread.sleep(5);
+        }
+
+        List<FundingSnapshot> snapshots = fundingSnapshotRepository.findByStartupIdOrderBySequenceAsc(startup.getId());
+        assertEquals(List.of(3L, 6L), snapshots.stream().map(FundingSnapshot::getSequence).toList());
+        assertEquals(0, new BigDecimal("21000").compareTo(snapshots.get(1).getTotal()));
+
+        for (int i = 0; i < times.size(); i++) {
+            assertEquals(0, expected.get(i).compareTo(fundingHistoryService.getFundingAt(startup.getId(), times.get(i))),
+                    "funding after entry " + (i + 1));
+        }
+        assertEquals(0, BigDecimal.ZERO.compareTo(
+                fundingHistoryService.getFundingAt(startup.getId(), LocalDateTime.now().minusDays(1))));
+        assertEquals(0, total.compareTo(currentFunding()));
+    }
+
+    @Test
+    void withdrawOffer_AcceptedOfferTakesFundingBack() {
+        InvestmentOffer accepted = saveOffer(new BigDecimal("5000"));
+        InvestmentOffer pending = saveOffer(new BigDecimal("3000"));
+        investmentOfferService.acceptOffer(accepted.getId());
+
+        investmentOfferService.withdrawOffer(accepted.getId());
+        investmentOfferService.withdrawOffer(pending.getId());
+
+        List<FundingLedgerEntry> entries = fundingLedgerRepository.findByStartupIdOrderByCreatedAtAsc(startup.getId());
+        assertEquals(List.of(FundingEntryType.OFFER_ACCEPTED, FundingEntryType.OFFER_WITHDRAWN),
+                entries.stream().map(FundingLedgerEntry::getEntryType).toList());
+        assertEquals(List.of(1L, 2L), entries.stream().map(FundingLedgerEntry::getSequence).toList());
+        assertEquals(0, BigDecimal.ZERO.compareTo(currentFunding()));
+        assertEquals(OfferStatus.WITHDRAWN, investmentOfferRepository.findById(pending.getId()).orElseThrow().getStatus());
+        assertThrows(IllegalStateException.class, () -> investmentOfferService.withdrawOffer(pending.getId()));
+    }
+
+    @Test
+    void acceptOffer_FundsTheStartupOfTheOffersIdea() {
+        Idea other = ideaRepository.save(OfferParties.idea(startup, "Second Act"));
+        investmentOfferService.acceptOffer(saveOffer(new BigDecimal("2000")).getId());
+        investmentOfferService.acceptOffer(saveOffer(other.getId(), new BigDecimal("3000")).getId());
+
+        List<FundingLedgerEntry> entries = fundingLedgerRepository.findByStartupIdOrderByCreatedAtAsc(startup.getId());
+        assertEquals(List.of(1L, 2L), entries.stream().map(FundingLedgerEntry::getSequence).toList());
+        assertEquals(0, new BigDecimal("5000").compareTo(currentFunding()));
+        assertTrue(fundingLedgerRepository.findByStartupIdOrderByCreatedAtAsc(idea.getId()).isEmpty());
+
+        InvestmentOffer orphan = saveOffer(UUID.randomUUID(), new BigDecimal("1000"));
+        assertThrows(IllegalStateException.class, () -> investmentOfferService.acceptOffer(orphan.getId()));
+        assertEquals(OfferStatus.PENDING, investmentOfferRepository.findById(orphan.getId()).orElseThrow().getStatus());
+        assertEquals(0, new BigDecimal("5000").compareTo(currentFunding()));
+    }
+
+    @Test
+    void getHistory_DownsamplesLongRanges() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            fundingHistoryService.recordAdjustment(startup.getId(), new BigDecimal("100"), null);
+            Thread.sleep(2);
+        }
+
+        FundingHistoryDTO full = fundingHistoryService.getHistory(startup.getId(), null, null, 100);
+        assertEquals(20, full.getEntryCount());
+        assertEquals(21, full.getPoints().size());
+        assertEquals(0, new BigDecimal("100").compareTo(full.getPoints().get(0).getFunding()));
+
+        FundingHistoryDTO coarse = fundingHistoryService.getHistory(startup.getId(), null, null, 4);
+        assertTrue(coarse.getPoints().size() <= 6, "got " + coarse.getPoints().size() + " points");
+        FundingPointDTO last = coarse.getPoints().get(coarse.getPoints().size() - 1);
+        assertEquals(0, new BigDecimal("2000").compareTo(last.getFunding()));
+
+        // Spans of centuries are bucketed without overflowing
+        LocalDateTime first = full.getPoints().get(0).getAt();
+        FundingHistoryDTO distant = fundingHistoryService.getHistory(startup.getId(), first,
+                LocalDateTime.of(2900, 1, 1, 0, 0), 4);
+        assertEquals(19, distant.getEntryCount());
+        assertEquals(0, new BigDecimal("2000").compareTo(
+                distant.getPoints().get(distant.getPoints().size() - 1).getFunding()));
+        assertThrows(IllegalArgumentException.class, () -> fundingHistoryService.getHistory(startup.getId(),
+                LocalDateTime.of(1700, 1, 1, 0, 0), null, 4));
+
+        mockMvc.perform(get("/api/startups/" + startup.getId() + "/funding-history").param("points", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entryCount").value(20));
+        mockMvc.perform(get("/api/startups/" + UUID.randomUUID() + "/funding-history"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/startups/" + startup.getId() + "/funding-history").param("from", "1700-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getHistory_SumsBucketsInTheDatabase() {
+        LocalDateTime day = LocalDateTime.of(2025, 3, 1, 12, 0);
+        for (int i = 0; i < 30; i++) {
+            FundingLedgerEntry entry = fundingHistoryService.recordAdjustment(startup.getId(), new BigDecimal("100"), null);
+            jdbcTemplate.update("UPDATE funding_ledger SET created_at = ? WHERE id = ?", day.plusDays(i), entry.getId());
+        }
+
+        FundingHistoryDTO history = fundingHistoryService.getHistory(startup.getId(), null, day.plusDays(30), 10);
+
+        assertEquals(30, history.getEntryCount());
+        assertTrue(history.getPoints().size() <= 12, "got " + history.getPoints().size() + " points");
+        for (FundingPointDTO point : history.getPoints()) {
+            long applied = Math.min(30, Duration.between(day, point.getAt()).toDays() + 1);
+            assertEquals(0, new BigDecimal(100 * applied).compareTo(point.getFunding()), "funding at " + point.getAt());
+        }
+    }
+
+    private InvestmentOffer saveOffer(BigDecimal amount) {
+        return saveOffer(idea.getId(), amount);
+    }
+
+    private InvestmentOffer saveOffer(UUID ideaId, BigDecimal amount) {
+        return investmentOfferRepository.save(new InvestmentOffer(UUID.randomUUID(), ideaId,
+                amount, new BigDecimal("1"), OfferStatus.PENDING));
+    }
+
+    private BigDecimal currentFunding() {
+        return startupRepository.findById(startup.getId()).orElseThrow().getCurrentFunding();
+    }
+}
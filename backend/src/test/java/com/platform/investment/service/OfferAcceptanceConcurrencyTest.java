@@ -0,0 +1,218 @@
+package com.platform.investment.service;
+
+import com.platform.investment.model.InvestmentOffer;
+import com.platform.investment.model.InvestmentOfferDTO;
+import com.platform.investment.model.OfferStatus;
+import com.platform.investment.repository.FundingLedgerRepository;
+import com.platform.investment.repository.InvestmentOfferRepository;
+import com.platform.investment.OfferParties;
+import com.platform.startup.model.Idea;
+import com.platform.startup.model.Startup;
+import com.platform.startup.model.StartupStatus;
+import com.platform.startup.repository.IdeaRepository;
+import com.platform.startup.repository.StartupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OfferAcceptanceConcurrencyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OfferAcceptanceConcurrencyTest.class);
+
+    private static final int THREADS = 8;
+    private static final int OFFERS = 200;
+    private static final BigDecimal AMOUNT = new BigDecimal("1000.00");
+
+    @Autowired
+    private InvestmentOfferService investmentOfferService;
+
+    @Autowired
+    private InvestmentOfferRepository investmentOfferRepository;
+
+    @Autowired
+    private FundingLedgerRepository fundingLedgerRepository;
+
+    @Autowired
+    private StartupRepository startupRepository;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    private Startup startup;
+    private Idea idea;
+
+    @BeforeEach
+    void setUp() {
+        startup = startupRepository.save(new Startup(UUID.randomUUID(), "Contended Inc", "Popular",
+                "Seed", new BigDecimal("1000000"), null, StartupStatus.PUBLISHED));
+        idea = ideaRepository.save(OfferParties.idea(startup, "Hot Property"));
+    }
+
+    @Test
+    void acceptOffer_ConcurrentAcceptancesOnSameStartup_LoseNoFunding() throws Exception {
+        Queue<UUID> pending = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < OFFERS; i++) {
+            pending.add(saveOffer().getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                int accepted = 0;
+                UUID id;
+                while ((id = pending.poll()) != null) {
+                    investmentOfferService.acceptOffer(id);
+                    accepted++;
+                }
+                return accepted;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        int accepted = 0;
+        for (Future<Integer> worker : workers) {
+            accepted += worker.get(60, TimeUnit.SECONDS);
+        }
+        double seconds = (System.nanoTime() - began) / 1e9;
+        executor.shutdown();
+        logger.info("Accepted {} offers on one startup with {} threads in {} s ({} offers/s)",
+                accepted, THREADS, String.format("%.2f", seconds), String.format("%.0f", accepted / seconds));
+
+        BigDecimal expected = AMOUNT.multiply(BigDecimal.valueOf(OFFERS));
+        assertEquals(OFFERS, accepted);
+        assertEquals(0, expected.compareTo(currentFunding()));
+        assertEquals(0, expected.compareTo(fundingLedgerRepository.sumAmountByStartupId(startup.getId())));
+    }
+
+    @Test
+    void acceptOffer_RacingOnSameOffer_OnlyOneWins() throws Exception {
+        UUID offerId = saveOffer().getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger wins = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                try {
+                    investmentOfferService.acceptOffer(offerId);
+                    wins.incrementAndGet();
+                } catch (IllegalStateException | ConcurrencyFailureException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(1, wins.get());
+        assertEquals(THREADS - 1, conflicts.get());
+        assertEquals(1, fundingLedgerRepository.countByOfferId(offerId));
+        assertEquals(0, AMOUNT.compareTo(currentFunding()));
+        assertEquals(OfferStatus.ACCEPTED, investmentOfferRepository.findById(offerId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void rejectOffer_AfterAcceptance_IsRefused() {
+        UUID offerId = saveOffer().getId();
+        investmentOfferService.acceptOffer(offerId);
+
+        assertThrows(IllegalStateException.class, () -> investmentOfferService.rejectOffer(offerId));
+        assertThrows(IllegalStateException.class, () -> investmentOfferService.acceptOffer(offerId));
+        assertEquals(0, AMOUNT.compareTo(currentFunding()));
+    }
+
+    @Test
+    void createAndUpdate_IgnoreClientStatus() {
+        InvestmentOfferDTO dto = new InvestmentOfferDTO(UUID.randomUUID(), idea.getId(),
+                AMOUNT, new BigDecimal("1"), null);
+        dto.setStatus(OfferStatus.ACCEPTED);
+        InvestmentOffer created = investmentOfferService.createOffer(dto);
+        assertEquals(OfferStatus.PENDING, created.getStatus());
+
+        InvestmentOfferDTO update = new InvestmentOfferDTO();
+        update.setStatus(OfferStatus.ACCEPTED);
+        update.setMessage("Revised");
+        InvestmentOffer updated = investmentOfferService.updateOffer(created.getId(), update);
+
+        assertEquals(OfferStatus.PENDING, updated.getStatus());
+        assertEquals("Revised", updated.getMessage());
+        assertEquals(0, fundingLedgerRepository.countByOfferId(created.getId()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(currentFunding()));
+    }
+
+    @Test
+    void updateAndDelete_AcceptedOffer_KeepFundingInStep() {
+        UUID offerId = saveOffer().getId();
+        investmentOfferService.acceptOffer(offerId);
+
+        InvestmentOfferDTO update = new InvestmentOfferDTO();
+        update.setOfferedAmount(new BigDecimal("5000.00"));
+        assertThrows(IllegalStateException.class, () -> investmentOfferService.updateOffer(offerId, update));
+        InvestmentOfferDTO withdraw = new InvestmentOfferDTO();
+        withdraw.setStatus(OfferStatus.WITHDRAWN);
+        assertEquals(OfferStatus.ACCEPTED, investmentOfferService.updateOffer(offerId, withdraw).getStatus());
+        assertThrows(IllegalStateException.class, () -> investmentOfferService.deleteOffer(offerId));
+        assertEquals(0, AMOUNT.compareTo(currentFunding()));
+
+        investmentOfferService.withdrawOffer(offerId);
+        assertTrue(investmentOfferService.deleteOffer(offerId));
+        assertEquals(0, BigDecimal.ZERO.compareTo(currentFunding()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(fundingLedgerRepository.sumAmountByStartupId(startup.getId())));
+    }
+
+    @Test
+    void acceptRejectAndWithdraw_PastExpiry_AreRefused() {
+        InvestmentOffer offer = saveOffer();
+        offer.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        UUID offerId = investmentOfferRepository.save(offer).getId();
+
+        assertThrows(IllegalStateException.class, () -> investmentOfferService.acceptOffer(offerId));
+        assertThrows(IllegalStateException.class, () -> investmentOfferService.rejectOffer(offerId));
+        assertThrows(IllegalStateException.class, () -> investmentOfferService.withdrawOffer(offerId));
+        assertEquals(OfferStatus.PENDING, investmentOfferRepository.findById(offerId).orElseThrow().getStatus());
+        assertEquals(0, BigDecimal.ZERO.compareTo(currentFunding()));
+    }
+
+    private InvestmentOffer saveOffer() {
+        return investmentOfferRepository.save(new InvestmentOffer(UUID.randomUUID(), idea.getId(),
+                AMOUNT, new BigDecimal("1"), OfferStatus.PENDING));
+    }
+
+    private BigDecimal currentFunding() {
+        return startupRepository.findById(startup.getId()).orElseThrow().getCurrentFunding();
+    }
+}
@@ -0,0 +1,93 @@
+package com.platform.investment.service;
+
+import com.platform.investment.model.InvestmentOffer;
+import com.platform.investment.model.InvestmentOfferDTO;
+import com.platform.investment.model.OfferStatus;
+import com.platform.investment.repository.InvestmentOfferRepository;
+import com.platform.investment.repository.OfferOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OfferBatchSubmissionTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OfferBatchSubmissionTest.class);
+
+    private static final int OFFERS = 1000;
+
+    @Autowired
+    private InvestmentOfferService investmentOfferService;
+
+    @Autowired
+    private InvestmentOfferRepository investmentOfferRepository;
+
+    @Autowired
+    private OfferOutboxRepository offerOutboxRepository;
+
+    private final UUID investorId = UUID.randomUUID();
+
+    @Test
+    void createOffers_ThousandOffers_OneBatchAndOneGroupedJobPerChannel() {
+        // Warm up the insert path so the timings compare steady state
+        investmentOfferService.createOffers(offers(50));
+        investmentOfferService.createOffer(offers(1).get(0));
+
+        List<InvestmentOfferDTO> single = offers(OFFERS);
+        long began = System.nanoTime();
+        for (InvestmentOfferDTO dto : single) {
+            investmentOfferService.createOffer(dto);
+        }
+        double singleSeconds = (System.nanoTime() - began) / 1e9;
+
+        List<InvestmentOfferDTO> batch = offers(OFFERS);
+        began = System.nanoTime();
+        List<InvestmentOffer> created = investmentOfferService.createOffers(batch);
+        double batchSeconds = (System.nanoTime() - began) / 1e9;
+
+        logger.info("Created {} offers one by one in {} s ({} offers/s), as one batch in {} s ({} offers/s)",
+                OFFERS, String.format("%.2f", singleSeconds), String.format("%.0f", OFFERS / singleSeconds),
+                String.format("%.2f", batchSeconds), String.format("%.0f", OFFERS / batchSeconds));
+
+        UUID batchId = created.get(0).getBatchId();
+        assertEquals(OFFERS, created.size());
+        assertTrue(created.stream().allMatch(o -> batchId.equals(o.getBatchId())
+                && o.getStatus() == OfferStatus.PENDING && o.getId() != null));
+        assertEquals(OFFERS, investmentOfferRepository.findIdsByBatchId(batchId).size());
+        assertEquals(2, offerOutboxRepository.findByBatchId(batchId).size());
+    }
+
+    @Test
+    void createOffers_AnyInvalidOffer_RejectsWholeSet() {
+        List<InvestmentOfferDTO> batch = offers(3);
+        batch.get(1).setOfferedAmount(null);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> investmentOfferService.createOffers(batch));
+
+        assertTrue(e.getMessage().startsWith("Offer 1:"));
+        assertTrue(investmentOfferRepository.findByInvestorId(investorId).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> investmentOfferService.createOffers(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> investmentOfferService.createOffers(offers(OFFERS + 1)));
+    }
+
+    private List<InvestmentOfferDTO> offers(int count) {
+        List<InvestmentOfferDTO> offers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            offers.add(new InvestmentOfferDTO(investorId, UUID.randomUUID(),
+                    new BigDecimal("50000"), new BigDecimal("2.5"), null));
+        }
+        return offers;
+    }
+}
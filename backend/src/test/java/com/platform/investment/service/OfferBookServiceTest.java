@@ -0,0 +1,159 @@
+package com.platform.investment.service;
+
+import com.platform.investment.model.InvestmentOffer;
+import com.platform.investment.model.InvestmentOfferDTO;
+import com.platform.investment.model.OfferBookDTO;
+import com.platform.investment.model.OfferBookDeltaDTO;
+import com.platform.investment.model.OfferStatus;
+import com.platform.investment.repository.InvestmentOfferRepository;
+import com.platform.investment.OfferParties;
+import com.platform.startup.model.Idea;
+import com.platform.startup.model.Startup;
+import com.platform.startup.model.StartupStatus;
+import com.platform.startup.repository.IdeaRepository;
+import com.platform.startup.repository.StartupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OfferBookServiceTest {
+
+    @Autowired
+    private OfferBookService offerBookService;
+
+    @Autowired
+    private InvestmentOfferService investmentOfferService;
+
+    @Autowired
+    private InvestmentOfferRepository investmentOfferRepository;
+
+    @Autowired
+    private StartupRepository startupRepository;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @MockBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    private Startup startup;
+    private Idea idea;
+
+    @BeforeEach
+    void setUp() {
+        startup = startupRepository.save(new Startup(UUID.randomUUID(), "Book Co", "Orders",
+                "Seed", new BigDecimal("1000000"), null, StartupStatus.PUBLISHED));
+        idea = ideaRepository.save(OfferParties.idea(startup, "Order Matching"));
+    }
+
+    @Test
+    void getBook_LoadsAndSortsLiveOffers() {
+        InvestmentOffer small = saveOffer("1000", "500000", OfferStatus.PENDING);
+        InvestmentOffer large = saveOffer("5000", "400000", OfferStatus.NEGOTIATING);
+        InvestmentOffer noValuation = saveOffer("3000", null, OfferStatus.PENDING);
+        saveOffer("9000", "900000", OfferStatus.REJECTED);
+
+        OfferBookDTO book = offerBookService.getBook(idea.getId(), 20);
+
+        assertEquals(List.of(large.getId(), noValuation.getId(), small.getId()), ids(book.getByAmount()));
+        assertEquals(List.of(small.getId(), large.getId()), ids(book.getByValuation()));
+        assertEquals(4, book.getStats().getOfferCount());
+        assertEquals(1, book.getStats().getCountsByStatus().get(OfferStatus.REJECTED));
+        assertEquals(0, new BigDecimal("9000").compareTo(book.getStats().getTotalOffered()));
+        assertEquals(0, new BigDecimal("5000").compareTo(book.getStats().getHighestOffer()));
+        assertEquals(0, new BigDecimal("500000").compareTo(book.getStats().getBestValuation()));
+        assertEquals(1, offerBookService.getBook(idea.getId(), 1).getByAmount().size());
+    }
+
+    @Test
+    void offerChanges_UpdateBookAndPushDeltas() {
+        offerBookService.getBook(idea.getId(), 20);
+
+        InvestmentOfferDTO dto = new InvestmentOfferDTO(UUID.randomUUID(), idea.getId(),
+                new BigDecimal("2000"), new BigDecimal("2"), null);
+        InvestmentOffer created = investmentOfferService.createOffer(dto);
+        investmentOfferService.acceptOffer(created.getId());
+        InvestmentOffer rejected = investmentOfferService.createOffer(dto);
+        investmentOfferService.rejectOffer(rejected.getId());
+
+        OfferBookDTO book = offerBookService.getBook(idea.getId(), 20);
+        assertEquals(List.of(created.getId()), ids(book.getByAmount()));
+        assertEquals(0, new BigDecimal("2000").compareTo(book.getStats().getTotalAccepted()));
+        assertEquals(1, book.getStats().getCountsByStatus().get(OfferStatus.REJECTED));
+
+        ArgumentCaptor<OfferBookDeltaDTO> deltas = ArgumentCaptor.forClass(OfferBookDeltaDTO.class);
+        verify(messagingTemplate, atLeastOnce())
+                .convertAndSend(eq("/topic/idea/" + idea.getId() + "/offers"), deltas.capture());
+        OfferBookDeltaDTO last = deltas.getValue();
+        assertEquals(OfferBookDeltaDTO.Type.UPSERT, last.getType());
+        assertEquals(OfferStatus.REJECTED, last.getOffer().getStatus());
+        assertEquals(2, last.getStats().getOfferCount());
+
+        investmentOfferService.deleteOffer(rejected.getId());
+        assertEquals(OfferBookDeltaDTO.Type.REMOVE, latestDelta().getType());
+        assertEquals(1, offerBookService.getBook(idea.getId(), 20).getStats().getOfferCount());
+    }
+
+    @Test
+    void acceptOffer_WithoutValuationNextToValuedOffer_UpdatesBook() {
+        InvestmentOffer valued = saveOffer("1000", "500000", OfferStatus.PENDING);
+        InvestmentOffer noValuation = saveOffer("3000", null, OfferStatus.PENDING);
+        offerBookService.getBook(idea.getId(), 20);
+
+        investmentOfferService.acceptOffer(noValuation.getId());
+
+        OfferBookDTO book = offerBookService.getBook(idea.getId(), 20);
+        assertEquals(List.of(noValuation.getId(), valued.getId()), ids(book.getByAmount()));
+        assertEquals(List.of(valued.getId()), ids(book.getByValuation()));
+        assertEquals(0, new BigDecimal("3000").compareTo(book.getStats().getTotalAccepted()));
+        assertEquals(0, new BigDecimal("4000").compareTo(book.getStats().getTotalOffered()));
+    }
+
+    @Test
+    void getBook_ReloadsAfterTtl() {
+        OfferBookService cached = new OfferBookService(investmentOfferRepository, messagingTemplate, 10, 3600);
+        OfferBookService expiring = new OfferBookService(investmentOfferRepository, messagingTemplate, 10, 0);
+        cached.getBook(idea.getId(), 20);
+        expiring.getBook(idea.getId(), 20);
+
+        // Written behind the books' backs, as another node would
+        saveOffer("1000", null, OfferStatus.PENDING);
+
+        assertEquals(0, cached.getBook(idea.getId(), 20).getStats().getOfferCount());
+        assertEquals(1, expiring.getBook(idea.getId(), 20).getStats().getOfferCount());
+    }
+
+    private OfferBookDeltaDTO latestDelta() {
+        ArgumentCaptor<OfferBookDeltaDTO> deltas = ArgumentCaptor.forClass(OfferBookDeltaDTO.class);
+        verify(messagingTemplate, atLeastOnce())
+                .convertAndSend(eq("/topic/idea/" + idea.getId() + "/offers"), deltas.capture());
+        return deltas.getValue();
+    }
+
+    private InvestmentOffer saveOffer(String amount, String valuation, OfferStatus status) {
+        InvestmentOffer offer = new InvestmentOffer(UUID.randomUUID(), idea.getId(),
+                new BigDecimal(amount), new BigDecimal("1"), status);
+        offer.setValuation(valuation != null ? new BigDecimal(valuation) : null);
+        return investmentOfferRepository.save(offer);
+    }
+
+    private static List<UUID> ids(List<InvestmentOfferDTO> offers) {
+        return offers.stream().map(InvestmentOfferDTO::getId).toList();
+    }
+}
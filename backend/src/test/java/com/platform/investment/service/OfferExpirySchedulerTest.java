@@ -0,0 +1,98 @@
+package com.platform.investment.service;
+
+import com.platform.investment.model.InvestmentOffer;
+import com.platform.investment.model.OfferEventType;
+import com.platform.investment.model.OfferOutboxEvent;
+import com.platform.investment.model.OfferStatus;
+import com.platform.investment.model.OutboxChannel;
+import com.platform.investment.repository.InvestmentOfferRepository;
+import com.platform.investment.repository.OfferOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OfferExpirySchedulerTest {
+
+    @Autowired
+    private OfferExpiryScheduler offerExpiryScheduler;
+
+    @Autowired
+    private InvestmentOfferRepository investmentOfferRepository;
+
+    @Autowired
+    private OfferOutboxRepository offerOutboxRepository;
+
+    @BeforeEach
+    void setUp() {
+        offerOutboxRepository.deleteAll();
+        investmentOfferRepository.deleteAll();
+    }
+
+    @Test
+    void expireDue_ExpiresOnlyPendingOffersPastTheirExpiry() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        InvestmentOffer due = saveOffer(OfferStatus.PENDING, now.minusHours(1));
+        InvestmentOffer dueNow = saveOffer(OfferStatus.PENDING, now);
+        InvestmentOffer future = saveOffer(OfferStatus.PENDING, now.plusDays(1));
+        InvestmentOffer noExpiry = saveOffer(OfferStatus.PENDING, null);
+        InvestmentOffer accepted = saveOffer(OfferStatus.ACCEPTED, now.minusHours(1));
+
+        assertEquals(2, offerExpiryScheduler.expireDue(now));
+
+        assertEquals(OfferStatus.EXPIRED, status(due));
+        assertEquals(OfferStatus.EXPIRED, status(dueNow));
+        assertEquals(OfferStatus.PENDING, status(future));
+        assertEquals(OfferStatus.PENDING, status(noExpiry));
+        assertEquals(OfferStatus.ACCEPTED, status(accepted));
+        assertEquals(1L, investmentOfferRepository.findById(due.getId()).orElseThrow().getVersion());
+        assertEquals(0, offerExpiryScheduler.expireDue(now));
+    }
+
+    @Test
+    void expireDue_EnqueuesOneNotificationPerExpiredOffer() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 1200; i++) {
+            saveOffer(OfferStatus.PENDING, now.minusMinutes(i));
+        }
+
+        assertEquals(1200, offerExpiryScheduler.expireDue(now));
+
+        List<OfferOutboxEvent> events = offerOutboxRepository.findAll();
+        assertEquals(1200, events.size());
+        assertTrue(events.stream().allMatch(e -> e.getEventType() == OfferEventType.OFFER_EXPIRED
+                && e.getChannel() == OutboxChannel.NOTIFICATION));
+        assertEquals(1200, events.stream().map(OfferOutboxEvent::getOfferId).distinct().count());
+    }
+
+    @Test
+    void findEarliestExpiry_ReturnsNextPendingDeadline() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        saveOffer(OfferStatus.PENDING, now.plusHours(3));
+        saveOffer(OfferStatus.PENDING, now.plusHours(1));
+        saveOffer(OfferStatus.REJECTED, now.plusMinutes(5));
+
+        assertEquals(now.plusHours(1), investmentOfferRepository.findEarliestExpiry(OfferStatus.PENDING).orElseThrow());
+    }
+
+    private InvestmentOffer saveOffer(OfferStatus status, LocalDateTime expiresAt) {
+        InvestmentOffer offer = new InvestmentOffer(UUID.randomUUID(), UUID.randomUUID(),
+                new BigDecimal("50000"), new BigDecimal("5"), status);
+        offer.setExpiresAt(expiresAt);
+        return investmentOfferRepository.save(offer);
+    }
+
+    private OfferStatus status(InvestmentOffer offer) {
+        return investmentOfferRepository.findById(offer.getId()).orElseThrow().getStatus();
+    }
+}
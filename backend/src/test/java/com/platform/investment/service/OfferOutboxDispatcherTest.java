@@ -0,0 +1,272 @@
+package com.platform.investment.service;
+
+import com.platform.email.service.EmailService;
+import com.platform.investment.OfferParties;
+import com.platform.investment.model.InvestmentOffer;
+import com.platform.investment.model.InvestmentOfferDTO;
+import com.platform.investment.model.OfferEventType;
+import com.platform.investment.model.OfferOutboxEvent;
+import com.platform.investment.model.OutboxChannel;
+import com.platform.investment.model.OutboxStatus;
+import com.platform.investment.repository.InvestmentOfferRepository;
+import com.platform.investment.repository.OfferOutboxRepository;
+import com.platform.investor.model.Investor;
+import com.platform.investor.repository.InvestorRepository;
+import com.platform.notification.model.NotificationChannel;
+import com.platform.notification.model.NotificationType;
+import com.platform.notification.service.NotificationPreferenceService;
+import com.platform.notification.service.NotificationService;
+import com.platform.startup.model.Idea;
+import com.platform.startup.model.Startup;
+import com.platform.startup.model.StartupStatus;
+import com.platform.startup.repository.IdeaRepository;
+import com.platform.startup.repository.StartupRepository;
+import com.platform.user.model.User;
+import com.platform.user.model.UserRole;
+import com.platform.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// Offer emails are sent one by one here; NotificationDigestServiceTest covers the digest
+@SpringBootTest(properties = "notifications.digest.types=")
+@ActiveProfiles("test")
+class OfferOutboxDispatcherTest {
+
+    @Autowired
+    private OfferOutboxDispatcher offerOutboxDispatcher;
+
+    @Autowired
+    private InvestmentOfferService investmentOfferService;
+
+    @Autowired
+    private OfferOutboxRepository offerOutboxRepository;
+
+    @Autowired
+    private InvestmentOfferRepository investmentOfferRepository;
+
+    @Autowired
+    private StartupRepository startupRepository;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private InvestorRepository investorRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationPreferenceService notificationPreferenceService;
+
+    @MockBean
+    private NotificationService notificationService;
+
+    @MockBean
+    private EmailService emailService;
+
+    private User founder;
+    private Startup startup;
+    private Idea idea;
+    private Investor investor;
+
+    @BeforeEach
+    void setUp() {
+        offerOutboxRepository.deleteAll();
+        investmentOfferRepository.deleteAll();
+
+        OfferParties parties = OfferParties.save(userRepository, startupRepository, ideaRepository,
+                investorRepository);
+        founder = parties.getFounder();
+        startup = parties.getStartup();
+        idea = parties.getIdea();
+        investor = parties.getInvestor();
+    }
+
+    @Test
+    void createOffer_WritesOutboxRowsInsteadOfNotifyingInline() {
+        InvestmentOffer offer = createOffer();
+
+        List<OfferOutboxEvent> events = offerOutboxRepository.findByOfferId(offer.getId());
+        assertEquals(2, events.size());
+        assertTrue(events.stream().allMatch(e -> e.getEventType() == OfferEventType.OFFER_CREATED
+                && e.getStatus() == OutboxStatus.PENDING));
+        verifyNoInteractions(notificationService, emailService);
+    }
+
+    @Test
+    void dispatchPending_DeliversNotificationAndEmail() {
+        InvestmentOffer offer = createOffer();
+
+        assertEquals(2, offerOutboxDispatcher.dispatchPending());
+
+        verify(notificationService).notifyOfferReceived(founder.getId(), startup.getId(), "Ian Investor", "Acme Robotics", offer.getId());
+        verify(emailService).sendOfferReceivedEmail(founder.getEmail(), "Ian Investor", "Acme Robotics", "$250,000.00");
+        assertTrue(offerOutboxRepository.findByOfferId(offer.getId()).stream()
+                .allMatch(e -> e.getStatus() == OutboxStatus.SENT && e.getAttempts() == 1));
+        assertEquals(0, offerOutboxDispatcher.dispatchPending());
+    }
+
+    @Test
+    void dispatchPending_RetriesFailedChannelOnlyWithBackoff() {
+        InvestmentOffer offer = createOffer();
+        investmentOfferService.acceptOffer(offer.getId());
+        doThrow(new MailSendException("smtp down")).when(emailService).sendOfferAcceptedEmail(anyString(), anyString(), anyString());
+
+        offerOutboxDispatcher.dispatchPending();
+
+        verify(notificationService).notifyOfferAccepted(any(), eq("Acme Robotics"), eq(offer.getId()));
+        OfferOutboxEvent email = event(offer, OfferEventType.OFFER_ACCEPTED, OutboxChannel.EMAIL);
+        assertEquals(OutboxStatus.PENDING, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertTrue(email.getLastError().contains("smtp down"));
+        assertTrue(email.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(OutboxStatus.SENT, event(offer, OfferEventType.OFFER_ACCEPTED, OutboxChannel.NOTIFICATION).getStatus());
+
+        // Not due yet
+        assertEquals(0, offerOutboxDispatcher.dispatchPending());
+    }
+
+    @Test
+    void dispatchPending_MarksEventFailedAfterMaxAttempts() {
+        InvestmentOffer offer = createOffer();
+        doThrow(new MailSendException("smtp down")).when(emailService)
+                .sendOfferReceivedEmail(anyString(), anyString(), anyString(), anyString());
+        OfferOutboxEvent email = event(offer, OfferEventType.OFFER_CREATED, OutboxChannel.EMAIL);
+        email.setAttempts(7);
+        offerOutboxRepository.save(email);
+
+        offerOutboxDispatcher.dispatchPending();
+
+        email = event(offer, OfferEventType.OFFER_CREATED, OutboxChannel.EMAIL);
+        assertEquals(OutboxStatus.FAILED, email.getStatus());
+        assertEquals(8, email.getAttempts());
+        assertNotNull(email.getProcessedAt());
+    }
+
+    @Test
+    void dispatchPending_NotifiesInvestorOfExpiry() {
+        InvestmentOffer offer = createOffer();
+        offerOutboxDispatcher.dispatchPending();
+        offerOutboxRepository.save(new OfferOutboxEvent(offer.getId(), OfferEventType.OFFER_EXPIRED, OutboxChannel.NOTIFICATION));
+
+        assertEquals(1, offerOutboxDispatcher.dispatchPending());
+
+        verify(notificationService).notifyOfferExpired(any(), eq("Acme Robotics"), eq(offer.getId()));
+    }
+
+    @Test
+    void dispatchPending_ExpandsGroupedBatchEventIntoOneEventPerOffer() {
+        User secondFounder = userRepository.save(OfferParties.user("Sam", "Second", UserRole.STARTUP));
+        Startup second = startupRepository.save(new Startup(secondFounder.getId(), "Beta Bio", "Biotech",
+                "Seed", new BigDecimal("500000"), null, StartupStatus.PUBLISHED));
+        Idea secondIdea = ideaRepository.save(OfferParties.idea(second, "Enzyme Screening"));
+        List<InvestmentOffer> offers = investmentOfferService.createOffers(List.of(
+                offerDTO(idea.getId()), offerDTO(secondIdea.getId())));
+        UUID batchId = offers.get(0).getBatchId();
+
+        List<OfferOutboxEvent> events = offerOutboxRepository.findByBatchId(batchId);
+        assertEquals(2, events.size());
+        assertTrue(events.stream().allMatch(e -> e.getOfferId() == null));
+
+        // Claiming the grouped events expands them; the per-offer events go out next
+        assertEquals(2, offerOutboxDispatcher.dispatchPending());
+        verifyNoInteractions(notificationService, emailService);
+        assertEquals(2, offerOutboxRepository.findByOfferId(offers.get(0).getId()).size());
+        assertEquals(4, offerOutboxDispatcher.dispatchPending());
+
+        verify(notificationService).notifyOfferReceived(founder.getId(), startup.getId(), "Ian Investor", "Acme Robotics", offers.get(0).getId());
+        verify(notificationService).notifyOfferReceived(secondFounder.getId(), second.getId(), "Ian Investor", "Beta Bio", offers.get(1).getId());
+        verify(emailService).sendOfferReceivedEmail(secondFounder.getEmail(), "Ian Investor", "Beta Bio", "$250,000.00");
+        assertTrue(offerOutboxRepository.findByBatchId(batchId).stream().allMatch(e -> e.getStatus() == OutboxStatus.SENT));
+    }
+
+    @Test
+    void dispatchPending_FailingOfferInBatch_RetriesOnlyThatOffer() {
+        User secondFounder = userRepository.save(OfferParties.user("Sam", "Second", UserRole.STARTUP));
+        Startup second = startupRepository.save(new Startup(secondFounder.getId(), "Beta Bio", "Biotech",
+                "Seed", new BigDecimal("500000"), null, StartupStatus.PUBLISHED));
+        Idea secondIdea = ideaRepository.save(OfferParties.idea(second, "Enzyme Screening"));
+        List<InvestmentOffer> offers = investmentOfferService.createOffers(List.of(
+                offerDTO(idea.getId()), offerDTO(secondIdea.getId())));
+        doThrow(new MailSendException("Mailbox full"))
+                .when(emailService).sendOfferReceivedEmail(eq(secondFounder.getEmail()), anyString(), anyString(), anyString());
+
+        offerOutboxDispatcher.dispatchPending();
+        offerOutboxDispatcher.dispatchPending();
+
+        assertEquals(OutboxStatus.SENT, event(offers.get(0), OfferEventType.OFFER_CREATED, OutboxChannel.EMAIL).getStatus());
+        OfferOutboxEvent failed = event(offers.get(1), OfferEventType.OFFER_CREATED, OutboxChannel.EMAIL);
+        assertEquals(OutboxStatus.PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+
+        failed.setNextAttemptAt(LocalDateTime.now());
+        offerOutboxRepository.save(failed);
+        assertEquals(1, offerOutboxDispatcher.dispatchPending());
+        verify(emailService, times(1)).sendOfferReceivedEmail(eq(founder.getEmail()), anyString(), anyString(), anyString());
+        verify(notificationService, times(1)).notifyOfferReceived(eq(founder.getId()), any(), any(), any(), any());
+    }
+
+    @Test
+    void createOffer_OwnerWithEmailOff_OnlyNotificationIsEnqueued() {
+        notificationPreferenceService.updatePreferences(founder.getId(),
+                Map.of(NotificationType.OFFER_RECEIVED, Map.of(NotificationChannel.EMAIL, false)));
+
+        InvestmentOffer offer = createOffer();
+
+        List<OfferOutboxEvent> events = offerOutboxRepository.findByOfferId(offer.getId());
+        assertEquals(1, events.size());
+        assertEquals(OutboxChannel.NOTIFICATION, events.get(0).getChannel());
+    }
+
+    @Test
+    void dispatchPending_SkipsEmailTurnedOffAfterEnqueue() {
+        InvestmentOffer offer = createOffer();
+        investmentOfferService.rejectOffer(offer.getId());
+        notificationPreferenceService.updatePreferences(investor.getUserId(),
+                Map.of(NotificationType.OFFER_REJECTED, Map.of(NotificationChannel.EMAIL, false)));
+
+        offerOutboxDispatcher.dispatchPending();
+
+        verify(notificationService).notifyOfferRejected(any(), eq("Acme Robotics"), eq(offer.getId()));
+        verify(emailService, never()).sendOfferRejectedEmail(anyString(), anyString(), anyString());
+        assertEquals(OutboxStatus.SENT, event(offer, OfferEventType.OFFER_REJECTED, OutboxChannel.EMAIL).getStatus());
+    }
+
+    private InvestmentOffer createOffer() {
+        return investmentOfferService.createOffer(offerDTO(idea.getId()));
+    }
+
+    private InvestmentOfferDTO offerDTO(UUID ideaId) {
+        InvestmentOfferDTO dto = new InvestmentOfferDTO();
+        dto.setInvestorId(investor.getId());
+        dto.setIdeaId(ideaId);
+        dto.setOfferedAmount(new BigDecimal("250000"));
+        dto.setEquityPercentage(new BigDecimal("10"));
+        return dto;
+    }
+
+    private OfferOutboxEvent event(InvestmentOffer offer, OfferEventType type, OutboxChannel channel) {
+        return offerOutboxRepository.findByOfferId(offer.getId()).stream()
+                .filter(e -> e.getEventType() == type && e.getChannel() == channel)
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,131 @@
+package com.platform.matching.service;
+
+import com.platform.investor.model.Investor;
+import com.platform.investor.model.InvestorStatus;
+import com.platform.startup.model.Startup;
+import com.platform.startup.model.StartupStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring throughput of the matching engine: a raw pass of the scorer over
+ * the primitive startup features, a full candidate rescan for one investor,
+ * and an incremental startup update against every investor.
+ *
+ * Run with:
+ * <pre>
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *       "-Dexec.args=-cp %classpath com.platform.matching.service.MatchScoringBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchScoringBenchmark {
+
+    private static final String[] STAGES = {"Pre-seed", "Seed", "Series A", "Series B", "Series C"};
+    private static final String[] WORDS = {"AI", "health", "fintech", "climate", "robotics", "SaaS",
+            "biotech", "logistics", "education", "gaming", "security", "retail"};
+
+    @Param({"10000", "100000"})
+    private int startups;
+
+    @Param({"1000"})
+    private int investors;
+
+    private long[] stages;
+    private int[][] sectors;
+    private double[] needs;
+    private long investorStages;
+    private int[] investorSectors;
+
+    private MatchingEngine engine;
+    private Investor investor;
+    private Startup updated;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        random = new Random(7);
+        stages = new long[startups];
+        sectors = new int[startups][];
+        needs = new double[startups];
+        engine = new MatchingEngine(50);
+        for (int i = 0; i < startups; i++) {
+            Startup startup = startup(i);
+            stages[i] = MatchFeatures.stageBit(startup.getStage());
+            sectors[i] = engine.sectorIds(startup.getCompanyName(), startup.getDescription());
+            needs[i] = MatchFeatures.remainingNeed(startup.getFundingGoal(), startup.getCurrentFunding());
+            engine.upsertStartup(startup);
+            if (i == 0) {
+                updated = startup;
+            }
+        }
+        for (int i = 0; i < investors; i++) {
+            investor = new Investor(UUID.randomUUID(), null, pick(STAGES) + ", " + pick(STAGES),
+                    pick(WORDS) + ", " + pick(WORDS), InvestorStatus.ACTIVE);
+            investor.setId(UUID.randomUUID());
+            investor.setMinTicketSize(BigDecimal.valueOf(25000));
+            investor.setMaxTicketSize(BigDecimal.valueOf(500000));
+            engine.upsertInvestor(investor);
+        }
+        investorStages = MatchFeatures.stageMask(investor.getInvestmentStage());
+        investorSectors = engine.sectorIds(investor.getSectorsInterested());
+    }
+
+    @Benchmark
+    public void scoreAllStartups(Blackhole blackhole) {
+        for (int i = 0; i < stages.length; i++) {
+            blackhole.consume(MatchScorer.score(investorStages, investorSectors, 25000, 500000,
+                    stages[i], sectors[i], needs[i]));
+        }
+    }
+
+    @Benchmark
+    public void rescanInvestor() {
+        engine.upsertInvestor(investor);
+    }
+
+    @Benchmark
+    public void updateStartup() {
+        updated.setCurrentFunding(BigDecimal.valueOf(random.nextInt(200000)));
+        engine.upsertStartup(updated);
+    }
+
+    private Startup startup(int i) {
+        Startup startup = new Startup(UUID.randomUUID(), "Startup " + i, pick(WORDS) + " " + pick(WORDS) + " for teams",
+                pick(STAGES), BigDecimal.valueOf(100000L * (1 + random.nextInt(50))), null, StartupStatus.PUBLISHED);
+        startup.setId(UUID.randomUUID());
+        return startup;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(MatchScoringBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
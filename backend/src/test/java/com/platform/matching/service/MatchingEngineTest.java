@@ -0,0 +1,129 @@
+package com.platform.matching.service;
+
+import com.platform.investor.model.Investor;
+import com.platform.investor.model.InvestorStatus;
+import com.platform.matching.model.StartupMatchDTO;
+import com.platform.startup.model.Startup;
+import com.platform.startup.model.StartupStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchingEngineTest {
+
+    @Test
+    void matches_RanksBySectorStageAndTicketFit() {
+        MatchingEngine engine = new MatchingEngine(10);
+        Startup ai = startup("Botly", "AI-powered customer service automation.", "Seed", "500000");
+        Startup health = startup("Vitals", "Health monitoring app with wearable integration.", "Seed", "400000");
+        Startup seriesB = startup("ScaleAI", "AI infrastructure.", "Series B", "5000000");
+        Startup tooSmall = startup("TinyAI", "AI notebooks.", "Seed", "20000");
+        List.of(ai, health, seriesB, tooSmall).forEach(engine::upsertStartup);
+
+        Investor investor = investor("Seed, Series A", "Technology, AI/ML, SaaS", "50000", "500000");
+        engine.upsertInvestor(investor);
+
+        List<StartupMatchDTO> matches = engine.matches(investor.getId(), 10);
+        assertEquals(List.of(ai.getId(), health.getId()), ids(matches));
+        assertTrue(matches.get(0).getScore() > matches.get(1).getScore());
+    }
+
+    @Test
+    void upsertStartup_UpdatesExistingCandidateLists() {
+        MatchingEngine engine = new MatchingEngine(10);
+        Investor investor = investor("Seed", "Healthcare", null, null);
+        engine.upsertInvestor(investor);
+        Startup health = startup("Vitals", "Healthcare analytics", "Seed", "400000");
+
+        engine.upsertStartup(health);
+        assertEquals(List.of(health.getId()), ids(engine.matches(investor.getId(), 10)));
+
+        // Fully funded startups drop out
+        health.setCurrentFunding(new BigDecimal("400000"));
+        engine.upsertStartup(health);
+        assertTrue(engine.matches(investor.getId(), 10).isEmpty());
+
+        health.setCurrentFunding(BigDecimal.ZERO);
+        engine.upsertStartup(health);
+        engine.removeStartup(health.getId());
+        assertTrue(engine.matches(investor.getId(), 10).isEmpty());
+    }
+
+    @Test
+    void incrementalUpdates_AgreeWithFullRescan() {
+        int topN = 5;
+        Random random = new Random(42);
+        String[] stages = {"Pre-seed", "Seed", "Series A", "Series B"};
+        String[] words = {"AI", "health", "fintech", "climate", "robotics", "SaaS", "biotech", "logistics"};
+        MatchingEngine engine = new MatchingEngine(topN);
+        List<Investor> investors = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Investor investor = investor(stages[random.nextInt(stages.length)] + ", " + stages[random.nextInt(stages.length)],
+                    words[random.nextInt(words.length)] + ", " + words[random.nextInt(words.length)],
+                    String.valueOf(10000 * (1 + random.nextInt(5))), String.valueOf(100000 * (1 + random.nextInt(10))));
+            investors.add(investor);
+            engine.upsertInvestor(investor);
+        }
+        Map<UUID, Startup> startups = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        for (int step = 0; step < 2000; step++) {
+            int action = random.nextInt(10);
+            if (action < 6 || ids.isEmpty()) {
+                Startup startup = ids.isEmpty() || action < 3
+                        ? startup("S" + step, "", "Seed", "100000")
+                        : startups.get(ids.get(random.nextInt(ids.size())));
+                startup.setStage(stages[random.nextInt(stages.length)]);
+                startup.setDescription(words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]);
+                startup.setFundingGoal(BigDecimal.valueOf(50000L * (1 + random.nextInt(40))));
+                startup.setCurrentFunding(BigDecimal.valueOf(25000L * random.nextInt(10)));
+                if (startups.put(startup.getId(), startup) == null) {
+                    ids.add(startup.getId());
+                }
+                engine.upsertStartup(startup);
+            } else {
+                UUID removed = ids.remove(random.nextInt(ids.size()));
+                startups.remove(removed);
+                engine.removeStartup(removed);
+            }
+        }
+
+        MatchingEngine fresh = new MatchingEngine(topN);
+        startups.values().forEach(fresh::upsertStartup);
+        for (Investor investor : investors) {
+            fresh.upsertInvestor(investor);
+            assertEquals(scores(fresh.matches(investor.getId(), topN)), scores(engine.matches(investor.getId(), topN)));
+        }
+    }
+
+    private static List<UUID> ids(List<StartupMatchDTO> matches) {
+        return matches.stream().map(StartupMatchDTO::getStartupId).toList();
+    }
+
+    private static List<Double> scores(List<StartupMatchDTO> matches) {
+        return matches.stream().map(StartupMatchDTO::getScore).sorted(Comparator.reverseOrder()).toList();
+    }
+
+    private static Startup startup(String name, String description, String stage, String goal) {
+        Startup startup = new Startup(UUID.randomUUID(), name, description, stage,
+                new BigDecimal(goal), null, StartupStatus.PUBLISHED);
+        startup.setId(UUID.randomUUID());
+        return startup;
+    }
+
+    private static Investor investor(String stages, String sectors, String minTicket, String maxTicket) {
+        Investor investor = new Investor(UUID.randomUUID(), null, stages, sectors, InvestorStatus.ACTIVE);
+        investor.setId(UUID.randomUUID());
+        investor.setMinTicketSize(minTicket != null ? new BigDecimal(minTicket) : null);
+        investor.setMaxTicketSize(maxTicket != null ? new BigDecimal(maxTicket) : null);
+        return investor;
+    }
+}
@@ -0,0 +1,98 @@
+package com.platform.matching.service;
+
+import com.platform.investor.model.Investor;
+import com.platform.investor.model.InvestorDTO;
+import com.platform.investor.model.InvestorStatus;
+import com.platform.investor.service.InvestorService;
+import com.platform.matching.model.StartupMatchDTO;
+import com.platform.startup.model.Startup;
+import com.platform.startup.model.StartupDTO;
+import com.platform.startup.model.StartupStatus;
+import com.platform.startup.service.StartupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MatchingServiceTest {
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Autowired
+    private StartupService startupService;
+
+    @Autowired
+    private InvestorService investorService;
+
+    private Investor investor;
+
+    @BeforeEach
+    void setUp() {
+        InvestorDTO dto = new InvestorDTO();
+        dto.setUserId(UUID.randomUUID());
+        dto.setInvestmentStage("Pre-seed, Seed");
+        dto.setSectorsInterested("Quantum computing");
+        dto.setMinTicketSize(new BigDecimal("25000"));
+        dto.setMaxTicketSize(new BigDecimal("250000"));
+        investor = investorService.createInvestor(dto);
+    }
+
+    @Test
+    void getMatches_FollowsStartupChanges() {
+        Startup startup = createStartup("Qubitworks", "Quantum computing for chemistry", StartupStatus.PUBLISHED);
+
+        List<StartupMatchDTO> matches = matchingService.getMatches(investor.getId(), 100).orElseThrow();
+        StartupMatchDTO match = matches.stream()
+                .filter(m -> m.getStartupId().equals(startup.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Qubitworks", match.getCompanyName());
+        assertEquals(matches.get(0).getStartupId(), startup.getId());
+
+        StartupDTO archive = new StartupDTO();
+        archive.setStatus(StartupStatus.ARCHIVED);
+        startupService.updateStartup(startup.getId(), archive);
+
+        assertTrue(matchingService.getMatches(investor.getId(), 100).orElseThrow().stream()
+                .noneMatch(m -> m.getStartupId().equals(startup.getId())));
+    }
+
+    @Test
+    void getMatches_DraftStartupsAreNotMatched() {
+        Startup draft = createStartup("Qubitdraft", "Quantum computing", StartupStatus.DRAFT);
+
+        assertTrue(matchingService.getMatches(investor.getId(), 100).orElseThrow().stream()
+                .noneMatch(m -> m.getStartupId().equals(draft.getId())));
+    }
+
+    @Test
+    void getMatches_InactiveOrUnknownInvestor() {
+        InvestorDTO suspend = new InvestorDTO();
+        suspend.setStatus(InvestorStatus.INACTIVE);
+        investorService.updateInvestor(investor.getId(), suspend);
+
+        assertEquals(List.of(), matchingService.getMatches(investor.getId(), 10).orElseThrow());
+        assertTrue(matchingService.getMatches(UUID.randomUUID(), 10).isEmpty());
+    }
+
+    private Startup createStartup(String name, String description, StartupStatus status) {
+        StartupDTO dto = new StartupDTO();
+        dto.setUserId(UUID.randomUUID());
+        dto.setCompanyName(name);
+        dto.setDescription(description);
+        dto.setStage("Seed");
+        dto.setFundingGoal(new BigDecimal("200000"));
+        dto.setStatus(status);
+        return startupService.createStartup(dto);
+    }
+}
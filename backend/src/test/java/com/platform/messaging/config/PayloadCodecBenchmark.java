@@ -0,0 +1,83 @@
+package com.platform.messaging.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.platform.messaging.model.MessageDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON vs Smile vs CBOR for a typical chat frame: direct serialization of
+ * the DTO, and re-encoding of the already serialized JSON payload as done by
+ * {@link PayloadCodecNegotiator}. Frame sizes are printed during setup.
+ *
+ * Run with:
+ * <pre>
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *       "-Dexec.args=-cp %classpath com.platform.messaging.config.PayloadCodecBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadCodecBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private PayloadCodec codec;
+
+    @Param({"40", "400"})
+    private int contentLength;
+
+    private ObjectMapper mapper;
+    private MessageDTO message;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = new ObjectMapper(codec.getFactory().copy())
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        message = new MessageDTO(UUID.randomUUID(), UUID.randomUUID(), "x".repeat(contentLength));
+        message.setId(UUID.randomUUID());
+        message.setCreatedAt(LocalDateTime.now());
+        json = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writeValueAsBytes(message);
+        System.out.printf("%n%s, content %d chars: %d bytes (JSON %d)%n",
+                codec, contentLength, mapper.writeValueAsBytes(message).length, json.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return mapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public byte[] transcodeFromJson() throws Exception {
+        return codec.transcode(json);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(PayloadCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
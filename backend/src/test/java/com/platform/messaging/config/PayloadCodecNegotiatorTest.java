@@ -0,0 +1,150 @@
+package com.platform.messaging.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.StompSubProtocolHandler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PayloadCodecNegotiatorTest {
+
+    private static final byte[] JSON = "{\"id\":7,\"content\":\"hello\",\"isRead\":false,\"tags\":[\"a\",\"b\"]}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private PayloadCodecNegotiator negotiator;
+    private MessageChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        negotiator = new PayloadCodecNegotiator();
+        channel = mock(MessageChannel.class);
+    }
+
+    @Test
+    void connect_NegotiatesFirstSupportedCodec() {
+        negotiator.preSend(connect("s1", "msgpack, cbor, smile", true), channel);
+
+        assertEquals(PayloadCodec.CBOR, negotiator.getCodec("s1"));
+    }
+
+    @Test
+    void connect_KeepsJsonWithoutBinaryFrames() {
+        negotiator.preSend(connect("s1", "cbor", false), channel);
+
+        assertEquals(PayloadCodec.JSON, negotiator.getCodec("s1"));
+        assertSame(JSON, negotiator.preSend(message("s1", JSON), channel).getPayload());
+    }
+
+    @Test
+    void message_IsReencodedForNegotiatedSession() throws Exception {
+        negotiator.preSend(connect("s1", "cbor", true), channel);
+
+        Message<?> encoded = negotiator.preSend(message("s1", JSON), channel);
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(encoded);
+        assertEquals(MimeTypeUtils.APPLICATION_OCTET_STREAM, accessor.getContentType());
+        assertEquals("cbor", accessor.getFirstNativeHeader(PayloadCodec.HEADER));
+        JsonNode decoded = new ObjectMapper(new CBORFactory()).readTree((byte[]) encoded.getPayload());
+        assertEquals(new ObjectMapper().readTree(JSON), decoded);
+        assertTrue(((byte[]) encoded.getPayload()).length < JSON.length);
+    }
+
+    @Test
+    void message_IsEncodedOncePerPayloadAcrossSubscribers() {
+        negotiator.preSend(connect("s1", "smile", true), channel);
+        negotiator.preSend(connect("s2", "smile", true), channel);
+
+        Object first = negotiator.preSend(message("s1", JSON), channel).getPayload();
+        Object second = negotiator.preSend(message("s2", JSON), channel).getPayload();
+        Object other = negotiator.preSend(message("s2", Arrays.copyOf(JSON, JSON.length)), channel).getPayload();
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+    }
+
+    @Test
+    void message_SkipsNonJsonPayloads() {
+        negotiator.preSend(connect("s1", "cbor", true), channel);
+        byte[] text = "plain".getBytes(StandardCharsets.UTF_8);
+        Message<byte[]> message = MessageBuilder.createMessage(text,
+                messageHeaders("s1", MimeTypeUtils.TEXT_PLAIN).getMessageHeaders());
+
+        assertSame(message, negotiator.preSend(message, channel));
+    }
+
+    @Test
+    void disconnect_ForgetsSessionCodec() {
+        negotiator.preSend(connect("s1", "cbor", true), channel);
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.DISCONNECT);
+        accessor.setSessionId("s1");
+        negotiator.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), channel);
+
+        assertEquals(PayloadCodec.JSON, negotiator.getCodec("s1"));
+    }
+
+    @Test
+    void message_IsWrittenAsBinaryStompFrame() throws Exception {
+        negotiator.preSend(connect("s1", "cbor", true), channel);
+        Message<?> encoded = negotiator.preSend(message("s1", JSON), channel);
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        when(session.isOpen()).thenReturn(true);
+
+        new StompSubProtocolHandler().handleMessageToClient(session, encoded);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<WebSocketMessage<?>> frame = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(session).sendMessage(frame.capture());
+        assertInstanceOf(BinaryMessage.class, frame.getValue());
+        String headers = new String(((BinaryMessage) frame.getValue()).getPayload().array(), StandardCharsets.ISO_8859_1);
+        assertTrue(headers.startsWith("MESSAGE\n"));
+        assertTrue(headers.contains("content-type:application/octet-stream\n"));
+        assertTrue(headers.contains("payload-codec:cbor\n"));
+    }
+
+    private static Message<byte[]> connect(String sessionId, String codecs, boolean binaryFrames) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+        accessor.setSessionId(sessionId);
+        accessor.setNativeHeader(PayloadCodec.HEADER, codecs);
+        Map<String, Object> attributes = new HashMap<>();
+        if (binaryFrames) {
+            attributes.put(PayloadCodecNegotiator.BINARY_FRAMES_ATTRIBUTE, Boolean.TRUE);
+        }
+        accessor.setSessionAttributes(attributes);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> message(String sessionId, byte[] payload) {
+        return MessageBuilder.createMessage(payload,
+                messageHeaders(sessionId, MimeTypeUtils.APPLICATION_JSON).getMessageHeaders());
+    }
+
+    private static SimpMessageHeaderAccessor messageHeaders(String sessionId, MimeType type) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination("/topic/conversation/c1");
+        accessor.setContentType(type);
+        return accessor;
+    }
+}
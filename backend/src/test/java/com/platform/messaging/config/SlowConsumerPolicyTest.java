@@ -0,0 +1,118 @@
+package com.platform.messaging.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SlowConsumerPolicyTest {
+
+    private static final String SESSION_ID = "session-1";
+
+    private SimpleMeterRegistry meterRegistry;
+    private SlowConsumerPolicy policy;
+    private WebSocketSession session;
+    private WebSocketSession monitored;
+    private MessageChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        policy = new SlowConsumerPolicy(meterRegistry);
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(SESSION_ID);
+        when(session.isOpen()).thenReturn(true);
+        monitored = policy.register(session);
+        channel = mock(MessageChannel.class);
+    }
+
+    @Test
+    void preSend_TracksQueueDepthUntilFrameIsWritten() throws Exception {
+        assertNotNull(policy.preSend(frame("/topic/conversation/c1"), channel));
+        assertNotNull(policy.preSend(frame("/topic/conversation/c1"), channel));
+        assertEquals(2, policy.getQueueDepth(SESSION_ID));
+
+        monitored.sendMessage(new TextMessage("MESSAGE\ndestination:/topic/conversation/c1\n\n{}\0"));
+
+        assertEquals(1, policy.getQueueDepth(SESSION_ID));
+        assertEquals(1, meterRegistry.get("websocket.outbound.send.latency").timer().count());
+    }
+
+    @Test
+    void preSend_IgnoresNonMessageFrames() throws Exception {
+        policy.preSend(frame("/topic/conversation/c1"), channel);
+        monitored.sendMessage(new TextMessage("\n"));
+
+        assertEquals(1, policy.getQueueDepth(SESSION_ID));
+    }
+
+    @Test
+    void preSend_DropsTypingFramesFirst() {
+        fillQueue(32);
+
+        assertNull(policy.preSend(frame("/topic/conversation/c1/typing"), channel));
+        assertNotNull(policy.preSend(frame("/topic/conversation/c1/read"), channel));
+        assertNotNull(policy.preSend(frame("/topic/conversation/c1"), channel));
+        assertEquals(1.0, meterRegistry.get("websocket.outbound.dropped").tag("reason", "typing").counter().count());
+    }
+
+    @Test
+    void preSend_CoalescesLatestStateFramesAndFlushesWhenDrained() throws Exception {
+        fillQueue(64);
+
+        assertNull(policy.preSend(frame("/topic/conversation/c1/read"), channel));
+        Message<?> latest = frame("/topic/conversation/c1/read");
+        assertNull(policy.preSend(latest, channel));
+        assertEquals(1.0, meterRegistry.get("websocket.outbound.dropped").tag("reason", "coalesced").counter().count());
+
+        for (int i = 0; i < 64 - 31; i++) {
+            monitored.sendMessage(new TextMessage("MESSAGE\n\n\0"));
+        }
+
+        verify(channel, times(1)).send(latest);
+    }
+
+    @Test
+    void preSend_DisconnectsSessionBeyondLimit() throws Exception {
+        fillQueue(256);
+
+        assertNull(policy.preSend(frame("/topic/conversation/c1"), channel));
+        assertNull(policy.preSend(frame("/topic/conversation/c1"), channel));
+
+        verify(session, times(1)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals(1.0, meterRegistry.get("websocket.outbound.slow_consumer.disconnects").counter().count());
+    }
+
+    @Test
+    void preSend_PassesThroughUnknownSessions() {
+        policy.unregister(SESSION_ID);
+        Message<?> message = frame("/topic/conversation/c1/typing");
+
+        assertSame(message, policy.preSend(message, channel));
+        verify(channel, never()).send(any());
+    }
+
+    private void fillQueue(int frames) {
+        for (int i = 0; i < frames; i++) {
+            policy.preSend(frame("/topic/conversation/c1"), channel);
+        }
+    }
+
+    private static Message<?> frame(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(SESSION_ID);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,113 @@
+package com.platform.messaging.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StompLaneTaskExecutorTest {
+
+    private ThreadPoolTaskExecutor blockingLane;
+    private StompLaneTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        blockingLane = StompLaneTaskExecutor.blockingPool(1, 100);
+        executor = new StompLaneTaskExecutor(List.of("/app/chat.send", "/app/chat.read"), blockingLane);
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("ws-inbound-");
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void isBlocking_MatchesPersistingDestinationsOnly() {
+        assertTrue(executor.isBlocking(frame("/app/chat.send/c1")));
+        assertTrue(executor.isBlocking(frame("/app/chat.send")));
+        assertTrue(executor.isBlocking(frame("/app/chat.read/c1")));
+        assertFalse(executor.isBlocking(frame("/app/chat.typing/c1")));
+        assertFalse(executor.isBlocking(frame("/app/chat.join/c1")));
+        assertFalse(executor.isBlocking(frame(null)));
+    }
+
+    @Test
+    void execute_TypingFramesDoNotWaitBehindBlockedPersistence() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch typingHandled = new CountDownLatch(1);
+
+        // Saturate the blocking lane with a handler stuck on the database
+        executor.execute(task(frame("/app/chat.send/c1"), () -> await(release)));
+        executor.execute(task(frame("/app/chat.send/c1"), () -> await(release)));
+
+        executor.execute(task(frame("/app/chat.typing/c1"), typingHandled::countDown));
+
+        assertTrue(typingHandled.await(2, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    void execute_BlockingFramesRunOnBlockingLane() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        String[] threadName = new String[1];
+
+        executor.execute(task(frame("/app/chat.read/c1"), () -> {
+            threadName[0] = Thread.currentThread().getName();
+            done.countDown();
+        }));
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertTrue(threadName[0].startsWith("ws-inbound-blocking-"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Message<?> frame(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static MessageHandlingRunnable task(Message<?> message, Runnable body) {
+        return new MessageHandlingRunnable() {
+            @Override
+            public Message<?> getMessage() {
+                return message;
+            }
+
+            @Override
+            public MessageHandler getMessageHandler() {
+                return m -> body.run();
+            }
+
+            @Override
+            public void run() {
+                body.run();
+            }
+        };
+    }
+}
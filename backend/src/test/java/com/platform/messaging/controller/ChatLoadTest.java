@@ -0,0 +1,331 @@
+package com.platform.messaging.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.auth.service.JwtService;
+import com.platform.messaging.model.Conversation;
+import com.platform.messaging.model.MessageDTO;
+import com.platform.messaging.repository.ConversationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Chat load harness. Starts the app on the mock profile and drives
+ * {@link ChatController} over {@code /ws-plain} with many STOMP clients.
+ *
+ * Clients are paired into conversations; each subscribes to its
+ * conversation topic and sends at a fixed rate. Every message carries its
+ * scheduled send time, so the send-to-receive histogram includes queueing
+ * delay even when the sender itself falls behind. Reports latency
+ * percentiles, throughput and drops (expected minus received deliveries,
+ * plus the server's slow-consumer counters), and writes the full
+ * distribution to {@code target/load/chat-latency.hgrm}.
+ *
+ * Excluded from the normal build; run with for example:
+ * <pre>
+ *   mvn test -Pload-test -Dload.clients=2000 -Dload.rate=2 -Dload.duration-seconds=60
+ * </pre>
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.com.platform=INFO")
+@ActiveProfiles("mock")
+class ChatLoadTest {
+
+    // Clients come in pairs, one conversation per pair
+    private static final int CLIENTS = Math.max(2, Integer.getInteger("load.clients", 200) + 1 & ~1);
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "1"));
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 30);
+    private static final int DRAIN_SECONDS = Integer.getInteger("load.drain-seconds", 5);
+    private static final int CONNECT_CONCURRENCY = Integer.getInteger("load.connect-concurrency", 64);
+    private static final int SENDER_THREADS = Integer.getInteger("load.sender-threads", 8);
+    private static final long MAX_P99_MS = Long.getLong("load.max-p99-ms", Long.MAX_VALUE);
+    private static final double MAX_DROP_RATIO = Double.parseDouble(System.getProperty("load.max-drop-ratio", "1"));
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Recorder recorder = new Recorder(MAX_TRACKABLE_NANOS, 3);
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong sendErrors = new AtomicLong();
+    private final AtomicLong transportErrors = new AtomicLong();
+    private final AtomicReference<Throwable> firstError = new AtomicReference<>();
+    private final List<StompSession> sessions = new ArrayList<>();
+
+    // Messages scheduled inside [windowStart, windowEnd) are measured
+    private volatile long windowStart = Long.MAX_VALUE;
+    private volatile long windowEnd = Long.MAX_VALUE;
+    private WebSocketStompClient stompClient;
+    private ScheduledExecutorService senders;
+
+    @AfterEach
+    void tearDown() {
+        if (senders != null) {
+            senders.shutdownNow();
+        }
+        sessions.forEach(session -> {
+            if (session.isConnected()) {
+                session.disconnect();
+            }
+        });
+        if (stompClient != null) {
+            stompClient.stop();
+        }
+    }
+
+    @Test
+    void chatLoad() throws Exception {
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        stompClient.setMessageConverter(converter);
+        stompClient.setInboundMessageSizeLimit(256 * 1024);
+
+        List<Client> clients = connectClients();
+        long connected = clients.stream().filter(c -> c.session != null).count();
+        System.out.printf("Connected %d/%d clients%n", connected, CLIENTS);
+
+        senders = Executors.newScheduledThreadPool(SENDER_THREADS);
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / RATE);
+        for (Client client : clients) {
+            if (client.session != null) {
+                long initialDelay = ThreadLocalRandom.current().nextLong(periodNanos);
+                long firstSend = System.nanoTime() + initialDelay;
+                senders.scheduleAtFixedRate(() -> client.send(firstSend, periodNanos),
+                        initialDelay, periodNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        TimeUnit.SECONDS.sleep(WARMUP_SECONDS);
+        double serverDropsBefore = serverDrops();
+        windowStart = System.nanoTime();
+        windowEnd = windowStart + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+
+        Histogram total = new Histogram(MAX_TRACKABLE_NANOS, 3);
+        Histogram interval = null;
+        for (int second = 1; second <= DURATION_SECONDS; second++) {
+            TimeUnit.SECONDS.sleep(1);
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            System.out.printf("t=%3ds received/s=%6d p50=%6.2fms p99=%7.2fms max=%7.2fms%n", second,
+                    interval.getTotalCount(), millis(interval.getValueAtPercentile(50)),
+                    millis(interval.getValueAtPercentile(99)), millis(interval.getMaxValue()));
+        }
+        senders.shutdownNow();
+        TimeUnit.SECONDS.sleep(DRAIN_SECONDS);
+        total.add(recorder.getIntervalHistogram());
+        long sentDuringRun = sent.get();
+
+        // Every message fans out to both participants of its conversation
+        long expected = sentDuringRun * 2;
+        long delivered = total.getTotalCount();
+        long dropped = Math.max(0, expected - delivered);
+        double serverDrops = serverDrops() - serverDropsBefore;
+        report(total, sentDuringRun, expected, dropped, serverDrops);
+
+        assertTrue(delivered > 0, "no messages were delivered");
+        assertTrue(total.getValueAtPercentile(99) <= TimeUnit.MILLISECONDS.toNanos(MAX_P99_MS),
+                "p99 latency above load.max-p99-ms");
+        assertTrue(expected == 0 || (double) dropped / expected <= MAX_DROP_RATIO,
+                "drop ratio above load.max-drop-ratio");
+    }
+
+    private List<Client> connectClients() throws InterruptedException {
+        String url = "ws://localhost:" + port + "/ws-plain";
+        List<Client> clients = new ArrayList<>(CLIENTS);
+        Semaphore inFlight = new Semaphore(CONNECT_CONCURRENCY);
+        List<CompletableFuture<StompSession>> pending = new ArrayList<>(CLIENTS);
+
+        for (int i = 0; i < CLIENTS; i += 2) {
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            Conversation conversation = conversationRepository.save(new Conversation(first, second));
+            clients.add(new Client(first, conversation.getId()));
+            clients.add(new Client(second, conversation.getId()));
+        }
+
+        for (Client client : clients) {
+            inFlight.acquire();
+            WebSocketHttpHeaders handshake = new WebSocketHttpHeaders();
+            handshake.setBearerAuth(jwtService.generateToken(client.userId, client.userId + "@load.test", "FOUNDER"));
+            CompletableFuture<StompSession> future = stompClient.connectAsync(url, handshake, new StompHeaders(), client);
+            pending.add(future.whenComplete((session, error) -> {
+                inFlight.release();
+                if (error != null) {
+                    recordError(error);
+                } else {
+                    client.session = session;
+                    session.subscribe("/topic/conversation/" + client.conversationId, client);
+                }
+            }));
+        }
+        for (CompletableFuture<StompSession> future : pending) {
+            try {
+                future.get(30, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                // Counted in transportErrors
+            }
+        }
+        clients.forEach(client -> {
+            if (client.session != null) {
+                sessions.add(client.session);
+            }
+        });
+        return clients;
+    }
+
+    private double serverDrops() {
+        return meterRegistry.find("websocket.outbound.dropped").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private void report(Histogram total, long sentDuringRun, long expected, long dropped, double serverDrops)
+            throws IOException {
+        System.out.println();
+        System.out.printf("clients=%d rate=%.2f/s per client duration=%ds%n", CLIENTS, RATE, DURATION_SECONDS);
+        System.out.printf("sent=%d (%.0f/s) delivered=%d (%.0f/s) expected=%d dropped=%d%n",
+                sentDuringRun, (double) sentDuringRun / DURATION_SECONDS,
+                total.getTotalCount(), (double) total.getTotalCount() / DURATION_SECONDS, expected, dropped);
+        System.out.printf("send errors=%d transport errors=%d server drops=%.0f%n",
+                sendErrors.get(), transportErrors.get(), serverDrops);
+        if (firstError.get() != null) {
+            System.out.println("first error: " + firstError.get());
+        }
+        System.out.printf("latency p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                millis(total.getValueAtPercentile(50)), millis(total.getValueAtPercentile(90)),
+                millis(total.getValueAtPercentile(99)), millis(total.getValueAtPercentile(99.9)),
+                millis(total.getMaxValue()));
+
+        Path output = Paths.get("target", "load", "chat-latency.hgrm");
+        Files.createDirectories(output.getParent());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(output))) {
+            total.outputPercentileDistribution(out, 1_000_000.0);
+        }
+        System.out.println("Latency distribution written to " + output.toAbsolutePath());
+    }
+
+    private void recordError(Throwable error) {
+        transportErrors.incrementAndGet();
+        firstError.compareAndSet(null, error);
+    }
+
+    private boolean inWindow(long scheduled) {
+        return scheduled >= windowStart && scheduled < windowEnd;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private class Client extends StompSessionHandlerAdapter {
+        private final UUID userId;
+        private final UUID conversationId;
+        private volatile StompSession session;
+        private long sequence;
+
+        Client(UUID userId, UUID conversationId) {
+            this.userId = userId;
+            this.conversationId = conversationId;
+        }
+
+        void send(long firstSend, long periodNanos) {
+            StompSession current = session;
+            if (current == null || !current.isConnected()) {
+                return;
+            }
+            // Stamp the scheduled time, not the actual one, to avoid coordinated omission
+            long scheduled = firstSend + sequence++ * periodNanos;
+            try {
+                current.send("/app/chat.send/" + conversationId, new MessageDTO(conversationId, userId, "load:" + scheduled));
+                if (inWindow(scheduled)) {
+                    sent.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                sendErrors.incrementAndGet();
+                firstError.compareAndSet(null, e);
+            }
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return MessageDTO.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            String content = ((MessageDTO) payload).getContent();
+            if (content == null || !content.startsWith("load:")) {
+                return;
+            }
+            long scheduled = Long.parseLong(content.substring(5));
+            if (!inWindow(scheduled)) {
+                return;
+            }
+            long latency = System.nanoTime() - scheduled;
+            recorder.recordValue(Math.min(Math.max(latency, 0), MAX_TRACKABLE_NANOS));
+        }
+
+        @Override
+        public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                    byte[] payload, Throwable exception) {
+            recordError(exception);
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            recordError(exception);
+        }
+    }
+}
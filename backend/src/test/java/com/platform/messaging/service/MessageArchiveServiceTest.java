@@ -0,0 +1,175 @@
+package com.platform.messaging.service;
+
+import com.platform.messaging.model.Conversation;
+import com.platform.messaging.model.Message;
+import com.platform.messaging.model.MessageDTO;
+import com.platform.messaging.model.MessageSearchHit;
+import com.platform.messaging.model.MessageSearchPage;
+import com.platform.messaging.repository.ConversationRepository;
+import com.platform.messaging.repository.MessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MessageArchiveServiceTest {
+
+    @Autowired
+    private MessageArchiveService messageArchiveService;
+
+    @Autowired
+    private MessageArchiveStore messageArchiveStore;
+
+    @Autowired
+    private MessagingService messagingService;
+
+    @Autowired
+    private MessageSearchService messageSearchService;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    private UUID founderId;
+    private Conversation conversation;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository.deleteAll();
+        conversationRepository.deleteAll();
+
+        founderId = UUID.randomUUID();
+        conversation = conversationRepository.save(new Conversation(founderId, UUID.randomUUID()));
+    }
+
+    @Test
+    void archiveOlderThan_MovesMessagesOutOfHotTable() throws Exception {
+        sendAll("one", "two", "three");
+
+        int archived = messageArchiveService.archiveOlderThan(LocalDateTime.now().plusMinutes(1));
+
+        assertEquals(3, archived);
+        assertEquals(0, messageRepository.count());
+        assertEquals(3, messageArchiveService.countArchived(conversation.getId()));
+    }
+
+    @Test
+    void archiveOlderThan_LeavesRecentMessagesInPlace() throws Exception {
+        sendAll("old");
+        LocalDateTime cutoff = LocalDateTime.now();
+        Thread.sleep(5);
+        sendAll("new");
+
+        assertEquals(1, messageArchiveService.archiveOlderThan(cutoff));
+        assertEquals(1, messageRepository.count());
+        assertEquals("new", messageRepository.findAll().get(0).getContent());
+    }
+
+    @Test
+    void getMessagesByConversation_ReadsAcrossHotAndArchivedMessages() throws Exception {
+        sendAll("m1", "m2", "m3", "m4", "m5");
+        messageArchiveService.archiveOlderThan(LocalDateTime.now().plusMinutes(1));
+        Thread.sleep(5);
+        sendAll("m6", "m7");
+
+        Page<Message> first = messagingService.getMessagesByConversation(conversation.getId(), PageRequest.of(0, 3));
+        Page<Message> second = messagingService.getMessagesByConversation(conversation.getId(), PageRequest.of(1, 3));
+        Page<Message> third = messagingService.getMessagesByConversation(conversation.getId(), PageRequest.of(2, 3));
+
+        assertEquals(7, first.getTotalElements());
+        assertEquals(List.of("m7", "m6", "m5"), contents(first.getContent()));
+        assertEquals(List.of("m4", "m3", "m2"), contents(second.getContent()));
+        assertEquals(List.of("m1"), contents(third.getContent()));
+        Message archived = third.getContent().get(0);
+        assertEquals(conversation.getId(), archived.getConversationId());
+        assertEquals(founderId, archived.getSenderId());
+        assertNotNull(archived.getCreatedAt());
+    }
+
+    @Test
+    void archiveOlderThan_AppendsBlocksAcrossRuns() throws Exception {
+        sendAll("first run");
+        messageArchiveService.archiveOlderThan(LocalDateTime.now().plusMinutes(1));
+        Thread.sleep(5);
+        sendAll("second run", "héllo wörld ✓");
+        messageArchiveService.archiveOlderThan(LocalDateTime.now().plusMinutes(1));
+
+        List<Message> archived = messageArchiveService.getArchivedMessages(conversation.getId(), 0, 10);
+
+        assertEquals(List.of("héllo wörld ✓", "second run", "first run"), contents(archived));
+        assertEquals(List.of("second run", "first run"),
+                contents(messageArchiveService.getArchivedMessages(conversation.getId(), 1, 10)));
+    }
+
+    @Test
+    void archiveOlderThan_CompletesInterruptedRun() throws Exception {
+        List<Message> sent = sendAll("a", "b");
+        // Simulate a crash after the block was written but before its rows were deleted
+        messageArchiveStore.append(conversation.getId(), messageRepository.findAllById(
+                sent.stream().map(Message::getId).collect(Collectors.toList())));
+
+        int archived = messageArchiveService.archiveOlderThan(LocalDateTime.now().plusMinutes(1));
+
+        assertEquals(0, archived);
+        assertEquals(0, messageRepository.count());
+        assertEquals(2, messageArchiveService.countArchived(conversation.getId()));
+    }
+
+    @Test
+    void search_StillFindsMessagesArchivedAfterIndexWasBuilt() throws Exception {
+        List<Message> sent = sendAll("seed round term sheet", "lunch?");
+        assertEquals(1, messageSearchService.search(founderId, "term sheet", null, 10).getHits().size());
+
+        messageArchiveService.archiveOlderThan(LocalDateTime.now().plusMinutes(1));
+        Thread.sleep(5);
+        sendAll("updated term sheet attached");
+
+        MessageSearchPage page = messageSearchService.search(founderId, "term sheet", null, 10);
+
+        assertEquals(2, page.getHits().size());
+        MessageSearchHit archived = page.getHits().stream()
+                .filter(hit -> hit.getMessageId().equals(sent.get(0).getId()))
+                .findFirst().orElseThrow();
+        assertEquals("seed round term sheet", archived.getSnippet());
+        assertEquals(founderId, archived.getSenderId());
+    }
+
+    @Test
+    void search_IndexesArchiveSegmentsOnFirstSearch() throws Exception {
+        sendAll("old due diligence notes", "more due diligence", "unrelated");
+        messageArchiveService.archiveOlderThan(LocalDateTime.now().plusMinutes(1));
+
+        MessageSearchPage page = messageSearchService.search(founderId, "diligence", null, 10);
+
+        assertEquals(List.of("more due diligence", "old due diligence notes"),
+                page.getHits().stream().map(MessageSearchHit::getSnippet).sorted().collect(Collectors.toList()));
+    }
+
+    private List<Message> sendAll(String... contents) throws InterruptedException {
+        List<Message> sent = new ArrayList<>();
+        for (String content : contents) {
+            sent.add(messagingService.sendMessage(new MessageDTO(conversation.getId(), founderId, content)));
+            Thread.sleep(2);
+        }
+        return sent;
+    }
+
+    private static List<String> contents(List<Message> messages) {
+        return messages.stream().map(Message::getContent).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,147 @@
+package com.platform.messaging.service;
+
+import com.platform.messaging.model.Conversation;
+import com.platform.messaging.model.Message;
+import com.platform.messaging.model.MessageSearchPage;
+import com.platform.messaging.repository.ConversationRepository;
+import com.platform.messaging.repository.MessageRepository;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Search latency harness. Builds {@link MessageSearchService} indexes over
+ * a large synthetic message set for one user, then times searches against
+ * the warm indexes and reports latency percentiles.
+ *
+ * Messages are generated on demand from their ids by stubbed repositories,
+ * so only the index itself takes memory. Words follow a Zipf-like
+ * distribution; queries mix one and two terms of varying frequency. Fails
+ * if p99 is above {@code load.max-p99-ms}.
+ *
+ * Excluded from the normal build; run with for example:
+ * <pre>
+ *   mvn test -Pload-test -Dtest=MessageSearchLoadTest -Dload.search.messages=5000000 -DargLine=-Xmx4g
+ * </pre>
+ */
+@Tag("load")
+class MessageSearchLoadTest {
+
+    private static final int MESSAGES = Integer.getInteger("load.search.messages", 1_000_000);
+    private static final int CONVERSATIONS = Integer.getInteger("load.search.conversations", 200);
+    private static final int QUERIES = Integer.getInteger("load.search.queries", 2000);
+    private static final int PAGE_SIZE = Integer.getInteger("load.search.page-size", 20);
+    private static final long MAX_P99_MS = Long.getLong("load.max-p99-ms", 50);
+
+    private static final int VOCABULARY = 20_000;
+    private static final int WORDS_PER_MESSAGE = 12;
+    private static final int PER_CONVERSATION = Math.max(1, MESSAGES / CONVERSATIONS);
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void search_P99StaysWithinTarget() {
+        UUID userId = UUID.randomUUID();
+        List<Conversation> conversations = new ArrayList<>();
+        for (int i = 0; i < CONVERSATIONS; i++) {
+            Conversation conversation = new Conversation(userId, UUID.randomUUID());
+            conversation.setId(new UUID(i, -1));
+            conversations.add(conversation);
+        }
+
+        ConversationRepository conversationRepository = mock(ConversationRepository.class);
+        MessageRepository messageRepository = mock(MessageRepository.class);
+        when(conversationRepository.findByUserId(userId)).thenReturn(conversations);
+        when(messageRepository.findByConversationIdOrderByCreatedAtAsc(any(), any())).thenAnswer(invocation -> {
+            UUID conversationId = invocation.getArgument(0);
+            Pageable pageable = invocation.getArgument(1);
+            List<Message> slice = new ArrayList<>(pageable.getPageSize());
+            long from = pageable.getOffset();
+            long to = Math.min(PER_CONVERSATION, from + pageable.getPageSize());
+            for (long n = from; n < to; n++) {
+                slice.add(message(conversationId.getMostSignificantBits(), n));
+            }
+            return new SliceImpl<>(slice, pageable, to < PER_CONVERSATION);
+        });
+        when(messageRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Message> found = new ArrayList<>();
+            for (UUID id : invocation.<Iterable<UUID>>getArgument(0)) {
+                found.add(message(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+            }
+            return found;
+        });
+
+        MessageSearchService service = new MessageSearchService(messageRepository, conversationRepository,
+                mock(MessageArchiveStore.class), Long.MAX_VALUE, TimeUnit.DAYS.toSeconds(1), Integer.MAX_VALUE);
+
+        long loadStart = System.nanoTime();
+        assertFalse(service.search(userId, word(0), null, PAGE_SIZE).isPartial());
+        System.out.printf("Indexed %d messages in %d conversations in %d ms%n", (long) PER_CONVERSATION * CONVERSATIONS,
+                CONVERSATIONS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStart));
+
+        Random random = new Random(42);
+        for (int i = 0; i < QUERIES / 10; i++) {
+            service.search(userId, query(random), null, PAGE_SIZE);
+        }
+
+        Histogram latency = new Histogram(TimeUnit.SECONDS.toNanos(10), 3);
+        long hits = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            String query = query(random);
+            long start = System.nanoTime();
+            MessageSearchPage page = service.search(userId, query, null, PAGE_SIZE);
+            latency.recordValue(Math.min(latency.getHighestTrackableValue(), System.nanoTime() - start));
+            hits += page.getHits().size();
+        }
+
+        System.out.printf("queries=%d hits=%d p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms%n", QUERIES, hits,
+                millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                millis(latency.getValueAtPercentile(99)), millis(latency.getMaxValue()));
+        assertTrue(hits > 0, "no query matched anything");
+        assertTrue(latency.getValueAtPercentile(99) <= TimeUnit.MILLISECONDS.toNanos(MAX_P99_MS),
+                "p99 above " + MAX_P99_MS + "ms");
+    }
+
+    private static Message message(long conversation, long n) {
+        Random random = new Random(conversation * 1_000_003L + n);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < WORDS_PER_MESSAGE; i++) {
+            content.append(i == 0 ? "" : " ").append(word(zipf(random)));
+        }
+        Message message = new Message(new UUID(conversation, -1), UUID.randomUUID(), content.toString());
+        message.setId(new UUID(conversation, n));
+        message.setCreatedAt(START.plusSeconds(n));
+        return message;
+    }
+
+    private static String query(Random random) {
+        String first = word(zipf(random));
+        return random.nextBoolean() ? first : first + " " + word(zipf(random));
+    }
+
+    // Rank r is drawn with probability roughly proportional to 1/r
+    private static int zipf(Random random) {
+        return (int) Math.pow(VOCABULARY, random.nextDouble()) - 1;
+    }
+
+    private static String word(int rank) {
+        return "w" + Integer.toString(rank, 36);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
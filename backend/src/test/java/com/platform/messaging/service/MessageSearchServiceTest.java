@@ -0,0 +1,209 @@
+package com.platform.messaging.service;
+
+import com.platform.messaging.model.Conversation;
+import com.platform.messaging.model.Message;
+import com.platform.messaging.model.MessageDTO;
+import com.platform.messaging.model.MessageSearchHit;
+import com.platform.messaging.model.MessageSearchPage;
+import com.platform.messaging.repository.ConversationRepository;
+import com.platform.messaging.repository.MessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MessageSearchServiceTest {
+
+    @Autowired
+    private MessageSearchService messageSearchService;
+
+    @Autowired
+    private MessagingService messagingService;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageArchiveStore messageArchiveStore;
+
+    private UUID founderId;
+    private UUID investorId;
+    private Conversation conversation;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository.deleteAll();
+        conversationRepository.deleteAll();
+
+        founderId = UUID.randomUUID();
+        investorId = UUID.randomUUID();
+        conversation = conversationRepository.save(new Conversation(founderId, investorId));
+    }
+
+    @Test
+    void search_FindsMessagesContainingAllTerms() {
+        send(conversation, founderId, "Here is the revised term sheet for the seed round");
+        send(conversation, investorId, "Thanks, I will review the term sheet tonight");
+        send(conversation, founderId, "Lunch tomorrow?");
+
+        MessageSearchPage page = messageSearchService.search(founderId, "Term Sheet", null, 10);
+
+        assertEquals(2, page.getHits().size());
+        assertNull(page.getNextCursor());
+        page.getHits().forEach(hit -> assertTrue(hit.getSnippet().toLowerCase().contains("term sheet")));
+    }
+
+    @Test
+    void search_IsScopedToUserConversations() {
+        Conversation other = conversationRepository.save(new Conversation(UUID.randomUUID(), UUID.randomUUID()));
+        send(other, other.getParticipant1Id(), "Private valuation discussion");
+        send(conversation, founderId, "Our valuation expectations");
+
+        MessageSearchPage page = messageSearchService.search(investorId, "valuation", null, 10);
+
+        assertEquals(1, page.getHits().size());
+        assertEquals(conversation.getId(), page.getHits().get(0).getConversationId());
+    }
+
+    @Test
+    void search_IndexesMessagesSentAfterFirstSearch() {
+        send(conversation, founderId, "cap table draft");
+        assertEquals(1, messageSearchService.search(founderId, "cap table", null, 10).getHits().size());
+
+        send(conversation, investorId, "updated cap table attached");
+
+        assertEquals(2, messageSearchService.search(founderId, "cap table", null, 10).getHits().size());
+    }
+
+    @Test
+    void search_RanksDenserMatchesFirst() {
+        send(conversation, founderId, "diligence diligence diligence checklist");
+        send(conversation, founderId, "we should start diligence soon, after the holidays and the board meeting");
+
+        List<MessageSearchHit> hits = messageSearchService.search(founderId, "diligence", null, 10).getHits();
+
+        assertEquals(2, hits.size());
+        assertTrue(hits.get(0).getSnippet().startsWith("diligence diligence"));
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    void search_PagesWithKeysetCursor() {
+        for (int i = 0; i < 7; i++) {
+            send(conversation, founderId, "pitch deck version " + i);
+        }
+
+        Set<UUID> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MessageSearchPage page = messageSearchService.search(founderId, "pitch deck", cursor, 3);
+            page.getHits().forEach(hit -> assertTrue(seen.add(hit.getMessageId())));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(7, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void search_RefusesCursorOnceIndexChanged() {
+        for (int i = 0; i < 5; i++) {
+            send(conversation, founderId, "pitch deck version " + i);
+        }
+        String cursor = messageSearchService.search(founderId, "pitch deck", null, 2).getNextCursor();
+        assertNotNull(cursor);
+
+        // New messages change every score in the conversation, so the next page could skip or repeat hits
+        send(conversation, investorId, "one more pitch deck");
+
+        assertThrows(IllegalStateException.class, () -> messageSearchService.search(founderId, "pitch deck", cursor, 2));
+        String fresh = messageSearchService.search(founderId, "pitch deck", null, 2).getNextCursor();
+        assertEquals(2, messageSearchService.search(founderId, "pitch deck", fresh, 2).getHits().size());
+    }
+
+    @Test
+    void search_ExcludesDeletedMessages() {
+        Message message = send(conversation, founderId, "confidential burn rate");
+        assertEquals(1, messageSearchService.search(founderId, "burn rate", null, 10).getHits().size());
+
+        messagingService.deleteMessage(message.getId());
+
+        assertTrue(messageSearchService.search(founderId, "burn rate", null, 10).getHits().isEmpty());
+    }
+
+    @Test
+    void search_RejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> messageSearchService.search(founderId, "anything", "not-a-cursor", 10));
+    }
+
+    @Test
+    void search_StopsLoadingPastBudgetAndMarksPagePartial() {
+        Conversation second = conversationRepository.save(new Conversation(founderId, UUID.randomUUID()));
+        send(conversation, founderId, "board deck review");
+        send(second, founderId, "board deck feedback");
+        MessageSearchService service = service(1000, 3600, 1);
+
+        MessageSearchPage first = service.search(founderId, "board deck", null, 10);
+        MessageSearchPage again = service.search(founderId, "board deck", null, 10);
+
+        assertEquals(1, first.getHits().size());
+        assertTrue(first.isPartial());
+        assertEquals(2, again.getHits().size());
+        assertFalse(again.isPartial());
+    }
+
+    @Test
+    void search_EvictsLeastRecentlySearchedIndexes() {
+        Conversation other = conversationRepository.save(new Conversation(UUID.randomUUID(), UUID.randomUUID()));
+        send(conversation, founderId, "runway estimate");
+        send(other, other.getParticipant1Id(), "runway math");
+        MessageSearchService service = service(1, 3600, 1000);
+        assertEquals(1, service.search(founderId, "runway", null, 10).getHits().size());
+
+        // Written behind the index's back, so only a rebuilt index can see it
+        messageRepository.save(new Message(conversation.getId(), investorId, "runway extended"));
+        service.search(other.getParticipant1Id(), "runway", null, 10);
+
+        assertEquals(2, service.search(founderId, "runway", null, 10).getHits().size());
+    }
+
+    @Test
+    void search_RebuildsIndexOnceOlderThanTtl() {
+        send(conversation, founderId, "hiring plan");
+        MessageSearchService cached = service(1000, 3600, 1000);
+        MessageSearchService expiring = service(1000, 0, 1000);
+        cached.search(founderId, "hiring", null, 10);
+        expiring.search(founderId, "hiring", null, 10);
+
+        // As if sent through another node
+        messageRepository.save(new Message(conversation.getId(), investorId, "hiring update"));
+
+        assertEquals(1, cached.search(founderId, "hiring", null, 10).getHits().size());
+        assertEquals(2, expiring.search(founderId, "hiring", null, 10).getHits().size());
+    }
+
+    private MessageSearchService service(long maxIndexedMessages, long ttlSeconds, int maxLoadPerSearch) {
+        return new MessageSearchService(messageRepository, conversationRepository, messageArchiveStore,
+                maxIndexedMessages, ttlSeconds, maxLoadPerSearch);
+    }
+
+    private Message send(Conversation target, UUID senderId, String content) {
+        return messagingService.sendMessage(new MessageDTO(target.getId(), senderId, content));
+    }
+}
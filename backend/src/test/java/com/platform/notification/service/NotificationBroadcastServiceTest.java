@@ -0,0 +1,177 @@
+package com.platform.notification.service;
+
+import com.platform.investor.model.Investor;
+import com.platform.investor.model.InvestorStatus;
+import com.platform.investor.repository.InvestorRepository;
+import com.platform.notification.model.BroadcastStatus;
+import com.platform.notification.model.Notification;
+import com.platform.notification.model.NotificationBroadcast;
+import com.platform.notification.model.NotificationChannel;
+import com.platform.notification.model.NotificationDTO;
+import com.platform.notification.model.NotificationType;
+import com.platform.notification.repository.NotificationPreferenceRepository;
+import com.platform.notification.repository.NotificationRepository;
+import com.platform.user.model.User;
+import com.platform.user.model.UserRole;
+import com.platform.user.model.UserStatus;
+import com.platform.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {
+    "notifications.broadcast.chunk-size=2",
+    "notifications.broadcast.push-rate-per-second=10000"
+})
+@ActiveProfiles("test")
+class NotificationBroadcastServiceTest {
+
+    @Autowired
+    private NotificationBroadcastService broadcastService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private InvestorRepository investorRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationPreferenceService preferenceService;
+
+    @Autowired
+    private NotificationPreferenceRepository preferenceRepository;
+
+    @MockBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @MockBean
+    private SimpUserRegistry userRegistry;
+
+    private final List<UUID> healthTechInvestors = new ArrayList<>();
+    private UUID fintechInvestor;
+    private UUID inactiveInvestor;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        preferenceRepository.deleteAll();
+        investorRepository.deleteAll();
+        healthTechInvestors.clear();
+        for (int i = 0; i < 5; i++) {
+            healthTechInvestors.add(investor("Fintech, HealthTech", InvestorStatus.ACTIVE));
+        }
+        fintechInvestor = investor("Fintech", InvestorStatus.ACTIVE);
+        inactiveInvestor = investor("healthtech", InvestorStatus.INACTIVE);
+    }
+
+    @Test
+    void start_NotifiesEveryInvestorInSegmentAndPushesOnlyToConnectedUsers() throws InterruptedException {
+        UUID online = healthTechInvestors.get(3);
+        when(userRegistry.getUser(online.toString())).thenReturn(mock(SimpUser.class));
+
+        NotificationBroadcast broadcast = broadcastService.start(new NotificationBroadcast(NotificationType.SYSTEM,
+                "New HealthTech startup", "Take a look at MediScan", null, InvestorStatus.ACTIVE, "healthtech", null));
+        assertEquals(5, broadcast.getTargetCount());
+
+        NotificationBroadcast done = awaitFinished(broadcast.getId());
+
+        assertEquals(BroadcastStatus.COMPLETED, done.getStatus());
+        assertEquals(5, done.getInsertedCount());
+        assertEquals(1, done.getPushedCount());
+        assertNotNull(done.getCompletedAt());
+
+        List<Notification> notifications = notificationRepository.findAll();
+        Set<UUID> recipients = notifications.stream().map(Notification::getUserId).collect(Collectors.toSet());
+        assertEquals(Set.copyOf(healthTechInvestors), recipients);
+        assertFalse(recipients.contains(fintechInvestor));
+        assertFalse(recipients.contains(inactiveInvestor));
+        assertTrue(notifications.stream().allMatch(n -> !n.isRead() && n.getExpiresAt() != null
+                && "New HealthTech startup".equals(n.getTitle())));
+
+        verify(messagingTemplate).convertAndSendToUser(eq(online.toString()), eq("/queue/notifications"),
+                any(NotificationDTO.class));
+        verify(messagingTemplate, times(1)).convertAndSendToUser(anyString(), anyString(), any(Object.class));
+    }
+
+    @Test
+    void start_AppliesRecipientPreferences() throws InterruptedException {
+        UUID optedOut = healthTechInvestors.get(0);
+        UUID pushOnly = healthTechInvestors.get(1);
+        preferenceService.updatePreferences(optedOut, Map.of(NotificationType.SYSTEM,
+                Map.of(NotificationChannel.IN_APP, false, NotificationChannel.PUSH, false)));
+        preferenceService.updatePreferences(pushOnly, Map.of(NotificationType.SYSTEM,
+                Map.of(NotificationChannel.IN_APP, false)));
+        when(userRegistry.getUser(anyString())).thenReturn(mock(SimpUser.class));
+
+        NotificationBroadcast done = awaitFinished(broadcastService.start(new NotificationBroadcast(
+                NotificationType.SYSTEM, "Demo day", "Sign up now", null, InvestorStatus.ACTIVE, "healthtech", null))
+                .getId());
+
+        assertEquals(BroadcastStatus.COMPLETED, done.getStatus());
+        assertEquals(3, done.getInsertedCount());
+        assertEquals(4, done.getPushedCount());
+        Set<UUID> recipients = notificationRepository.findAll().stream()
+                .map(Notification::getUserId).collect(Collectors.toSet());
+        assertEquals(Set.copyOf(healthTechInvestors.subList(2, 5)), recipients);
+        verify(messagingTemplate).convertAndSendToUser(eq(pushOnly.toString()), anyString(), any(Object.class));
+        verify(messagingTemplate, never()).convertAndSendToUser(eq(optedOut.toString()), anyString(), any(Object.class));
+    }
+
+    @Test
+    void start_RejectsBroadcastWithoutTitle() {
+        assertThrows(IllegalArgumentException.class, () -> broadcastService.start(new NotificationBroadcast(
+                NotificationType.SYSTEM, " ", "Message", null, InvestorStatus.ACTIVE, null, null)));
+    }
+
+    private NotificationBroadcast awaitFinished(UUID id) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            NotificationBroadcast broadcast = broadcastService.getBroadcast(id).orElseThrow();
+            if (broadcast.getStatus() == BroadcastStatus.COMPLETED || broadcast.getStatus() == BroadcastStatus.FAILED) {
+                return broadcast;
+            }
+            Thread.sleep(50);
+        }
+        fail("Broadcast did not finish");
+        return null;
+    }
+
+    private UUID investor(String sectors, InvestorStatus status) {
+        String unique = UUID.randomUUID().toString();
+        User user = userRepository.save(User.builder()
+                .email(unique + "@test.com")
+                .firstName("Ivy")
+                .lastName("Investor")
+                .googleId(unique)
+                .userRole(UserRole.INVESTOR)
+                .status(UserStatus.ACTIVE)
+                .build());
+        Investor investor = new Investor();
+        investor.setUserId(user.getId());
+        investor.setSectorsInterested(sectors);
+        investor.setStatus(status);
+        investorRepository.save(investor);
+        return user.getId();
+    }
+}
@@ -0,0 +1,148 @@
+package com.platform.notification.service;
+
+import com.platform.notification.model.NotificationCoalesceWindow;
+import com.platform.notification.model.NotificationType;
+import com.platform.notification.model.NotificationsCoalescedEvent;
+import com.platform.notification.repository.NotificationCoalesceWindowRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class NotificationCoalescerTest {
+
+    @Autowired
+    private NotificationCoalesceWindowRepository windowRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID groupId = UUID.randomUUID();
+
+    // Coalescing is off in the test profile, so nothing flushes behind the test's back
+    private NotificationCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        windowRepository.deleteAll();
+        coalescer = coalescer(true);
+    }
+
+    @Test
+    void submit_DeliversFirstEventAndAggregatesTheRest() {
+        AtomicInteger leading = new AtomicInteger();
+        UUID lastReference = null;
+        for (int i = 0; i < 50; i++) {
+            lastReference = UUID.randomUUID();
+            coalescer.submit(userId, NotificationType.OFFER_RECEIVED, groupId, lastReference, "Acme",
+                    leading::incrementAndGet);
+        }
+
+        assertEquals(1, leading.get());
+        assertEquals(0, coalescer.flushDue(LocalDateTime.now()));
+        assertTrue(aggregates().isEmpty());
+
+        assertEquals(1, coalescer.flushDue(LocalDateTime.now().plusMinutes(2)));
+        List<NotificationsCoalescedEvent> aggregates = aggregates();
+        assertEquals(List.of(49L), aggregates.stream().map(NotificationsCoalescedEvent::getCount).collect(Collectors.toList()));
+        assertEquals(lastReference, aggregates.get(0).getReferenceId());
+        assertEquals("Acme", aggregates.get(0).getSubject());
+        assertEquals(0, coalescer.openWindows());
+    }
+
+    @Test
+    void submit_SingleEventHasNoAggregate() {
+        AtomicInteger leading = new AtomicInteger();
+        coalescer.submit(userId, NotificationType.OFFER_RECEIVED, groupId, null, "Acme", leading::incrementAndGet);
+
+        assertEquals(0, coalescer.flushDue(LocalDateTime.now().plusMinutes(2)));
+        assertEquals(1, leading.get());
+        assertEquals(0, coalescer.openWindows());
+    }
+
+    @Test
+    void submit_KeepsGroupsApart() {
+        AtomicInteger leading = new AtomicInteger();
+        coalescer.submit(userId, NotificationType.OFFER_RECEIVED, groupId, null, "A", leading::incrementAndGet);
+        coalescer.submit(userId, NotificationType.MESSAGE_RECEIVED, groupId, null, "A", leading::incrementAndGet);
+        coalescer.submit(userId, NotificationType.OFFER_RECEIVED, UUID.randomUUID(), null, "A", leading::incrementAndGet);
+        coalescer.submit(UUID.randomUUID(), NotificationType.OFFER_RECEIVED, groupId, null, "A", leading::incrementAndGet);
+
+        assertEquals(4, leading.get());
+        assertEquals(4, coalescer.openWindows());
+    }
+
+    @Test
+    void submit_CountedEventsSurviveRestart() {
+        AtomicInteger leading = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            coalescer.submit(userId, NotificationType.OFFER_RECEIVED, groupId, null, "Acme", leading::incrementAndGet);
+        }
+
+        // A fresh instance, as after a crash or on another node, sees the same window
+        NotificationCoalescer restarted = coalescer(true);
+        restarted.submit(userId, NotificationType.OFFER_RECEIVED, groupId, null, "Acme", leading::incrementAndGet);
+
+        assertEquals(1, leading.get());
+        assertEquals(1, restarted.flushDue(LocalDateTime.now().plusMinutes(2)));
+        assertEquals(List.of(4L), aggregates().stream().map(NotificationsCoalescedEvent::getCount).collect(Collectors.toList()));
+    }
+
+    @Test
+    void submit_FailedLeadingEventDoesNotOpenWindow() {
+        assertThrows(IllegalStateException.class, () -> coalescer.submit(userId, NotificationType.OFFER_RECEIVED,
+                groupId, null, "Acme", () -> { throw new IllegalStateException("down"); }));
+
+        AtomicInteger leading = new AtomicInteger();
+        coalescer.submit(userId, NotificationType.OFFER_RECEIVED, groupId, null, "Acme", leading::incrementAndGet);
+
+        assertEquals(1, leading.get());
+    }
+
+    @Test
+    void submit_WhenDisabledDeliversEveryEvent() {
+        NotificationCoalescer disabled = coalescer(false);
+        AtomicInteger leading = new AtomicInteger();
+        disabled.submit(userId, NotificationType.OFFER_RECEIVED, groupId, null, "Acme", leading::incrementAndGet);
+        disabled.submit(userId, NotificationType.OFFER_RECEIVED, groupId, null, "Acme", leading::incrementAndGet);
+
+        assertEquals(2, leading.get());
+        assertEquals(0, disabled.openWindows());
+
+        windowRepository.save(new NotificationCoalesceWindow(userId, NotificationType.OFFER_RECEIVED, groupId,
+                LocalDateTime.now().minusSeconds(1)));
+        disabled.flush();
+        assertEquals(1, disabled.openWindows());
+    }
+
+    private NotificationCoalescer coalescer(boolean enabled) {
+        return new NotificationCoalescer(windowRepository, eventPublisher, transactionManager, enabled, 60);
+    }
+
+    private List<NotificationsCoalescedEvent> aggregates() {
+        return events.stream(NotificationsCoalescedEvent.class).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,90 @@
+package com.platform.notification.service;
+
+import com.platform.email.service.EmailService;
+import com.platform.notification.model.NotificationDigestItem;
+import com.platform.notification.model.NotificationType;
+import com.platform.notification.repository.NotificationDigestItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "notifications.digest.max-lines=3")
+@ActiveProfiles("test")
+class NotificationDigestServiceTest {
+
+    @Autowired
+    private NotificationDigestService digestService;
+
+    @Autowired
+    private NotificationDigestItemRepository digestItemRepository;
+
+    @MockBean
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        digestItemRepository.deleteAll();
+    }
+
+    @Test
+    void isDigested_CoversOfferReceivedByDefault() {
+        assertTrue(digestService.isDigested(NotificationType.OFFER_RECEIVED));
+        assertFalse(digestService.isDigested(NotificationType.OFFER_ACCEPTED));
+    }
+
+    @Test
+    void sendDue_SendsOneEmailPerUserAndClearsTheirLines() {
+        UUID founder = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            digestService.enqueue(founder, "founder@example.com", NotificationType.OFFER_RECEIVED, "Offer " + i);
+        }
+        digestService.enqueue(other, "other@example.com", NotificationType.OFFER_RECEIVED, "Only offer");
+
+        assertEquals(2, digestService.sendDue(LocalDateTime.now().plusSeconds(1)));
+
+        verify(emailService).sendDigestEmail("founder@example.com", List.of("Offer 0", "Offer 1", "Offer 2"), 2);
+        verify(emailService).sendDigestEmail("other@example.com", List.of("Only offer"), 0);
+        assertEquals(0, digestItemRepository.count());
+        assertEquals(0, digestService.sendDue(LocalDateTime.now().plusSeconds(1)));
+    }
+
+    @Test
+    void sendDue_LeavesLinesQueuedWhenSendingFails() {
+        UUID founder = UUID.randomUUID();
+        digestService.enqueue(founder, "founder@example.com", NotificationType.OFFER_RECEIVED, "Offer");
+        doThrow(new MailSendException("smtp down")).when(emailService)
+                .sendDigestEmail(eq("founder@example.com"), anyList(), anyInt());
+
+        assertEquals(0, digestService.sendDue(LocalDateTime.now().plusSeconds(1)));
+
+        List<NotificationDigestItem> queued = digestItemRepository.findAll();
+        assertEquals(1, queued.size());
+        assertEquals("Offer", queued.get(0).getLine());
+    }
+
+    @Test
+    void sendDue_SkipsLinesQueuedAfterCutoff() {
+        UUID founder = UUID.randomUUID();
+        digestService.enqueue(founder, "founder@example.com", NotificationType.OFFER_RECEIVED, "Later");
+
+        assertEquals(0, digestService.sendDue(LocalDateTime.now().minusMinutes(1)));
+
+        verifyNoInteractions(emailService);
+        assertEquals(1, digestItemRepository.count());
+    }
+}
@@ -0,0 +1,154 @@
+package com.platform.notification.service;
+
+import com.platform.notification.model.Notification;
+import com.platform.notification.model.NotificationChannel;
+import com.platform.notification.model.NotificationDTO;
+import com.platform.notification.model.NotificationPreference;
+import com.platform.notification.model.NotificationType;
+import com.platform.notification.repository.NotificationPreferenceRepository;
+import com.platform.notification.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class NotificationPreferenceServiceTest {
+
+    @Autowired
+    private NotificationPreferenceService preferenceService;
+
+    @Autowired
+    private NotificationPreferenceRepository preferenceRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @MockBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        preferenceRepository.deleteAll();
+        notificationRepository.deleteAll();
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void bit_IsFixedPerTypeAndChannelAndUnique() {
+        // Stored masks depend on these; they must not move when enums are reordered
+        assertEquals(1L, NotificationPreferenceService.bit(NotificationType.OFFER_RECEIVED, NotificationChannel.IN_APP));
+        assertEquals(1L << 11, NotificationPreferenceService.bit(NotificationType.OFFER_EXPIRED, NotificationChannel.EMAIL));
+        assertEquals(1L << 15, NotificationPreferenceService.bit(NotificationType.SYSTEM, NotificationChannel.IN_APP));
+
+        Set<Long> bits = new HashSet<>();
+        for (NotificationType type : NotificationType.values()) {
+            for (NotificationChannel channel : NotificationChannel.values()) {
+                assertTrue(bits.add(NotificationPreferenceService.bit(type, channel)), type + "/" + channel);
+            }
+        }
+    }
+
+    @Test
+    void getPreferences_WithoutRowEverythingIsOn() {
+        Map<NotificationType, Map<NotificationChannel, Boolean>> preferences = preferenceService.getPreferences(userId);
+
+        assertEquals(NotificationType.values().length, preferences.size());
+        assertTrue(preferences.values().stream().allMatch(channels -> !channels.containsValue(false)));
+        assertEquals(0, preferenceService.disabledMask(userId));
+    }
+
+    @Test
+    void updatePreferences_ChangesOnlyGivenBitsAndEvictsCache() {
+        preferenceService.updatePreferences(userId,
+            Map.of(NotificationType.OFFER_RECEIVED, Map.of(NotificationChannel.EMAIL, false)));
+        assertFalse(preferenceService.isEnabled(userId, NotificationType.OFFER_RECEIVED, NotificationChannel.EMAIL));
+
+        Map<NotificationType, Map<NotificationChannel, Boolean>> preferences = preferenceService.updatePreferences(userId,
+            Map.of(NotificationType.SYSTEM, Map.of(NotificationChannel.PUSH, false)));
+
+        assertFalse(preferences.get(NotificationType.OFFER_RECEIVED).get(NotificationChannel.EMAIL));
+        assertFalse(preferences.get(NotificationType.SYSTEM).get(NotificationChannel.PUSH));
+        assertTrue(preferences.get(NotificationType.OFFER_RECEIVED).get(NotificationChannel.IN_APP));
+        assertEquals(
+            NotificationPreferenceService.bit(NotificationType.OFFER_RECEIVED, NotificationChannel.EMAIL)
+                | NotificationPreferenceService.bit(NotificationType.SYSTEM, NotificationChannel.PUSH),
+            preferenceService.disabledMask(userId));
+    }
+
+    @Test
+    void refreshChanged_EvictsUsersChangedOnAnotherNode() {
+        assertEquals(0, preferenceService.disabledMask(userId));
+        // Written straight to the table, as another node would
+        NotificationPreference preference = new NotificationPreference(userId);
+        preference.setDisabledMask(NotificationPreferenceService.bit(NotificationType.SYSTEM, NotificationChannel.IN_APP));
+        preference.setUpdatedAt(LocalDateTime.now());
+        preferenceRepository.save(preference);
+        assertEquals(0, preferenceService.disabledMask(userId));
+
+        preferenceService.refreshChanged();
+
+        assertFalse(preferenceService.isEnabled(userId, NotificationType.SYSTEM, NotificationChannel.IN_APP));
+    }
+
+    @Test
+    void createNotification_PushOnlyIsNotStored() {
+        preferenceService.updatePreferences(userId,
+            Map.of(NotificationType.SYSTEM, Map.of(NotificationChannel.IN_APP, false)));
+
+        Notification notification = notificationService.createNotification(userId, NotificationType.SYSTEM,
+            "Maintenance", "Back soon", null);
+
+        assertNotNull(notification);
+        assertNull(notification.getId());
+        assertEquals(0, notificationRepository.count());
+        verify(messagingTemplate).convertAndSendToUser(eq(userId.toString()), eq("/queue/notifications"), any());
+    }
+
+    @Test
+    void createNotification_InAppOnlyIsStoredWithoutPush() {
+        preferenceService.updatePreferences(userId,
+            Map.of(NotificationType.SYSTEM, Map.of(NotificationChannel.PUSH, false)));
+
+        Notification notification = notificationService.createNotification(userId, NotificationType.SYSTEM,
+            "Maintenance", "Back soon", null);
+
+        assertNotNull(notification.getId());
+        assertEquals(1, notificationService.getUnreadCount(userId));
+        verify(messagingTemplate, never()).convertAndSendToUser(eq(userId.toString()), eq("/queue/notifications"),
+            any(NotificationDTO.class));
+    }
+
+    @Test
+    void notifyNewMessage_AllOffDoesNothing() {
+        preferenceService.updatePreferences(userId, Map.of(NotificationType.MESSAGE_RECEIVED,
+            Map.of(NotificationChannel.IN_APP, false, NotificationChannel.PUSH, false)));
+
+        notificationService.notifyNewMessage(userId, "Alice", UUID.randomUUID());
+
+        assertEquals(0, notificationRepository.count());
+        verifyNoInteractions(messagingTemplate);
+    }
+}
@@ -0,0 +1,145 @@
+package com.platform.notification.service;
+
+import com.platform.notification.model.Notification;
+import com.platform.notification.model.NotificationDailySummary;
+import com.platform.notification.model.NotificationType;
+import com.platform.notification.repository.NotificationDailySummaryRepository;
+import com.platform.notification.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "notifications.retention.default-days=90",
+    "notifications.retention.days.MESSAGE_RECEIVED=30",
+    "notifications.retention.batch-size=3"
+})
+@ActiveProfiles("test")
+class NotificationRetentionServiceTest {
+
+    @Autowired
+    private NotificationRetentionService retentionService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationDailySummaryRepository summaryRepository;
+
+    @Autowired
+    private NotificationPartitionManager partitionManager;
+
+    @MockBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    private UUID userId;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        summaryRepository.deleteAll();
+        userId = UUID.randomUUID();
+        now = LocalDateTime.now().withNano(0);
+    }
+
+    @Test
+    void createNotification_ExpiresAfterRetentionOfItsType() {
+        Notification message = notificationService.createNotification(
+            userId, NotificationType.MESSAGE_RECEIVED, "Message", "Hi", null);
+        Notification offer = notificationService.createNotification(
+            userId, NotificationType.OFFER_RECEIVED, "Offer", "New offer", null);
+
+        assertEquals(message.getCreatedAt().plusDays(30), message.getExpiresAt());
+        assertEquals(offer.getCreatedAt().plusDays(90), offer.getExpiresAt());
+    }
+
+    @Test
+    void purgeExpired_DeletesExpiredRowsWhenTableIsNotPartitioned() {
+        assertFalse(partitionManager.isPartitioned());
+        for (int i = 0; i < 7; i++) {
+            save(userId, NotificationType.SYSTEM, now.minusDays(100), now.minusDays(10), false);
+        }
+        Notification live = save(userId, NotificationType.SYSTEM, now.minusDays(1), now.plusDays(89), false);
+        assertEquals(8, notificationService.getUnreadCount(userId));
+
+        int purged = retentionService.purgeExpired(now);
+
+        assertEquals(7, purged);
+        assertEquals(List.of(live.getId()), notificationRepository.findAll().stream().map(Notification::getId).toList());
+        // The cached count included the deleted unread notifications
+        assertEquals(1, notificationService.getUnreadCount(userId));
+    }
+
+    @Test
+    void compactReadBefore_FoldsOldReadNotificationsIntoDailySummaries() {
+        LocalDateTime dayOne = now.minusDays(40).withHour(9);
+        LocalDateTime dayTwo = now.minusDays(35).withHour(9);
+        for (int i = 0; i < 4; i++) {
+            save(userId, NotificationType.OFFER_RECEIVED, dayOne.plusMinutes(i), dayOne.plusDays(90), true);
+        }
+        save(userId, NotificationType.MESSAGE_RECEIVED, dayOne, dayOne.plusDays(90), true);
+        save(userId, NotificationType.OFFER_RECEIVED, dayTwo, dayTwo.plusDays(90), true);
+        // Unread or recent notifications stay
+        Notification unread = save(userId, NotificationType.OFFER_RECEIVED, dayOne, dayOne.plusDays(90), false);
+        Notification recent = save(userId, NotificationType.OFFER_RECEIVED, now.minusDays(2), now.plusDays(88), true);
+
+        int compacted = retentionService.compactReadBefore(now.minusDays(30));
+
+        assertEquals(6, compacted);
+        List<UUID> remaining = notificationRepository.findAll().stream().map(Notification::getId).toList();
+        assertEquals(2, remaining.size());
+        assertTrue(remaining.containsAll(List.of(unread.getId(), recent.getId())));
+
+        List<NotificationDailySummary> summaries = retentionService.getDailySummaries(
+            userId, now.toLocalDate().minusDays(60), now.toLocalDate());
+        assertEquals(3, summaries.size());
+        assertEquals(dayTwo.toLocalDate(), summaries.get(0).getSummaryDate());
+        assertEquals(1, summaries.get(0).getNotificationCount());
+        assertEquals(4, count(summaries, dayOne.toLocalDate(), NotificationType.OFFER_RECEIVED));
+        assertEquals(1, count(summaries, dayOne.toLocalDate(), NotificationType.MESSAGE_RECEIVED));
+    }
+
+    @Test
+    void compactReadBefore_AddsToExistingSummaries() {
+        LocalDateTime day = now.minusDays(40);
+        save(userId, NotificationType.SYSTEM, day, day.plusDays(90), true);
+        retentionService.compactReadBefore(now.minusDays(30));
+        save(userId, NotificationType.SYSTEM, day.plusMinutes(5), day.plusDays(90), true);
+        retentionService.compactReadBefore(now.minusDays(30));
+
+        List<NotificationDailySummary> summaries = summaryRepository.findAll();
+        assertEquals(1, summaries.size());
+        assertEquals(2, summaries.get(0).getNotificationCount());
+    }
+
+    private Notification save(UUID owner, NotificationType type, LocalDateTime createdAt,
+                              LocalDateTime expiresAt, boolean read) {
+        Notification notification = new Notification(owner, type, "Title", "Message", null);
+        notification.setCreatedAt(createdAt);
+        notification.setExpiresAt(expiresAt);
+        notification.setRead(read);
+        return notificationRepository.save(notification);
+    }
+
+    private static long count(List<NotificationDailySummary> summaries, LocalDate date, NotificationType type) {
+        return summaries.stream()
+            .filter(s -> s.getSummaryDate().equals(date) && s.getType() == type)
+            .mapToLong(NotificationDailySummary::getNotificationCount)
+            .sum();
+    }
+}
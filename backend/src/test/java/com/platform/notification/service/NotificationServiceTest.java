@@ -2,25 +2,33 @@ package com.platform.notification.service;
 
 import com.platform.notification.model.Notification;
 import com.platform.notification.model.NotificationDTO;
+import com.platform.notification.model.NotificationFeedPage;
 import com.platform.notification.model.NotificationType;
+import com.platform.notification.model.UnreadCountDTO;
 import com.platform.notification.repository.NotificationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.verify;
 
-@SpringBootTest
+@SpringBootTest(properties = {"notifications.list-cap=5", "notifications.coalesce.enabled=true"})
 @ActiveProfiles("test")
 class NotificationServiceTest {
 
@@ -30,6 +38,9 @@ class NotificationServiceTest {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationCoalescer coalescer;
+
     @MockBean
     private SimpMessagingTemplate messagingTemplate;
 
@@ -132,7 +143,7 @@ class NotificationServiceTest {
     @Test
     void notifyOfferReceived_ShouldCreateCorrectNotification() {
         UUID offerId = UUID.randomUUID();
-        notificationService.notifyOfferReceived(testUserId, "John Investor", "My Startup", offerId);
+        notificationService.notifyOfferReceived(testUserId, UUID.randomUUID(), "John Investor", "My Startup", offerId);
 
         List<NotificationDTO> notifications = notificationService.getNotificationsByUserId(testUserId);
 
@@ -154,4 +165,132 @@ class NotificationServiceTest {
         assertEquals(NotificationType.OFFER_ACCEPTED, notifications.get(0).getType());
         assertTrue(notifications.get(0).getMessage().contains("accepted"));
     }
+
+    @Test
+    void getUnreadCount_ServedFromCounterAfterFirstRead() {
+        notificationService.createNotification(testUserId, NotificationType.SYSTEM, "One", "First", null);
+        assertEquals(1, notificationService.getUnreadCount(testUserId));
+
+        // Written behind the service's back, so only a database count would see it
+        Notification second = new Notification(testUserId, NotificationType.SYSTEM, "Two", "Second", null);
+        second.setExpiresAt(LocalDateTime.now().plusDays(90));
+        notificationRepository.save(second);
+        assertEquals(1, notificationService.getUnreadCount(testUserId));
+
+        Notification third = notificationService.createNotification(testUserId, NotificationType.SYSTEM, "Three", "Third", null);
+        assertEquals(2, notificationService.getUnreadCount(testUserId));
+        notificationService.markAsRead(third.getId());
+        notificationService.markAsRead(third.getId());
+        assertEquals(1, notificationService.getUnreadCount(testUserId));
+
+        notificationService.markAllAsRead(testUserId);
+        assertEquals(0, notificationService.getUnreadCount(testUserId));
+    }
+
+    @Test
+    void unreadCountChanges_ArePushedToUser() {
+        notificationService.getUnreadCount(testUserId);
+        Notification notification = notificationService.createNotification(
+            testUserId, NotificationType.SYSTEM, "Hello", "World", null);
+        notificationService.markAsRead(notification.getId());
+
+        ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, atLeastOnce()).convertAndSendToUser(
+            eq(testUserId.toString()), eq("/queue/notifications"), payloads.capture());
+        List<Long> counts = payloads.getAllValues().stream()
+            .filter(UnreadCountDTO.class::isInstance)
+            .map(p -> ((UnreadCountDTO) p).getCount())
+            .toList();
+        assertEquals(List.of(1L, 0L), counts);
+    }
+
+    @Test
+    void getNotificationsByUserId_IsCappedAtListCap() {
+        for (int i = 0; i < 8; i++) {
+            notificationService.createNotification(testUserId, NotificationType.SYSTEM, "Title " + i, "Message", null);
+        }
+
+        assertEquals(5, notificationService.getNotificationsByUserId(testUserId).size());
+        assertEquals(5, notificationService.getUnreadNotifications(testUserId).size());
+    }
+
+    @Test
+    void getFeed_PagesThroughAllNotificationsNewestFirst() {
+        // Several rows share a timestamp so that the id breaks ties between pages
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        List<Notification> saved = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            Notification notification = new Notification(testUserId, NotificationType.SYSTEM, "Title " + i, "Message", null);
+            notification.setCreatedAt(base.minusSeconds(i / 4));
+            notification.setExpiresAt(base.plusDays(90));
+            saved.add(notification);
+        }
+        notificationRepository.saveAll(saved);
+        notificationService.createNotification(UUID.randomUUID(), NotificationType.SYSTEM, "Other", "Other user", null);
+
+        List<NotificationDTO> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            NotificationFeedPage page = notificationService.getFeed(testUserId, cursor, 5, false);
+            assertTrue(page.getNotifications().size() <= 5);
+            seen.addAll(page.getNotifications());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(5, pages);
+        assertEquals(23, seen.size());
+        Set<UUID> ids = new HashSet<>();
+        seen.forEach(n -> ids.add(n.getId()));
+        assertEquals(23, ids.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertFalse(seen.get(i).getCreatedAt().isAfter(seen.get(i - 1).getCreatedAt()));
+        }
+    }
+
+    @Test
+    void getFeed_UnreadOnlySkipsReadNotifications() {
+        for (int i = 0; i < 6; i++) {
+            Notification notification = notificationService.createNotification(
+                testUserId, NotificationType.SYSTEM, "Title " + i, "Message", null);
+            if (i % 2 == 0) {
+                notificationService.markAsRead(notification.getId());
+            }
+        }
+
+        NotificationFeedPage first = notificationService.getFeed(testUserId, null, 2, true);
+        NotificationFeedPage second = notificationService.getFeed(testUserId, first.getNextCursor(), 2, true);
+
+        assertEquals(2, first.getNotifications().size());
+        assertEquals(1, second.getNotifications().size());
+        assertNull(second.getNextCursor());
+        assertTrue(first.getNotifications().stream().noneMatch(NotificationDTO::isRead));
+        assertTrue(second.getNotifications().stream().noneMatch(NotificationDTO::isRead));
+    }
+
+    @Test
+    void getFeed_RejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class,
+            () -> notificationService.getFeed(testUserId, "not-a-cursor", 5, false));
+    }
+
+    @Test
+    void notifyOfferReceived_CoalescesBurstForSameStartup() {
+        UUID startupId = UUID.randomUUID();
+        for (int i = 0; i < 12; i++) {
+            notificationService.notifyOfferReceived(testUserId, startupId, "Investor " + i, "My Startup", UUID.randomUUID());
+        }
+        // A different startup has its own window
+        notificationService.notifyOfferReceived(testUserId, UUID.randomUUID(), "Investor", "Other Startup", UUID.randomUUID());
+
+        assertEquals(2, notificationService.getNotificationsByUserId(testUserId).size());
+
+        coalescer.flushDue(LocalDateTime.now().plusMinutes(2));
+
+        List<NotificationDTO> notifications = notificationService.getNotificationsByUserId(testUserId);
+        assertEquals(3, notifications.size());
+        assertTrue(notifications.stream().anyMatch(n -> n.getMessage().equals("11 new investment offers for My Startup")));
+        assertEquals(3, notificationService.getUnreadCount(testUserId));
+    }
 }
@@ -0,0 +1,62 @@
+package com.platform.notification.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnreadCounterCacheTest {
+
+    private final UnreadCounterCache cache = new UnreadCounterCache(300);
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void get_LoadsOnceThenAppliesChanges() {
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals(4, cache.get(userId, () -> { loads.incrementAndGet(); return 4; }));
+
+        cache.beforeChange(userId);
+        assertEquals(5, cache.afterChange(userId, unread -> unread + 1));
+        cache.beforeChange(userId);
+        assertEquals(-1, cache.afterChange(userId, null));
+
+        assertEquals(5, cache.get(userId, () -> { loads.incrementAndGet(); return 99; }));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_DoesNotCacheLoadRacingAChange() {
+        // The load reads the database after the change committed but before it was applied
+        cache.beforeChange(userId);
+        assertEquals(3, cache.get(userId, () -> 3));
+        assertEquals(-1, cache.afterChange(userId, unread -> unread + 1));
+        assertEquals(0, cache.size());
+
+        // A change that starts during the load also keeps it out of the cache
+        assertEquals(3, cache.get(userId, () -> {
+            cache.beforeChange(userId);
+            cache.afterChange(userId, unread -> unread + 1);
+            return 3;
+        }));
+        assertEquals(0, cache.size());
+
+        assertEquals(3, cache.get(userId, () -> 3));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void counts_NeverGoNegativeAndExpire() {
+        UnreadCounterCache expiring = new UnreadCounterCache(0);
+        expiring.get(userId, () -> 0);
+        expiring.evictExpired();
+        assertEquals(0, expiring.size());
+
+        cache.get(userId, () -> 0);
+        cache.beforeChange(userId);
+        assertEquals(0, cache.afterChange(userId, unread -> unread - 1));
+        cache.invalidate(userId);
+        assertEquals(7, cache.get(userId, () -> 7));
+    }
+}
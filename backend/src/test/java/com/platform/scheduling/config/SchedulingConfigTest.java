@@ -0,0 +1,46 @@
+package com.platform.scheduling.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SchedulingConfigTest {
+
+    @Autowired
+    private ThreadRecorder threadRecorder;
+
+    @Test
+    void scheduledJobs_RunOnTheirOwnPool() throws Exception {
+        String thread = threadRecorder.thread.get(10, TimeUnit.SECONDS);
+
+        assertTrue(thread.startsWith("scheduled-"), thread);
+    }
+
+    static class ThreadRecorder {
+        final CompletableFuture<String> thread = new CompletableFuture<>();
+
+        @Scheduled(fixedDelay = 50)
+        void record() {
+            thread.complete(Thread.currentThread().getName());
+        }
+    }
+
+    @TestConfiguration
+    static class Jobs {
+        @Bean
+        ThreadRecorder threadRecorder() {
+            return new ThreadRecorder();
+        }
+    }
+}
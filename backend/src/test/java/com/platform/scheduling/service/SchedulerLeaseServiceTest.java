@@ -0,0 +1,51 @@
+package com.platform.scheduling.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SchedulerLeaseServiceTest {
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Test
+    void tryAcquire_HeldLease_IsRefusedToOtherNodes() {
+        String lease = "test-" + UUID.randomUUID();
+
+        assertTrue(schedulerLeaseService.tryAcquire(lease, "node-a", Duration.ofMinutes(1)));
+        assertFalse(schedulerLeaseService.tryAcquire(lease, "node-b", Duration.ofMinutes(1)));
+        // The holder can renew
+        assertTrue(schedulerLeaseService.tryAcquire(lease, "node-a", Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void tryAcquire_ExpiredLease_CanBeTakenOver() throws InterruptedException {
+        String lease = "test-" + UUID.randomUUID();
+
+        assertTrue(schedulerLeaseService.tryAcquire(lease, "node-a", Duration.ofMillis(1)));
+        Thread.sleep(10);
+
+        assertTrue(schedulerLeaseService.tryAcquire(lease, "node-b", Duration.ofMinutes(1)));
+        assertFalse(schedulerLeaseService.tryAcquire(lease, "node-a", Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void release_LetsAnotherNodeTakeOverImmediately() throws InterruptedException {
+        String lease = "test-" + UUID.randomUUID();
+        assertTrue(schedulerLeaseService.tryAcquire(lease, "node-a", Duration.ofMinutes(1)));
+
+        schedulerLeaseService.release(lease, "node-a");
+        Thread.sleep(10);
+
+        assertTrue(schedulerLeaseService.tryAcquire(lease, "node-b", Duration.ofMinutes(1)));
+    }
+}